@@ -0,0 +1,22 @@
+#!/bin/sh
+# Launches the grade calculator with an AppCDS (application class data sharing) archive, so that the classes
+# it needs at startup are mapped from a pre-parsed archive instead of being loaded and verified one by one.
+#
+# The archive is (re)generated whenever it is missing or older than the compiled classes, by a training run of
+# the application in --startup-benchmark mode, which shows the main frame, waits for the saved course list to
+# be read, and exits. Requires JDK 13 or later. Any arguments are passed on to ui.Main.
+#
+# Build the project in IntelliJ (or compile src/main to out/production/Project-Starter) before running.
+
+cd "$(dirname "$0")/.." || exit 1
+
+CLASSES=out/production/Project-Starter
+CLASSPATH="$CLASSES:lib/jsonlib.jar"
+ARCHIVE=out/gradecalculator.jsa
+
+if [ ! -f "$ARCHIVE" ] || [ -n "$(find "$CLASSES" -newer "$ARCHIVE" -name '*.class' | head -n 1)" ]; then
+    echo "Generating class data sharing archive $ARCHIVE" >&2
+    java -XX:ArchiveClassesAtExit="$ARCHIVE" -cp "$CLASSPATH" ui.Main --startup-benchmark > /dev/null
+fi
+
+exec java -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -cp "$CLASSPATH" ui.Main "$@"
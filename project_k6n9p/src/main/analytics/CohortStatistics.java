@@ -0,0 +1,72 @@
+package analytics;
+
+import exceptions.InputOutOfRangeException;
+import model.CourseList;
+import persistence.JsonReader;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Prints the distribution of course and assignment grades across a directory of gradebooks, such as one written
+// by tools.GradebookGenerator with --students, reading the gradebooks in parallel without keeping them in memory:
+//   DIRECTORY
+public class CohortStatistics {
+    private static final double[] PERCENTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99};
+    private static final int BAR_WIDTH = 50;
+
+    // EFFECTS: prints the grade distribution of the gradebooks in the directory given as the first argument
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "./data");
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(directory)) {
+            files = paths.filter(path -> path.toString().endsWith(".json")).collect(Collectors.toList());
+        }
+
+        long start = System.nanoTime();
+        GradeDistribution distribution = GradeDistribution.collect(files.stream().map(CohortStatistics::read));
+        System.out.printf("%,d gradebooks read in %.3f s%n", files.size(), (System.nanoTime() - start) / 1e9);
+
+        print(System.out, "Course grades", distribution.getCourseGrades(), distribution.getCourseGradeHistogram());
+        print(System.out, "Assignment grades", distribution.getAssignmentGrades(),
+                distribution.getAssignmentGradeHistogram());
+    }
+
+    // EFFECTS: prints the count, extremes and percentiles of sketch, and histogram as a bar chart
+    public static void print(PrintStream out, String title, QuantileSketch sketch, GradeHistogram histogram) {
+        out.printf("%n%s: %,d (percentiles within %.1f%% of rank)%n", title, sketch.getCount(),
+                sketch.getRankErrorBound() * 100);
+        out.printf("  min %.2f", sketch.getMin());
+        for (double percentile : PERCENTILES) {
+            out.printf("  p%s %.2f", Math.round(percentile * 100), sketch.getQuantile(percentile));
+        }
+        out.printf("  max %.2f%n", sketch.getMax());
+
+        long largest = 1;
+        for (int i = 0; i < histogram.getBuckets(); i++) {
+            largest = Math.max(largest, histogram.getCount(i));
+        }
+        for (int i = 0; i < histogram.getBuckets(); i++) {
+            int bar = (int) Math.round((double) histogram.getCount(i) / largest * BAR_WIDTH);
+            out.println(String.format("  %6.2f - %6.2f %12d %s", histogram.getBucketLow(i), histogram.getBucketHigh(i),
+                    histogram.getCount(i), "#".repeat(bar)).stripTrailing());
+        }
+    }
+
+    // EFFECTS: reads the course list in file; throws UncheckedIOException if it can not be read
+    private static CourseList read(Path file) {
+        try {
+            return new JsonReader(file.toString()).read();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read from file: " + file, e);
+        } catch (InputOutOfRangeException e) {
+            throw new UncheckedIOException(new IOException("Entries in file invalid: " + file, e));
+        }
+    }
+}
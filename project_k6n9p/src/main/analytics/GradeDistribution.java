@@ -0,0 +1,93 @@
+package analytics;
+
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+
+import java.util.stream.Stream;
+
+// Distribution of the current grades of courses and of the grades of individual assignments across any number
+// of course lists, such as those of every student in a department, kept as quantile sketches and histograms so
+// that its memory is bounded however many grades are added. Distributions can be merged, so that one can be
+// built for each shard of the course lists on its own thread and the results combined; see collect.
+public class GradeDistribution {
+    public static final int DEFAULT_BUCKETS = 20;
+
+    private final QuantileSketch courseGrades;
+    private final QuantileSketch assignmentGrades;
+    private final GradeHistogram courseGradeHistogram;
+    private final GradeHistogram assignmentGradeHistogram;
+
+    // EFFECTS: constructs an empty distribution with sketches of the default k and histograms of 20 buckets
+    public GradeDistribution() {
+        this(QuantileSketch.DEFAULT_K, DEFAULT_BUCKETS);
+    }
+
+    // REQUIRES: k >= 8, buckets > 0
+    // EFFECTS: constructs an empty distribution with sketches of the given k and histograms of the given buckets
+    public GradeDistribution(int k, int buckets) {
+        courseGrades = new QuantileSketch(k);
+        assignmentGrades = new QuantileSketch(k);
+        courseGradeHistogram = new GradeHistogram(buckets);
+        assignmentGradeHistogram = new GradeHistogram(buckets);
+    }
+
+    // EFFECTS: returns the distribution of the course lists, built in parallel one shard at a time and merged
+    public static GradeDistribution collect(Stream<CourseList> courseLists) {
+        return courseLists.parallel().collect(GradeDistribution::new, GradeDistribution::add,
+                GradeDistribution::merge);
+    }
+
+    // EFFECTS: returns the sketch of the current grades of the courses added
+    public QuantileSketch getCourseGrades() {
+        return courseGrades;
+    }
+
+    // EFFECTS: returns the sketch of the grades of the assignments of the courses added
+    public QuantileSketch getAssignmentGrades() {
+        return assignmentGrades;
+    }
+
+    public GradeHistogram getCourseGradeHistogram() {
+        return courseGradeHistogram;
+    }
+
+    public GradeHistogram getAssignmentGradeHistogram() {
+        return assignmentGradeHistogram;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the grades of every course in courseList
+    public void add(CourseList courseList) {
+        for (Course course : courseList.getCourses()) {
+            add(course);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the current grade of course, unless it has no assignments yet, and the grade of each of
+    //          its assignments
+    public void add(Course course) {
+        if (course.numAssignments() == 0) {
+            return;
+        }
+        double currentGrade = course.calculateCurrentGrade();
+        courseGrades.add(currentGrade);
+        courseGradeHistogram.add(currentGrade);
+
+        for (Assignment assignment : course.getAssignments()) {
+            assignmentGrades.add(assignment.getGrade());
+            assignmentGradeHistogram.add(assignment.getGrade());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every grade added to other to this distribution, leaving other unchanged;
+    //          throws IllegalArgumentException if their histograms have different numbers of buckets
+    public void merge(GradeDistribution other) {
+        courseGrades.merge(other.courseGrades);
+        assignmentGrades.merge(other.assignmentGrades);
+        courseGradeHistogram.merge(other.courseGradeHistogram);
+        assignmentGradeHistogram.merge(other.assignmentGradeHistogram);
+    }
+}
@@ -0,0 +1,117 @@
+package analytics;
+
+// Histogram of grades from 0 to 100 in buckets of equal width, with grades outside that range counted apart.
+// Memory is fixed by the number of buckets however many grades are added, and histograms with the same buckets
+// can be merged, so that a histogram can be built for each shard of the data and the results combined.
+// Quantiles estimated from the histogram are within one bucket width of a grade with that rank.
+public class GradeHistogram {
+    public static final double MIN_GRADE = 0;
+    public static final double MAX_GRADE = 100;
+
+    private final long[] counts;                 // number of grades in each bucket
+    private long belowRange;                     // number of grades below the minimum grade
+    private long aboveRange;                     // number of grades above the maximum grade
+    private long count;                          // number of grades added, NaN excluded
+
+    // REQUIRES: buckets > 0
+    // EFFECTS: constructs an empty histogram with the given number of buckets between 0 and 100
+    public GradeHistogram(int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("A histogram needs at least one bucket: " + buckets);
+        }
+        counts = new long[buckets];
+    }
+
+    public int getBuckets() {
+        return counts.length;
+    }
+
+    // EFFECTS: returns the number of grades in bucket
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    // EFFECTS: returns the number of grades added, including those outside the range
+    public long getCount() {
+        return count;
+    }
+
+    public long getBelowRange() {
+        return belowRange;
+    }
+
+    public long getAboveRange() {
+        return aboveRange;
+    }
+
+    // EFFECTS: returns the lowest grade in bucket
+    public double getBucketLow(int bucket) {
+        return MIN_GRADE + bucket * bucketWidth();
+    }
+
+    // EFFECTS: returns the highest grade in bucket; only the last bucket includes it
+    public double getBucketHigh(int bucket) {
+        return MIN_GRADE + (bucket + 1) * bucketWidth();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds grade to the bucket that contains it; NaN grades are ignored
+    public void add(double grade) {
+        if (Double.isNaN(grade)) {
+            return;
+        }
+        count++;
+
+        if (grade < MIN_GRADE) {
+            belowRange++;
+        } else if (grade > MAX_GRADE) {
+            aboveRange++;
+        } else {
+            counts[Math.min(counts.length - 1, (int) ((grade - MIN_GRADE) / bucketWidth()))]++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the counts of other to this histogram, leaving other unchanged;
+    //          throws IllegalArgumentException if the histograms have different numbers of buckets
+    public void merge(GradeHistogram other) {
+        if (other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Can not merge a histogram of " + other.counts.length
+                    + " buckets into one of " + counts.length);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        belowRange += other.belowRange;
+        aboveRange += other.aboveRange;
+        count += other.count;
+    }
+
+    // REQUIRES: 0 <= fraction <= 1
+    // EFFECTS: returns an estimate of the fraction-quantile of the grades added, interpolating within the bucket
+    //          it falls in; grades outside the range are treated as the minimum or maximum grade; returns NaN if
+    //          the histogram is empty
+    public double getQuantile(double fraction) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double target = fraction * count;
+        double cumulative = belowRange;
+
+        if (target <= cumulative) {
+            return MIN_GRADE;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && cumulative + counts[i] >= target) {
+                return getBucketLow(i) + (target - cumulative) / counts[i] * bucketWidth();
+            }
+            cumulative += counts[i];
+        }
+        return MAX_GRADE;
+    }
+
+    // EFFECTS: returns the width of each bucket
+    private double bucketWidth() {
+        return (MAX_GRADE - MIN_GRADE) / counts.length;
+    }
+}
@@ -0,0 +1,296 @@
+package analytics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Mergeable streaming sketch of a distribution of values, answering rank and quantile queries approximately in
+// memory that grows only with the logarithm of the number of values added (the KLL sketch of Karnin, Lang and
+// Liberty). Values are kept in a stack of compactors: each value at level h stands for 2^h values added. Once the
+// sketch holds as many values as its levels can take, a full level is sorted and every other value in it,
+// starting at random, is promoted to the level above, the rest being discarded. Capacities shrink by a factor of
+// 2/3 going down from the top level, which holds k values, so the sketch holds at most about 3k values plus one
+// per level.
+//
+// Error bounds: a rank returned by getRank, and the rank of the value returned by getQuantile, are within
+// getRankErrorBound() * n of the exact rank among the n values added, with probability at least 99%. The bound
+// is about 1.7% for the default k of 200, 0.8% for k = 400, and 3.3% for k = 100. The minimum and maximum are
+// exact. Merging sketches gives the same bound as adding every value to one sketch.
+//
+// A sketch is not safe for use by several threads at once: build one sketch per shard of the data, each on its
+// own thread, then merge them.
+public class QuantileSketch {
+    public static final int DEFAULT_K = 200;
+    private static final int MIN_K = 8;
+    private static final double CAPACITY_RATIO = 2.0 / 3;
+    private static final double RANK_ERROR_CONSTANT = 3.3;
+
+    private final int topCapacity;                     // capacity of the top level, the k of the sketch
+    private final SplittableRandom random;             // decides which half of a level is promoted
+    private double[][] levels = new double[1][8];      // values at each level, each standing for 2^level values
+    private int[] levelSizes = new int[1];             // number of values at each level
+    private int retained;                              // number of values held across all levels
+    private int maxRetained;                           // number of values held that triggers a compaction
+    private long count;                                // number of values added
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    private double[] sortedValues;                     // values held, sorted, or null if not up to date
+    private long[] cumulativeWeights;                  // values added up to and including each sorted value
+
+    // EFFECTS: constructs an empty sketch with the default k
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    // REQUIRES: k >= 8
+    // EFFECTS: constructs an empty sketch whose top level holds k values; larger k is more accurate
+    public QuantileSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    // REQUIRES: k >= 8
+    // EFFECTS: constructs an empty sketch whose random choices are determined by seed, so its answers are repeatable
+    public QuantileSketch(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+
+    private QuantileSketch(int k, SplittableRandom random) {
+        if (k < MIN_K) {
+            throw new IllegalArgumentException("k must be at least " + MIN_K + ": " + k);
+        }
+        this.topCapacity = k;
+        this.random = random;
+        this.maxRetained = capacity(0);
+    }
+
+    public int getK() {
+        return topCapacity;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // EFFECTS: returns the number of values held, which bounds the memory taken by the sketch
+    public int getRetained() {
+        return retained;
+    }
+
+    // EFFECTS: returns the smallest value added, or NaN if the sketch is empty
+    public double getMin() {
+        return min;
+    }
+
+    // EFFECTS: returns the largest value added, or NaN if the sketch is empty
+    public double getMax() {
+        return max;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // EFFECTS: returns the bound on the error of ranks as a fraction of the number of values added, which holds
+    //          with probability at least 99%
+    public double getRankErrorBound() {
+        return rankErrorBound(topCapacity);
+    }
+
+    // EFFECTS: returns the bound on the error of ranks of a sketch with the given k, as in getRankErrorBound
+    public static double rankErrorBound(int k) {
+        return RANK_ERROR_CONSTANT / k;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds value to the sketch; NaN values are ignored
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        append(0, value);
+        count++;
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+        sortedValues = null;
+
+        if (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every value added to other to this sketch, leaving other unchanged
+    public void merge(QuantileSketch other) {
+        if (other.isEmpty()) {
+            return;
+        }
+        while (levels.length < other.levels.length) {
+            grow();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.levelSizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        min = isEmpty() ? other.min : Math.min(min, other.min);
+        max = isEmpty() ? other.max : Math.max(max, other.max);
+        count += other.count;
+        sortedValues = null;
+
+        while (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    // EFFECTS: returns the approximate fraction of the values added that are less than or equal to value,
+    //          or NaN if the sketch is empty
+    public double getRank(double value) {
+        if (isEmpty()) {
+            return Double.NaN;
+        }
+        updateSortedView();
+        int index = upperBound(value);
+
+        return index == 0 ? 0 : (double) cumulativeWeights[index - 1] / count;
+    }
+
+    // REQUIRES: 0 <= fraction <= 1
+    // EFFECTS: returns an approximate fraction-quantile of the values added, such as the median for 0.5: a value
+    //          added whose rank is close to fraction; returns NaN if the sketch is empty
+    public double getQuantile(double fraction) {
+        if (isEmpty()) {
+            return Double.NaN;
+        }
+        if (fraction <= 0) {
+            return min;
+        } else if (fraction >= 1) {
+            return max;
+        }
+        updateSortedView();
+        long targetWeight = (long) Math.ceil(fraction * count);
+        int index = Arrays.binarySearch(cumulativeWeights, targetWeight);
+
+        return sortedValues[index >= 0 ? index : -index - 1];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends value to level h, growing the level's array if it is full
+    private void append(int h, double value) {
+        if (levelSizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], 2 * levels[h].length);
+        }
+        levels[h][levelSizes[h]++] = value;
+        retained++;
+    }
+
+    // EFFECTS: returns the capacity of level h: k at the top level, shrinking by the capacity ratio per level below
+    private int capacity(int h) {
+        int depth = levels.length - h - 1;
+        return (int) Math.ceil(topCapacity * Math.pow(CAPACITY_RATIO, depth)) + 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds an empty level on top, updating the number of values held that triggers a compaction
+    private void grow() {
+        int height = levels.length + 1;
+        levels = Arrays.copyOf(levels, height);
+        levels[height - 1] = new double[8];
+        levelSizes = Arrays.copyOf(levelSizes, height);
+
+        maxRetained = 0;
+        for (int h = 0; h < height; h++) {
+            maxRetained += capacity(h);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: compacts full levels from the bottom up, stopping as soon as the sketch holds fewer values than
+    //          the number that triggers a compaction
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (levelSizes[h] >= capacity(h)) {
+                if (h + 1 == levels.length) {
+                    grow();
+                }
+                compact(h);
+                if (retained < maxRetained) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sorts level h and promotes every other value in it, starting at random, to the level above; if the
+    //          level holds an odd number of values, its smallest value stays behind
+    private void compact(int h) {
+        int size = levelSizes[h];
+        int kept = size % 2;
+        Arrays.sort(levels[h], 0, size);
+
+        for (int i = kept + (random.nextBoolean() ? 1 : 0); i < size; i += 2) {
+            append(h + 1, levels[h][i]);
+        }
+        levelSizes[h] = kept;
+        retained -= size - kept;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: builds the sorted values held and their cumulative weights, if they are not up to date
+    private void updateSortedView() {
+        if (sortedValues != null) {
+            return;
+        }
+        double[] values = new double[0];
+        long[] weights = new long[0];
+
+        for (int h = 0; h < levels.length; h++) {
+            Arrays.sort(levels[h], 0, levelSizes[h]);
+            double[] mergedValues = new double[values.length + levelSizes[h]];
+            long[] mergedWeights = new long[mergedValues.length];
+            mergeRuns(values, weights, levels[h], levelSizes[h], 1L << h, mergedValues, mergedWeights);
+            values = mergedValues;
+            weights = mergedWeights;
+        }
+        for (int i = 1; i < weights.length; i++) {
+            weights[i] += weights[i - 1];
+        }
+        sortedValues = values;
+        cumulativeWeights = weights;
+    }
+
+    // MODIFIES: mergedValues, mergedWeights
+    // EFFECTS: merges the sorted values with their weights and the first size sorted level values, each of the
+    //          given weight, into mergedValues and mergedWeights in sorted order
+    private static void mergeRuns(double[] values, long[] weights, double[] levelValues, int size, long weight,
+                                  double[] mergedValues, long[] mergedWeights) {
+        int i = 0;
+        int j = 0;
+
+        for (int m = 0; m < mergedValues.length; m++) {
+            if (j == size || (i < values.length && values[i] <= levelValues[j])) {
+                mergedValues[m] = values[i];
+                mergedWeights[m] = weights[i++];
+            } else {
+                mergedValues[m] = levelValues[j++];
+                mergedWeights[m] = weight;
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of sorted values less than or equal to value
+    private int upperBound(double value) {
+        int low = 0;
+        int high = sortedValues.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,11 @@
+package exceptions;
+
+// exception representing a command that could not be run
+// in this project, it is thrown when a line of a batch script is malformed or refers to something that doesn't exist
+public class InvalidCommandException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCommandException(String msg) {
+        super(msg);
+    }
+}
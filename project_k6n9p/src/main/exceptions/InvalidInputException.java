@@ -3,4 +3,5 @@ package exceptions;
 // exception representing an input that is invalid
 // in this project, it is thrown when a value is passed in that is not a valid fraction or decimal value
 public class InvalidInputException extends Exception {
+    private static final long serialVersionUID = 1L;
 }
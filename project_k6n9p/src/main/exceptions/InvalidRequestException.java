@@ -0,0 +1,19 @@
+package exceptions;
+
+// exception representing a request to the grade server that could not be served
+// in this project, it is thrown when a request is malformed or refers to a course or assignment that doesn't exist,
+// and carries the HTTP status code to respond with
+public class InvalidRequestException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public InvalidRequestException(int statusCode, String msg) {
+        super(msg);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,37 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Represents a count of events, such as parse failures, that can be incremented from many threads at once
+// without contending on a single variable; increments are ignored while metrics are disabled
+public class Counter {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    // EFFECTS: constructs a counter with the given name and a count of zero
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds one to the count if metrics are enabled
+    public void increment() {
+        if (Metrics.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the count back to zero
+    void reset() {
+        count.reset();
+    }
+}
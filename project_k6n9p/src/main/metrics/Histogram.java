@@ -0,0 +1,100 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Represents the distribution of a non-negative measurement, such as a duration in nanoseconds or a file size
+// in bytes. Values are counted in power-of-two buckets, so recording is a few additions whatever the value,
+// and percentiles are reported as the upper bound of the bucket they fall in, within a factor of two.
+// Values are ignored while metrics are disabled.
+public class Histogram {
+    private static final int BUCKET_COUNT = 64;
+
+    private final String name;
+    private final String unit;                     // unit of the recorded values, such as "ns" or "bytes"
+    private final LongAdder[] buckets;             // bucket i counts values from 2^(i-1) up to 2^i - 1
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    // EFFECTS: constructs an empty histogram of values in the given unit
+    Histogram(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+        buckets = new LongAdder[BUCKET_COUNT];
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    // EFFECTS: returns the mean of the recorded values, or 0 if there are none
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    // REQUIRES: 0 <= percentile <= 100
+    // EFFECTS: returns an upper bound on the given percentile of the recorded values, or 0 if there are none
+    public long getPercentile(double percentile) {
+        long rank = (long) Math.ceil(getCount() * percentile / 100);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank && seen > 0) {
+                return Math.min(getMax(), i == 0 ? 0 : (1L << i) - 1);
+            }
+        }
+        return getMax();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a value if metrics are enabled; negative values are recorded as 0
+    public void record(long value) {
+        if (Metrics.isEnabled()) {
+            long clamped = Math.max(0, value);
+
+            buckets[BUCKET_COUNT - Long.numberOfLeadingZeros(clamped)].increment();
+            count.increment();
+            sum.add(clamped);
+            max.accumulate(clamped);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the nanoseconds elapsed since startNanos, a time returned by Metrics.startTime(),
+    //          unless metrics were disabled when it was taken
+    public void recordSince(long startNanos) {
+        if (startNanos != Metrics.NOT_TIMED) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every recorded value
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+}
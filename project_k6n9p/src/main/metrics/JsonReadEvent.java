@@ -0,0 +1,72 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Flight recorder event covering one phase of reading a course list from a JSON file: reading the file
+// (file I/O), parsing it into JSON objects (DOM build), or converting those into courses (model build).
+// The event begins when it is constructed; counts that are not known yet in a phase are recorded as -1.
+// A file that is parsed as it is streamed in is read during the DOM build, so its file I/O event spans the
+// DOM build, and its read time is the part of that spent waiting on reads of the file.
+@Name("gradecalculator.JsonRead")
+@Label("JSON Read")
+@Category({"Grade Calculator", "Persistence"})
+@Description("A phase of reading a course list from a JSON file")
+public class JsonReadEvent extends Event {
+    public static final String FILE_IO = "file I/O";
+    public static final String DOM_BUILD = "DOM build";
+    public static final String MODEL_BUILD = "model build";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Source")
+    String source;
+
+    @Label("File Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Courses")
+    int courses;
+
+    @Label("Assignments")
+    long assignments;
+
+    @Label("Read Time")
+    @Description("Time spent reading the file, or -1 outside the file I/O phase")
+    @Timespan
+    long readTime = -1;
+
+    // EFFECTS: begins an event for the given phase of reading source
+    public JsonReadEvent(String phase, String source) {
+        this.phase = phase;
+        this.source = source;
+        begin();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the file I/O event and commits it with the size of the file and the nanoseconds spent reading
+    //          it, if the event is being recorded
+    public void finishRead(long bytes, long readTime) {
+        this.readTime = readTime;
+        finish(bytes, -1, -1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the event and commits it with the given sizes, if the event is being recorded
+    public void finish(long bytes, int courses, long assignments) {
+        end();
+        if (shouldCommit()) {
+            this.bytes = bytes;
+            this.courses = courses;
+            this.assignments = assignments;
+            commit();
+        }
+    }
+}
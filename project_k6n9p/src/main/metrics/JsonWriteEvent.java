@@ -0,0 +1,56 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight recorder event covering one phase of writing a course list to a JSON file: converting the courses
+// into JSON objects (DOM build), turning those into text (serialize), or writing the text out (file I/O).
+// The event begins when it is constructed.
+@Name("gradecalculator.JsonWrite")
+@Label("JSON Write")
+@Category({"Grade Calculator", "Persistence"})
+@Description("A phase of writing a course list to a JSON file")
+public class JsonWriteEvent extends Event {
+    public static final String DOM_BUILD = "DOM build";
+    public static final String SERIALIZE = "serialize";
+    public static final String FILE_IO = "file I/O";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Destination")
+    String destination;
+
+    @Label("JSON Size")
+    @Description("Length of the JSON text, in characters, or -1 before it has been serialized")
+    long characters;
+
+    @Label("Courses")
+    int courses;
+
+    @Label("Assignments")
+    long assignments;
+
+    // EFFECTS: begins an event for the given phase of writing to destination
+    public JsonWriteEvent(String phase, String destination) {
+        this.phase = phase;
+        this.destination = destination;
+        begin();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the event and commits it with the given sizes, if the event is being recorded
+    public void finish(long characters, int courses, long assignments) {
+        end();
+        if (shouldCommit()) {
+            this.characters = characters;
+            this.courses = courses;
+            this.assignments = assignments;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Registry of the counters and histograms recording how often and how long the application's hot paths run.
+// Metrics are disabled unless the application is started with -Dgradecalculator.metrics=true or they are
+// enabled at run time; while disabled, recording a metric costs one read of a flag. Instrumented code looks up
+// its metrics once, into static fields, and times an operation with
+//     long start = Metrics.startTime();
+//     ...
+//     HISTOGRAM.recordSince(start);
+public final class Metrics {
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+    public static final String OBJECT_NAME = "gradecalculator:type=Metrics";
+
+    private static volatile boolean enabled = Boolean.getBoolean("gradecalculator.metrics");
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean isEnabled) {
+        enabled = isEnabled;
+    }
+
+    // EFFECTS: returns the counter with the given name, creating it if there is none
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    // EFFECTS: returns the histogram of durations in nanoseconds with the given name, creating it if there is none
+    public static Histogram timer(String name) {
+        return histogram(name, "ns");
+    }
+
+    // EFFECTS: returns the histogram with the given name, creating it with the given unit if there is none
+    public static Histogram histogram(String name, String unit) {
+        return HISTOGRAMS.computeIfAbsent(name, key -> new Histogram(key, unit));
+    }
+
+    // EFFECTS: returns the current time in nanoseconds to be passed to Histogram.recordSince, or NOT_TIMED
+    //          if metrics are disabled, so that the clock is not read at all
+    public static long startTime() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    // EFFECTS: returns the count of every counter, sorted by name
+    public static Map<String, Long> counterValues() {
+        Map<String, Long> values = new TreeMap<>();
+
+        for (Counter counter : COUNTERS.values()) {
+            values.put(counter.getName(), counter.getCount());
+        }
+        return values;
+    }
+
+    // EFFECTS: returns a summary of every histogram, sorted by name; see MetricsMXBean.getHistograms
+    public static Map<String, Long> histogramValues() {
+        Map<String, Long> values = new TreeMap<>();
+
+        for (Histogram histogram : HISTOGRAMS.values()) {
+            values.put(histogram.getName() + ".count", histogram.getCount());
+            values.put(histogram.getName() + ".mean", Math.round(histogram.getMean()));
+            values.put(histogram.getName() + ".p50", histogram.getPercentile(50));
+            values.put(histogram.getName() + ".p99", histogram.getPercentile(99));
+            values.put(histogram.getName() + ".max", histogram.getMax());
+        }
+        return values;
+    }
+
+    // EFFECTS: returns every metric formatted as a table, counters first
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Metrics are %s%n", enabled ? "enabled" : "disabled"));
+        report.append(String.format("%-44s %12s%n", "Counter", "count"));
+
+        for (Map.Entry<String, Long> counter : counterValues().entrySet()) {
+            report.append(String.format("%-44s %,12d%n", counter.getKey(), counter.getValue()));
+        }
+
+        report.append(String.format("%n%-44s %12s %14s %14s %14s %14s%n", "Histogram", "count", "mean", "p50",
+                "p99", "max"));
+        for (Histogram histogram : new TreeMap<>(HISTOGRAMS).values()) {
+            report.append(String.format("%-44s %,12d %,14.0f %,14d %,14d %,14d %s%n", histogram.getName(),
+                    histogram.getCount(), histogram.getMean(), histogram.getPercentile(50),
+                    histogram.getPercentile(99), histogram.getMax(), histogram.getUnit()));
+        }
+        return report.toString();
+    }
+
+    // EFFECTS: clears every metric, keeping the metrics themselves registered
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        HISTOGRAMS.values().forEach(Histogram::reset);
+    }
+
+    // EFFECTS: registers the metrics with the platform MBean server so they can be read over JMX, for
+    //          example from JConsole; returns false if they could not be registered
+    public static boolean registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsBean(), name);
+            }
+            return true;
+        } catch (JMException e) {
+            return false;
+        }
+    }
+
+    // Exposes the registry through the MetricsMXBean interface
+    private static class MetricsBean implements MetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return counterValues();
+        }
+
+        @Override
+        public Map<String, Long> getHistograms() {
+            return histogramValues();
+        }
+
+        @Override
+        public String getReport() {
+            return report();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
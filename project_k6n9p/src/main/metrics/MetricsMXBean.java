@@ -0,0 +1,24 @@
+package metrics;
+
+import java.util.Map;
+
+// Management interface through which the metrics are exposed over JMX, as gradecalculator:type=Metrics
+public interface MetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    // EFFECTS: returns the count of every counter, by counter name
+    Map<String, Long> getCounters();
+
+    // EFFECTS: returns the count, mean, 50th and 99th percentiles, and maximum of every histogram, keyed by
+    //          histogram name followed by .count, .mean, .p50, .p99, or .max
+    Map<String, Long> getHistograms();
+
+    // EFFECTS: returns every metric formatted as a table
+    String getReport();
+
+    // EFFECTS: clears every metric
+    void reset();
+}
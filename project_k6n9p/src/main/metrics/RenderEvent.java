@@ -0,0 +1,48 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight recorder event covering the measuring or painting of one course row of the course list
+// The event begins when it is constructed.
+@Name("gradecalculator.Render")
+@Label("Course Render")
+@Category({"Grade Calculator", "Rendering"})
+@Description("Measuring or painting the row of one course in the course list")
+public class RenderEvent extends Event {
+    public static final String MEASURE = "measure";
+    public static final String PAINT = "paint";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Course")
+    String course;
+
+    @Label("Assignments")
+    int assignments;
+
+    @Label("Lines")
+    int lines;
+
+    // EFFECTS: begins an event for the given operation
+    public RenderEvent(String operation) {
+        this.operation = operation;
+        begin();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the event and commits it with the given details, if the event is being recorded
+    public void finish(String course, int assignments, int lines) {
+        end();
+        if (shouldCommit()) {
+            this.course = course;
+            this.assignments = assignments;
+            this.lines = lines;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight recorder event covering one calculation of a statistic of a course from its assignments
+// The event begins when it is constructed.
+@Name("gradecalculator.StatRecompute")
+@Label("Course Stat Recompute")
+@Category({"Grade Calculator", "Model"})
+@Description("Calculating a statistic of a course from its assignments")
+public class StatRecomputeEvent extends Event {
+
+    @Label("Statistic")
+    String statistic;
+
+    @Label("Course")
+    String course;
+
+    @Label("Assignments")
+    int assignments;
+
+    // EFFECTS: begins an event for calculating the given statistic
+    public StatRecomputeEvent(String statistic) {
+        this.statistic = statistic;
+        begin();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the event and commits it with the given details, if the event is being recorded
+    public void finish(String course, int assignments) {
+        end();
+        if (shouldCommit()) {
+            this.course = course;
+            this.assignments = assignments;
+            commit();
+        }
+    }
+}
@@ -54,4 +54,12 @@ public class Assignment implements Writable {
         json.put("weight", weight);
         return json;
     }
+
+    // MODIFIES: names
+    // EFFECTS: returns an assignment as a JSON object that refers to its name by its reference in names
+    public JSONObject toJson(NameDictionary names) {
+        JSONObject json = toJson();
+        json.put("name", names.add(name));
+        return json;
+    }
 }
@@ -0,0 +1,426 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static tools.NumberUtilities.roundValueTwoDecimalPlaces;
+
+// Represents the courses of a course list and their assignments held off the Java heap, in one direct or
+// memory-mapped buffer laid out in columns: the grades and credits of each course, the grade and weight of each
+// assignment, then references into a table of names whose UTF-8 bytes come last. However many assignments it
+// holds, a store is a handful of objects to the garbage collector, and its stat calculations run over the columns
+// without creating any. A store is read-only: it is built from a course list, saved as a binary file, and mapped
+// straight back from that file without being parsed, though its references are checked in one pass so that a
+// corrupt file can not send a read out of range. The app still keeps the course lists it edits on the heap and
+// saves them as JSON; stores are for gradebooks too large for that, which are only read in bulk. The batch
+// calculator saves the loaded course list as a store with save-store, and reports on a store given as the input
+// file of a report by mapping it and running the stat calculations over its columns, one course on the heap at
+// a time. The buffer is laid out exactly as the file is:
+//   header      magic, version, course count, assignment count, name count, name bytes, 8 bytes unused
+//   doubles     ideal grade, predicted grade and credits of each course, grade and weight of each assignment
+//   ints        index of the first assignment of each course followed by the assignment count, name of each
+//               course, name of each assignment, offset of each name in the name bytes followed by their length
+//   bytes       names, in UTF-8
+// A store holds at most 2 GB, or about a hundred million assignments; larger gradebooks are split across stores.
+public final class AssignmentStore {
+    private static final int MAGIC = 0x47434153;          // "GCAS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final double MIN_GRADED_WEIGHT = 1e-9;
+
+    private final ByteBuffer buffer;                      // the whole store, laid out as its file
+    private final int courseCount;
+    private final int assignmentCount;
+    private final DoubleBuffer idealGrades;
+    private final DoubleBuffer predictedGrades;
+    private final DoubleBuffer credits;
+    private final DoubleBuffer grades;                    // grade of each assignment, course by course
+    private final DoubleBuffer weights;                   // weight of each assignment, course by course
+    private final IntBuffer courseStarts;                 // index of first assignment of each course, then count
+    private final IntBuffer courseNames;                  // name reference of each course
+    private final IntBuffer assignmentNames;              // name reference of each assignment
+    private final IntBuffer nameOffsets;                  // offset of each name in nameBytes, then their length
+    private final ByteBuffer nameBytes;
+    private int nextSection = HEADER_BYTES;               // offset of the next column while laying out the buffer
+
+    // EFFECTS: constructs a store over buffer, whose header has already been checked
+    private AssignmentStore(ByteBuffer buffer) {
+        this.buffer = buffer;
+        courseCount = buffer.getInt(8);
+        assignmentCount = buffer.getInt(12);
+        int nameCount = buffer.getInt(16);
+
+        idealGrades = doubles(courseCount);
+        predictedGrades = doubles(courseCount);
+        credits = doubles(courseCount);
+        grades = doubles(assignmentCount);
+        weights = doubles(assignmentCount);
+        courseStarts = ints(courseCount + 1);
+        courseNames = ints(courseCount);
+        assignmentNames = ints(assignmentCount);
+        nameOffsets = ints(nameCount + 1);
+        nameBytes = buffer.slice(nextSection, buffer.getInt(20));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a view of the next count doubles in the buffer
+    private DoubleBuffer doubles(int count) {
+        ByteBuffer section = buffer.slice(nextSection, Double.BYTES * count);
+
+        nextSection += Double.BYTES * count;
+        return section.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a view of the next count ints in the buffer
+    private IntBuffer ints(int count) {
+        ByteBuffer section = buffer.slice(nextSection, Integer.BYTES * count);
+
+        nextSection += Integer.BYTES * count;
+        return section.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    // EFFECTS: returns the size in bytes of a store of the given number of courses, assignments and names
+    private static long byteSize(int courseCount, int assignmentCount, int nameCount, int nameBytes) {
+        return HEADER_BYTES + (long) Double.BYTES * (3L * courseCount + 2L * assignmentCount)
+                + (long) Integer.BYTES * (2L * courseCount + 1 + assignmentCount + nameCount + 1) + nameBytes;
+    }
+
+    // EFFECTS: returns a store, in a newly allocated direct buffer, of the courses in courseList and their
+    //          assignments; throws IllegalArgumentException if they do not fit in one store
+    public static AssignmentStore of(CourseList courseList) {
+        List<Course> courses = courseList.getCourses();
+        NameDictionary names = new NameDictionary();
+        int assignmentCount = 0;
+
+        for (Course course : courses) {
+            names.add(course.getName());
+            for (Assignment assignment : course.getAssignments()) {
+                names.add(assignment.getName());
+            }
+            assignmentCount += course.numAssignments();
+        }
+        byte[][] encodedNames = new byte[names.size()][];
+        int nameBytes = 0;
+        for (int i = 0; i < encodedNames.length; i++) {
+            encodedNames[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+            nameBytes += encodedNames[i].length;
+        }
+        AssignmentStore store = allocate(courses.size(), assignmentCount, encodedNames.length, nameBytes);
+        store.fill(courses, names, encodedNames);
+        return store;
+    }
+
+    // EFFECTS: returns an empty store in a direct buffer with room for the given number of courses, assignments
+    //          and names; throws IllegalArgumentException if that is more than one store can hold
+    private static AssignmentStore allocate(int courseCount, int assignmentCount, int nameCount, int nameBytes) {
+        long size = byteSize(courseCount, assignmentCount, nameCount, nameBytes);
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many assignments for one store: " + assignmentCount);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, courseCount).putInt(12, assignmentCount)
+                .putInt(16, nameCount).putInt(20, nameBytes);
+        return new AssignmentStore(buffer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the courses, their assignments and the name table into the columns of this store
+    private void fill(List<Course> courses, NameDictionary names, byte[][] encodedNames) {
+        int index = 0;
+
+        for (int course = 0; course < courseCount; course++) {
+            Course source = courses.get(course);
+            idealGrades.put(course, source.getIdealGrade());
+            predictedGrades.put(course, source.getPredictedGrade());
+            credits.put(course, source.getCredits());
+            courseNames.put(course, names.add(source.getName()));
+            courseStarts.put(course, index);
+            for (Assignment assignment : source.getAssignments()) {
+                grades.put(index, assignment.getGrade());
+                weights.put(index, assignment.getWeight());
+                assignmentNames.put(index++, names.add(assignment.getName()));
+            }
+        }
+        courseStarts.put(courseCount, index);
+        fillNames(encodedNames);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the encoded names, in order of their references, and their offsets into this store
+    private void fillNames(byte[][] encodedNames) {
+        int offset = 0;
+        for (int name = 0; name < encodedNames.length; name++) {
+            nameOffsets.put(name, offset);
+            nameBytes.put(offset, encodedNames[name]);
+            offset += encodedNames[name].length;
+        }
+        nameOffsets.put(encodedNames.length, offset);
+    }
+
+    // EFFECTS: maps the store saved in file into memory, read-only, without reading it onto the heap;
+    //          throws IOException if the file can not be read or does not hold a store
+    public static AssignmentStore map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not an assignment store: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            checkHeader(buffer, file);
+            AssignmentStore store = new AssignmentStore(buffer);
+            store.checkReferences(file);
+            return store;
+        }
+    }
+
+    // EFFECTS: returns true if file starts as a saved store does, so that it is worth mapping rather than parsing;
+    //          throws IOException if the file can not be read
+    public static boolean isStore(Path file) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // keep reading until the magic number is in or the file ends
+            }
+        }
+        return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+    }
+
+    // EFFECTS: throws IOException if buffer does not start with the header of a store of exactly its size
+    private static void checkHeader(ByteBuffer buffer, Path file) throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an assignment store: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported assignment store version " + buffer.getInt(4) + ": " + file);
+        }
+        for (int offset = 8; offset < 24; offset += Integer.BYTES) {
+            if (buffer.getInt(offset) < 0) {
+                throw new IOException("Corrupt assignment store: " + file);
+            }
+        }
+        if (byteSize(buffer.getInt(8), buffer.getInt(12), buffer.getInt(16), buffer.getInt(20))
+                != buffer.capacity()) {
+            throw new IOException("Truncated assignment store: " + file);
+        }
+    }
+
+    // EFFECTS: throws IOException if the assignments of the courses or the bytes of the names do not each follow on
+    //          from the last, or a name reference is outside the name table
+    private void checkReferences(Path file) throws IOException {
+        int nameCount = nameOffsets.limit() - 1;
+
+        if (!isAscending(courseStarts, assignmentCount) || !isAscending(nameOffsets, nameBytes.capacity())
+                || !isBelow(courseNames, nameCount) || !isBelow(assignmentNames, nameCount)) {
+            throw new IOException("Corrupt assignment store: " + file);
+        }
+    }
+
+    // EFFECTS: returns true if values starts at 0, never decreases, and ends at last
+    private static boolean isAscending(IntBuffer values, int last) {
+        int previous = 0;
+
+        for (int i = 0; i < values.limit(); i++) {
+            if (values.get(i) < previous) {
+                return false;
+            }
+            previous = values.get(i);
+        }
+        return values.get(0) == 0 && previous == last;
+    }
+
+    // EFFECTS: returns true if every one of values is at least 0 and less than bound
+    private static boolean isBelow(IntBuffer values, int bound) {
+        for (int i = 0; i < values.limit(); i++) {
+            if (values.get(i) < 0 || values.get(i) >= bound) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: saves this store to file, replacing anything already there, in the form map reads back;
+    //          throws IOException if the file can not be written
+    public void save(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer contents = buffer.duplicate().clear();
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of courses in the store
+    public int numCourses() {
+        return courseCount;
+    }
+
+    // EFFECTS: returns the number of assignments in all courses in the store
+    public int numAssignments() {
+        return assignmentCount;
+    }
+
+    // EFFECTS: returns the number of assignments in the given course
+    public int numAssignments(int course) {
+        Objects.checkIndex(course, courseCount);
+        return courseStarts.get(course + 1) - courseStarts.get(course);
+    }
+
+    public String getCourseName(int course) {
+        return getName(courseNames.get(course));
+    }
+
+    public double getIdealGrade(int course) {
+        return idealGrades.get(course);
+    }
+
+    public double getPredictedGrade(int course) {
+        return predictedGrades.get(course);
+    }
+
+    public double getCredits(int course) {
+        return credits.get(course);
+    }
+
+    public String getAssignmentName(int course, int assignment) {
+        return getName(assignmentNames.get(assignmentIndex(course, assignment)));
+    }
+
+    public double getGrade(int course, int assignment) {
+        return grades.get(assignmentIndex(course, assignment));
+    }
+
+    public double getWeight(int course, int assignment) {
+        return weights.get(assignmentIndex(course, assignment));
+    }
+
+    // EFFECTS: returns the position in the assignment columns of the given assignment of the given course;
+    //          throws IndexOutOfBoundsException if there is no such assignment
+    private int assignmentIndex(int course, int assignment) {
+        return courseStarts.get(course) + Objects.checkIndex(assignment, numAssignments(course));
+    }
+
+    // EFFECTS: returns the interned name with the given reference, decoded from the name bytes
+    private String getName(int reference) {
+        int offset = nameOffsets.get(reference);
+        byte[] name = new byte[nameOffsets.get(reference + 1) - offset];
+
+        nameBytes.get(offset, name);
+        return NameDictionary.intern(new String(name, StandardCharsets.UTF_8));
+    }
+
+    // EFFECTS: returns the given course as a read-only course on the heap, with its assignments;
+    //          throws InputOutOfRangeException if a grade or weight in the store is not between 0 and 100
+    public Course toCourse(int course) throws InputOutOfRangeException {
+        List<Assignment> assignments = new ArrayList<>(numAssignments(course));
+
+        for (int i = 0; i < numAssignments(course); i++) {
+            assignments.add(new Assignment(getAssignmentName(course, i), getGrade(course, i), getWeight(course, i)));
+        }
+        return Course.readOnly(getCourseName(course), Collections.unmodifiableList(assignments),
+                getIdealGrade(course), getPredictedGrade(course), getCredits(course));
+    }
+
+    // EFFECTS: returns the statistics of the given course, calculated over the columns as CourseStats does over a
+    //          course
+    public CourseStats toStats(int course) {
+        return new CourseStats(calculateCurrentGrade(course), calculateCurrentWeight(course),
+                calculateIdealFinalGrade(course), calculatePredictedFinalGrade(course));
+    }
+
+    // EFFECTS: calculates the (rounded) current grade of the given course, as Course.calculateCurrentGrade does
+    public double calculateCurrentGrade(int course) {
+        return roundValueTwoDecimalPlaces(currentGradeSoFar(course, weightSoFar(course)));
+    }
+
+    // EFFECTS: calculates the final grade of the given course if the rest of its assignments get its ideal grade,
+    //          as Course.calculateIdealFinalGrade does
+    public double calculateIdealFinalGrade(int course) {
+        double totalWeightSoFar = weightSoFar(course);
+        double currentCourseGrade = currentGradeSoFar(course, totalWeightSoFar);
+
+        return roundValueTwoDecimalPlaces((getIdealGrade(course) - (currentCourseGrade * totalWeightSoFar))
+                / (1 - totalWeightSoFar));
+    }
+
+    // EFFECTS: calculates the final grade of the given course if the rest of its assignments get its predicted
+    //          grade, as Course.calculatePredictedFinalGrade does
+    public double calculatePredictedFinalGrade(int course) {
+        double totalWeightSoFar = weightSoFar(course);
+        double currentCourseGrade = currentGradeSoFar(course, totalWeightSoFar);
+
+        return roundValueTwoDecimalPlaces(currentCourseGrade * totalWeightSoFar
+                + getPredictedGrade(course) * (1 - totalWeightSoFar));
+    }
+
+    // EFFECTS: calculates the total weight of the assignments of the given course, as Course.calculateCurrentWeight
+    public double calculateCurrentWeight(int course) {
+        double currentWeight = 0.00;
+
+        for (int i = courseStarts.get(course); i < courseStarts.get(course + 1); i++) {
+            currentWeight += weights.get(i);
+        }
+        return roundValueTwoDecimalPlaces(currentWeight);
+    }
+
+    // EFFECTS: returns the (rounded) average of the current grades of the courses that have one, or 0 if none do,
+    //          in one pass over the grade and weight columns
+    public double calculateAverageGrade() {
+        double gradeSum = 0;
+        int gradedCourses = 0;
+
+        for (int course = 0; course < courseCount; course++) {
+            double gradeWeightSum = 0;
+            double weightSum = 0;
+            for (int i = courseStarts.get(course); i < courseStarts.get(course + 1); i++) {
+                gradeWeightSum += grades.get(i) * weights.get(i);
+                weightSum += weights.get(i);
+            }
+            if (weightSum > MIN_GRADED_WEIGHT) {
+                gradeSum += gradeWeightSum / weightSum;
+                gradedCourses++;
+            }
+        }
+        return gradedCourses == 0 ? 0 : roundValueTwoDecimalPlaces(gradeSum / gradedCourses);
+    }
+
+    // EFFECTS: returns the total weight of the assignments of the given course, as a fraction
+    private double weightSoFar(int course) {
+        double totalWeightSoFar = 0.00;
+
+        for (int i = courseStarts.get(course); i < courseStarts.get(course + 1); i++) {
+            totalWeightSoFar += weights.get(i) / 100;
+        }
+        return totalWeightSoFar;
+    }
+
+    // EFFECTS: returns the current grade (unrounded) of the given course, given the total weight of its assignments
+    //          as a fraction, or 0 if it has none
+    private double currentGradeSoFar(int course, double totalWeightSoFar) {
+        double totalGradeSoFar = 0.00;
+
+        if (numAssignments(course) == 0) {
+            return 0.00;
+        }
+        for (int i = courseStarts.get(course); i < courseStarts.get(course + 1); i++) {
+            totalGradeSoFar += (grades.get(i) * weights.get(i)) / 100;
+        }
+        return totalGradeSoFar / totalWeightSoFar;
+    }
+}
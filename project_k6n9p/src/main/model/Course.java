@@ -4,6 +4,10 @@ import tools.NumberUtilities;
 
 import exceptions.InputOutOfRangeException;
 
+import metrics.Histogram;
+import metrics.Metrics;
+import metrics.StatRecomputeEvent;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 import persistence.Writable;
@@ -13,16 +17,34 @@ import java.util.List;
 
 import static tools.NumberUtilities.roundValueTwoDecimalPlaces;
 
-// Represents a course having a name and an array of assignments
+// Represents a course having a name and an array of assignments. Its stat calculations keep their intermediate
+// results in locals rather than fields, so they only read the course and can run on a course shared between threads,
+// such as one in a course list snapshot
 public class Course implements Writable {
+    private static final Histogram CURRENT_GRADE_TIME = Metrics.timer("Course.calculateCurrentGrade");
+    private static final Histogram IDEAL_FINAL_GRADE_TIME = Metrics.timer("Course.calculateIdealFinalGrade");
+    private static final Histogram PREDICTED_FINAL_GRADE_TIME = Metrics.timer("Course.calculatePredictedFinalGrade");
+    private static final CourseListener[] NO_LISTENERS = {};
+    private static final CourseList[] NO_COURSE_LISTS = {};
+    private static final double MIN_GRADED_WEIGHT = 1e-9;
+    public static final double DEFAULT_CREDITS = 3;
 
     private String name;                           // name of assignments
     private List<Assignment> assignments;          // array of assignments for course
 
-    private double totalWeightSoFar;               // total weight of the completed assignments so far
-    private double currentCourseGrade;             // current course grade across all assignments
     private double idealGrade;                     // ideal grade for course, default=83
     private double predictedGrade;                 // predicted grade for remaining assignments, default=75
+    private double credits;                        // credits the course is worth, default=3
+
+    private double gradeWeightSum;                 // sum of grade times weight over all assignments
+    private double weightSum;                      // sum of weight over all assignments
+    private CourseList[] courseLists = NO_COURSE_LISTS;    // course lists holding this course, kept up to date
+    private GradeHistory history = new GradeHistory();    // aggregates of this course after each change
+
+    private CourseListener[] listeners = NO_LISTENERS;     // told about every change to this course
+    private int batchDepth;                        // number of batches begun and not yet ended
+    private boolean isChangedInBatch;              // changed since the outermost batch began
+    private boolean isReadOnly;                    // part of a course list snapshot, so never changed
 
     // REQUIRES: grade and weight of assignments, ideal grade and predicted grade must be in range 0.0 to 100.0
     // total weight of all assignments must not exceed 100.0
@@ -30,19 +52,61 @@ public class Course implements Writable {
     // a predicted grade set to 75
     public Course(String name) {
         this.name = name;
-        this.assignments = new ArrayList<>();
+        this.assignments = observe(new ArrayList<>());
         this.idealGrade = 83;
         this.predictedGrade = 75;
+        this.credits = DEFAULT_CREDITS;
     }
 
     // REQUIRES: grade and weight of assignments, ideal grade and predicted grade must be in range 0.0 to 100.0
     // total weight of all assignments must not exceed 100.0
-    // EFFECTS: construct a course with a name, a list of assignments, an ideal grade, and a predicted grade
+    // EFFECTS: construct a course with a name, a list of assignments, an ideal grade, and a predicted grade,
+    // worth the default credits; the list of assignments must only be changed through the course from then on
     public Course(String name, List<Assignment> assignments, double idealGrade, double predictedGrade) {
         this.name = name;
-        this.assignments = assignments;
+        this.assignments = observe(assignments);
         this.idealGrade = idealGrade;
         this.predictedGrade = predictedGrade;
+        this.credits = DEFAULT_CREDITS;
+
+        for (Assignment assignment : assignments) {
+            gradeWeightSum += assignment.getGrade() * assignment.getWeight();
+            weightSum += assignment.getWeight();
+        }
+    }
+
+    // EFFECTS: returns a read-only course with a name, a read-only list of assignments, an ideal grade, a
+    //          predicted grade and credits, as in a course list snapshot
+    static Course readOnly(String name, List<Assignment> assignments, double idealGrade, double predictedGrade,
+                           double credits) {
+        Course course = new Course(name, assignments, idealGrade, predictedGrade);
+        course.credits = credits;
+        course.isReadOnly = true;
+        return course;
+    }
+
+    // EFFECTS: throws UnsupportedOperationException if this course is read-only
+    private void checkWritable() {
+        if (isReadOnly) {
+            throw new UnsupportedOperationException("Course snapshots can not be changed");
+        }
+    }
+
+    // EFFECTS: returns a list backed by assignments that reports every assignment added to or removed from it
+    private List<Assignment> observe(List<Assignment> assignments) {
+        return new ObservedList<>(assignments) {
+            @Override
+            protected void elementAdded(int index, Assignment assignment) {
+                updateSums(assignment, 1);
+                fireAssignmentAdded(assignment);
+            }
+
+            @Override
+            protected void elementRemoved(int index, Assignment assignment) {
+                updateSums(assignment, -1);
+                fireAssignmentRemoved(assignment);
+            }
+        };
     }
 
     public String getName() {
@@ -61,6 +125,34 @@ public class Course implements Writable {
         return predictedGrade;
     }
 
+    public double getCredits() {
+        return credits;
+    }
+
+    public GradeHistory getHistory() {
+        return history;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the history of this course, such as with one saved with it; changes from then on are
+    //          recorded in history
+    public void setHistory(GradeHistory history) {
+        checkWritable();
+        this.history = history;
+    }
+
+    // EFFECTS: returns the total weight of all assignments, unrounded; takes constant time like getCurrentGrade
+    double getWeightSum() {
+        return weightSum;
+    }
+
+    // EFFECTS: returns the current course grade across all assignments, unrounded, or NaN if the course has no
+    //          assignments with weight; it is kept up to date as assignments are added and removed, so this
+    //          takes constant time
+    public double getCurrentGrade() {
+        return weightSum > MIN_GRADED_WEIGHT ? gradeWeightSum / weightSum : Double.NaN;
+    }
+
     // MODIFIES: this
     // EFFECTS: set ideal grade to a new value
     // throws InputOutOfRangeException if the new ideal grade not between 0 and 100
@@ -68,7 +160,18 @@ public class Course implements Writable {
         if (!(0 <= idealGrade && idealGrade <= 100)) {
             throw new InputOutOfRangeException("Ideal grade out of range");
         }
+        checkWritable();
+        double oldIdealGrade = this.idealGrade;
         this.idealGrade = idealGrade;
+
+        if (oldIdealGrade != idealGrade) {
+            recordHistory();
+        }
+        if (oldIdealGrade != idealGrade && !isHeldBack()) {
+            for (CourseListener listener : listeners) {
+                listener.idealGradeChanged(this, oldIdealGrade);
+            }
+        }
     }
 
     // MODIFIES: this
@@ -78,7 +181,162 @@ public class Course implements Writable {
         if (!(0 <= predictedGrade && predictedGrade <= 100)) {
             throw new InputOutOfRangeException("Predicted grade out of range");
         }
+        checkWritable();
+        double oldPredictedGrade = this.predictedGrade;
         this.predictedGrade = predictedGrade;
+
+        if (oldPredictedGrade != predictedGrade) {
+            recordHistory();
+        }
+        if (oldPredictedGrade != predictedGrade && !isHeldBack()) {
+            for (CourseListener listener : listeners) {
+                listener.predictedGradeChanged(this, oldPredictedGrade);
+            }
+        }
+    }
+
+    // EFFECTS: returns the part of the final grade already earned: the sum of grade times weight over all
+    //          assignments, divided by 100; takes constant time like getCurrentGrade
+    public double getEarnedGrade() {
+        return gradeWeightSum / 100;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: set credits to a new value
+    // throws InputOutOfRangeException if the new credits are negative, infinite, or not a number, as the
+    // course could not be saved with them
+    public void setCredits(double credits) throws InputOutOfRangeException {
+        if (!(credits >= 0) || Double.isInfinite(credits)) {
+            throw new InputOutOfRangeException("Credits out of range");
+        }
+        checkWritable();
+        double oldCredits = this.credits;
+        this.credits = credits;
+
+        if (oldCredits != credits) {
+            recordHistory();
+            for (CourseList courseList : courseLists) {
+                courseList.courseGradeChanged(this, getCurrentGrade(), oldCredits);
+            }
+            if (!isHeldBack()) {
+                for (CourseListener listener : listeners) {
+                    listener.creditsChanged(this, oldCredits);
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this, course lists holding this course
+    // EFFECTS: adds sign times the grade and weight of assignment to the sums the current grade is kept from,
+    //          updates the averages of the course lists holding this course, and records the change in history
+    private void updateSums(Assignment assignment, int sign) {
+        double oldCurrentGrade = getCurrentGrade();
+        gradeWeightSum += sign * assignment.getGrade() * assignment.getWeight();
+        weightSum += sign * assignment.getWeight();
+
+        if (assignments.isEmpty()) {
+            gradeWeightSum = 0;
+            weightSum = 0;
+        }
+        for (CourseList courseList : courseLists) {
+            courseList.courseGradeChanged(this, oldCurrentGrade, credits);
+        }
+        recordHistory();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the aggregates of this course in its history, unless a batch is in progress; a batch is
+    //          recorded once, when it ends
+    private void recordHistory() {
+        if (batchDepth == 0) {
+            history.record(this);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that courseList holds this course, so that its averages are kept up to date; unlike
+    //          listeners, course lists are told about changes even during a batch
+    void addCourseList(CourseList courseList) {
+        courseLists = Listeners.withListener(courseLists, courseList);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that courseList no longer holds this course
+    void removeCourseList(CourseList courseList) {
+        courseLists = Listeners.withoutListener(courseLists, courseList);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds listener to be told about every change to this course
+    public void addListener(CourseListener listener) {
+        listeners = Listeners.withListener(listeners, listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes listener, if it was added, so that it is no longer told about changes to this course
+    public void removeListener(CourseListener listener) {
+        listeners = Listeners.withoutListener(listeners, listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: begins a batch of changes, such as a bulk import; until the batch is ended, changes are not
+    //          reported to listeners one by one. Batches may be nested.
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    // REQUIRES: a batch has been begun and not yet ended
+    // MODIFIES: this
+    // EFFECTS: ends a batch of changes; once the outermost batch ends, listeners are told with a single
+    //          courseChanged if anything changed during it
+    public void endBatch() {
+        batchDepth--;
+
+        if (batchDepth == 0 && isChangedInBatch) {
+            isChangedInBatch = false;
+            history.record(this);
+            for (CourseListener listener : listeners) {
+                listener.courseChanged(this);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if a change is to be held back from listeners until the end of a batch, recording
+    //          that the batch changed this course
+    private boolean isHeldBack() {
+        if (batchDepth > 0) {
+            isChangedInBatch = true;
+            return true;
+        }
+        return false;
+    }
+
+    // EFFECTS: tells listeners that assignment was added, unless a batch is in progress
+    private void fireAssignmentAdded(Assignment assignment) {
+        if (!isHeldBack()) {
+            for (CourseListener listener : listeners) {
+                listener.assignmentAdded(this, assignment);
+            }
+        }
+    }
+
+    // EFFECTS: tells listeners that assignment was removed, unless a batch is in progress
+    private void fireAssignmentRemoved(Assignment assignment) {
+        if (!isHeldBack()) {
+            for (CourseListener listener : listeners) {
+                listener.assignmentRemoved(this, assignment);
+            }
+        }
+    }
+
+    // EFFECTS: returns a copy of this course with its own list of the same assignments, so that the copy can be
+    //          read, or have its stats calculated, while this course goes on being edited; the copy has no
+    //          listeners
+    public Course copy() {
+        Course copy = new Course(name, new ArrayList<>(assignments), idealGrade, predictedGrade);
+        copy.credits = credits;
+        return copy;
     }
 
     // EFFECTS: returns number of assignments in list of assignments
@@ -123,26 +381,40 @@ public class Course implements Writable {
         return false;
     }
 
-    // MODIFIES: this
     // EFFECTS: calculates the (rounded) current course grade from all assignments in array
     public double calculateCurrentGrade() {
+        long start = Metrics.startTime();
+        StatRecomputeEvent event = new StatRecomputeEvent("current grade");
+        double currentGrade = roundValueTwoDecimalPlaces(currentGradeSoFar(weightSoFar()));
+
+        event.finish(name, assignments.size());
+        CURRENT_GRADE_TIME.recordSince(start);
+        return currentGrade;
+    }
+
+    // EFFECTS: returns the total weight of all assignments in array, as a fraction
+    private double weightSoFar() {
+        double totalWeightSoFar = 0.00;
+
+        for (Assignment assignment : this.assignments) {
+            totalWeightSoFar += assignment.getWeight() / 100;
+        }
+        return totalWeightSoFar;
+    }
+
+    // EFFECTS: returns the current course grade (unrounded) across all assignments in array, given their total
+    //          weight as a fraction, or 0 if there are none
+    private double currentGradeSoFar(double totalWeightSoFar) {
         double totalGradeSoFar = 0.00;
-        totalWeightSoFar = 0.00;
-        currentCourseGrade = 0.00;
 
         // if block prevents a division by zero
         if (this.assignments.size() == 0) {
-            return currentCourseGrade;
-        } else {
-            for (Assignment assignment : this.assignments) {
-                totalGradeSoFar += (assignment.getGrade() * assignment.getWeight()) / 100;
-                totalWeightSoFar += assignment.getWeight() / 100;
-            }
+            return 0.00;
         }
-
-        currentCourseGrade = totalGradeSoFar / totalWeightSoFar;
-
-        return roundValueTwoDecimalPlaces(currentCourseGrade);
+        for (Assignment assignment : this.assignments) {
+            totalGradeSoFar += (assignment.getGrade() * assignment.getWeight()) / 100;
+        }
+        return totalGradeSoFar / totalWeightSoFar;
     }
 
     // EFFECTS: calculates total weight of all assignments in array
@@ -158,20 +430,30 @@ public class Course implements Writable {
 
     // EFFECTS: calculates the user's final grade if they receive x% on the remainder of their assignments
     public double calculateIdealFinalGrade() {
-        calculateCurrentGrade();
+        long start = Metrics.startTime();
+        StatRecomputeEvent event = new StatRecomputeEvent("ideal final grade");
+        double totalWeightSoFar = weightSoFar();
+        double currentCourseGrade = currentGradeSoFar(totalWeightSoFar);
 
         double gradeNeeded = (idealGrade - (currentCourseGrade * totalWeightSoFar)) / (1 - totalWeightSoFar);
 
+        event.finish(name, assignments.size());
+        IDEAL_FINAL_GRADE_TIME.recordSince(start);
         return roundValueTwoDecimalPlaces(gradeNeeded);
     }
 
     // EFFECTS: calculates the user's grades needed for the remaining assignments to receive x% as their final mark
     public double calculatePredictedFinalGrade() {
-        calculateCurrentGrade();
+        long start = Metrics.startTime();
+        StatRecomputeEvent event = new StatRecomputeEvent("predicted final grade");
+        double totalWeightSoFar = weightSoFar();
+        double currentCourseGrade = currentGradeSoFar(totalWeightSoFar);
 
         double predictedFinalGrade = currentCourseGrade * totalWeightSoFar
                                        + predictedGrade * (1 - totalWeightSoFar);
 
+        event.finish(name, assignments.size());
+        PREDICTED_FINAL_GRADE_TIME.recordSince(start);
         return roundValueTwoDecimalPlaces(predictedFinalGrade);
     }
 
@@ -184,11 +466,27 @@ public class Course implements Writable {
     // EFFECTS: returns a course as a JSON object
     @Override
     public JSONObject toJson() {
+        return toJson(name, assignmentsToJson());
+    }
+
+    // MODIFIES: names
+    // EFFECTS: returns a course as a JSON object that refers to its name and the names of its assignments by
+    //          their references in names
+    public JSONObject toJson(NameDictionary names) {
+        return toJson(names.add(name), assignmentsToJson(names));
+    }
+
+    // EFFECTS: returns a course as a JSON object with the given name and assignments
+    private JSONObject toJson(Object name, JSONArray assignments) {
         JSONObject json = new JSONObject();
         json.put("name", name);
-        json.put("assignments", assignmentsToJson());
+        json.put("assignments", assignments);
         json.put("ideal grade", idealGrade);
         json.put("predicted grade", predictedGrade);
+        json.put("credits", credits);
+        if (!history.isEmpty()) {
+            json.put("history", history.encode());
+        }
 
         return json;
     }
@@ -203,4 +501,16 @@ public class Course implements Writable {
 
         return jsonArray;
     }
+
+    // MODIFIES: names
+    // EFFECTS: returns assignments in this course as a JSON array, referring to their names by references in names
+    public JSONArray assignmentsToJson(NameDictionary names) {
+        JSONArray jsonArray = new JSONArray();
+
+        for (Assignment assignment : assignments) {
+            jsonArray.put(assignment.toJson(names));
+        }
+
+        return jsonArray;
+    }
 }
@@ -4,23 +4,204 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import persistence.Writable;
 
+import static tools.NumberUtilities.roundValueTwoDecimalPlaces;
+
 import java.util.ArrayList;
 import java.util.List;
 
 // Represents an array of courses
 public class CourseList implements Writable {
+    private static final CourseListListener[] NO_LISTENERS = {};
 
     private List<Course> courses;              // array of all courses
 
+    private int gradedCourses;                 // number of courses with a current grade
+    private double gradeSum;                   // sum of the current grades of those courses
+    private double creditSum;                  // sum of the credits of those courses
+    private double creditGradeSum;             // sum of credits times current grade of those courses
+
+    private CourseListListener[] listeners = NO_LISTENERS;    // told about every change to this list and its courses
+    private CourseListener forwarder;          // passes changes to the courses on to listeners, while there are any
+    private int batchDepth;                    // number of batches begun and not yet ended
+    private boolean isChangedInBatch;          // changed since the outermost batch began
+    private volatile Publisher publisher;      // keeps the version snapshots are taken of, once one is taken
+
     // EFFECTS: constructs a course list with an array of courses
     public CourseList() {
-        courses = new ArrayList<>();
+        courses = new ObservedList<>(new ArrayList<>()) {
+            @Override
+            protected void elementAdded(int index, Course course) {
+                fireCourseAdded(index, course);
+            }
+
+            @Override
+            protected void elementRemoved(int index, Course course) {
+                fireCourseRemoved(index, course);
+            }
+        };
     }
 
     public List<Course> getCourses() {
         return courses;
     }
 
+    // MODIFIES: this
+    // EFFECTS: adds listener to be told about every course added to or removed from this list, and every change
+    //          to the courses in it
+    public void addListener(CourseListListener listener) {
+        if (listeners.length == 0) {
+            forwarder = new Forwarder();
+            for (Course course : courses) {
+                course.addListener(forwarder);
+            }
+        }
+        listeners = Listeners.withListener(listeners, listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes listener, if it was added, so that it is no longer told about changes; once there are no
+    //          listeners left, the courses are no longer watched
+    public void removeListener(CourseListListener listener) {
+        listeners = Listeners.withoutListener(listeners, listener);
+
+        if (listeners.length == 0 && forwarder != null) {
+            for (Course course : courses) {
+                course.removeListener(forwarder);
+            }
+            forwarder = null;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: begins a batch of changes, such as a bulk import; until the batch is ended, changes to this list
+    //          and its courses are not reported to listeners one by one. Batches may be nested.
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    // REQUIRES: a batch has been begun and not yet ended
+    // MODIFIES: this
+    // EFFECTS: ends a batch of changes; once the outermost batch ends, listeners are told with a single
+    //          courseListChanged if anything changed during it
+    public void endBatch() {
+        batchDepth--;
+
+        if (batchDepth == 0 && isChangedInBatch) {
+            isChangedInBatch = false;
+            for (CourseListListener listener : listeners) {
+                listener.courseListChanged(this);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if a change is to be held back from listeners until the end of a batch, recording
+    //          that the batch changed this list
+    private boolean isHeldBack() {
+        if (batchDepth > 0) {
+            isChangedInBatch = true;
+            return true;
+        }
+        return false;
+    }
+
+    // MODIFIES: this, course
+    // EFFECTS: includes course in the averages and starts passing changes to course on to listeners, then tells
+    //          them that course was added at index, unless a batch is in progress
+    private void fireCourseAdded(int index, Course course) {
+        course.addCourseList(this);
+        includeInAverages(course.getCurrentGrade(), course.getCredits());
+        if (forwarder != null) {
+            course.addListener(forwarder);
+        }
+        if (!isHeldBack()) {
+            for (CourseListListener listener : listeners) {
+                listener.courseAdded(this, index, course);
+            }
+        }
+    }
+
+    // MODIFIES: this, course
+    // EFFECTS: removes course from the averages and stops passing changes to course on to listeners, then tells
+    //          them that course was removed from index, unless a batch is in progress
+    private void fireCourseRemoved(int index, Course course) {
+        course.removeCourseList(this);
+        excludeFromAverages(course.getCurrentGrade(), course.getCredits());
+        if (forwarder != null) {
+            course.removeListener(forwarder);
+        }
+        if (!isHeldBack()) {
+            for (CourseListListener listener : listeners) {
+                listener.courseRemoved(this, index, course);
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of courses that have a current grade, that is, assignments with weight
+    public int numGradedCourses() {
+        return gradedCourses;
+    }
+
+    // EFFECTS: returns the (rounded) average of the current grades of the courses that have one, each course
+    //          counting equally, or 0 if none do; kept up to date as courses and assignments are added and
+    //          removed, so this takes constant time
+    public double getAverageGrade() {
+        return gradedCourses == 0 ? 0 : roundValueTwoDecimalPlaces(gradeSum / gradedCourses);
+    }
+
+    // EFFECTS: returns the (rounded) average of the current grades of the courses that have one, each course
+    //          weighted by its credits, or 0 if they are worth no credits; takes constant time like
+    //          getAverageGrade
+    public double getCreditWeightedAverageGrade() {
+        return creditSum == 0 ? 0 : roundValueTwoDecimalPlaces(creditGradeSum / creditSum);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates the averages after the current grade of course changed from oldCurrentGrade, or its
+    //          credits from oldCredits; a grade of NaN means the course had or has no current grade
+    void courseGradeChanged(Course course, double oldCurrentGrade, double oldCredits) {
+        excludeFromAverages(oldCurrentGrade, oldCredits);
+        includeInAverages(course.getCurrentGrade(), course.getCredits());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a course with the given current grade and credits to the averages, unless the grade is NaN
+    private void includeInAverages(double currentGrade, double credits) {
+        if (!Double.isNaN(currentGrade)) {
+            gradedCourses++;
+            gradeSum += currentGrade;
+            creditSum += credits;
+            creditGradeSum += credits * currentGrade;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes a course with the given current grade and credits from the averages, unless the grade is
+    //          NaN; once no graded courses are left, the sums are reset so rounding errors can not build up
+    private void excludeFromAverages(double currentGrade, double credits) {
+        if (!Double.isNaN(currentGrade)) {
+            gradedCourses--;
+            gradeSum -= currentGrade;
+            creditSum -= credits;
+            creditGradeSum -= credits * currentGrade;
+        }
+        if (gradedCourses == 0) {
+            gradeSum = 0;
+            creditSum = 0;
+            creditGradeSum = 0;
+        }
+    }
+
+    // EFFECTS: returns the number of assignments across all courses
+    public long numAssignments() {
+        long assignmentCount = 0;
+
+        for (Course course : courses) {
+            assignmentCount += course.numAssignments();
+        }
+        return assignmentCount;
+    }
+
     // MODIFIES: this
     // EFFECTS: if course exists (searched by name), remove course and return true
     //          if course does not exist, return false
@@ -47,6 +228,27 @@ public class CourseList implements Writable {
         return null;
     }
 
+    // EFFECTS: returns a point-in-time view of the courses in this list and their assignments, in O(1) time, that
+    //          can be read from any thread without locking while this list goes on being edited. The first
+    //          snapshot starts keeping an up-to-date version of this list, so it takes O(n) time and must not be
+    //          taken while another thread edits the list; after that, each edit publishes a new version in
+    //          O(log n) time, apart from the exceptions in CourseListVersions, and a batch of edits publishes one
+    //          when it ends, in O(n) time.
+    public CourseListSnapshot snapshot() {
+        Publisher versions = publisher;
+
+        if (versions == null) {
+            synchronized (this) {
+                versions = publisher;
+                if (versions == null) {
+                    versions = new Publisher(this);
+                    publisher = versions;
+                }
+            }
+        }
+        return new CourseListSnapshot(versions.current);
+    }
+
     // EFFECTS: returns a course list as a JSON object
     @Override
     public JSONObject toJson() {
@@ -66,4 +268,91 @@ public class CourseList implements Writable {
 
         return jsonArray;
     }
+
+    // MODIFIES: names
+    // EFFECTS: returns the courses in the course list as a JSON array, referring to the names of courses and
+    //          assignments by their references in names
+    public JSONArray coursesToJson(NameDictionary names) {
+        JSONArray jsonArray = new JSONArray();
+
+        for (Course course : courses) {
+            jsonArray.put(course.toJson(names));
+        }
+
+        return jsonArray;
+    }
+
+    // Keeps the version of the list that snapshots are taken of, publishing each new one through a volatile field
+    private static class Publisher extends CourseListVersions {
+
+        // EFFECTS: constructs a publisher of the versions of courseList, starting from the version it is in now
+        private Publisher(CourseList courseList) {
+            super(courseList);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: publishes version to snapshots taken from now on
+        @Override
+        void commit(PersistentList<CourseVersion> version, int index) {
+            current = version;
+        }
+    }
+
+    // Passes each change to a course in the list on to the listeners of the list, unless a batch is in progress
+    private class Forwarder implements CourseListener {
+
+        @Override
+        public void assignmentAdded(Course course, Assignment assignment) {
+            if (!isHeldBack()) {
+                for (CourseListListener listener : listeners) {
+                    listener.assignmentAdded(course, assignment);
+                }
+            }
+        }
+
+        @Override
+        public void assignmentRemoved(Course course, Assignment assignment) {
+            if (!isHeldBack()) {
+                for (CourseListListener listener : listeners) {
+                    listener.assignmentRemoved(course, assignment);
+                }
+            }
+        }
+
+        @Override
+        public void idealGradeChanged(Course course, double oldIdealGrade) {
+            if (!isHeldBack()) {
+                for (CourseListListener listener : listeners) {
+                    listener.idealGradeChanged(course, oldIdealGrade);
+                }
+            }
+        }
+
+        @Override
+        public void predictedGradeChanged(Course course, double oldPredictedGrade) {
+            if (!isHeldBack()) {
+                for (CourseListListener listener : listeners) {
+                    listener.predictedGradeChanged(course, oldPredictedGrade);
+                }
+            }
+        }
+
+        @Override
+        public void creditsChanged(Course course, double oldCredits) {
+            if (!isHeldBack()) {
+                for (CourseListListener listener : listeners) {
+                    listener.creditsChanged(course, oldCredits);
+                }
+            }
+        }
+
+        @Override
+        public void courseChanged(Course course) {
+            if (!isHeldBack()) {
+                for (CourseListListener listener : listeners) {
+                    listener.courseChanged(course);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package model;
+
+// Receives notice of changes to a course list, and of changes to every course in it. Each specific change to
+// the list is reported as courseListChanged unless the listener overrides it.
+public interface CourseListListener extends CourseListener {
+
+    // EFFECTS: called after course is added to courseList at index
+    default void courseAdded(CourseList courseList, int index, Course course) {
+        courseListChanged(courseList);
+    }
+
+    // EFFECTS: called after course is removed from index of courseList
+    default void courseRemoved(CourseList courseList, int index, Course course) {
+        courseListChanged(courseList);
+    }
+
+    // EFFECTS: called after courseList changed in a way not reported more specifically, such as at the end of a
+    //          batch of changes, after which any of its courses may have been added, removed, or changed
+    default void courseListChanged(CourseList courseList) {
+    }
+}
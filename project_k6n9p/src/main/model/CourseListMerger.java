@@ -0,0 +1,258 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Merges a course list read from a file into the live course list the user is editing, when another program has
+// changed the file. The merger remembers a hash of each course as the file last held it, so that only the courses
+// the file changed since then are applied: courses the file left alone are skipped without being compared, and so
+// keep any edits the user has not saved yet. Courses are matched by name, the nth course with a name in one list
+// to the nth with that name in the other. A merge only adds, removes and updates the courses that changed, each
+// as its own change to the live course list, so that whatever shows the list only redraws those courses. Where
+// each course goes in the live course list is worked out as the merge goes, rather than by searching the list, so
+// that a merge that adds or removes many courses still takes time in proportion to the size of the lists.
+public class CourseListMerger {
+    private static final long HASH_SEED = 0x2545F4914F6CDD1DL;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private Map<String, List<Long>> baseHashes = new HashMap<>();     // hashes of courses as the file held them
+    private int addedCount;                        // courses added by the last merge
+    private int removedCount;                      // courses removed by the last merge
+    private int changedCount;                      // courses updated by the last merge
+
+    public int getAddedCount() {
+        return addedCount;
+    }
+
+    public int getRemovedCount() {
+        return removedCount;
+    }
+
+    public int getChangedCount() {
+        return changedCount;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remembers courseList as what the file holds, such as just after it was loaded or saved, so that
+    //          the next merge only applies what changed in the file since
+    public void setBase(CourseList courseList) {
+        baseHashes = hashesByName(courseList.getCourses());
+    }
+
+    // MODIFIES: this, live
+    // EFFECTS: applies to live every course that changed between the file as last seen and loaded, as read from the
+    //          file now: courses gone from the file are removed, new ones added after the course before them, and
+    //          changed ones updated in place; then remembers loaded as what the file holds
+    public void merge(CourseList live, CourseList loaded) {
+        Map<String, List<Long>> loadedHashes = hashesByName(loaded.getCourses());
+        addedCount = 0;
+        removedCount = 0;
+        changedCount = 0;
+
+        removeDeleted(live, loadedHashes);
+        Map<String, Deque<Course>> liveByName = coursesByName(live.getCourses());
+        LivePositions positions = new LivePositions(live.getCourses());
+        Map<String, Integer> occurrences = new HashMap<>();
+        int next = 0;
+        for (Course course : loaded.getCourses()) {
+            int occurrence = occurrences.merge(course.getName(), 1, Integer::sum) - 1;
+            long hash = loadedHashes.get(course.getName()).get(occurrence);
+            Course match = liveByName.getOrDefault(course.getName(), new ArrayDeque<>()).poll();
+
+            if (match != null) {
+                next = positions.indexAfter(match, live.getCourses(), addedCount);
+            }
+            if (!isUnchangedInFile(course.getName(), occurrence, hash)) {
+                next = apply(live, course, hash, match, next);
+            }
+        }
+        baseHashes = loadedHashes;
+    }
+
+    // EFFECTS: returns true if the file held a course with the given hash as the given occurrence of name before
+    private boolean isUnchangedInFile(String name, int occurrence, long hash) {
+        List<Long> hashes = baseHashes.get(name);
+
+        return hashes != null && occurrence < hashes.size() && hashes.get(occurrence) == hash;
+    }
+
+    // MODIFIES: this, live
+    // REQUIRES: next is the index in live just after the live course matching the course before course in the
+    //           file, or match if there is one
+    // EFFECTS: makes match, the live course matching course, the same as course if it is not already, or adds a
+    //          copy of course to live at next if there is no match; returns the index in live just after the live
+    //          course now matching course
+    private int apply(CourseList live, Course course, long hash, Course match, int next) {
+        if (match == null) {
+            Course added = course.copy();
+            added.setHistory(course.getHistory());
+            live.getCourses().add(next, added);
+            addedCount++;
+            return next + 1;
+        }
+        if (hash(match) != hash) {
+            update(match, course);
+            changedCount++;
+        }
+        return next;
+    }
+
+    // MODIFIES: this, live
+    // EFFECTS: removes from live the last occurrences of each name that the file held before but no longer does,
+    //          from the end of live to its start, so that no course is searched for
+    private void removeDeleted(CourseList live, Map<String, List<Long>> loadedHashes) {
+        Set<Course> deleted = findDeleted(live, loadedHashes);
+        List<Course> courses = live.getCourses();
+
+        for (int i = courses.size() - 1; i >= 0 && !deleted.isEmpty(); i--) {
+            if (deleted.remove(courses.get(i))) {
+                courses.remove(i);
+                removedCount++;
+            }
+        }
+    }
+
+    // EFFECTS: returns the last occurrences in live of each name that the file held before but no longer does
+    private Set<Course> findDeleted(CourseList live, Map<String, List<Long>> loadedHashes) {
+        Map<String, Deque<Course>> liveByName = coursesByName(live.getCourses());
+        Set<Course> deleted = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Map.Entry<String, List<Long>> entry : baseHashes.entrySet()) {
+            List<Long> loaded = loadedHashes.get(entry.getKey());
+            Deque<Course> matches = liveByName.getOrDefault(entry.getKey(), new ArrayDeque<>());
+            int deletedCount = entry.getValue().size() - (loaded == null ? 0 : loaded.size());
+
+            for (int i = 0; i < deletedCount && matches.size() > (loaded == null ? 0 : loaded.size()); i++) {
+                deleted.add(matches.pollLast());
+            }
+        }
+        return deleted;
+    }
+
+    // MODIFIES: course
+    // EFFECTS: makes course hold the grades, credits and assignments of loaded, as one batch of changes that keeps
+    //          the assignments of course that loaded also has
+    private static void update(Course course, Course loaded) {
+        course.beginBatch();
+        try {
+            course.setIdealGrade(loaded.getIdealGrade());
+            course.setPredictedGrade(loaded.getPredictedGrade());
+            course.setCredits(loaded.getCredits());
+            EditHistory.splice(course.getAssignments(), reuse(course.getAssignments(), loaded.getAssignments()));
+        } catch (InputOutOfRangeException e) {
+            throw new IllegalStateException("Loaded course out of range", e);
+        } finally {
+            course.endBatch();
+        }
+    }
+
+    // EFFECTS: returns loaded with each assignment replaced by an assignment of live with the same name, grade and
+    //          weight, where there is one, so that the assignments both have are kept by identity
+    private static List<Assignment> reuse(List<Assignment> live, List<Assignment> loaded) {
+        Map<String, Deque<Assignment>> liveByKey = new HashMap<>();
+        for (Assignment assignment : live) {
+            liveByKey.computeIfAbsent(key(assignment), key -> new ArrayDeque<>()).add(assignment);
+        }
+
+        List<Assignment> reused = new ArrayList<>(loaded.size());
+        for (Assignment assignment : loaded) {
+            Assignment same = liveByKey.getOrDefault(key(assignment), new ArrayDeque<>()).poll();
+            reused.add(same != null ? same : assignment);
+        }
+        return reused;
+    }
+
+    // EFFECTS: returns a key that two assignments share only if they have the same name, grade and weight
+    private static String key(Assignment assignment) {
+        return assignment.getName() + '\0' + assignment.getGrade() + '\0' + assignment.getWeight();
+    }
+
+    // EFFECTS: returns the courses grouped by name, each group in order
+    private static Map<String, Deque<Course>> coursesByName(List<Course> courses) {
+        Map<String, Deque<Course>> byName = new HashMap<>();
+
+        for (Course course : courses) {
+            byName.computeIfAbsent(course.getName(), name -> new ArrayDeque<>()).add(course);
+        }
+        return byName;
+    }
+
+    // EFFECTS: returns the hashes of the courses grouped by name, each group in order
+    private static Map<String, List<Long>> hashesByName(List<Course> courses) {
+        Map<String, List<Long>> byName = new HashMap<>();
+
+        for (Course course : courses) {
+            byName.computeIfAbsent(course.getName(), name -> new ArrayList<>()).add(hash(course));
+        }
+        return byName;
+    }
+
+    // EFFECTS: returns a 64-bit hash of the name, grades, credits and assignments of course, which is the same
+    //          for two courses holding the same values and almost certainly different otherwise
+    public static long hash(Course course) {
+        long hash = hash(HASH_SEED, course.getName());
+
+        hash = mix(hash, Double.doubleToLongBits(course.getIdealGrade()));
+        hash = mix(hash, Double.doubleToLongBits(course.getPredictedGrade()));
+        hash = mix(hash, Double.doubleToLongBits(course.getCredits()));
+        for (Assignment assignment : course.getAssignments()) {
+            hash = hash(hash, assignment.getName());
+            hash = mix(hash, Double.doubleToLongBits(assignment.getGrade()));
+            hash = mix(hash, Double.doubleToLongBits(assignment.getWeight()));
+        }
+        return mix(hash, course.numAssignments());
+    }
+
+    // EFFECTS: returns hash combined with each character of text, then its length
+    private static long hash(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = mix(hash, text.charAt(i));
+        }
+        return mix(hash, text.length());
+    }
+
+    // EFFECTS: returns hash combined with value, so that every bit of value affects every bit of the result
+    private static long mix(long hash, long value) {
+        long mixed = (hash ^ value) * HASH_MULTIPLIER;
+
+        return mixed ^ (mixed >>> 29);
+    }
+
+    // Positions of the live courses as a merge starts adding courses. A merge adds each course just after the live
+    // course matching the one before it in the file, so every course it added so far is before a live course that
+    // is further along than any matched before it, whose index is then its position plus the number added. A live
+    // course matched out of order, such as one the user moved, is looked for in the list instead.
+    private static class LivePositions {
+        private final Map<Course, Integer> positions = new IdentityHashMap<>();
+        private int furthest = -1;                 // furthest position of a live course matched so far
+
+        // EFFECTS: notes the position of each of courses
+        LivePositions(List<Course> courses) {
+            for (int i = 0; i < courses.size(); i++) {
+                positions.put(courses.get(i), i);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the index in courses just after match, where addedCount courses have been added since
+        //          the positions were noted
+        int indexAfter(Course match, List<Course> courses, int addedCount) {
+            int position = positions.get(match);
+
+            if (position > furthest) {
+                furthest = position;
+                return position + addedCount + 1;
+            }
+            return courses.indexOf(match) + 1;
+        }
+    }
+}
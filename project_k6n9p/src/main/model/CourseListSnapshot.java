@@ -0,0 +1,88 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+// Represents a point-in-time view of a course list, its courses and their assignments, that never changes however
+// the course list is edited afterwards. Its courses are read-only: their grades and assignments can not be changed,
+// and their stats can be calculated from any number of threads at once. A snapshot only refers to the version of
+// the course list it was taken from, so taking one takes O(1) time, and each of its courses is only built the
+// first time it is read.
+public final class CourseListSnapshot implements Iterable<Course> {
+    private final PersistentList<CourseVersion> versions;
+
+    // EFFECTS: constructs a snapshot of the course list version given
+    CourseListSnapshot(PersistentList<CourseVersion> versions) {
+        this.versions = versions;
+    }
+
+    // EFFECTS: returns the number of courses in the snapshot
+    public int size() {
+        return versions.size();
+    }
+
+    // EFFECTS: returns a read-only list of the courses in the snapshot
+    public List<Course> getCourses() {
+        return new AbstractList<>() {
+            @Override
+            public Course get(int index) {
+                return versions.get(index).toCourse();
+            }
+
+            @Override
+            public int size() {
+                return versions.size();
+            }
+
+            @Override
+            public Iterator<Course> iterator() {
+                return CourseListSnapshot.this.iterator();
+            }
+        };
+    }
+
+    // EFFECTS: returns an iterator over the courses in the snapshot, in order
+    @Override
+    public Iterator<Course> iterator() {
+        Iterator<CourseVersion> iterator = versions.iterator();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Course next() {
+                return iterator.next().toCourse();
+            }
+        };
+    }
+
+    // EFFECTS: returns the read-only version in the snapshot of course, a course of the list the snapshot was taken
+    //          from, or null if course was not in the list; looks at index first, so takes O(log n) time if course
+    //          is there, and O(n) time otherwise
+    public Course versionOf(Course course, int index) {
+        if (0 <= index && index < versions.size() && versions.get(index).getCourse() == course) {
+            return versions.get(index).toCourse();
+        }
+        for (CourseVersion version : versions) {
+            if (version.getCourse() == course) {
+                return version.toCourse();
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: search for a course using its name
+    //          return the course if found, and null if not found
+    public Course containsByName(String courseName) {
+        for (CourseVersion version : versions) {
+            if (version.getCourse().getName().equals(courseName)) {
+                return version.toCourse();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,154 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Follows the edits made to a course list, keeping a version of it as it is now: a persistent list of course
+// versions (see PersistentList and CourseVersion), updated by each edit in O(log n) time and memory for n
+// courses, plus O(log m) for m assignments when the edit is to an assignment, though removing an assignment
+// first looks for it in O(m) time. Edited courses are found through a map of their positions, which adding or
+// removing the last course keeps up to date; adding or removing a course anywhere else, which shifts the list
+// itself in O(n) time, has the map rebuilt in O(n) time on the next edit to a course. Each new version is passed
+// to commit, along with the position of the course the edit changed; versions are never changed, so they can be
+// kept, or read from any thread.
+//
+// A batch of changes makes one new version once it ends, sharing the versions of the courses it did not change.
+abstract class CourseListVersions implements CourseListListener {
+    static final int ALL_COURSES = -1;             // position committed with a version that may differ anywhere
+
+    final CourseList courseList;                   // course list being followed
+    volatile PersistentList<CourseVersion> current;        // version of the course list as it is now
+    private Map<Course, Integer> indices;          // position of each course, or null if it must be rebuilt
+
+    // EFFECTS: constructs versions of courseList, starting from the version it is in now, and listens to it
+    CourseListVersions(CourseList courseList) {
+        this.courseList = courseList;
+        this.current = versionOf(courseList, Map.of());
+        courseList.addListener(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: called with each new version of the course list after an edit, to make it current; index is the
+    //          position of the one course the edit added, removed or changed, or ALL_COURSES after a batch
+    abstract void commit(PersistentList<CourseVersion> version, int index);
+
+    // MODIFIES: this
+    // EFFECTS: stops following the edits made to the course list
+    void stop() {
+        courseList.removeListener(this);
+    }
+
+    @Override
+    public void courseAdded(CourseList courseList, int index, Course course) {
+        if (indices != null && index == courseList.getCourses().size() - 1) {
+            indices.put(course, index);
+        } else {
+            indices = null;
+        }
+        commit(current.add(index, CourseVersion.of(course)), index);
+    }
+
+    @Override
+    public void courseRemoved(CourseList courseList, int index, Course course) {
+        if (indices != null && index == courseList.getCourses().size()) {
+            indices.remove(course);
+        } else {
+            indices = null;
+        }
+        commit(current.remove(index), index);
+    }
+
+    @Override
+    public void assignmentAdded(Course course, Assignment assignment) {
+        int index = indexOf(course);
+        CourseVersion version = current.get(index);
+        int position = course.getAssignments().lastIndexOf(assignment);
+
+        commit(current.set(index, version.withAssignments(version.getAssignments().add(position, assignment))),
+                index);
+    }
+
+    @Override
+    public void assignmentRemoved(Course course, Assignment assignment) {
+        int index = indexOf(course);
+        CourseVersion version = current.get(index);
+        int position = version.getAssignments().indexOf(assignment);
+
+        commit(current.set(index, version.withAssignments(version.getAssignments().remove(position))), index);
+    }
+
+    @Override
+    public void idealGradeChanged(Course course, double oldIdealGrade) {
+        gradesChanged(course);
+    }
+
+    @Override
+    public void predictedGradeChanged(Course course, double oldPredictedGrade) {
+        gradesChanged(course);
+    }
+
+    @Override
+    public void creditsChanged(Course course, double oldCredits) {
+        gradesChanged(course);
+    }
+
+    // EFFECTS: records a new version of course, after a batch of changes to it
+    @Override
+    public void courseChanged(Course course) {
+        int index = indexOf(course);
+        commit(current.set(index, CourseVersion.of(course)), index);
+    }
+
+    // EFFECTS: records a new version of the course list, after a batch of changes to it, sharing the versions
+    //          of the courses that did not change
+    @Override
+    public void courseListChanged(CourseList courseList) {
+        indices = null;
+        commit(versionOf(courseList, byCourse(current)), ALL_COURSES);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the ideal grade, predicted grade and credits of course as a new version
+    private void gradesChanged(Course course) {
+        int index = indexOf(course);
+        commit(current.set(index, current.get(index).withCurrentGrades()), index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the index of course in the course list, first rebuilding the positions of the courses if
+    //          a course was added or removed other than at the end since they were last built
+    private int indexOf(Course course) {
+        if (indices == null) {
+            List<Course> courses = courseList.getCourses();
+            indices = new IdentityHashMap<>(courses.size() * 2);
+            for (int i = 0; i < courses.size(); i++) {
+                indices.put(courses.get(i), i);
+            }
+        }
+        return indices.get(course);
+    }
+
+    // EFFECTS: returns the version of each course in version, by course
+    static Map<Course, CourseVersion> byCourse(PersistentList<CourseVersion> version) {
+        Map<Course, CourseVersion> versions = new IdentityHashMap<>();
+
+        for (CourseVersion courseVersion : version) {
+            versions.put(courseVersion.getCourse(), courseVersion);
+        }
+        return versions;
+    }
+
+    // EFFECTS: returns a version of courseList, reusing the version in previous of each course that has not changed
+    static PersistentList<CourseVersion> versionOf(CourseList courseList,
+                                                          Map<Course, CourseVersion> previous) {
+        List<CourseVersion> versions = new ArrayList<>(courseList.getCourses().size());
+
+        for (Course course : courseList.getCourses()) {
+            CourseVersion version = previous.get(course);
+            versions.add(version != null && version.isCurrent() ? version : CourseVersion.of(course));
+        }
+        return PersistentList.of(versions);
+    }
+}
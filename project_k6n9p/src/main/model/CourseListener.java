@@ -0,0 +1,37 @@
+package model;
+
+// Receives notice of changes to a course. Each specific change is reported as courseChanged unless the listener
+// overrides it, so a listener that only needs to know that something changed overrides courseChanged alone.
+// Listeners are called on the thread that made the change, after the change has been made.
+public interface CourseListener {
+
+    // EFFECTS: called after assignment is added to course
+    default void assignmentAdded(Course course, Assignment assignment) {
+        courseChanged(course);
+    }
+
+    // EFFECTS: called after assignment is removed from course
+    default void assignmentRemoved(Course course, Assignment assignment) {
+        courseChanged(course);
+    }
+
+    // EFFECTS: called after the ideal grade of course changes from oldIdealGrade
+    default void idealGradeChanged(Course course, double oldIdealGrade) {
+        courseChanged(course);
+    }
+
+    // EFFECTS: called after the predicted grade of course changes from oldPredictedGrade
+    default void predictedGradeChanged(Course course, double oldPredictedGrade) {
+        courseChanged(course);
+    }
+
+    // EFFECTS: called after the credits of course change from oldCredits
+    default void creditsChanged(Course course, double oldCredits) {
+        courseChanged(course);
+    }
+
+    // EFFECTS: called after course changed in a way not reported more specifically, such as at the end of a
+    //          batch of changes, after which anything about the course may have changed
+    default void courseChanged(Course course) {
+    }
+}
@@ -0,0 +1,45 @@
+package model;
+
+// Represents the statistics of a course at one point in time: its current grade and weight, the grade needed
+// on the remaining assignments to achieve the ideal grade, and the final grade if the predicted grade is achieved
+public class CourseStats {
+
+    private final double currentGrade;              // current course grade across all assignments
+    private final double currentWeight;             // total weight of all assignments
+    private final double idealFinalGrade;           // grade needed on remaining assignments for the ideal grade
+    private final double predictedFinalGrade;       // final grade if the predicted grade is achieved
+
+    // MODIFIES: course
+    // EFFECTS: computes the statistics of the course as it currently is
+    public CourseStats(Course course) {
+        currentGrade = course.calculateCurrentGrade();
+        currentWeight = course.calculateCurrentWeight();
+        idealFinalGrade = course.calculateIdealFinalGrade();
+        predictedFinalGrade = course.calculatePredictedFinalGrade();
+    }
+
+    // EFFECTS: constructs the statistics of a course from values calculated elsewhere, such as in an assignment
+    //          store
+    CourseStats(double currentGrade, double currentWeight, double idealFinalGrade, double predictedFinalGrade) {
+        this.currentGrade = currentGrade;
+        this.currentWeight = currentWeight;
+        this.idealFinalGrade = idealFinalGrade;
+        this.predictedFinalGrade = predictedFinalGrade;
+    }
+
+    public double getCurrentGrade() {
+        return currentGrade;
+    }
+
+    public double getCurrentWeight() {
+        return currentWeight;
+    }
+
+    public double getIdealFinalGrade() {
+        return idealFinalGrade;
+    }
+
+    public double getPredictedFinalGrade() {
+        return predictedFinalGrade;
+    }
+}
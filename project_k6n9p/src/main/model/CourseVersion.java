@@ -0,0 +1,98 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+
+import java.util.Collections;
+
+// Represents the state of a course at one point in time, in an edit history or a snapshot: its assignments and
+// its ideal grade, predicted grade and credits. Assignments never change, so versions of a course share them,
+// and share every part of their lists of assignments that an edit did not touch.
+final class CourseVersion {
+    private final Course course;                   // the course this is a version of
+    private final PersistentList<Assignment> assignments;
+    private final double idealGrade;
+    private final double predictedGrade;
+    private final double credits;
+    private volatile Course readOnlyCourse;        // course in this version, built the first time it is read
+
+    // EFFECTS: constructs a version of course with the given assignments, grades and credits
+    private CourseVersion(Course course, PersistentList<Assignment> assignments, double idealGrade,
+                          double predictedGrade, double credits) {
+        this.course = course;
+        this.assignments = assignments;
+        this.idealGrade = idealGrade;
+        this.predictedGrade = predictedGrade;
+        this.credits = credits;
+    }
+
+    // EFFECTS: returns the current version of course, in O(n) time for n assignments
+    static CourseVersion of(Course course) {
+        return new CourseVersion(course, PersistentList.of(course.getAssignments()), course.getIdealGrade(),
+                course.getPredictedGrade(), course.getCredits());
+    }
+
+    // EFFECTS: returns a read-only course in this version, building it the first time; the course is published
+    //          through a volatile field, so it can be read from any thread
+    Course toCourse() {
+        Course course = readOnlyCourse;
+
+        if (course == null) {
+            course = Course.readOnly(this.course.getName(), Collections.unmodifiableList(assignments.toList()),
+                    idealGrade, predictedGrade, credits);
+            readOnlyCourse = course;
+        }
+        return course;
+    }
+
+    Course getCourse() {
+        return course;
+    }
+
+    PersistentList<Assignment> getAssignments() {
+        return assignments;
+    }
+
+    // EFFECTS: returns this version with the given assignments
+    CourseVersion withAssignments(PersistentList<Assignment> assignments) {
+        return new CourseVersion(course, assignments, idealGrade, predictedGrade, credits);
+    }
+
+    // EFFECTS: returns this version with the current grades and credits of its course
+    CourseVersion withCurrentGrades() {
+        return new CourseVersion(course, assignments, course.getIdealGrade(), course.getPredictedGrade(),
+                course.getCredits());
+    }
+
+    // EFFECTS: returns true if the course is in this version: it has the same assignments, in order, and the same
+    //          grades and credits
+    boolean isCurrent() {
+        if (course.getIdealGrade() != idealGrade || course.getPredictedGrade() != predictedGrade
+                || course.getCredits() != credits || course.numAssignments() != assignments.size()) {
+            return false;
+        }
+        int index = 0;
+        for (Assignment assignment : assignments) {
+            if (course.getAssignments().get(index++) != assignment) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // MODIFIES: course
+    // EFFECTS: puts the course back in this version as one batch of changes, only adding and removing the
+    //          assignments that differ
+    void restore() {
+        course.beginBatch();
+        try {
+            course.setIdealGrade(idealGrade);
+            course.setPredictedGrade(predictedGrade);
+            course.setCredits(credits);
+            EditHistory.splice(course.getAssignments(), assignments.toList());
+        } catch (InputOutOfRangeException e) {
+            throw new IllegalStateException("Course version out of range", e);
+        } finally {
+            course.endBatch();
+        }
+    }
+}
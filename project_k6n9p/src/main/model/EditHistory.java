@@ -0,0 +1,184 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+// Keeps the versions of a course list as it is edited, so that edits can be undone and redone. Each version is a
+// persistent list of course versions (see CourseListVersions), so an edit only copies the O(log n) nodes on the
+// path to the course it changed, and the O(log m) nodes on the path to the assignment, rather than the whole
+// course list. Each edit is kept with the position of the course it added, removed or changed, so undoing or
+// redoing it swaps which version is current and then only puts that one course back: O(log n) time, plus the
+// assignments of that course, and the O(n) shift of the list itself when the course is put back into it or taken
+// out of it. A batch of changes to the course list may have changed courses anywhere in it, so
+// undoing or redoing one compares the whole course list with the version, in O(n) time like the batch itself,
+// still only touching the courses and assignments that differ.
+//
+// A batch of changes is undone as one edit. Edits to the course list should be made on one thread, as with
+// its listeners.
+public class EditHistory extends CourseListVersions {
+    public static final int DEFAULT_LIMIT = 1000;
+
+    private final int limit;                                   // most edits kept to be undone
+    private final Deque<Edit> undoEdits = new ArrayDeque<>();  // newest first
+    private final Deque<Edit> redoEdits = new ArrayDeque<>();  // newest undone first
+    private boolean isRestoring;                               // putting a version back, so changes are not new edits
+
+    // EFFECTS: constructs a history of the edits made to courseList from now on, keeping the last DEFAULT_LIMIT
+    public EditHistory(CourseList courseList) {
+        this(courseList, DEFAULT_LIMIT);
+    }
+
+    // REQUIRES: limit >= 1
+    // EFFECTS: constructs a history of the edits made to courseList from now on, keeping the last limit
+    public EditHistory(CourseList courseList, int limit) {
+        super(courseList);
+        this.limit = limit;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops keeping the edits made to the course list
+    public void close() {
+        stop();
+    }
+
+    public boolean canUndo() {
+        return !undoEdits.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoEdits.isEmpty();
+    }
+
+    // MODIFIES: this, course list
+    // EFFECTS: undoes the last edit not yet undone, returning true, or returns false if there is none
+    public boolean undo() {
+        if (undoEdits.isEmpty()) {
+            return false;
+        }
+        Edit edit = undoEdits.pop();
+        redoEdits.push(new Edit(current, edit.index));
+        restore(edit);
+        return true;
+    }
+
+    // MODIFIES: this, course list
+    // EFFECTS: redoes the last edit undone since the last new edit, returning true, or returns false if there is
+    //          none
+    public boolean redo() {
+        if (redoEdits.isEmpty()) {
+            return false;
+        }
+        Edit edit = redoEdits.pop();
+        undoEdits.push(new Edit(current, edit.index));
+        restore(edit);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes version current, keeping the version it replaces and the position of the edit to be undone,
+    //          and forgetting what was undone; while a version is being put back, only makes version current
+    @Override
+    void commit(PersistentList<CourseVersion> version, int index) {
+        if (!isRestoring) {
+            undoEdits.push(new Edit(current, index));
+            if (undoEdits.size() > limit) {
+                undoEdits.removeLast();
+            }
+            redoEdits.clear();
+        }
+        current = version;
+    }
+
+    // MODIFIES: this, course list
+    // EFFECTS: brings the course list in line with the version of edit, then makes that version current, without
+    //          recording any of it as an edit
+    private void restore(Edit edit) {
+        isRestoring = true;
+        try {
+            if (edit.index == ALL_COURSES) {
+                restoreAll(edit.version);
+            } else {
+                restoreAt(edit.version, edit.index);
+            }
+        } finally {
+            isRestoring = false;
+        }
+        current = edit.version;
+    }
+
+    // MODIFIES: course list
+    // EFFECTS: brings the course list in line with version, which only differs from it at index: removes the course
+    //          there, adds the course of version there, or puts the course there back in its version
+    private void restoreAt(PersistentList<CourseVersion> version, int index) {
+        List<Course> courses = courseList.getCourses();
+
+        if (version.size() < courses.size()) {
+            courses.remove(index);
+            return;
+        }
+        CourseVersion courseVersion = version.get(index);
+        if (version.size() > courses.size()) {
+            courses.add(index, courseVersion.getCourse());
+        }
+        if (!courseVersion.isCurrent()) {
+            courseVersion.restore();
+        }
+    }
+
+    // MODIFIES: course list
+    // EFFECTS: brings the course list in line with version as one batch of changes, only adding and removing the
+    //          courses that differ, and only putting back the courses whose versions differ
+    private void restoreAll(PersistentList<CourseVersion> version) {
+        Map<Course, CourseVersion> previous = byCourse(current);
+        List<Course> courses = new ArrayList<>(version.size());
+        for (CourseVersion courseVersion : version) {
+            courses.add(courseVersion.getCourse());
+        }
+
+        courseList.beginBatch();
+        try {
+            splice(courseList.getCourses(), courses);
+            for (CourseVersion courseVersion : version) {
+                if (previous.get(courseVersion.getCourse()) != courseVersion) {
+                    courseVersion.restore();
+                }
+            }
+        } finally {
+            courseList.endBatch();
+        }
+    }
+
+    // MODIFIES: live
+    // EFFECTS: makes live hold the same elements as wanted, in order, by replacing only the elements between the
+    //          longest prefix and suffix the two have in common (compared by identity)
+    static <E> void splice(List<E> live, List<E> wanted) {
+        int prefix = 0;
+        int shorter = Math.min(live.size(), wanted.size());
+
+        while (prefix < shorter && live.get(prefix) == wanted.get(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < shorter - prefix
+                && live.get(live.size() - 1 - suffix) == wanted.get(wanted.size() - 1 - suffix)) {
+            suffix++;
+        }
+        live.subList(prefix, live.size() - suffix).clear();
+        live.addAll(prefix, wanted.subList(prefix, wanted.size() - suffix));
+    }
+
+    // Represents an edit kept to be undone or redone: the version of the course list to put back, and the position
+    // of the one course the edit added, removed or changed, or ALL_COURSES
+    private static class Edit {
+        private final PersistentList<CourseVersion> version;
+        private final int index;
+
+        private Edit(PersistentList<CourseVersion> version, int index) {
+            this.version = version;
+            this.index = index;
+        }
+    }
+}
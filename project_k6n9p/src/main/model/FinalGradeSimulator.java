@@ -0,0 +1,135 @@
+package model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Simulates the final grade of a course many times to estimate the chance of reaching its ideal grade. The grade
+// on each remaining assignment is drawn from a normal distribution fitted to the grades of the course's graded
+// assignments, weighted by their weights, and kept within the lowest and highest grades of the assignment.
+// The spread is pulled towards a default of 10 percent when there are few grades to fit it to, and a course with
+// no grades yet is centred on its predicted grade.
+//
+// Trials run in shards of a fixed size on the common fork/join pool. Each shard has its own random number
+// generator, split from the simulator's in order before any shard starts, so results only depend on the seed and
+// not on how shards are scheduled; within a shard, trials only touch primitive accumulators and allocate nothing.
+public class FinalGradeSimulator {
+    public static final int DEFAULT_TRIALS = 1_000_000;
+    public static final int INTERACTIVE_TRIALS = 20_000;    // enough for the chance to within a percent
+    private static final int TRIALS_PER_SHARD = 1 << 16;
+    private static final double DEFAULT_DEVIATION = 10;
+    private static final double PRIOR_GRADES = 2;      // number of grades the default deviation counts as
+
+    private final SplittableRandom random;
+
+    // EFFECTS: constructs a simulator whose results differ from run to run
+    public FinalGradeSimulator() {
+        random = new SplittableRandom();
+    }
+
+    // EFFECTS: constructs a simulator whose results are determined by seed
+    public FinalGradeSimulator(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: simulates the final grade of course the given number of times, taking the rest of the course as one
+    //          remaining assignment weighing whatever its assignments leave of 100
+    public SimulationResult simulate(Course course, int trials) {
+        return simulate(course, List.of(RemainingAssignment.restOf(course)), trials);
+    }
+
+    // REQUIRES: the weights of the assignments of course and of remaining add up to at most 100
+    // MODIFIES: this
+    // EFFECTS: simulates the final grade of course the given number of times, drawing a grade for each of the
+    //          remaining assignments in every trial
+    public SimulationResult simulate(Course course, List<RemainingAssignment> remaining, int trials) {
+        double mean = fittedMean(course);
+        double deviation = fittedDeviation(course, mean);
+        Trials shape = new Trials(course.getEarnedGrade(), remaining, mean, deviation, course.getIdealGrade());
+
+        int shards = (trials + TRIALS_PER_SHARD - 1) / TRIALS_PER_SHARD;
+        SplittableRandom[] shardRandoms = new SplittableRandom[shards];
+        for (int i = 0; i < shards; i++) {
+            shardRandoms[i] = random.split();
+        }
+
+        return IntStream.range(0, shards).parallel()
+                .mapToObj(i -> shape.run(shardRandoms[i], Math.min(TRIALS_PER_SHARD, trials - i * TRIALS_PER_SHARD)))
+                .reduce((result, other) -> {
+                    result.merge(other);
+                    return result;
+                })
+                .orElseGet(() -> new SimulationResult(course.getIdealGrade()));
+    }
+
+    // EFFECTS: returns the mean grade of the assignments of course, weighted by weight, or its predicted grade if
+    //          it has no assignments with weight
+    private static double fittedMean(Course course) {
+        double currentGrade = course.getCurrentGrade();
+        return Double.isNaN(currentGrade) ? course.getPredictedGrade() : currentGrade;
+    }
+
+    // EFFECTS: returns the deviation of the grades of the assignments of course from mean, weighted by weight,
+    //          pulled towards the default deviation as if it were PRIOR_GRADES more grades
+    private static double fittedDeviation(Course course, double mean) {
+        double weightSum = 0;
+        double squaredSum = 0;
+        int count = 0;
+
+        for (Assignment assignment : course.getAssignments()) {
+            weightSum += assignment.getWeight();
+            squaredSum += assignment.getWeight() * (assignment.getGrade() - mean) * (assignment.getGrade() - mean);
+            count++;
+        }
+        double variance = count < 2 || weightSum == 0 ? 0 : squaredSum / weightSum * count / (count - 1);
+        double prior = DEFAULT_DEVIATION * DEFAULT_DEVIATION;
+
+        return Math.sqrt((count * variance + PRIOR_GRADES * prior) / (count + PRIOR_GRADES));
+    }
+
+    // Represents what every trial of one simulation shares: the grade already earned, and the weight, lowest and
+    // highest grade of each remaining assignment, in primitive arrays
+    private static class Trials {
+        private final double earnedGrade;
+        private final double[] weights;
+        private final double[] minGrades;
+        private final double[] maxGrades;
+        private final double mean;
+        private final double deviation;
+        private final double idealGrade;
+
+        private Trials(double earnedGrade, List<RemainingAssignment> remaining, double mean, double deviation,
+                       double idealGrade) {
+            this.earnedGrade = earnedGrade;
+            this.mean = mean;
+            this.deviation = deviation;
+            this.idealGrade = idealGrade;
+            weights = new double[remaining.size()];
+            minGrades = new double[remaining.size()];
+            maxGrades = new double[remaining.size()];
+
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = remaining.get(i).getWeight() / 100;
+                minGrades[i] = remaining.get(i).getMinGrade();
+                maxGrades[i] = remaining.get(i).getMaxGrade();
+            }
+        }
+
+        // MODIFIES: random
+        // EFFECTS: runs the given number of trials with random, returning their results
+        private SimulationResult run(SplittableRandom random, int trials) {
+            SimulationResult result = new SimulationResult(idealGrade);
+
+            for (int trial = 0; trial < trials; trial++) {
+                double finalGrade = earnedGrade;
+                for (int i = 0; i < weights.length; i++) {
+                    double grade = mean + deviation * random.nextGaussian();
+                    finalGrade += weights[i] * Math.max(minGrades[i], Math.min(maxGrades[i], grade));
+                }
+                result.record(finalGrade);
+            }
+            return result;
+        }
+    }
+}
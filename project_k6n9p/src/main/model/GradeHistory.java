@@ -0,0 +1,347 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// Represents how the aggregates of a course evolved: a time series with one point per change to the course,
+// recording its current grade, total weight, number of assignments, ideal and predicted grades and credits.
+//
+// Points are delta encoded into one growing byte array: each is the milliseconds since the previous point, a
+// byte saying which aggregates changed, and the change in each of those, in hundredths, as a zigzag varint.
+// A typical point takes five to eight bytes. Every CHECKPOINT_INTERVAL points the offset and the decoded state
+// are kept aside, so a range query only decodes from the checkpoint before its start.
+//
+// A history keeps at most MAX_POINTS points, so a course edited all semester, or by a script, stays small to
+// hold and to save. Once it is full, every other point in its older half is dropped: recent changes keep every
+// point, and older ones are kept at a resolution that halves each time the history fills up again.
+public class GradeHistory {
+    static final int CURRENT_GRADE = 0;
+    static final int WEIGHT = 1;
+    static final int ASSIGNMENTS = 2;
+    static final int IDEAL_GRADE = 3;
+    static final int PREDICTED_GRADE = 4;
+    static final int CREDITS = 5;
+    static final int FIELDS = 6;
+    static final int MAX_POINTS = 4096;
+    private static final int CHECKPOINT_INTERVAL = 64;
+    private static final int CHECKPOINT_STRIDE = FIELDS + 1;      // time, then each aggregate
+    private static final int MAX_POINT_BYTES = 1 + 10 * (FIELDS + 1);
+    private static final long NO_GRADE = -1;       // current grade while nothing has weight
+    private static final double HUNDREDTHS = 100;
+
+    private final LongSupplier clock;              // milliseconds since the epoch, for each point recorded
+    private final int maxPoints;                   // most points kept before the older half is thinned out
+    private byte[] data = new byte[0];             // encoded points
+    private int length;                            // number of bytes of data used
+    private int size;                              // number of points
+    private long lastTime;                         // time of the last point
+    private final long[] lastState = new long[FIELDS];     // aggregates at the last point, in hundredths
+    private long[] checkpoints = new long[0];      // time and aggregates before each checkpointed point
+    private int[] checkpointOffsets = new int[0];  // offset of each checkpointed point in data
+
+    // EFFECTS: constructs an empty history whose points are stamped with the system clock
+    public GradeHistory() {
+        this(System::currentTimeMillis);
+    }
+
+    // EFFECTS: constructs an empty history whose points are stamped with clock, in milliseconds
+    public GradeHistory(LongSupplier clock) {
+        this(clock, MAX_POINTS);
+    }
+
+    // REQUIRES: maxPoints >= 2
+    // EFFECTS: constructs an empty history whose points are stamped with clock, keeping at most maxPoints
+    GradeHistory(LongSupplier clock, int maxPoints) {
+        this.clock = clock;
+        this.maxPoints = maxPoints;
+    }
+
+    // EFFECTS: returns the number of points recorded
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // EFFECTS: returns the number of bytes the encoded points take
+    public int getEncodedSize() {
+        return length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the aggregates of course now, or at the time of the last point if the clock went back
+    public void record(Course course) {
+        long[] state = new long[FIELDS];
+        double currentGrade = course.getCurrentGrade();
+
+        state[CURRENT_GRADE] = Double.isNaN(currentGrade) ? NO_GRADE : toHundredths(currentGrade);
+        state[WEIGHT] = toHundredths(course.getWeightSum());
+        state[ASSIGNMENTS] = course.numAssignments();
+        state[IDEAL_GRADE] = toHundredths(course.getIdealGrade());
+        state[PREDICTED_GRADE] = toHundredths(course.getPredictedGrade());
+        state[CREDITS] = toHundredths(course.getCredits());
+        append(Math.max(clock.getAsLong(), lastTime), state);
+    }
+
+    // REQUIRES: time is no earlier than the last point
+    // MODIFIES: this
+    // EFFECTS: appends a point with the given time and aggregates, in hundredths, first thinning out the older
+    //          points if the history is full
+    private void append(long time, long[] state) {
+        if (size >= maxPoints) {
+            thin();
+        }
+        if (size % CHECKPOINT_INTERVAL == 0) {
+            addCheckpoint();
+        }
+        if (length + MAX_POINT_BYTES > data.length) {
+            data = Arrays.copyOf(data, Math.max(16, data.length + (data.length >> 1) + MAX_POINT_BYTES));
+        }
+        int mask = 0;
+        for (int i = 0; i < FIELDS; i++) {
+            mask |= state[i] != lastState[i] ? 1 << i : 0;
+        }
+        writeVarint(time - lastTime);
+        data[length++] = (byte) mask;
+        for (int i = 0; i < FIELDS; i++) {
+            if (state[i] != lastState[i]) {
+                writeVarint((state[i] - lastState[i]) << 1 ^ (state[i] - lastState[i]) >> 63);
+            }
+        }
+        lastTime = time;
+        System.arraycopy(state, 0, lastState, 0, FIELDS);
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops every other point of the older half of the points, keeping the later point of each pair, in
+    //          O(size) time; as this halves the points of only half the history, it happens once every
+    //          maxPoints / 4 points at most, so each point recorded costs O(1) time on average
+    private void thin() {
+        GradeHistory thinned = new GradeHistory(clock, maxPoints);
+        Cursor cursor = new Cursor(0);
+        int older = size / 2;
+
+        while (cursor.next()) {
+            if (cursor.index > older || cursor.index % 2 == 0) {
+                thinned.append(cursor.time, cursor.state);
+            }
+        }
+        data = thinned.data;
+        length = thinned.length;
+        size = thinned.size;
+        checkpoints = thinned.checkpoints;
+        checkpointOffsets = thinned.checkpointOffsets;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps the offset of the next point, and the time and aggregates before it
+    private void addCheckpoint() {
+        int index = size / CHECKPOINT_INTERVAL;
+
+        if (index == checkpointOffsets.length) {
+            checkpointOffsets = Arrays.copyOf(checkpointOffsets, Math.max(1, index * 2));
+            checkpoints = Arrays.copyOf(checkpoints, checkpointOffsets.length * CHECKPOINT_STRIDE);
+        }
+        checkpointOffsets[index] = length;
+        checkpoints[index * CHECKPOINT_STRIDE] = lastTime;
+        System.arraycopy(lastState, 0, checkpoints, index * CHECKPOINT_STRIDE + 1, FIELDS);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes value to data as an unsigned varint, seven bits a byte
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    // EFFECTS: returns the points from time from to time to (inclusive), oldest first
+    public List<GradePoint> range(long from, long to) {
+        List<GradePoint> points = new ArrayList<>();
+        Cursor cursor = new Cursor(lastCheckpointBefore(from));
+
+        while (cursor.next() && cursor.time <= to) {
+            if (cursor.time >= from) {
+                points.add(new GradePoint(cursor.time, cursor.state));
+            }
+        }
+        return points;
+    }
+
+    // EFFECTS: returns the last point at or before time, or null if there is none
+    public GradePoint at(long time) {
+        Cursor cursor = new Cursor(lastCheckpointBefore(time));
+        long[] found = cursor.index > 0 ? cursor.state.clone() : null;
+        long foundTime = cursor.time;
+
+        while (cursor.next() && cursor.time <= time) {
+            found = cursor.state.clone();
+            foundTime = cursor.time;
+        }
+        return found == null ? null : new GradePoint(foundTime, found);
+    }
+
+    // REQUIRES: from <= to and maxPoints >= 1
+    // EFFECTS: returns at most maxPoints of the points from time from to time to (inclusive), for a chart: the
+    //          range is split into maxPoints equal intervals and the last point in each is kept
+    public List<GradePoint> downsample(long from, long to, int maxPoints) {
+        List<GradePoint> points = new ArrayList<>();
+        long width = Math.max(1, (to - from) / maxPoints + 1);
+        Cursor cursor = new Cursor(lastCheckpointBefore(from));
+        long[] pending = new long[FIELDS];
+        long pendingTime = 0;
+        long pendingBucket = -1;
+
+        while (cursor.next() && cursor.time <= to) {
+            if (cursor.time >= from) {
+                long bucket = (cursor.time - from) / width;
+                if (bucket != pendingBucket && pendingBucket >= 0) {
+                    points.add(new GradePoint(pendingTime, pending));
+                }
+                pendingBucket = bucket;
+                pendingTime = cursor.time;
+                System.arraycopy(cursor.state, 0, pending, 0, FIELDS);
+            }
+        }
+        if (pendingBucket >= 0) {
+            points.add(new GradePoint(pendingTime, pending));
+        }
+        return points;
+    }
+
+    // EFFECTS: returns the last checkpoint whose points all come after the points before time, or 0 if none do
+    private int lastCheckpointBefore(long time) {
+        int low = 1;
+        int high = (size + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL - 1;
+        int found = 0;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (checkpoints[middle * CHECKPOINT_STRIDE] < time) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    // EFFECTS: returns the encoded points as base64 text, to be saved with the course
+    public String encode() {
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(data, length));
+    }
+
+    // EFFECTS: returns a history of the points encoded in text by encode, stamping new points with the system
+    //          clock; throws IllegalArgumentException if text is not an encoded history
+    public static GradeHistory decode(String text) {
+        GradeHistory encoded = new GradeHistory();
+        encoded.data = Base64.getDecoder().decode(text);
+        encoded.length = encoded.data.length;
+
+        GradeHistory history = new GradeHistory();
+        Cursor cursor = encoded.new Cursor(0);
+        while (cursor.next()) {
+            history.append(cursor.time, cursor.state);
+        }
+        return history;
+    }
+
+    // EFFECTS: returns a copy of this history with the same points and clock, which records new points
+    //          independently of this one
+    public GradeHistory copy() {
+        GradeHistory copy = new GradeHistory(clock, maxPoints);
+        copy.data = Arrays.copyOf(data, length);
+        copy.length = length;
+        copy.size = size;
+        copy.lastTime = lastTime;
+        System.arraycopy(lastState, 0, copy.lastState, 0, FIELDS);
+        copy.checkpoints = checkpoints.clone();
+        copy.checkpointOffsets = checkpointOffsets.clone();
+        return copy;
+    }
+
+    // EFFECTS: returns a grade, weight or credits kept in hundredths as a double
+    static double toDouble(long hundredths) {
+        return hundredths / HUNDREDTHS;
+    }
+
+    // EFFECTS: returns a current grade kept in hundredths as a double, or NaN if there was none
+    static double toGrade(long hundredths) {
+        return hundredths == NO_GRADE ? Double.NaN : toDouble(hundredths);
+    }
+
+    // EFFECTS: returns value in hundredths, rounded
+    private static long toHundredths(double value) {
+        return Math.round(value * HUNDREDTHS);
+    }
+
+    // Decodes the points one after another, starting from a checkpoint
+    private class Cursor {
+        private int offset;                        // offset of the next point in data
+        private int index;                         // index of the next point
+        private long time;                         // time of the point last decoded
+        private final long[] state = new long[FIELDS];     // aggregates at the point last decoded
+
+        // EFFECTS: constructs a cursor at the given checkpoint, or at the first point if there are none
+        private Cursor(int checkpoint) {
+            if (checkpoint < checkpointOffsets.length) {
+                offset = checkpointOffsets[checkpoint];
+                index = checkpoint * CHECKPOINT_INTERVAL;
+                time = checkpoints[checkpoint * CHECKPOINT_STRIDE];
+                System.arraycopy(checkpoints, checkpoint * CHECKPOINT_STRIDE + 1, state, 0, FIELDS);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: decodes the next point and returns true, or returns false if there are no more
+        //          throws IllegalArgumentException if the point is cut short
+        private boolean next() {
+            if (offset >= length) {
+                return false;
+            }
+            time += readVarint();
+            int mask = readByte();
+            for (int i = 0; i < FIELDS; i++) {
+                if ((mask & 1 << i) != 0) {
+                    long zigzag = readVarint();
+                    state[i] += zigzag >>> 1 ^ -(zigzag & 1);
+                }
+            }
+            index++;
+            return true;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: reads an unsigned varint
+        private long readVarint() {
+            long value = 0;
+
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Grade history varint too long");
+        }
+
+        // MODIFIES: this
+        // EFFECTS: reads one byte; throws IllegalArgumentException if there are none left
+        private int readByte() {
+            if (offset >= length) {
+                throw new IllegalArgumentException("Grade history cut short");
+            }
+            return data[offset++] & 0xFF;
+        }
+    }
+}
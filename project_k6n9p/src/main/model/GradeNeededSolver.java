@@ -0,0 +1,121 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Plans the grades needed on the remaining assignments of a course to reach a target final grade with the least
+// effort, meaning that the highest grade planned for any assignment is as low as it can be. Every remaining
+// assignment is planned at one common level, raised to its lowest grade or lowered to its highest grade where the
+// level falls outside them ("water-filling"). The final grade is a piecewise linear, non-decreasing function of
+// the level that only bends at the assignments' lowest and highest grades, so once those 2n points are sorted,
+// the pair of neighbouring points between which the target is reached is found by binary search, and the level
+// by interpolating between them: O(n log n) time in all, with no linear program to solve.
+public final class GradeNeededSolver {
+
+    private GradeNeededSolver() {
+    }
+
+    // REQUIRES: the weights of the assignments of course and of remaining add up to at most 100
+    // EFFECTS: returns the plan of least effort for the remaining assignments that brings the final grade of
+    //          course to its ideal grade
+    public static GradePlan solve(Course course, List<RemainingAssignment> remaining) {
+        return solve(course.getEarnedGrade(), remaining, course.getIdealGrade());
+    }
+
+    // EFFECTS: returns the plan of least effort for the rest of course, taken as one remaining assignment
+    //          weighing whatever its assignments leave of 100, that brings its final grade to its ideal grade
+    public static GradePlan solve(Course course) {
+        return solve(course, List.of(RemainingAssignment.restOf(course)));
+    }
+
+    // REQUIRES: the weights of remaining add up to at most 100 less the weight already graded
+    // EFFECTS: returns the plan of least effort for the remaining assignments that brings a final grade of which
+    //          earnedGrade is already earned to targetGrade; if it can not be reached, every remaining assignment
+    //          is planned at its highest grade and the plan is not feasible
+    public static GradePlan solve(double earnedGrade, List<RemainingAssignment> remaining, double targetGrade) {
+        double needed = (targetGrade - earnedGrade) * 100;          // grade times weight still to be earned
+        double[] points = sortedBounds(remaining);
+        boolean isFeasible = true;
+        double level;
+
+        if (points.length == 0) {
+            level = 0;
+            isFeasible = needed <= 0;
+        } else if (needed <= earnedAt(remaining, points[0])) {
+            level = points[0];
+        } else if (needed > earnedAt(remaining, points[points.length - 1])) {
+            level = points[points.length - 1];
+            isFeasible = false;
+        } else {
+            level = levelReaching(remaining, points, needed);
+        }
+
+        double[] grades = new double[remaining.size()];
+        double finalGrade = earnedGrade;
+        for (int i = 0; i < grades.length; i++) {
+            RemainingAssignment assignment = remaining.get(i);
+            grades[i] = clamp(level, assignment);
+            finalGrade += grades[i] * assignment.getWeight() / 100;
+        }
+        return new GradePlan(remaining, grades, finalGrade, isFeasible);
+    }
+
+    // EFFECTS: returns the plan for the rest of each course in courseList, as in solve(Course), in order
+    public static List<GradePlan> solveAll(CourseList courseList) {
+        List<GradePlan> plans = new ArrayList<>(courseList.getCourses().size());
+
+        for (Course course : courseList.getCourses()) {
+            plans.add(solve(course));
+        }
+        return plans;
+    }
+
+    // REQUIRES: earnedAt(remaining, points[0]) < needed <= earnedAt(remaining, points[points.length - 1])
+    // EFFECTS: returns the level at which the remaining assignments earn exactly needed, found by binary search
+    //          for the neighbouring points it lies between, then interpolating between them
+    private static double levelReaching(List<RemainingAssignment> remaining, double[] points, double needed) {
+        int low = 0;
+        int high = points.length - 1;
+
+        while (high - low > 1) {
+            int middle = (low + high) >>> 1;
+            if (earnedAt(remaining, points[middle]) < needed) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        double lowEarned = earnedAt(remaining, points[low]);
+        double highEarned = earnedAt(remaining, points[high]);
+
+        return points[low] + (needed - lowEarned) / (highEarned - lowEarned) * (points[high] - points[low]);
+    }
+
+    // EFFECTS: returns the lowest and highest grades of every remaining assignment, sorted
+    private static double[] sortedBounds(List<RemainingAssignment> remaining) {
+        double[] points = new double[2 * remaining.size()];
+
+        for (int i = 0; i < remaining.size(); i++) {
+            points[2 * i] = remaining.get(i).getMinGrade();
+            points[2 * i + 1] = remaining.get(i).getMaxGrade();
+        }
+        Arrays.sort(points);
+        return points;
+    }
+
+    // EFFECTS: returns the grade times weight earned by the remaining assignments if each is planned at level
+    private static double earnedAt(List<RemainingAssignment> remaining, double level) {
+        double earned = 0;
+
+        for (RemainingAssignment assignment : remaining) {
+            earned += clamp(level, assignment) * assignment.getWeight();
+        }
+        return earned;
+    }
+
+    // EFFECTS: returns level raised to the lowest grade of assignment, or lowered to its highest grade
+    private static double clamp(double level, RemainingAssignment assignment) {
+        return Math.max(assignment.getMinGrade(), Math.min(assignment.getMaxGrade(), level));
+    }
+}
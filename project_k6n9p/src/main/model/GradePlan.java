@@ -0,0 +1,51 @@
+package model;
+
+import java.util.List;
+
+// Represents the grades planned for the remaining assignments of a course to reach a target final grade, in
+// the same order as the remaining assignments they were planned for
+public class GradePlan {
+
+    private final List<RemainingAssignment> remaining;     // assignments the grades are planned for
+    private final double[] grades;                         // grade planned for each remaining assignment
+    private final double finalGrade;                       // final grade if the planned grades are achieved
+    private final boolean isFeasible;                      // true if the final grade reaches the target
+
+    // EFFECTS: constructs a plan of the given grades for the remaining assignments
+    GradePlan(List<RemainingAssignment> remaining, double[] grades, double finalGrade, boolean isFeasible) {
+        this.remaining = remaining;
+        this.grades = grades;
+        this.finalGrade = finalGrade;
+        this.isFeasible = isFeasible;
+    }
+
+    public List<RemainingAssignment> getRemaining() {
+        return remaining;
+    }
+
+    // EFFECTS: returns the grade planned for the remaining assignment at index
+    public double getGrade(int index) {
+        return grades[index];
+    }
+
+    // EFFECTS: returns the final grade of the course if every planned grade is achieved
+    public double getFinalGrade() {
+        return finalGrade;
+    }
+
+    // EFFECTS: returns true if the plan reaches the target final grade; if it can not be reached, every
+    //          remaining assignment is planned at its highest grade, and false is returned
+    public boolean isFeasible() {
+        return isFeasible;
+    }
+
+    // EFFECTS: returns the highest grade planned for any remaining assignment, or 0 if there are none
+    public double getHighestGrade() {
+        double highest = 0;
+
+        for (double grade : grades) {
+            highest = Math.max(highest, grade);
+        }
+        return highest;
+    }
+}
@@ -0,0 +1,59 @@
+package model;
+
+// Represents the aggregates of a course at one point in time, as recorded in its grade history: its current
+// grade, the total weight of its assignments and how many there are, and its ideal grade, predicted grade and
+// credits; grades, weights and credits are kept to a hundredth
+public class GradePoint {
+    private final long time;                       // milliseconds since the epoch
+    private final double currentGrade;             // current course grade, or NaN if nothing had weight yet
+    private final double weight;                   // total weight of the assignments
+    private final int numAssignments;              // number of assignments
+    private final double idealGrade;               // ideal grade for the course
+    private final double predictedGrade;           // predicted grade for the remaining assignments
+    private final double credits;                  // credits the course is worth
+
+    // EFFECTS: constructs a point from the state recorded at time, in the units of GradeHistory
+    GradePoint(long time, long[] state) {
+        this.time = time;
+        this.currentGrade = GradeHistory.toGrade(state[GradeHistory.CURRENT_GRADE]);
+        this.weight = GradeHistory.toDouble(state[GradeHistory.WEIGHT]);
+        this.numAssignments = (int) state[GradeHistory.ASSIGNMENTS];
+        this.idealGrade = GradeHistory.toDouble(state[GradeHistory.IDEAL_GRADE]);
+        this.predictedGrade = GradeHistory.toDouble(state[GradeHistory.PREDICTED_GRADE]);
+        this.credits = GradeHistory.toDouble(state[GradeHistory.CREDITS]);
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public double getCurrentGrade() {
+        return currentGrade;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public int getNumAssignments() {
+        return numAssignments;
+    }
+
+    public double getIdealGrade() {
+        return idealGrade;
+    }
+
+    public double getPredictedGrade() {
+        return predictedGrade;
+    }
+
+    public double getCredits() {
+        return credits;
+    }
+
+    // EFFECTS: returns a string representation of the point
+    @Override
+    public String toString() {
+        return "[ Time: " + time + ", Current grade: " + currentGrade + ", Weight: " + weight + " ]";
+    }
+}
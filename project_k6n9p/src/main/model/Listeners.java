@@ -0,0 +1,31 @@
+package model;
+
+import java.util.Arrays;
+
+// Copy-on-write arrays of listeners: adding or removing a listener replaces the array, so that firing an event
+// only loops over an array, allocating nothing, and a listener may add or remove listeners while being called
+final class Listeners {
+
+    private Listeners() {
+    }
+
+    // EFFECTS: returns a copy of listeners with listener added at the end
+    static <T> T[] withListener(T[] listeners, T listener) {
+        T[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        return newListeners;
+    }
+
+    // EFFECTS: returns a copy of listeners with the last occurrence of listener removed, or listeners itself
+    //          if listener is not one of them
+    static <T> T[] withoutListener(T[] listeners, T listener) {
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            if (listeners[i] == listener) {
+                T[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                return newListeners;
+            }
+        }
+        return listeners;
+    }
+}
@@ -0,0 +1,78 @@
+package model;
+
+import org.json.JSONArray;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Represents the string table of a saved course list: each distinct course and assignment name once, so that
+// courses and assignments can refer to their names by position instead of repeating them. Names read back from a
+// table are interned, so every course or assignment with the same name shares one String in memory. Interned names
+// are only held weakly, and are forgotten once no course or assignment uses them.
+public final class NameDictionary {
+    private static final Map<String, WeakReference<String>> INTERNED = new WeakHashMap<>();
+
+    private final List<String> names = new ArrayList<>();           // names in order of their references
+    private final Map<String, Integer> references = new HashMap<>(); // reference of each name in the table
+
+    // EFFECTS: returns the one shared String equal to name, so that equal names read at different times are
+    //          held in memory once; returns null if name is null
+    public static String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        synchronized (INTERNED) {
+            WeakReference<String> reference = INTERNED.get(name);
+            String interned = reference == null ? null : reference.get();
+
+            if (interned == null) {
+                interned = name;
+                INTERNED.put(interned, new WeakReference<>(interned));
+            }
+            return interned;
+        }
+    }
+
+    // EFFECTS: returns a dictionary of the names in a JSON string table, in order, interning each
+    public static NameDictionary fromJson(JSONArray table) {
+        NameDictionary dictionary = new NameDictionary();
+
+        for (int i = 0; i < table.length(); i++) {
+            dictionary.add(intern(table.getString(i)));
+        }
+        return dictionary;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds name to the table if it is not already there, and returns its reference
+    public int add(String name) {
+        Integer reference = references.get(name);
+
+        if (reference == null) {
+            reference = names.size();
+            names.add(name);
+            references.put(name, reference);
+        }
+        return reference;
+    }
+
+    // EFFECTS: returns the name with the given reference;
+    //          throws IndexOutOfBoundsException if there is no such name in the table
+    public String get(int reference) {
+        return names.get(reference);
+    }
+
+    // EFFECTS: returns the number of distinct names in the table
+    public int size() {
+        return names.size();
+    }
+
+    // EFFECTS: returns the names in the table as a JSON array, in order of their references
+    public JSONArray toJson() {
+        return new JSONArray(names);
+    }
+}
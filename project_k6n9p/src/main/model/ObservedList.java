@@ -0,0 +1,73 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// A list backed by another list that is told about every element added to or removed from it, so that changes
+// made directly to the list of a course or course list are reported to listeners like any other change.
+// Replacing an element is reported as the removal of the old element followed by the addition of the new one.
+abstract class ObservedList<E> extends AbstractList<E> implements RandomAccess {
+    private final List<E> elements;             // backing list
+
+    // EFFECTS: constructs a list backed by elements
+    ObservedList(List<E> elements) {
+        this.elements = elements;
+    }
+
+    // EFFECTS: called after element is added at index
+    protected abstract void elementAdded(int index, E element);
+
+    // EFFECTS: called after element is removed from index
+    protected abstract void elementRemoved(int index, E element);
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the element at index with element, returning the element it replaced
+    @Override
+    public E set(int index, E element) {
+        E oldElement = elements.set(index, element);
+        modCount++;
+        elementRemoved(index, oldElement);
+        elementAdded(index, element);
+        return oldElement;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: inserts element at index
+    @Override
+    public void add(int index, E element) {
+        elements.add(index, element);
+        modCount++;
+        elementAdded(index, element);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes and returns the element at index
+    @Override
+    public E remove(int index) {
+        E oldElement = elements.remove(index);
+        modCount++;
+        elementRemoved(index, oldElement);
+        return oldElement;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the elements from fromIndex (inclusive) to toIndex (exclusive), last first so that
+    //          clearing a list does not shift the remaining elements after every removal
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            remove(i);
+        }
+    }
+}
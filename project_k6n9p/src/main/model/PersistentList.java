@@ -0,0 +1,244 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// Represents an immutable list that is changed by making a new version of it. Versions share structure: the
+// elements are kept in a balanced (AVL) tree ordered by position, and a change only copies the nodes on the
+// path to the position changed, so getting, setting, adding and removing an element take O(log n) time, and
+// each new version takes O(log n) more memory however long the list is.
+public final class PersistentList<E> implements Iterable<E> {
+    private static final PersistentList<?> EMPTY = new PersistentList<>(null);
+
+    private final Node<E> root;
+
+    // EFFECTS: constructs a list of the elements in the tree at root
+    private PersistentList(Node<E> root) {
+        this.root = root;
+    }
+
+    // EFFECTS: returns the empty list
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentList<E> empty() {
+        return (PersistentList<E>) EMPTY;
+    }
+
+    // EFFECTS: returns a list of the given elements, in order, in O(n) time
+    public static <E> PersistentList<E> of(List<? extends E> elements) {
+        return new PersistentList<>(build(elements, 0, elements.size()));
+    }
+
+    public int size() {
+        return sizeOf(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the element at index
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+        Node<E> node = root;
+
+        while (index != sizeOf(node.left)) {
+            if (index < sizeOf(node.left)) {
+                node = node.left;
+            } else {
+                index -= sizeOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return node.value;
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns a version of this list with element at index
+    public PersistentList<E> set(int index, E element) {
+        Objects.checkIndex(index, size());
+        return new PersistentList<>(setIn(root, index, element));
+    }
+
+    // EFFECTS: returns a version of this list with element added at the end
+    public PersistentList<E> add(E element) {
+        return add(size(), element);
+    }
+
+    // REQUIRES: 0 <= index <= size()
+    // EFFECTS: returns a version of this list with element inserted at index
+    public PersistentList<E> add(int index, E element) {
+        Objects.checkIndex(index, size() + 1);
+        return new PersistentList<>(addTo(root, index, element));
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns a version of this list without the element at index
+    public PersistentList<E> remove(int index) {
+        Objects.checkIndex(index, size());
+        return new PersistentList<>(removeFrom(root, index));
+    }
+
+    // EFFECTS: returns the index of the first element equal to element, or -1 if there is none
+    public int indexOf(Object element) {
+        int index = 0;
+
+        for (E e : this) {
+            if (Objects.equals(e, element)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns the elements in a new mutable list, in order
+    public List<E> toList() {
+        List<E> list = new ArrayList<>(size());
+
+        for (E e : this) {
+            list.add(e);
+        }
+        return list;
+    }
+
+    // EFFECTS: returns an iterator over the elements in order, taking O(1) time per element on average
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private final Deque<Node<E>> path = new ArrayDeque<>();
+            private Node<E> next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = path.pop();
+                next = node.right;
+                return node.value;
+            }
+        };
+    }
+
+    // EFFECTS: returns a string representation of the list
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    // EFFECTS: returns a balanced tree of the elements from index from (inclusive) to to (exclusive)
+    private static <E> Node<E> build(List<? extends E> elements, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node<>(elements.get(middle), build(elements, from, middle), build(elements, middle + 1, to));
+    }
+
+    // EFFECTS: returns a copy of the tree at node with element at index
+    private static <E> Node<E> setIn(Node<E> node, int index, E element) {
+        int leftSize = sizeOf(node.left);
+
+        if (index < leftSize) {
+            return new Node<>(node.value, setIn(node.left, index, element), node.right);
+        } else if (index > leftSize) {
+            return new Node<>(node.value, node.left, setIn(node.right, index - leftSize - 1, element));
+        }
+        return new Node<>(element, node.left, node.right);
+    }
+
+    // EFFECTS: returns a balanced copy of the tree at node with element inserted at index
+    private static <E> Node<E> addTo(Node<E> node, int index, E element) {
+        if (node == null) {
+            return new Node<>(element, null, null);
+        }
+        int leftSize = sizeOf(node.left);
+
+        if (index <= leftSize) {
+            return balance(node.value, addTo(node.left, index, element), node.right);
+        }
+        return balance(node.value, node.left, addTo(node.right, index - leftSize - 1, element));
+    }
+
+    // EFFECTS: returns a balanced copy of the tree at node without the element at index
+    private static <E> Node<E> removeFrom(Node<E> node, int index) {
+        int leftSize = sizeOf(node.left);
+
+        if (index < leftSize) {
+            return balance(node.value, removeFrom(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return balance(node.value, node.left, removeFrom(node.right, index - leftSize - 1));
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        Node<E> first = node.right;
+        while (first.left != null) {
+            first = first.left;
+        }
+        return balance(first.value, node.left, removeFrom(node.right, 0));
+    }
+
+    // REQUIRES: the heights of left and right differ by at most 2
+    // EFFECTS: returns a tree of left, value and right, rotated so that the heights of its subtrees differ by at
+    //          most 1
+    private static <E> Node<E> balance(E value, Node<E> left, Node<E> right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+            }
+            Node<E> middle = left.right;
+            return new Node<>(middle.value, new Node<>(left.value, left.left, middle.left),
+                    new Node<>(value, middle.right, right));
+        } else if (height(right) > height(left) + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+            }
+            Node<E> middle = right.left;
+            return new Node<>(middle.value, new Node<>(value, left, middle.left),
+                    new Node<>(right.value, middle.right, right.right));
+        }
+        return new Node<>(value, left, right);
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    // Represents a node of the tree, never changed once constructed
+    private static final class Node<E> {
+        private final E value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int size;                    // number of elements in the tree at this node
+        private final int height;                  // number of nodes on the longest path down from this node
+
+        private Node(E value, Node<E> left, Node<E> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+
+// Represents an assignment that has not been graded yet, having a name, a weight, and the lowest and highest
+// grades that can be planned for it, such as a floor for an assignment already partly marked, or a cap below
+// 100 for one that is hard to do well on
+public class RemainingAssignment {
+
+    private final String name;                // name of assignment
+    private final double weight;              // weight of assignment
+    private final double minGrade;            // lowest grade that can be planned for the assignment
+    private final double maxGrade;            // highest grade that can be planned for the assignment
+
+    // EFFECTS: constructs a remaining assignment that can be planned for any grade from 0 to 100
+    // throws InputOutOfRangeException if the weight is not between 0 and 100
+    public RemainingAssignment(String name, double weight) throws InputOutOfRangeException {
+        this(name, weight, 0, 100);
+    }
+
+    // EFFECTS: constructs a remaining assignment that can be planned for grades from minGrade to maxGrade
+    // throws InputOutOfRangeException if the weight or either grade is not between 0 and 100, or minGrade is
+    // greater than maxGrade
+    public RemainingAssignment(String name, double weight, double minGrade, double maxGrade)
+            throws InputOutOfRangeException {
+        if (!(0 <= weight && weight <= 100)) {
+            throw new InputOutOfRangeException("Weight must be between 0 and 100");
+        } else if (!(0 <= minGrade && minGrade <= maxGrade && maxGrade <= 100)) {
+            throw new InputOutOfRangeException("Grades must be between 0 and 100, lowest first");
+        }
+        this.name = name;
+        this.weight = weight;
+        this.minGrade = minGrade;
+        this.maxGrade = maxGrade;
+    }
+
+    // EFFECTS: returns the rest of course as one remaining assignment, weighing whatever its assignments leave of
+    //          100, which can be planned for any grade from 0 to 100
+    static RemainingAssignment restOf(Course course) {
+        double weight = Math.max(0, Math.min(100, 100 - course.calculateCurrentWeight()));
+
+        try {
+            return new RemainingAssignment("rest of " + course.getName(), weight);
+        } catch (InputOutOfRangeException e) {
+            throw new IllegalStateException("Remaining weight out of range: " + weight, e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public double getMinGrade() {
+        return minGrade;
+    }
+
+    public double getMaxGrade() {
+        return maxGrade;
+    }
+}
@@ -0,0 +1,96 @@
+package model;
+
+// Represents the outcome of simulating the final grade of a course many times: the chance of reaching the ideal
+// grade, and the distribution of the simulated final grades, kept as a histogram to a tenth of a percent
+public class SimulationResult {
+    static final int BUCKETS_PER_PERCENT = 10;
+    static final int BUCKETS = 100 * BUCKETS_PER_PERCENT + 1;
+
+    private final double idealGrade;               // final grade that counts as reaching the ideal grade
+    private long trials;                           // number of final grades simulated
+    private long reachedIdeal;                     // number of those that reached the ideal grade
+    private double sum;                            // sum of the simulated final grades
+    private double sumOfSquares;                   // sum of their squares
+    private final long[] histogram = new long[BUCKETS];     // simulated final grades per tenth of a percent
+
+    // EFFECTS: constructs a result of no trials, counting those that reach idealGrade
+    SimulationResult(double idealGrade) {
+        this.idealGrade = idealGrade;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records one simulated final grade, between 0 and 100
+    void record(double finalGrade) {
+        trials++;
+        if (finalGrade >= idealGrade) {
+            reachedIdeal++;
+        }
+        sum += finalGrade;
+        sumOfSquares += finalGrade * finalGrade;
+        histogram[Math.max(0, Math.min(BUCKETS - 1, (int) Math.round(finalGrade * BUCKETS_PER_PERCENT)))]++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the trials of other, for the same ideal grade, to this result
+    void merge(SimulationResult other) {
+        trials += other.trials;
+        reachedIdeal += other.reachedIdeal;
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] += other.histogram[i];
+        }
+    }
+
+    public long getTrials() {
+        return trials;
+    }
+
+    public double getIdealGrade() {
+        return idealGrade;
+    }
+
+    // EFFECTS: returns the fraction of trials whose final grade reached the ideal grade, or NaN if there were none
+    public double getProbabilityOfIdealGrade() {
+        return trials == 0 ? Double.NaN : (double) reachedIdeal / trials;
+    }
+
+    // EFFECTS: returns the mean simulated final grade, or NaN if there were no trials
+    public double getMeanFinalGrade() {
+        return trials == 0 ? Double.NaN : sum / trials;
+    }
+
+    // EFFECTS: returns the standard deviation of the simulated final grades, or NaN if there were no trials
+    public double getFinalGradeDeviation() {
+        double mean = getMeanFinalGrade();
+        return Math.sqrt(Math.max(0, sumOfSquares / trials - mean * mean));
+    }
+
+    // REQUIRES: 0 <= fraction <= 1
+    // EFFECTS: returns the fraction-quantile of the simulated final grades to a tenth of a percent, such as the
+    //          median for 0.5, or NaN if there were no trials
+    public double getFinalGradeQuantile(double fraction) {
+        if (trials == 0) {
+            return Double.NaN;
+        }
+        long target = Math.max(1, (long) Math.ceil(fraction * trials));
+        long cumulative = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += histogram[i];
+            if (cumulative >= target) {
+                return (double) i / BUCKETS_PER_PERCENT;
+            }
+        }
+        return 100;
+    }
+
+    // EFFECTS: returns the chance of reaching the ideal grade, and the range of final grades in the middle 90% of
+    //          trials
+    @Override
+    public String toString() {
+        return String.format("%.1f%% chance of reaching %.2f%% (final grade between %.1f%% and %.1f%% in 90%% of "
+                + "%,d simulations)", getProbabilityOfIdealGrade() * 100, idealGrade, getFinalGradeQuantile(0.05),
+                getFinalGradeQuantile(0.95), trials);
+    }
+}
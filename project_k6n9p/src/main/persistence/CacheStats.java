@@ -0,0 +1,78 @@
+package persistence;
+
+// Represents the statistics of a CourseListCache at one point in time
+public class CacheStats {
+    private final long hits;                   // requests served from the cache
+    private final long misses;                 // requests that had to wait for a course list to be loaded
+    private final long loads;                  // course lists read from their files
+    private final long loadFailures;           // course lists that could not be read
+    private final long evictions;              // course lists evicted to stay within the size bound
+    private final long writeBacks;             // edited course lists written to their files
+    private final long writeBackFailures;      // edited course lists that could not be written
+    private final int entryCount;              // course lists currently cached
+    private final long estimatedBytes;         // estimated size of the cached course lists, in bytes
+
+    // EFFECTS: constructs statistics with the given values
+    public CacheStats(long hits, long misses, long loads, long loadFailures, long evictions, long writeBacks,
+                      long writeBackFailures, int entryCount, long estimatedBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loads = loads;
+        this.loadFailures = loadFailures;
+        this.evictions = evictions;
+        this.writeBacks = writeBacks;
+        this.writeBackFailures = writeBackFailures;
+        this.entryCount = entryCount;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getLoads() {
+        return loads;
+    }
+
+    public long getLoadFailures() {
+        return loadFailures;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getWriteBacks() {
+        return writeBacks;
+    }
+
+    public long getWriteBackFailures() {
+        return writeBackFailures;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    // EFFECTS: returns the share of requests served from the cache, or 0 if there have been none
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    // EFFECTS: returns a string representation of the statistics
+    @Override
+    public String toString() {
+        return String.format("%d entries (~%,d bytes), hit rate %.1f%% (%d hits, %d misses), %d loads "
+                        + "(%d failed), %d evictions, %d write-backs (%d failed)", entryCount, estimatedBytes,
+                getHitRate() * 100, hits, misses, loads, loadFailures, evictions, writeBacks, writeBackFailures);
+    }
+}
@@ -0,0 +1,96 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// Represents the ways a course list file can be compressed as it is streamed to disk: not at all, as GZIP at the
+// default level or at the fastest level, or as a bare zlib DEFLATE stream. Compressed files are read back without
+// being told how they were written, by looking at their first two bytes: GZIP files start with 1f 8b, zlib streams
+// with a header whose first byte names DEFLATE and which is a multiple of 31, and plain JSON with '{' or whitespace.
+public enum Compression {
+    NONE, GZIP, GZIP_FAST, DEFLATE;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC = 0x1f8b;
+
+    // EFFECTS: returns the compression to use for a file with the given name, by its extension: GZIP for ".gz",
+    //          DEFLATE for ".zz" or ".deflate", and NONE otherwise
+    public static Compression forFile(String file) {
+        if (file.endsWith(".gz")) {
+            return GZIP;
+        } else if (file.endsWith(".zz") || file.endsWith(".deflate")) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+
+    // EFFECTS: returns a stream that compresses what is written to it before writing it to out, and closes out
+    //          when it is closed; throws IOException if a header can not be written to out
+    public OutputStream compress(OutputStream out) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(out, BUFFER_SIZE);
+            case GZIP_FAST:
+                return new GZIPOutputStream(out, BUFFER_SIZE) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+            case DEFLATE:
+                return new DeflaterOutputStream(out, new Deflater(), BUFFER_SIZE) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            def.end();
+                        }
+                    }
+                };
+            default:
+                return out;
+        }
+    }
+
+    // EFFECTS: returns a buffered stream of the contents of in, decompressed if they were written compressed, and
+    //          which closes in when it is closed; throws IOException if in can not be read
+    public static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+
+        switch (detect(buffered)) {
+            case GZIP:
+                return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+            case DEFLATE:
+                return new BufferedInputStream(new InflaterInputStream(buffered), BUFFER_SIZE);
+            default:
+                return buffered;
+        }
+    }
+
+    // EFFECTS: returns how the contents of in were compressed, judging by their first two bytes, and leaves in
+    //          where it was; GZIP_FAST files are reported as GZIP, since the two are read the same way
+    public static Compression detect(BufferedInputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+
+        if (first < 0 || second < 0) {
+            return NONE;
+        }
+        int header = first << 8 | second;
+        if (header == GZIP_MAGIC) {
+            return GZIP;
+        } else if ((first & 0x0f) == Deflater.DEFLATED && header % 31 == 0) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+}
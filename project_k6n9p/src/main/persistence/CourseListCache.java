@@ -0,0 +1,484 @@
+package persistence;
+
+import exceptions.InputOutOfRangeException;
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+import model.CourseListListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Cache of the course lists of many students (tenants), each stored in its own file named TENANT.json in one
+// directory, keeping the estimated size of the cached course lists within a bound:
+//   - the least recently used course lists are evicted once the bound is exceeded, always keeping at least one
+//   - edited course lists are written back to their files when they are evicted, or on flush
+//   - a course list is only read once however many requests for it arrive while it is being read
+//   - a course list that is being written back is not read again until the write has finished
+// Course lists are only reached through read and edit, which hold a per-tenant read or write lock while their
+// action runs, so that a course list is never edited while it is being read or written back. Each cached course
+// list is listened to, so that an edit only marks it as edited, and only updates its estimated size, by what
+// it actually changed, rather than by scanning the whole course list again.
+public class CourseListCache {
+    private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final long BYTES_PER_COURSE_LIST = 80;
+    private static final long BYTES_PER_COURSE = 160;
+    private static final long BYTES_PER_ASSIGNMENT = 96;
+    private static final long BYTES_PER_CHAR = 2;
+
+    private final String directory;
+    private final long maxBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);   // in order of last use
+    private long totalBytes;                                                              // guarded by this
+    private final ConcurrentMap<String, CompletableFuture<Entry>> loads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Void>> writeBacks = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder writeBackCount = new LongAdder();
+    private final LongAdder writeBackFailureCount = new LongAdder();
+
+    // EFFECTS: constructs an empty cache of the course lists stored in directory, bounded to maxBytes
+    public CourseListCache(String directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    // EFFECTS: returns true if tenant is a valid tenant name: 1 to 64 letters, digits, underscores, or dashes
+    public static boolean isValidTenant(String tenant) {
+        return TENANT_PATTERN.matcher(tenant).matches();
+    }
+
+    // REQUIRES: isValidTenant(tenant)
+    // EFFECTS: returns the result of function applied to the course list of tenant under its read lock, loading
+    //          the course list first if it is not cached; a tenant with no file starts with an empty course list;
+    //          throws IOException if the course list can not be loaded, and E if function fails
+    public <R, E extends Exception> R read(String tenant, CourseListFunction<R, E> function) throws E, IOException {
+        while (true) {
+            Entry entry = acquire(tenant);
+            entry.lock.readLock().lock();
+            try {
+                if (!entry.isEvicted) {
+                    return function.apply(entry.courseList);
+                }
+            } finally {
+                entry.lock.readLock().unlock();
+            }
+        }
+    }
+
+    // REQUIRES: isValidTenant(tenant)
+    // MODIFIES: this
+    // EFFECTS: as read, but under the write lock of the course list, which is marked as edited if function
+    //          changes it; then evicts the least recently used course lists if the cache is over its bound
+    public <R, E extends Exception> R edit(String tenant, CourseListFunction<R, E> function) throws E, IOException {
+        while (true) {
+            Entry entry = acquire(tenant);
+            R result;
+            entry.lock.writeLock().lock();
+            try {
+                if (entry.isEvicted) {
+                    continue;
+                }
+                try {
+                    result = function.apply(entry.courseList);
+                } finally {
+                    entry.countEditedHistories();
+                    resize(entry, entry.estimatedBytes);
+                }
+            } finally {
+                entry.lock.writeLock().unlock();
+            }
+            evictOverBound();
+            return result;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes every edited course list back to its file, keeping them cached; throws IOException if any
+    //          of them can not be written, after trying to write the others
+    public void flush() throws IOException {
+        List<Entry> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(entries.values());
+        }
+        IOException failure = null;
+
+        for (Entry entry : snapshot) {
+            entry.lock.writeLock().lock();
+            try {
+                if (entry.isDirty && !entry.isEvicted) {
+                    writeBack(entry);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                entry.lock.writeLock().unlock();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // EFFECTS: returns the current statistics of the cache
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadCount.sum(), loadFailureCount.sum(),
+                evictionCount.sum(), writeBackCount.sum(), writeBackFailureCount.sum(), entries.size(), totalBytes);
+    }
+
+    // EFFECTS: returns a rough estimate of the memory taken by courseList and its courses and assignments, in bytes
+    public static long estimateBytes(CourseList courseList) {
+        long bytes = BYTES_PER_COURSE_LIST;
+
+        for (Course course : courseList.getCourses()) {
+            bytes += estimateBytes(course);
+        }
+        return bytes;
+    }
+
+    // EFFECTS: returns a rough estimate of the memory taken by course, its assignments and its grade history,
+    //          in bytes
+    private static long estimateBytes(Course course) {
+        long bytes = BYTES_PER_COURSE + course.getName().length() * BYTES_PER_CHAR
+                + course.getHistory().getEncodedSize();
+
+        for (Assignment assignment : course.getAssignments()) {
+            bytes += estimateBytes(assignment);
+        }
+        return bytes;
+    }
+
+    // EFFECTS: returns a rough estimate of the memory taken by assignment, in bytes
+    private static long estimateBytes(Assignment assignment) {
+        return BYTES_PER_ASSIGNMENT + assignment.getName().length() * BYTES_PER_CHAR;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the cached entry of tenant, loading it if it is not cached, or waiting for it if another
+    //          thread is already loading it; throws IOException if it can not be loaded
+    private Entry acquire(String tenant) throws IOException {
+        synchronized (this) {
+            Entry entry = entries.get(tenant);
+            if (entry != null) {
+                hitCount.increment();
+                return entry;
+            }
+        }
+        missCount.increment();
+
+        CompletableFuture<Entry> load = new CompletableFuture<>();
+        CompletableFuture<Entry> existingLoad = loads.putIfAbsent(tenant, load);
+        if (existingLoad != null) {
+            return await(existingLoad);
+        }
+        try {
+            Entry entry = loadIfNotCached(tenant);
+            load.complete(entry);
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(tenant, load);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the cached entry of tenant if another thread finished loading it in the meantime, or a
+    //          failed write-back put it back; otherwise reads it from its file and caches it
+    private Entry loadIfNotCached(String tenant) throws IOException {
+        Entry cached = awaitWriteBack(tenant);
+        if (cached != null) {
+            return cached;
+        }
+
+        Entry entry = new Entry(tenant, readCourseList(tenant));
+        synchronized (this) {
+            cached = entries.putIfAbsent(tenant, entry);
+            if (cached != null) {
+                return cached;
+            }
+            totalBytes += entry.bytes;
+        }
+        evictOverBound();
+        return entry;
+    }
+
+    // EFFECTS: waits for any write-back of tenant to finish, then returns the cached entry of tenant, or null if
+    //          it is not cached; an entry whose write-back fails is put back in the cache before it finishes
+    private Entry awaitWriteBack(String tenant) {
+        CompletableFuture<Void> writeBack;
+        synchronized (this) {
+            writeBack = writeBacks.get(tenant);
+            if (writeBack == null) {
+                return entries.get(tenant);
+            }
+        }
+        writeBack.join();
+        synchronized (this) {
+            return entries.get(tenant);
+        }
+    }
+
+    // EFFECTS: reads the course list of tenant from its file, or returns an empty course list if it has none;
+    //          throws IOException if the file can not be read or holds invalid entries
+    private CourseList readCourseList(String tenant) throws IOException {
+        File file = fileOf(tenant);
+        loadCount.increment();
+
+        try {
+            return file.exists() ? new JsonReader(file.getPath()).read() : new CourseList();
+        } catch (IOException | RuntimeException e) {
+            loadFailureCount.increment();
+            throw new IOException("Unable to read from file: " + file, e);
+        } catch (InputOutOfRangeException e) {
+            loadFailureCount.increment();
+            throw new IOException("Entries in file invalid: " + file, e);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: evicts least recently used entries, writing back those that were edited, until the cache is
+    //          within its bound or holds only one entry; stops early if an entry can not be written back
+    private void evictOverBound() {
+        boolean isEvicted = true;
+
+        while (isEvicted) {
+            Entry victim;
+            synchronized (this) {
+                if (totalBytes <= maxBytes || entries.size() <= 1) {
+                    return;
+                }
+                Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+                victim = leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                totalBytes -= victim.bytes;
+                writeBacks.put(victim.tenant, new CompletableFuture<>());
+            }
+            isEvicted = evict(victim);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks an entry that has been removed from the cache as evicted, writing it back first if it was
+    //          edited, and returns true; if it can not be written back, it is put back in the cache instead so
+    //          that no edits are lost, and false is returned
+    private boolean evict(Entry victim) {
+        CompletableFuture<Void> writeBack = writeBacks.get(victim.tenant);
+        victim.lock.writeLock().lock();
+        try {
+            if (victim.isDirty) {
+                writeBack(victim);
+            }
+            victim.isEvicted = true;
+            evictionCount.increment();
+            return true;
+        } catch (IOException e) {
+            synchronized (this) {
+                entries.put(victim.tenant, victim);
+                totalBytes += victim.bytes;
+            }
+            return false;
+        } finally {
+            victim.lock.writeLock().unlock();
+            writeBacks.remove(victim.tenant, writeBack);
+            writeBack.complete(null);
+        }
+    }
+
+    // REQUIRES: the caller holds the write lock of entry
+    // MODIFIES: entry
+    // EFFECTS: writes the course list of entry to a temporary file beside its file, then moves it over its file in
+    //          one step, so that a write that fails or is cut short leaves the file as it was; only then marks
+    //          the entry as not edited. Throws IOException if it can not be written
+    private void writeBack(Entry entry) throws IOException {
+        File file = fileOf(entry.tenant);
+        Path temporary = null;
+
+        try {
+            temporary = Files.createTempFile(Paths.get(directory), "." + entry.tenant + ".", ".tmp");
+            JsonWriter writer = new JsonWriter(temporary.toString(), Compression.forFile(file.getPath()));
+            writer.open();
+            writer.write(entry.courseList);
+            writer.close();
+            Files.move(temporary, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            writeBackFailureCount.increment();
+            throw e;
+        } finally {
+            if (temporary != null) {
+                temporary.toFile().delete();
+            }
+        }
+        entry.isDirty = false;
+        writeBackCount.increment();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates the estimated size of a cached entry
+    private synchronized void resize(Entry entry, long bytes) {
+        if (!entry.isEvicted && entries.get(entry.tenant) == entry) {
+            totalBytes += bytes - entry.bytes;
+        }
+        entry.bytes = bytes;
+    }
+
+    // EFFECTS: returns the file the course list of tenant is stored in
+    private File fileOf(String tenant) {
+        if (!isValidTenant(tenant)) {
+            throw new IllegalArgumentException("Not a valid tenant: " + tenant);
+        }
+        return new File(directory, tenant + ".json");
+    }
+
+    // EFFECTS: waits for a load started by another thread, rethrowing its IOException if it failed
+    private static Entry await(CompletableFuture<Entry> load) throws IOException {
+        try {
+            return load.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for course list to load", e);
+        }
+    }
+
+    // Represents the cached course list of one tenant, listening to it to follow its edits. Each change to a
+    // course also grows its grade history, so the courses changed by an edit have their histories counted again
+    // once the edit is over.
+    private static class Entry implements CourseListListener {
+        private final String tenant;
+        private final CourseList courseList;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private long bytes;                        // estimated size counted in the cache total, guarded by the cache
+        private long estimatedBytes;               // estimated size of the course list, guarded by the write lock
+        private final Map<Course, Integer> historyBytes = new IdentityHashMap<>();  // history size counted for each
+        private final Set<Course> edited = Collections.newSetFromMap(new IdentityHashMap<>());  // since counted
+        private boolean isDirty;                   // edited since it was read or last written back
+        private volatile boolean isEvicted;        // removed from the cache, so must no longer be used
+
+        private Entry(String tenant, CourseList courseList) {
+            this.tenant = tenant;
+            this.courseList = courseList;
+            this.estimatedBytes = estimateBytes(courseList);
+            this.bytes = estimatedBytes;
+            countHistories();
+            courseList.addListener(this);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: notes the size of the history of every course, as counted in the estimated size
+        private void countHistories() {
+            historyBytes.clear();
+            edited.clear();
+            for (Course course : courseList.getCourses()) {
+                historyBytes.put(course, course.getHistory().getEncodedSize());
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds the growth of the histories of the courses changed since they were last counted to the
+        //          estimated size; a course not counted yet was added in a batch, and is counted when it ends
+        private void countEditedHistories() {
+            for (Course course : edited) {
+                Integer counted = historyBytes.get(course);
+                if (counted != null) {
+                    estimatedBytes += course.getHistory().getEncodedSize() - counted;
+                    historyBytes.put(course, course.getHistory().getEncodedSize());
+                }
+            }
+            edited.clear();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: marks the entry as edited, and course as needing its history counted again
+        private void courseEdited(Course course) {
+            edited.add(course);
+            isDirty = true;
+        }
+
+        @Override
+        public void courseAdded(CourseList courseList, int index, Course course) {
+            estimatedBytes += estimateBytes(course);
+            historyBytes.put(course, course.getHistory().getEncodedSize());
+            isDirty = true;
+        }
+
+        @Override
+        public void courseRemoved(CourseList courseList, int index, Course course) {
+            Integer counted = historyBytes.remove(course);
+            estimatedBytes -= estimateBytes(course) - course.getHistory().getEncodedSize()
+                    + (counted == null ? 0 : counted);
+            edited.remove(course);
+            isDirty = true;
+        }
+
+        @Override
+        public void assignmentAdded(Course course, Assignment assignment) {
+            estimatedBytes += estimateBytes(assignment);
+            courseEdited(course);
+        }
+
+        @Override
+        public void assignmentRemoved(Course course, Assignment assignment) {
+            estimatedBytes -= estimateBytes(assignment);
+            courseEdited(course);
+        }
+
+        @Override
+        public void idealGradeChanged(Course course, double oldIdealGrade) {
+            courseEdited(course);
+        }
+
+        @Override
+        public void predictedGradeChanged(Course course, double oldPredictedGrade) {
+            courseEdited(course);
+        }
+
+        @Override
+        public void creditsChanged(Course course, double oldCredits) {
+            courseEdited(course);
+        }
+
+        // EFFECTS: estimates the size of the course list again after a batch of changes to one of its courses,
+        //          as the size of the course before the batch is not known
+        @Override
+        public void courseChanged(Course course) {
+            courseListChanged(courseList);
+        }
+
+        @Override
+        public void courseListChanged(CourseList courseList) {
+            estimatedBytes = estimateBytes(courseList);
+            countHistories();
+            isDirty = true;
+        }
+    }
+}
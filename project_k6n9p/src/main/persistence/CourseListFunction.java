@@ -0,0 +1,9 @@
+package persistence;
+
+import model.CourseList;
+
+// Represents an action that reads or edits a course list held by a CourseListCache, returning a result
+public interface CourseListFunction<R, E extends Exception> {
+    // EFFECTS: performs the action on courseList and returns its result; throws E if the action fails
+    R apply(CourseList courseList) throws E;
+}
@@ -0,0 +1,76 @@
+package persistence;
+
+import model.CourseList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+// Reads a course list file on a background thread ahead of time, so that the first load of the file does not
+// have to wait for it to be read and parsed; the preloaded course list is only handed out if the file has not
+// changed since it was read, and only once, since the course list it hands out is then edited by the caller
+public class CourseListPreloader {
+    private final String source;
+    private final FutureTask<CourseList> task;
+    private volatile String stampWhenRead;        // size and modification time of the file when it was read
+    private boolean isTaken;
+
+    // EFFECTS: constructs a preloader for the course list in source file, without reading it yet
+    public CourseListPreloader(String source) {
+        this.source = source;
+        this.task = new FutureTask<>(() -> {
+            stampWhenRead = stampOf(source);
+            return new JsonReader(source, JsonReadCache.shared()).read();
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts reading the file on a background thread
+    public void start() {
+        Thread thread = new Thread(task, "course-list-preloader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // EFFECTS: waits for the file to be read, returning true if it was read successfully
+    public boolean awaitDone() {
+        try {
+            task.get();
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: waits for the file to be read and returns the preloaded course list, unless it has been taken
+    //          already, the read failed, or the file has changed since; returns null in those cases
+    public CourseList take() {
+        if (isTaken || !awaitDone()) {
+            return null;
+        }
+        isTaken = true;
+
+        try {
+            return stampOf(source).equals(stampWhenRead) ? task.get() : null;
+        } catch (IOException | ExecutionException | InterruptedException e) {
+            return null;
+        }
+    }
+
+    // EFFECTS: returns a string identifying the size and modification time of the file;
+    //          throws IOException if the file can not be read
+    private static String stampOf(String source) throws IOException {
+        Path path = Paths.get(source);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+        return attributes.size() + "@" + attributes.lastModifiedTime().toMillis();
+    }
+}
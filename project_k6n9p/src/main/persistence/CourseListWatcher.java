@@ -0,0 +1,121 @@
+package persistence;
+
+import exceptions.InputOutOfRangeException;
+import metrics.Counter;
+import metrics.Metrics;
+import model.CourseList;
+import org.json.JSONException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Watches a course list file for changes made by other programs, such as a sync tool or the terminal app saving
+// the same file, and reads the course list in it again after each change. Changes are debounced: a file written
+// in several pieces, or saved several times in a row, is only read once it has been left alone for the debounce
+// delay. The file is read and parsed on a background thread and the course list passed to the listener there; a
+// file that can not be read or parsed, such as one that is only partly written, is skipped until it changes again.
+public class CourseListWatcher implements Closeable {
+    private static final Counter RELOADS = Metrics.counter("CourseListWatcher.reloads");
+    private static final Counter RELOAD_FAILURES = Metrics.counter("CourseListWatcher.reload.failures");
+
+    private final Path file;
+    private final long debounceMillis;
+    private final Consumer<CourseList> listener;
+    private final WatchService watchService;
+    private final ScheduledExecutorService reloader;
+    private ScheduledFuture<?> pendingReload;      // reload waiting out the debounce delay, guarded by this
+
+    // EFFECTS: constructs a watcher of file that passes listener the course list in it debounceMillis after each
+    //          burst of changes, without watching it yet; throws IOException if the directory holding file can
+    //          not be watched
+    public CourseListWatcher(String file, long debounceMillis, Consumer<CourseList> listener) throws IOException {
+        this.file = Paths.get(file).toAbsolutePath().normalize();
+        this.debounceMillis = debounceMillis;
+        this.listener = listener;
+        watchService = this.file.getFileSystem().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        reloader = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "course-list-reloader"));
+    }
+
+    // EFFECTS: returns a daemon thread with the given name that runs task, so it never keeps the program running
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts watching the file on a background thread
+    public void start() {
+        daemon(this::watch, "course-list-watcher").start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops watching the file, dropping any reload not yet started
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        synchronized (this) {
+            reloader.shutdownNow();
+        }
+    }
+
+    // EFFECTS: waits for changes to the directory of the file until the watcher is closed, scheduling a reload for
+    //          each change to the file itself, or whenever changes were lost because too many came at once
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || file.getFileName().equals(event.context())) {
+                        scheduleReload();
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed, so stop watching
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reloads the file after the debounce delay, putting off any reload already waiting
+    private synchronized void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        if (!reloader.isShutdown()) {
+            pendingReload = reloader.schedule(this::reload, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // EFFECTS: reads the course list in the file and passes it to the listener, unless it can not be read
+    private void reload() {
+        CourseList courseList;
+
+        try {
+            courseList = new JsonReader(file.toString(), JsonReadCache.shared()).read();
+        } catch (IOException | InputOutOfRangeException | JSONException e) {
+            RELOAD_FAILURES.increment();
+            return;
+        }
+        RELOADS.increment();
+        listener.accept(courseList);
+    }
+}
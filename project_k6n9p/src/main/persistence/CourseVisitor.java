@@ -0,0 +1,11 @@
+package persistence;
+
+import model.Course;
+
+import java.io.IOException;
+
+// Represents an action performed on each course as it is read from a file
+public interface CourseVisitor {
+    // EFFECTS: performs the action on a course; throws IOException if the action fails
+    void visit(Course course) throws IOException;
+}
@@ -0,0 +1,142 @@
+package persistence;
+
+import metrics.Counter;
+import metrics.Metrics;
+import model.Course;
+import model.CourseList;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cache of the course lists JsonReader has parsed, so that reading a file that has not changed since it was last
+// read skips parsing it again. Each course list is kept with the identity of the file it was parsed from: its
+// path, size, modification time and the CRC32C of its contents. A read only hits when all four still match, so
+// a file rewritten within the resolution of its modification time, or with the same size, is still parsed again.
+// Readers only checksum a file up front when its size and modification time already match (isCandidate), so a
+// changed file is read once, checksummed on its way into the parser.
+// Cached course lists are never handed out: each hit returns a deep copy, which the reader is free to edit. The
+// least recently used course lists are dropped once those cached hold more than a bound of assignments.
+public class JsonReadCache {
+    private static final long DEFAULT_MAX_ASSIGNMENTS = 1_000_000;
+    private static final JsonReadCache SHARED = new JsonReadCache(DEFAULT_MAX_ASSIGNMENTS);
+    private static final Counter HITS = Metrics.counter("JsonReader.cache.hits");
+    private static final Counter MISSES = Metrics.counter("JsonReader.cache.misses");
+
+    private final long maxAssignments;
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);    // in order of last use
+    private long totalAssignments;                                                    // guarded by this
+
+    // EFFECTS: constructs an empty cache holding course lists of at most maxAssignments assignments in total,
+    //          though always at least the last one added
+    public JsonReadCache(long maxAssignments) {
+        this.maxAssignments = maxAssignments;
+    }
+
+    // EFFECTS: returns the cache shared by the readers of the application's own data files
+    public static JsonReadCache shared() {
+        return SHARED;
+    }
+
+    // EFFECTS: returns true if a course list is cached for file with the given size and modification time, so that
+    //          only its checksum is left to compare; otherwise the read can not hit, and is counted as a miss
+    public boolean isCandidate(Path file, long size, long modified) {
+        Entry entry;
+
+        synchronized (this) {
+            entry = entries.get(file);
+        }
+        if (entry == null || entry.size != size || entry.modified != modified) {
+            MISSES.increment();
+            return false;
+        }
+        return true;
+    }
+
+    // EFFECTS: returns a copy of the course list parsed from file if it was cached with the given size,
+    //          modification time and checksum, and null otherwise
+    public CourseList get(Path file, long size, long modified, long checksum) {
+        Entry entry;
+
+        synchronized (this) {
+            entry = entries.get(file);
+        }
+        if (entry == null || entry.size != size || entry.modified != modified || entry.checksum != checksum) {
+            MISSES.increment();
+            return null;
+        }
+        HITS.increment();
+        return copy(entry.courseList);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: caches a copy of the course list parsed from file, which had the given size, modification time and
+    //          checksum, in place of any course list cached for it before
+    public void put(Path file, long size, long modified, long checksum, CourseList courseList) {
+        Entry entry = new Entry(size, modified, checksum, copy(courseList));
+
+        synchronized (this) {
+            Entry replaced = entries.put(file, entry);
+            totalAssignments += entry.assignments - (replaced == null ? 0 : replaced.assignments);
+            evict();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the course list cached for file, if any
+    public synchronized void invalidate(Path file) {
+        Entry removed = entries.remove(file);
+
+        if (removed != null) {
+            totalAssignments -= removed.assignments;
+        }
+    }
+
+    // EFFECTS: returns the number of course lists cached
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the least recently used course lists until those left are within the bound, or only one is
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+
+        while (totalAssignments > maxAssignments && entries.size() > 1) {
+            totalAssignments -= iterator.next().assignments;
+            iterator.remove();
+        }
+    }
+
+    // EFFECTS: returns a copy of courseList whose courses, and their grade histories, can be edited without
+    //          changing those of courseList; the assignments themselves never change, so are shared
+    private static CourseList copy(CourseList courseList) {
+        CourseList copy = new CourseList();
+
+        for (Course course : courseList.getCourses()) {
+            Course courseCopy = course.copy();
+            courseCopy.setHistory(course.getHistory().copy());
+            copy.getCourses().add(courseCopy);
+        }
+        return copy;
+    }
+
+    // Represents a cached course list and the identity of the file it was parsed from
+    private static class Entry {
+        private final long size;
+        private final long modified;
+        private final long checksum;
+        private final CourseList courseList;
+        private final long assignments;
+
+        // EFFECTS: constructs an entry for courseList, parsed from a file with the given identity
+        Entry(long size, long modified, long checksum, CourseList courseList) {
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+            this.courseList = courseList;
+            this.assignments = courseList.numAssignments();
+        }
+    }
+}
@@ -1,48 +1,249 @@
 package persistence;
 
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.FilterReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
 
 import exceptions.InputOutOfRangeException;
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.JsonReadEvent;
+import metrics.Metrics;
 import model.Assignment;
 import model.Course;
 import model.CourseList;
+import model.GradeHistory;
+import model.NameDictionary;
 import org.json.*;
 
-// Represents a reader that reads a course list from JSON data stored in file
+// Represents a reader that reads a course list from JSON data stored in file, either with names written out in full
+// or as references into a "names" string table; names are interned as they are read
 // SOURCE: UBC CPSC 210's JsonSerializationDemo
 // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 public class JsonReader {
+    private static final Histogram READ_TIME = Metrics.timer("JsonReader.read");
+    private static final Histogram READ_SIZE = Metrics.histogram("JsonReader.read.size", "chars");
+    private static final Counter READ_FAILURES = Metrics.counter("JsonReader.read.failures");
+
     private String source;
+    private JsonReadCache cache;                   // course lists parsed before, or null to always parse
 
     // EFFECTS: constructs reader to read from source file
     public JsonReader(String source) {
+        this(source, null);
+    }
+
+    // EFFECTS: constructs reader to read from source file, skipping parsing it if the course list in it is in
+    //          cache; a null cache parses the file on every read
+    public JsonReader(String source, JsonReadCache cache) {
         this.source = source;
+        this.cache = cache;
     }
 
     // EFFECTS: reads workroom from file and returns it;
-    // throws IOException if an error occurs reading data from file and
+    // throws IOException if an error occurs reading data from file or it does not hold a course list and
     // throws InputOutOfRangeException if assignment grade or weight is not between 0 and 100
     public CourseList read() throws IOException, InputOutOfRangeException {
-        String jsonData = readFile(source);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parseCourseList(jsonObject);
+        long start = Metrics.startTime();
+        boolean isRead = false;
+
+        try {
+            CourseList courseList = readCourseList();
+            isRead = true;
+            return courseList;
+        } catch (JSONException e) {
+            throw new IOException("Malformed course list in " + source, e);
+        } finally {
+            READ_TIME.recordSince(start);
+            if (!isRead) {
+                READ_FAILURES.increment();
+            }
+        }
+    }
+
+    // EFFECTS: opens the file, parses it as JSON as it is streamed in, and converts that into a course list,
+    //          recording each phase as a flight recorder event, with the time spent in reads of the file timed
+    //          apart from the parsing they are interleaved with; throws the same exceptions as read
+    private CourseList readCourseList() throws IOException, InputOutOfRangeException {
+        if (cache != null) {
+            return readCached();
+        }
+        JsonReadEvent event = new JsonReadEvent(JsonReadEvent.FILE_IO, source);
+        TimedInputStream file = new TimedInputStream(Files.newInputStream(Paths.get(source)));
+        JSONObject jsonObject;
+
+        try (Reader reader = openFile(file)) {
+            jsonObject = parseJson(reader);
+        }
+        event.finishRead(fileSize(event), file.getReadTime());
+        return toCourseList(jsonObject);
+    }
+
+    // EFFECTS: returns a copy of the course list cached for the file if it has the same size, modification time
+    //          and checksum as when it was cached, and otherwise parses it as it is streamed in and caches the
+    //          result; the file is only read through on its own to checksum it if its size and modification time
+    //          match those cached, and is otherwise checksummed on its way into the parser; throws the same
+    //          exceptions as read
+    private CourseList readCached() throws IOException, InputOutOfRangeException {
+        Path file = Paths.get(source).toAbsolutePath().normalize();
+        long size = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+
+        if (cache.isCandidate(file, size, modified)) {
+            CourseList courseList = cache.get(file, size, modified, checksum(file));
+            if (courseList != null) {
+                return courseList;
+            }
+        }
+        JsonReadEvent event = new JsonReadEvent(JsonReadEvent.FILE_IO, source);
+        TimedInputStream timed = new TimedInputStream(Files.newInputStream(file));
+        CheckedInputStream checked = new CheckedInputStream(timed, new CRC32C());
+        JSONObject jsonObject;
+
+        try (Reader reader = openFile(checked)) {
+            jsonObject = parseJson(reader);
+            checked.transferTo(OutputStream.nullOutputStream());
+        }
+        event.finishRead(size, timed.getReadTime());
+        CourseList courseList = toCourseList(jsonObject);
+        cache.put(file, size, modified, checked.getChecksum().getValue(), courseList);
+        return courseList;
+    }
+
+    // EFFECTS: returns the CRC32C of the contents of file, streamed through a block at a time, recording the read
+    //          as a flight recorder event; throws IOException if it can not be read
+    private long checksum(Path file) throws IOException {
+        JsonReadEvent event = new JsonReadEvent(JsonReadEvent.FILE_IO, source);
+        TimedInputStream timed = new TimedInputStream(Files.newInputStream(file));
+
+        try (CheckedInputStream checked = new CheckedInputStream(timed, new CRC32C())) {
+            long bytes = checked.transferTo(OutputStream.nullOutputStream());
+            event.finishRead(bytes, timed.getReadTime());
+            return checked.getChecksum().getValue();
+        }
+    }
+
+    // EFFECTS: parses the JSON text read from reader as it is streamed in, recording that as a flight recorder
+    //          event; throws JSONException if it is not JSON
+    private JSONObject parseJson(Reader in) {
+        CharCountingReader reader = new CharCountingReader(in);
+        JsonReadEvent event = new JsonReadEvent(JsonReadEvent.DOM_BUILD, source);
+        JSONObject jsonObject = new JSONObject(new JSONTokener(reader));
+        event.finish(fileSize(event), event.isEnabled() ? jsonObject.getJSONArray("courses").length() : -1, -1);
+        READ_SIZE.record(reader.getCount());
+        return jsonObject;
+    }
+
+    // EFFECTS: converts the parsed JSON into a course list, recording that as a flight recorder event;
+    //          throws InputOutOfRangeException if assignment grade or weight is not between 0 and 100
+    private CourseList toCourseList(JSONObject jsonObject) throws InputOutOfRangeException {
+        JsonReadEvent event = new JsonReadEvent(JsonReadEvent.MODEL_BUILD, source);
+        CourseList courseList = parseCourseList(jsonObject);
+        event.finish(fileSize(event), courseList.getCourses().size(),
+                event.isEnabled() ? courseList.numAssignments() : -1);
+        return courseList;
     }
 
-    // EFFECTS: reads source file as string and returns it
-    private String readFile(String source) throws IOException {
-        StringBuilder contentBuilder = new StringBuilder();
+    // EFFECTS: returns the size of the source file in bytes if event is being recorded, and -1 otherwise,
+    //          so that the file system is only asked while recording
+    private long fileSize(JsonReadEvent event) {
+        return event.isEnabled() ? new File(source).length() : -1;
+    }
+
+
+    // EFFECTS: reads the courses from file one at a time, passing each to visitor as soon as it has been read,
+    // so that only one course is held in memory at once; returns the number of courses read;
+    // throws IOException if an error occurs reading data from file or thrown by visitor and
+    // throws InputOutOfRangeException if assignment grade or weight is not between 0 and 100
+    public int readEach(CourseVisitor visitor) throws IOException, InputOutOfRangeException {
+        try (Reader reader = openFile()) {
+            JSONTokener tokener = new JSONTokener(reader);
+            expect(tokener, '{');
+
+            int courseCount = 0;
+            NameDictionary names = null;
+            for (char next = tokener.nextClean(); next != '}'; next = tokener.nextClean()) {
+                tokener.back();
+                String key = tokener.nextValue().toString();
+                expect(tokener, ':');
 
-        try (Stream<String> stream = Files.lines(Paths.get(source), StandardCharsets.UTF_8)) {
-            stream.forEach(s -> contentBuilder.append(s));
+                if (key.equals("names")) {
+                    names = NameDictionary.fromJson((JSONArray) tokener.nextValue());
+                } else if (key.equals("courses")) {
+                    courseCount += readEachCourse(tokener, visitor, names);
+                } else {
+                    tokener.nextValue();
+                }
+                skipSeparator(tokener, '}');
+            }
+            return courseCount;
+        } catch (JSONException e) {
+            throw new IOException("Malformed course list in " + source, e);
         }
+    }
+
+    // EFFECTS: reads each course in the courses array the tokener is positioned at, looking up names in the
+    // string table read before it if any, and passes it to visitor; returns the number of courses read
+    private int readEachCourse(JSONTokener tokener, CourseVisitor visitor, NameDictionary names)
+            throws IOException, InputOutOfRangeException {
+        expect(tokener, '[');
 
-        return contentBuilder.toString();
+        int courseCount = 0;
+        for (char next = tokener.nextClean(); next != ']'; next = tokener.nextClean()) {
+            tokener.back();
+            visitor.visit(parseCourse((JSONObject) tokener.nextValue(), names));
+            courseCount++;
+            skipSeparator(tokener, ']');
+        }
+        return courseCount;
+    }
+
+    // EFFECTS: consumes the next character, throwing JSONException if it is not the expected one
+    private void expect(JSONTokener tokener, char expected) {
+        if (tokener.nextClean() != expected) {
+            throw tokener.syntaxError("Expected '" + expected + "'");
+        }
+    }
+
+    // EFFECTS: consumes the comma after a value, or steps back if the value was the last before closing
+    private void skipSeparator(JSONTokener tokener, char closing) {
+        char next = tokener.nextClean();
+
+        if (next == closing) {
+            tokener.back();
+        } else if (next != ',') {
+            throw tokener.syntaxError("Expected ',' or '" + closing + "'");
+        }
+    }
+
+    // EFFECTS: opens source file for reading as text, decompressing it if it was saved compressed;
+    //          throws IOException if it can not be opened
+    private Reader openFile() throws IOException {
+        return openFile(Files.newInputStream(Paths.get(source)));
+    }
+
+    // EFFECTS: returns a reader of the text in file, decompressing it if it was saved compressed;
+    //          closes file and throws IOException if it can not be read
+    private Reader openFile(InputStream file) throws IOException {
+        try {
+            return new InputStreamReader(Compression.decompress(file), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
     }
 
     // MODIFIES: this
@@ -50,37 +251,57 @@ public class JsonReader {
     // throws InputOutOfRangeException if assignment grade or weight is not between 0 and 100
     private CourseList parseCourseList(JSONObject jsonObject) throws InputOutOfRangeException {
         JSONArray courseList = jsonObject.getJSONArray("courses");
+        NameDictionary names = jsonObject.has("names") ? NameDictionary.fromJson(jsonObject.getJSONArray("names"))
+                : null;
         CourseList convertedCourseList = new CourseList();
 
         // loop to get all courses for the course list
         for (Object json : courseList) {
-            JSONObject jsonObjectTwo = (JSONObject) json;
+            convertedCourseList.getCourses().add(parseCourse((JSONObject) json, names));
+        }
 
-            String courseName = jsonObjectTwo.getString("name");
-            double idealGrade = jsonObjectTwo.getDouble("ideal grade");
-            double predictedGrade = jsonObjectTwo.getDouble("predicted grade");
+        return convertedCourseList;
+    }
 
-            JSONArray assignments = jsonObjectTwo.getJSONArray("assignments");
-            List<Assignment> assignmentList = parseAssignment(assignments);
+    // EFFECTS: create a Course object with its assignments and grade history from a JSON object, with the default
+    // credits if none are given; throws InputOutOfRangeException if assignment grade or weight is not between 0
+    // and 100, or credits are negative, and JSONException if the grade history is corrupt
+    private Course parseCourse(JSONObject jsonObjectTwo, NameDictionary names) throws InputOutOfRangeException {
+        String courseName = parseName(jsonObjectTwo, names);
+        double idealGrade = jsonObjectTwo.getDouble("ideal grade");
+        double predictedGrade = jsonObjectTwo.getDouble("predicted grade");
 
-            Course course = new Course(courseName, assignmentList, idealGrade, predictedGrade);
-            convertedCourseList.getCourses().add(course);
-        }
+        JSONArray assignments = jsonObjectTwo.getJSONArray("assignments");
+        List<Assignment> assignmentList = parseAssignment(assignments, names);
 
-        return convertedCourseList;
+        Course course = new Course(courseName, assignmentList, idealGrade, predictedGrade);
+        course.setCredits(jsonObjectTwo.optDouble("credits", Course.DEFAULT_CREDITS));
+        course.setHistory(jsonObjectTwo.has("history") ? parseHistory(jsonObjectTwo.getString("history"))
+                : new GradeHistory());
+        return course;
+    }
+
+    // EFFECTS: returns the grade history encoded in text; throws JSONException if it is corrupt
+    private GradeHistory parseHistory(String text) {
+        try {
+            return GradeHistory.decode(text);
+        } catch (IllegalArgumentException e) {
+            throw new JSONException("Corrupt grade history", e);
+        }
     }
 
     // MODIFIES: this
     // EFFECTS: create a list of Assignment objects with its courses from a JSON array
     // throws InputOutOfRangeException if assignment grade or weight is not between 0 and 100
-    private List<Assignment> parseAssignment(JSONArray jsonArray) throws InputOutOfRangeException {
+    private List<Assignment> parseAssignment(JSONArray jsonArray, NameDictionary names)
+            throws InputOutOfRangeException {
         List<Assignment> assignmentList = new ArrayList<>();
 
         // loop to get all assignments for each course
         for (Object js: jsonArray) {
             JSONObject jsonObjectThree = (JSONObject) js;
 
-            String assignmentName = jsonObjectThree.getString("name");
+            String assignmentName = parseName(jsonObjectThree, names);
             double grade = jsonObjectThree.getDouble("grade");
             double weight = jsonObjectThree.getDouble("weight");
 
@@ -93,5 +314,80 @@ public class JsonReader {
         return assignmentList;
     }
 
+    // EFFECTS: returns the interned name of a course or assignment from a JSON object, looking it up in names if it
+    // is a reference; throws JSONException if it is a reference and there is no such name in names
+    private String parseName(JSONObject json, NameDictionary names) {
+        Object name = json.get("name");
+
+        if (!(name instanceof Number)) {
+            return NameDictionary.intern(json.getString("name"));
+        }
+        int reference = ((Number) name).intValue();
+        if (names == null || reference < 0 || reference >= names.size()) {
+            throw new JSONException("Unknown name reference " + reference);
+        }
+        return names.get(reference);
+    }
+
+    // Represents a reader that passes on everything read from another reader, counting the characters
+    private static class CharCountingReader extends FilterReader {
+        private long count;                        // number of characters read so far
 
+        // EFFECTS: constructs a reader that reads from in
+        CharCountingReader(Reader in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) {
+                count++;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buf, int off, int len) throws IOException {
+            int read = super.read(buf, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    // Represents a stream that passes on everything read from another stream, timing the reads
+    private static class TimedInputStream extends FilterInputStream {
+        private long readTime;                     // nanoseconds spent in reads so far
+
+        // EFFECTS: constructs a stream that reads from in
+        TimedInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getReadTime() {
+            return readTime;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            int b = super.read();
+            readTime += System.nanoTime() - start;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            int read = super.read(buf, off, len);
+            readTime += System.nanoTime() - start;
+            return read;
+        }
+    }
 }
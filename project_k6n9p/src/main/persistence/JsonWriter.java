@@ -1,49 +1,192 @@
 package persistence;
 
+import metrics.Histogram;
+import metrics.JsonWriteEvent;
+import metrics.Metrics;
 import model.Course;
 import model.CourseList;
-import org.json.JSONObject;
+import model.NameDictionary;
+import org.json.JSONArray;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 
-// Represents a writer that writes JSON representation of user's course list to file
+// Represents a writer that writes JSON representation of user's course list to file. Course and assignment names
+// are written once each, in a "names" string table ahead of the courses, which refer to them by position. The JSON
+// is streamed to the file as it is serialized, compressed on the way if asked to be, so the whole text is never held
+// in memory
 // SOURCE: UBC CPSC 210's JsonSerializationDemo
 // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 public class JsonWriter {
     private static final int TAB = 4;
+    private static final Histogram WRITE_TIME = Metrics.timer("JsonWriter.write");
+    private static final Histogram WRITE_SIZE = Metrics.histogram("JsonWriter.write.size", "chars");
+
     private PrintWriter writer;
     private String destination;
+    private Compression compression;
     private CourseList courseList;
 
-    // EFFECTS: constructs writer to write to destination file
+    // EFFECTS: constructs writer to write to destination file, compressed as its extension calls for
     public JsonWriter(String destination) {
+        this(destination, Compression.forFile(destination));
+    }
+
+    // EFFECTS: constructs writer to write to destination file with the given compression
+    public JsonWriter(String destination, Compression compression) {
         this.destination = destination;
+        this.compression = compression;
     }
 
     // MODIFIES: this
     // EFFECTS: opens writer; throws FileNotFoundException if destination file cannot
     // be opened for writing
     public void open() throws FileNotFoundException {
-        writer = new PrintWriter(new File(destination));
+        open(new BufferedOutputStream(new FileOutputStream(destination)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer to write to file in place of the destination file; throws FileNotFoundException if
+    //          file can not be compressed
+    void open(OutputStream file) throws FileNotFoundException {
+        try {
+            writer = new PrintWriter(new OutputStreamWriter(compression.compress(file), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            writer = new PrintWriter(file);
+            writer.close();
+            FileNotFoundException notOpened = new FileNotFoundException("Could not compress " + destination);
+            notOpened.initCause(e);
+            throw notOpened;
+        }
     }
 
     // MODIFIES: this
     // EFFECTS: writes JSON representation of courses to file
     public void write(CourseList courses) {
-        JSONObject json = courses.toJson();
+        long start = Metrics.startTime();
+        int courseCount = courses.getCourses().size();
 
-        saveToFile(json.toString(TAB));
+        JsonWriteEvent event = new JsonWriteEvent(JsonWriteEvent.DOM_BUILD, destination);
+        NameDictionary names = new NameDictionary();
+        JSONArray json = courses.coursesToJson(names);
+        event.finish(-1, courseCount, event.isEnabled() ? courses.numAssignments() : -1);
+
+        event = new JsonWriteEvent(JsonWriteEvent.SERIALIZE, destination);
+        CharCountingWriter counter = new CharCountingWriter(writer);
+        serialize(names, json, counter);
+        event.finish(counter.getCount(), courseCount, -1);
+
+        event = new JsonWriteEvent(JsonWriteEvent.FILE_IO, destination);
+        counter.flush();
+        event.finish(counter.getCount(), courseCount, -1);
+
+        WRITE_SIZE.record(counter.getCount());
+        WRITE_TIME.recordSince(start);
     }
 
+    // EFFECTS: writes the string table followed by the courses as one JSON object to json; the table is written
+    //          first, so that a reader streaming the courses already knows every name they refer to, and the
+    //          courses are indented no deeper than a course list without a table
+    private void serialize(NameDictionary names, JSONArray courses, CharCountingWriter json) {
+        json.write("{\"names\": ");
+        names.toJson().write(json);
+        json.write(", \"courses\": ");
+        courses.write(json, TAB, 0);
+        json.write("}");
+    }
 
     // MODIFIES: this
-    // EFFECTS: closes writer
-    public void close() {
+    // EFFECTS: closes writer; throws IOException if anything written since it was opened could not be written to
+    //          the file, such as when the disk is full, as the print writer only records such failures
+    public void close() throws IOException {
         writer.close();
+        if (writer.checkError()) {
+            throw new IOException("Unable to write to file: " + destination);
+        }
     }
 
-    // MODIFIES: this
-    // EFFECTS: writes string to file
-    private void saveToFile(String json) {
-        writer.print(json);
+    // Represents a writer that buffers what is written to it and passes it on to a print writer in large chunks,
+    // counting the characters. The JSON library writes strings one character at a time, which this takes without
+    // the locking every write to a PrintWriter or BufferedWriter costs
+    private static class CharCountingWriter extends Writer {
+        private static final int BUFFER_SIZE = 8192;
+
+        private final PrintWriter out;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int buffered;                      // number of characters in buffer not yet passed on
+        private long count;                        // number of characters passed on so far
+
+        // EFFECTS: constructs a writer that writes to out
+        CharCountingWriter(PrintWriter out) {
+            this.out = out;
+        }
+
+        // EFFECTS: returns the number of characters written so far
+        long getCount() {
+            return count + buffered;
+        }
+
+        @Override
+        public void write(int c) {
+            if (buffered == BUFFER_SIZE) {
+                drain();
+            }
+            buffer[buffered++] = (char) c;
+        }
+
+        @Override
+        public void write(char[] chars, int off, int len) {
+            if (len > BUFFER_SIZE - buffered) {
+                drain();
+            }
+            if (len >= BUFFER_SIZE) {
+                out.write(chars, off, len);
+                count += len;
+            } else {
+                System.arraycopy(chars, off, buffer, buffered, len);
+                buffered += len;
+            }
+        }
+
+        @Override
+        public void write(String s) {
+            write(s, 0, s.length());
+        }
+
+        @Override
+        public void write(String s, int off, int len) {
+            if (len > BUFFER_SIZE - buffered) {
+                drain();
+            }
+            if (len >= BUFFER_SIZE) {
+                out.write(s, off, len);
+                count += len;
+            } else {
+                s.getChars(off, off + len, buffer, buffered);
+                buffered += len;
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: passes the buffered characters on to out
+        private void drain() {
+            out.write(buffer, 0, buffered);
+            count += buffered;
+            buffered = 0;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: passes the buffered characters on to out and flushes it
+        @Override
+        public void flush() {
+            drain();
+            out.flush();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: passes the buffered characters on to out, leaving out open for the JsonWriter to close
+        @Override
+        public void close() {
+            drain();
+        }
     }
 }
@@ -0,0 +1,54 @@
+package report;
+
+import model.Course;
+import model.CourseStats;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Represents a report written as comma separated values, with a header row and one row per course
+public class CsvReportSink implements ReportSink {
+    private static final String HEADER = "course,assignments,current grade,current weight,ideal grade,"
+            + "grade needed for ideal grade,predicted grade,final grade if predicted grade achieved";
+
+    private final Writer writer;
+
+    // EFFECTS: constructs a sink that writes to writer
+    public CsvReportSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    // EFFECTS: writes the header row
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    // EFFECTS: writes one row with the name, number of assignments, and statistics of the course
+    @Override
+    public void writeCourse(Course course, CourseStats stats) throws IOException {
+        writer.write(escape(course.getName()));
+        writer.write("," + course.numAssignments());
+        writer.write("," + stats.getCurrentGrade());
+        writer.write("," + stats.getCurrentWeight());
+        writer.write("," + course.getIdealGrade());
+        writer.write("," + stats.getIdealFinalGrade());
+        writer.write("," + course.getPredictedGrade());
+        writer.write("," + stats.getPredictedFinalGrade());
+        writer.write("\r\n");
+    }
+
+    // EFFECTS: writes nothing, csv reports have no footer
+    @Override
+    public void writeFooter(int courseCount) {
+    }
+
+    // EFFECTS: returns the value quoted if it contains a comma, quote, or line break, with quotes doubled
+    public static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
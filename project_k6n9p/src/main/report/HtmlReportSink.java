@@ -0,0 +1,81 @@
+package report;
+
+import model.Assignment;
+import model.Course;
+import model.CourseStats;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Represents a report written as a standalone html page with one section per course
+public class HtmlReportSink implements ReportSink {
+    private final Writer writer;
+
+    // EFFECTS: constructs a sink that writes to writer
+    public HtmlReportSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    // EFFECTS: writes the start of the page
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write("<!DOCTYPE html>\n<html>\n<head><meta charset=\"utf-8\"><title>Course Statistics</title></head>\n"
+                + "<body>\n<h1>Course Statistics</h1>\n");
+    }
+
+    // EFFECTS: writes a section with a list of the assignments and a table of the statistics of the course
+    @Override
+    public void writeCourse(Course course, CourseStats stats) throws IOException {
+        writer.write("<section>\n<h2>" + escape(course.getName()) + "</h2>\n<ul>\n");
+        for (Assignment assignment : course.getAssignments()) {
+            writer.write("<li>" + escape(assignment.getName()) + ": grade " + assignment.getGrade()
+                    + ", weight " + assignment.getWeight() + "</li>\n");
+        }
+        writer.write("</ul>\n<table>\n");
+        writeRow("Current course grade", stats.getCurrentGrade());
+        writeRow("Current course weight", stats.getCurrentWeight());
+        writeRow("Grade needed on remaining assignments to achieve " + course.getIdealGrade(),
+                stats.getIdealFinalGrade());
+        writeRow("Final grade if you get " + course.getPredictedGrade() + " on the remaining assignments",
+                stats.getPredictedFinalGrade());
+        writer.write("</table>\n</section>\n");
+    }
+
+    // EFFECTS: writes the number of courses and the end of the page
+    @Override
+    public void writeFooter(int courseCount) throws IOException {
+        writer.write("<p>" + courseCount + " course(s)</p>\n</body>\n</html>\n");
+    }
+
+    // EFFECTS: writes a table row with a label and a value
+    private void writeRow(String label, double value) throws IOException {
+        writer.write("<tr><th>" + escape(label) + "</th><td>" + value + "</td></tr>\n");
+    }
+
+    // EFFECTS: returns the text with the characters that have a meaning in html escaped
+    public static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+                    break;
+            }
+        }
+        return escaped.toString();
+    }
+}
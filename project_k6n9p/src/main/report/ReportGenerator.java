@@ -0,0 +1,75 @@
+package report;
+
+import exceptions.InputOutOfRangeException;
+import model.AssignmentStore;
+import model.Course;
+import model.CourseStats;
+import persistence.JsonReader;
+
+import java.io.IOException;
+
+// Streams course statistics to a report sink, computing the statistics of each course just before it is
+// written so that nothing but the current course needs to be held on to
+public class ReportGenerator {
+    private final ReportSink sink;
+    private int courseCount;
+
+    // EFFECTS: constructs a generator that writes to sink
+    public ReportGenerator(ReportSink sink) {
+        this.sink = sink;
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: writes a report on the given courses; returns the number of courses written;
+    // throws IOException if writing fails
+    public int generate(Iterable<Course> courses) throws IOException {
+        sink.writeHeader();
+        courseCount = 0;
+
+        for (Course course : courses) {
+            writeCourse(course);
+        }
+
+        sink.writeFooter(courseCount);
+        return courseCount;
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: writes a report on the courses in a file as they are read, without loading the whole file;
+    // returns the number of courses written; throws IOException if reading or writing fails and
+    // throws InputOutOfRangeException if an assignment grade or weight in the file is not between 0 and 100
+    public int generate(JsonReader reader) throws IOException, InputOutOfRangeException {
+        sink.writeHeader();
+        courseCount = 0;
+
+        reader.readEach(this::writeCourse);
+
+        sink.writeFooter(courseCount);
+        return courseCount;
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: writes a report on the courses in an assignment store, with their statistics calculated over the
+    // store's columns and only the course being written brought onto the heap; returns the number of courses
+    // written; throws IOException if writing fails and InputOutOfRangeException if an assignment grade or weight
+    // in the store is not between 0 and 100
+    public int generate(AssignmentStore store) throws IOException, InputOutOfRangeException {
+        sink.writeHeader();
+        courseCount = 0;
+
+        for (int course = 0; course < store.numCourses(); course++) {
+            sink.writeCourse(store.toCourse(course), store.toStats(course));
+            courseCount++;
+        }
+
+        sink.writeFooter(courseCount);
+        return courseCount;
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: computes the statistics of a course and writes them
+    private void writeCourse(Course course) throws IOException {
+        sink.writeCourse(course, new CourseStats(course));
+        courseCount++;
+    }
+}
@@ -0,0 +1,18 @@
+package report;
+
+import model.Course;
+import model.CourseStats;
+
+import java.io.IOException;
+
+// Represents a destination for a course statistics report, written one course at a time
+public interface ReportSink {
+    // EFFECTS: writes whatever comes before the first course; throws IOException if writing fails
+    void writeHeader() throws IOException;
+
+    // EFFECTS: writes the statistics of one course; throws IOException if writing fails
+    void writeCourse(Course course, CourseStats stats) throws IOException;
+
+    // EFFECTS: writes whatever comes after the last of courseCount courses; throws IOException if writing fails
+    void writeFooter(int courseCount) throws IOException;
+}
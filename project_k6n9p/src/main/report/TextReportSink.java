@@ -0,0 +1,59 @@
+package report;
+
+import model.Assignment;
+import model.Course;
+import model.CourseStats;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Represents a report written as the indented plain text shown in the terminal
+public class TextReportSink implements ReportSink {
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final Writer writer;
+
+    // EFFECTS: constructs a sink that writes to writer
+    public TextReportSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    // EFFECTS: writes nothing, text reports have no header
+    @Override
+    public void writeHeader() {
+    }
+
+    // EFFECTS: writes a titled block with each assignment and statistic of the course on its own line
+    @Override
+    public void writeCourse(Course course, CourseStats stats) throws IOException {
+        String title = "========== Statistics for " + course.getName() + " ==========";
+
+        writeLine(title.toUpperCase());
+        writeLine(NEW_LINE + "\tAssignments submitted: ");
+        for (Assignment assignment : course.getAssignments()) {
+            writeLine("\t\t" + assignment);
+        }
+        writeLine("");
+        writeLine("\tCurrent course grade: " + stats.getCurrentGrade());
+        writeLine("\tCurrent course weight: " + stats.getCurrentWeight());
+        writeLine("\tGrade needed on remaining assignments to achieve " + course.getIdealGrade()
+                + ": " + stats.getIdealFinalGrade());
+        writeLine("\tFinal grade if you get " + course.getPredictedGrade()
+                + " on the remaining assignments: " + stats.getPredictedFinalGrade());
+        writeLine(NEW_LINE);
+    }
+
+    // EFFECTS: writes a notice if there were no courses to report on
+    @Override
+    public void writeFooter(int courseCount) throws IOException {
+        if (courseCount == 0) {
+            writeLine("You have not added any courses yet");
+        }
+    }
+
+    // EFFECTS: writes text followed by a line separator
+    private void writeLine(String text) throws IOException {
+        writer.write(text);
+        writer.write(NEW_LINE);
+    }
+}
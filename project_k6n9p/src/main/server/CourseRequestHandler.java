@@ -0,0 +1,414 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import exceptions.InputOutOfRangeException;
+import exceptions.InvalidRequestException;
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+import model.CourseStats;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import persistence.CacheStats;
+import persistence.CourseListCache;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+// Serves the requests to a grade server, routing them by method and path (see GradeServer) to a gradebook:
+// either one gradebook shared by every request, or, when serving many students from a course list cache, the
+// gradebook of the student named by a /students/STUDENT prefix on each path. Requests that only read take a
+// snapshot of the gradebook, which only holds its lock for O(1) time, and then compute stats and stream the
+// response from the snapshot, so a slow client never holds up edits.
+public class CourseRequestHandler implements HttpHandler {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final Set<String> ROUTES = Set.of("courses", "courses/*", "courses/*/stats",
+            "courses/*/assignments", "courses/*/assignments/*", "stats", "save");
+
+    private final Gradebook sharedGradebook;      // gradebook of every request, or null if serving many students
+    private final CourseListCache cache;          // cache of the students' gradebooks, or null
+
+    // EFFECTS: constructs a handler serving one gradebook to every request
+    public CourseRequestHandler(Gradebook gradebook) {
+        this.sharedGradebook = gradebook;
+        this.cache = null;
+    }
+
+    // EFFECTS: constructs a handler serving the gradebook of each student from cache, under /students/STUDENT,
+    //          and the statistics of the cache under /cache
+    public CourseRequestHandler(CourseListCache cache) {
+        this.sharedGradebook = null;
+        this.cache = cache;
+    }
+
+    // EFFECTS: serves the request, responding with an error status and message if it can not be served
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = splitPath(exchange.getRequestURI().getRawPath());
+
+            if (cache == null) {
+                route(exchange, sharedGradebook, path);
+            } else {
+                routeStudent(exchange, path);
+            }
+        } catch (InvalidRequestException e) {
+            respondError(exchange, e.getStatusCode(), e.getMessage());
+        } catch (JSONException e) {
+            respondError(exchange, 400, "Malformed JSON: " + e.getMessage());
+        } catch (IOException e) {
+            respondError(exchange, 500, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // EFFECTS: serves a request to /cache, or to /students/STUDENT and below it with the student's gradebook
+    private void routeStudent(HttpExchange exchange, String[] path) throws IOException, InvalidRequestException {
+        if (path.length == 1 && path[0].equals("cache") && exchange.getRequestMethod().equals("GET")) {
+            CacheStats stats = cache.getStats();
+            respondJson(exchange, 200, writer -> statsToJson(stats).write(writer));
+        } else if (path.length > 2 && path[0].equals("students") && CourseListCache.isValidTenant(path[1])) {
+            route(exchange, new TenantGradebook(cache, path[1]), Arrays.copyOfRange(path, 2, path.length));
+        } else {
+            throw new InvalidRequestException(404, "No such resource: " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    // EFFECTS: serves the request to the given path of gradebook
+    private void route(HttpExchange exchange, Gradebook gradebook, String[] path) throws IOException,
+            InvalidRequestException {
+        String route = routeOf(path);
+
+        if (exchange.getRequestMethod().equals("GET")) {
+            routeRead(exchange, gradebook, route, path);
+        } else {
+            routeEdit(exchange, gradebook, exchange.getRequestMethod() + " " + route, path);
+        }
+    }
+
+    // EFFECTS: serves a GET request to the given route of gradebook
+    private void routeRead(HttpExchange exchange, Gradebook gradebook, String route, String[] path)
+            throws IOException, InvalidRequestException {
+        switch (route) {
+            case "courses":
+                List<Course> courses = gradebook.read(CourseList::snapshot).getCourses();
+                respondJson(exchange, 200, writer -> writeCourseArray(writer, courses));
+                break;
+            case "courses/*":
+                Course course = snapshotCourse(gradebook, path[1]);
+                respondJson(exchange, 200, writer -> course.toJson().write(writer));
+                break;
+            case "courses/*/stats":
+                Course snapshot = snapshotCourse(gradebook, path[1]);
+                respondJson(exchange, 200, writer -> statsToJson(snapshot).write(writer));
+                break;
+            case "stats":
+                List<Course> snapshots = gradebook.read(CourseList::snapshot).getCourses();
+                respondJson(exchange, 200, writer -> writeStatsArray(writer, snapshots));
+                break;
+            default:
+                throw unsupported(exchange, route);
+        }
+    }
+
+    // MODIFIES: gradebook
+    // EFFECTS: serves a request that edits or saves gradebook, given by its method and route
+    private void routeEdit(HttpExchange exchange, Gradebook gradebook, String request, String[] path)
+            throws IOException, InvalidRequestException {
+        switch (request) {
+            case "POST courses":
+                respondCourse(exchange, 201, addCourse(gradebook, readJson(exchange)));
+                break;
+            case "PUT courses/*":
+                respondCourse(exchange, 200, setGrades(gradebook, path[1], readJson(exchange)));
+                break;
+            case "POST courses/*/assignments":
+                respondCourse(exchange, 201, addAssignment(gradebook, path[1], readJson(exchange)));
+                break;
+            default:
+                routeRemoveOrSave(exchange, gradebook, request, path);
+        }
+    }
+
+    // MODIFIES: gradebook
+    // EFFECTS: serves a request that removes from or saves gradebook, given by its method and route
+    private void routeRemoveOrSave(HttpExchange exchange, Gradebook gradebook, String request, String[] path)
+            throws IOException, InvalidRequestException {
+        switch (request) {
+            case "DELETE courses/*":
+                removeCourse(gradebook, path[1]);
+                respondEmpty(exchange);
+                break;
+            case "DELETE courses/*/assignments/*":
+                removeAssignment(gradebook, path[1], path[3]);
+                respondEmpty(exchange);
+                break;
+            case "POST save":
+                gradebook.save();
+                respondEmpty(exchange);
+                break;
+            default:
+                throw unsupported(exchange, routeOf(path));
+        }
+    }
+
+    // EFFECTS: returns the exception for a request to route with a method it does not support, or to a
+    //          route that does not exist
+    private static InvalidRequestException unsupported(HttpExchange exchange, String route) {
+        if (ROUTES.contains(route)) {
+            return new InvalidRequestException(405, "Method not allowed: " + exchange.getRequestMethod());
+        }
+        return new InvalidRequestException(404, "No such resource: " + exchange.getRequestURI().getPath());
+    }
+
+    // EFFECTS: returns the path with the course and assignment names replaced by *, such as courses/*/stats
+    private static String routeOf(String[] path) {
+        StringBuilder route = new StringBuilder();
+
+        for (int i = 0; i < path.length; i++) {
+            boolean isName = path[0].equals("courses") && i % 2 == 1;
+            route.append(i > 0 ? "/" : "").append(isName ? "*" : path[i]);
+        }
+        return route.toString();
+    }
+
+    // EFFECTS: returns the course with the given name in a snapshot of gradebook;
+    //          throws InvalidRequestException if there is no such course
+    private static Course snapshotCourse(Gradebook gradebook, String courseName) throws IOException,
+            InvalidRequestException {
+        Course course = gradebook.read(CourseList::snapshot).containsByName(courseName);
+
+        if (course == null) {
+            throw new InvalidRequestException(404, "Course does not exist: " + courseName);
+        }
+        return course;
+    }
+
+    // MODIFIES: gradebook
+    // EFFECTS: adds the course described by json, returning a copy of it; throws InvalidRequestException if a
+    //          course with its name already exists or its grades are out of range
+    private static Course addCourse(Gradebook gradebook, JSONObject json) throws IOException,
+            InvalidRequestException {
+        Course course = new Course(json.getString("name"));
+        setGrades(course, json);
+
+        return gradebook.edit(courseList -> {
+            if (courseList.containsByName(course.getName()) != null) {
+                throw new InvalidRequestException(409, "Course already exists: " + course.getName());
+            }
+            courseList.getCourses().add(course);
+            return course.copy();
+        });
+    }
+
+    // MODIFIES: gradebook
+    // EFFECTS: sets the grades given in json on the named course, returning a copy of it;
+    //          throws InvalidRequestException if there is no such course or a grade is out of range
+    private static Course setGrades(Gradebook gradebook, String courseName, JSONObject json) throws IOException,
+            InvalidRequestException {
+        return gradebook.edit(courseList -> {
+            Course course = findCourse(courseList, courseName);
+            setGrades(course, json);
+            return course.copy();
+        });
+    }
+
+    // MODIFIES: course
+    // EFFECTS: sets the ideal and predicted grades and credits given in json, if any, on course;
+    //          throws InvalidRequestException if a grade or the credits are out of range
+    private static void setGrades(Course course, JSONObject json) throws InvalidRequestException {
+        try {
+            if (json.has("ideal grade")) {
+                course.setIdealGrade(json.getDouble("ideal grade"));
+            }
+            if (json.has("predicted grade")) {
+                course.setPredictedGrade(json.getDouble("predicted grade"));
+            }
+            if (json.has("credits")) {
+                course.setCredits(json.getDouble("credits"));
+            }
+        } catch (InputOutOfRangeException e) {
+            throw new InvalidRequestException(400,
+                    "Grades must be between 0 and 100, and credits finite and at least 0");
+        }
+    }
+
+    // MODIFIES: gradebook
+    // EFFECTS: removes the named course; throws InvalidRequestException if there is no such course
+    private static void removeCourse(Gradebook gradebook, String courseName) throws IOException,
+            InvalidRequestException {
+        gradebook.edit(courseList -> {
+            if (!courseList.removeCourseByName(courseName)) {
+                throw new InvalidRequestException(404, "Course does not exist: " + courseName);
+            }
+            return null;
+        });
+    }
+
+    // MODIFIES: gradebook
+    // EFFECTS: adds the assignment described by json to the named course, returning a copy of the course;
+    //          throws InvalidRequestException if there is no such course, the assignment already exists,
+    //          or its grade or weight is out of range
+    private static Course addAssignment(Gradebook gradebook, String courseName, JSONObject json)
+            throws IOException, InvalidRequestException {
+        Assignment assignment;
+        try {
+            assignment = new Assignment(json.getString("name"), json.getDouble("grade"), json.getDouble("weight"));
+        } catch (InputOutOfRangeException e) {
+            throw new InvalidRequestException(400, "Grade and weight values must be between 0 and 100");
+        }
+
+        return gradebook.edit(courseList -> {
+            Course course = findCourse(courseList, courseName);
+            if (!course.addAssignment(assignment)) {
+                throw new InvalidRequestException(409, "Assignment already exists: " + assignment.getName());
+            }
+            return course.copy();
+        });
+    }
+
+    // MODIFIES: gradebook
+    // EFFECTS: removes the named assignment from the named course;
+    //          throws InvalidRequestException if there is no such course or assignment
+    private static void removeAssignment(Gradebook gradebook, String courseName, String assignmentName)
+            throws IOException, InvalidRequestException {
+        gradebook.edit(courseList -> {
+            if (!findCourse(courseList, courseName).removeAssignment(assignmentName)) {
+                throw new InvalidRequestException(404, "Assignment does not exist: " + assignmentName);
+            }
+            return null;
+        });
+    }
+
+    // EFFECTS: returns the course with the given name in courseList; throws InvalidRequestException if there
+    //          is none
+    private static Course findCourse(CourseList courseList, String courseName) throws InvalidRequestException {
+        Course course = courseList.containsByName(courseName);
+
+        if (course == null) {
+            throw new InvalidRequestException(404, "Course does not exist: " + courseName);
+        }
+        return course;
+    }
+
+    // EFFECTS: writes courses to writer as a JSON array, one course at a time
+    private static void writeCourseArray(Writer writer, List<Course> courses) throws IOException {
+        writer.write('[');
+        for (int i = 0; i < courses.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            courses.get(i).toJson().write(writer);
+        }
+        writer.write(']');
+    }
+
+    // EFFECTS: writes the stats of each course to writer as a JSON array, computing them one course at a time
+    private static void writeStatsArray(Writer writer, List<Course> courses) throws IOException {
+        writer.write('[');
+        for (int i = 0; i < courses.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            statsToJson(courses.get(i)).write(writer);
+        }
+        writer.write(']');
+    }
+
+    // EFFECTS: returns the statistics of a course list cache as a JSON object
+    private static JSONObject statsToJson(CacheStats stats) {
+        JSONObject json = new JSONObject();
+
+        json.put("hits", stats.getHits());
+        json.put("misses", stats.getMisses());
+        json.put("hit rate", stats.getHitRate());
+        json.put("loads", stats.getLoads());
+        json.put("load failures", stats.getLoadFailures());
+        json.put("evictions", stats.getEvictions());
+        json.put("write-backs", stats.getWriteBacks());
+        json.put("write-back failures", stats.getWriteBackFailures());
+        json.put("entries", stats.getEntryCount());
+        json.put("estimated bytes", stats.getEstimatedBytes());
+        return json;
+    }
+
+    // EFFECTS: returns the name and stats of course as a JSON object
+    private static JSONObject statsToJson(Course course) {
+        CourseStats stats = new CourseStats(course);
+        JSONObject json = new JSONObject();
+
+        json.put("name", course.getName());
+        json.put("current grade", stats.getCurrentGrade());
+        json.put("current weight", stats.getCurrentWeight());
+        json.put("ideal final grade", stats.getIdealFinalGrade());
+        json.put("predicted final grade", stats.getPredictedFinalGrade());
+        return json;
+    }
+
+    // EFFECTS: returns the body of the request parsed as a JSON object
+    private static JSONObject readJson(HttpExchange exchange) {
+        return new JSONObject(new JSONTokener(new InputStreamReader(exchange.getRequestBody(),
+                StandardCharsets.UTF_8)));
+    }
+
+    // EFFECTS: returns the URL decoded segments of a raw path, without empty segments
+    private static String[] splitPath(String rawPath) {
+        List<String> segments = new ArrayList<>();
+
+        for (String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8));
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    // EFFECTS: responds with the given status and a JSON body streamed by body as it is written
+    private static void respondJson(HttpExchange exchange, int status, JsonBody body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, 0);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+        body.writeTo(writer);
+        writer.flush();
+    }
+
+    // EFFECTS: responds with the given status and course as JSON
+    private static void respondCourse(HttpExchange exchange, int status, Course course) throws IOException {
+        respondJson(exchange, status, writer -> course.toJson().write(writer));
+    }
+
+    // EFFECTS: responds with no content; the request body is drained first, as the server closes the connection
+    //          instead of keeping it alive if a response without content is sent before the request is read
+    private static void respondEmpty(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().close();
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    // EFFECTS: responds with the given error status and a JSON body holding message, unless a response was already
+    //          started, in which case its status can no longer be changed, so it is left for the caller to close
+    private static void respondError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+        respondJson(exchange, status, writer -> new JSONObject().put("error", message).write(writer));
+    }
+
+    // Represents the body of a JSON response, written straight to the response stream
+    private interface JsonBody {
+        void writeTo(Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,110 @@
+package server;
+
+import com.sun.net.httpserver.HttpServer;
+import model.CourseList;
+import persistence.CourseListCache;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Local HTTP server giving several front-ends shared access to one course list, or to the course lists of many
+// students kept in a course list cache, built on the JDK's HTTP server
+//   GET    /courses                                every course, streamed as a JSON array
+//   POST   /courses                                adds a course: {"name", ["ideal grade"], ["predicted grade"],
+//                                                  ["credits"]}
+//   GET    /courses/NAME                           one course
+//   PUT    /courses/NAME                           sets its grades: {["ideal grade"], ["predicted grade"], ["credits"]}
+//   DELETE /courses/NAME                           removes a course
+//   POST   /courses/NAME/assignments               adds an assignment: {"name", "grade", "weight"}
+//   DELETE /courses/NAME/assignments/ASSIGNMENT    removes an assignment
+//   GET    /courses/NAME/stats                     stats of one course
+//   GET    /stats                                  stats of every course, streamed as a JSON array
+//   POST   /save                                   saves the course list to the store file
+// Names in paths are URL encoded. Each request runs on its own virtual thread where the JDK has them (Java 21
+// and later) and on a pooled thread otherwise. The server only listens on the loopback address.
+public class GradeServer {
+    private static final int BACKLOG = 256;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+
+    // EFFECTS: constructs a server on the given port (or any free port, if port is 0) serving courseList,
+    //          saving it to store when asked; throws IOException if the port can not be bound
+    public GradeServer(int port, CourseList courseList, String store) throws IOException {
+        this(port, new CourseRequestHandler(new SharedGradebook(courseList, store)));
+    }
+
+    // EFFECTS: constructs a server on the given port (or any free port, if port is 0) serving the course list of
+    //          each student from cache, with every path above prefixed by /students/STUDENT, and the statistics
+    //          of the cache at GET /cache; throws IOException if the port can not be bound
+    public GradeServer(int port, CourseListCache cache) throws IOException {
+        this(port, new CourseRequestHandler(cache));
+    }
+
+    // EFFECTS: constructs a server on the given port serving every request with handler
+    private GradeServer(int port, CourseRequestHandler handler) throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        executor = newRequestExecutor();
+
+        httpServer.createContext("/", handler);
+        httpServer.setExecutor(executor);
+    }
+
+    // MODIFIES: the system properties
+    // EFFECTS: turns on TCP_NODELAY for every server the JDK creates in this process, unless it was set already.
+    //          Responses are streamed in chunks, so without it small responses wait on delayed acknowledgements
+    //          (about 40 ms each). The JDK's server only reads this property once, before its first server is
+    //          created, so this must be called before then, and only by a program that runs a grade server
+    public static void enableNoDelay() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    // EFFECTS: returns the port the server is listening on
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts serving requests in the background
+    public void start() {
+        httpServer.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops accepting requests, waits up to delaySeconds for those in progress, and stops the executor
+    public void stop(int delaySeconds) {
+        httpServer.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    // EFFECTS: returns an executor that runs each request on a new virtual thread, or, on JDKs without virtual
+    //          threads, on a pool of daemon threads that grows with the number of requests in progress
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(new RequestThreadFactory());
+        }
+    }
+
+    // Creates the daemon threads requests run on when virtual threads are not available
+    private static class RequestThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "grade-server-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package server;
+
+import persistence.CourseListFunction;
+
+import java.io.IOException;
+
+// Represents a course list served by the grade server; it is only reached through read and edit, so that each
+// implementation decides how it is shared between concurrent requests and where it is saved
+public interface Gradebook {
+    // EFFECTS: returns the result of function applied to the course list, which it must not edit;
+    //          throws IOException if the course list can not be loaded, and E if function fails
+    <R, E extends Exception> R read(CourseListFunction<R, E> function) throws E, IOException;
+
+    // MODIFIES: this
+    // EFFECTS: returns the result of function applied to the course list, which it may edit;
+    //          throws IOException if the course list can not be loaded, and E if function fails
+    <R, E extends Exception> R edit(CourseListFunction<R, E> function) throws E, IOException;
+
+    // EFFECTS: saves the course list; throws IOException if it can not be saved
+    void save() throws IOException;
+}
@@ -0,0 +1,59 @@
+package server;
+
+import model.CourseList;
+import persistence.CourseListFunction;
+import persistence.JsonWriter;
+
+import java.io.IOException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Represents one course list shared by every request, guarded by a read-write lock and saved to a store file
+public class SharedGradebook implements Gradebook {
+    private final CourseList courseList;
+    private final String store;                                   // file the course list is saved to
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // EFFECTS: constructs a gradebook sharing courseList and saving it to store
+    public SharedGradebook(CourseList courseList, String store) {
+        this.courseList = courseList;
+        this.store = store;
+    }
+
+    // EFFECTS: returns the result of function applied to the course list under the read lock
+    @Override
+    public <R, E extends Exception> R read(CourseListFunction<R, E> function) throws E {
+        lock.readLock().lock();
+        try {
+            return function.apply(courseList);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the result of function applied to the course list under the write lock
+    @Override
+    public <R, E extends Exception> R edit(CourseListFunction<R, E> function) throws E {
+        lock.writeLock().lock();
+        try {
+            return function.apply(courseList);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // EFFECTS: saves the course list to the store file under the read lock; throws IOException if the file
+    //          can not be written
+    @Override
+    public void save() throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(store);
+
+        read(courseList -> {
+            jsonWriter.open();
+            jsonWriter.write(courseList);
+            jsonWriter.close();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package server;
+
+import persistence.CourseListCache;
+import persistence.CourseListFunction;
+
+import java.io.IOException;
+
+// Represents the course list of one student (tenant), held in a course list cache that loads it on demand and
+// writes it back once it is evicted
+public class TenantGradebook implements Gradebook {
+    private final CourseListCache cache;
+    private final String tenant;
+
+    // REQUIRES: CourseListCache.isValidTenant(tenant)
+    // EFFECTS: constructs the gradebook of tenant, held in cache
+    public TenantGradebook(CourseListCache cache, String tenant) {
+        this.cache = cache;
+        this.tenant = tenant;
+    }
+
+    @Override
+    public <R, E extends Exception> R read(CourseListFunction<R, E> function) throws E, IOException {
+        return cache.read(tenant, function);
+    }
+
+    @Override
+    public <R, E extends Exception> R edit(CourseListFunction<R, E> function) throws E, IOException {
+        return cache.edit(tenant, function);
+    }
+
+    // EFFECTS: writes every edited course list in the cache back to its file
+    @Override
+    public void save() throws IOException {
+        cache.flush();
+    }
+}
@@ -0,0 +1,15 @@
+package tools;
+
+// Class contains utility methods used by the command line tools and benchmarks when reading their arguments
+public class CommandLineOptions {
+
+    // EFFECTS: returns the value following option in args, or defaultValue if option is not given
+    public static String option(String[] args, String option, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(option)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+}
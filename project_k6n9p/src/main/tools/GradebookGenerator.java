@@ -0,0 +1,215 @@
+package tools;
+
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static tools.CommandLineOptions.option;
+
+// Generates synthetic gradebooks in the same format as data/courses.json for load testing. Output is fully
+// determined by the seed and settings, and is written to the writer as it is generated, one assignment at a
+// time, so that gradebooks of any size can be produced without holding them in memory. Colliding course names
+// are drawn from a sample of at most NAME_SAMPLE_SIZE earlier names, kept only while collisions are on.
+public class GradebookGenerator {
+    private static final String[] COURSE_SUBJECTS = {"cpsc", "math", "phys", "chem", "biol", "engl", "econ",
+        "stat", "psyc", "hist"};
+    private static final String[] ASSIGNMENT_KINDS = {"quiz", "homework", "lab", "midterm", "project", "essay"};
+    private static final int MAX_DENOMINATOR = 100;
+    private static final double MIN_TOTAL_WEIGHT = 10;
+    private static final double MAX_TOTAL_WEIGHT = 100;
+    private static final int NAME_SAMPLE_SIZE = 1024;
+
+    private final SplittableRandom random;
+    private int coursesPerStudent = 5;              // courses in each gradebook
+    private int assignmentsPerCourse = 10;          // assignments in each course
+    private double fractionGradeRatio = 0.5;        // share of grades generated as fractions, like 45/50
+    private WeightDistribution weightDistribution = WeightDistribution.UNIFORM;
+    private double nameCollisionRate = 0;           // chance a course reuses the name of an earlier course
+
+    // Represents how the total weight of a course is split between its assignments
+    public enum WeightDistribution {
+        EQUAL,          // every assignment has the same weight
+        UNIFORM,        // weights are drawn uniformly at random
+        SKEWED          // a few heavy assignments, such as midterms, and many light ones
+    }
+
+    // EFFECTS: constructs a generator whose output is determined by seed
+    public GradebookGenerator(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    public void setCoursesPerStudent(int coursesPerStudent) {
+        this.coursesPerStudent = coursesPerStudent;
+    }
+
+    public void setAssignmentsPerCourse(int assignmentsPerCourse) {
+        this.assignmentsPerCourse = assignmentsPerCourse;
+    }
+
+    public void setFractionGradeRatio(double fractionGradeRatio) {
+        this.fractionGradeRatio = fractionGradeRatio;
+    }
+
+    public void setWeightDistribution(WeightDistribution weightDistribution) {
+        this.weightDistribution = weightDistribution;
+    }
+
+    public void setNameCollisionRate(double nameCollisionRate) {
+        this.nameCollisionRate = nameCollisionRate;
+    }
+
+    // MODIFIES: this, writer
+    // EFFECTS: writes the next gradebook to writer; throws IOException if writing fails
+    public void generate(Writer writer) throws IOException {
+        List<String> courseNames = new ArrayList<>();
+        writer.write("{\"courses\": [");
+
+        for (int i = 0; i < coursesPerStudent; i++) {
+            String courseName = nextCourseName(courseNames, i);
+            if (nameCollisionRate > 0) {
+                sampleCourseName(courseNames, courseName, i);
+            }
+
+            writer.write(i == 0 ? "\n" : ",\n");
+            writeCourse(writer, courseName);
+        }
+        writer.write("\n]}\n");
+    }
+
+    // MODIFIES: this, writer
+    // EFFECTS: writes a course with its assignments and its ideal and predicted grades
+    private void writeCourse(Writer writer, String courseName) throws IOException {
+        double[] weights = nextWeights();
+
+        writer.write("  {\"name\": " + JSONObject.quote(courseName));
+        writer.write(", \"ideal grade\": " + (60 + random.nextInt(41)));
+        writer.write(", \"predicted grade\": " + (50 + random.nextInt(46)));
+        writer.write(", \"assignments\": [");
+
+        for (int i = 0; i < weights.length; i++) {
+            writer.write(i == 0 ? "\n" : ",\n");
+            writer.write("    {\"name\": " + JSONObject.quote(assignmentName(i)));
+            writer.write(", \"grade\": " + nextGrade());
+            writer.write(", \"weight\": " + weights[i] + "}");
+        }
+        writer.write("]}");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the name of the course at the given position, new or, at the collision rate, one of the
+    //          sampled names of earlier courses
+    private String nextCourseName(List<String> courseNames, int index) {
+        if (index > 0 && random.nextDouble() < nameCollisionRate) {
+            return courseNames.get(random.nextInt(courseNames.size()));
+        }
+        String subject = COURSE_SUBJECTS[random.nextInt(COURSE_SUBJECTS.length)];
+        return subject + " " + (100 + random.nextInt(400)) + " " + (index + 1);
+    }
+
+    // MODIFIES: this, courseNames
+    // EFFECTS: adds the name of the course at the given position to the sample of earlier names, keeping every
+    //          name until the sample is full and then each one with equal chance (reservoir sampling), so that
+    //          the sample stays a fixed size however many courses there are
+    private void sampleCourseName(List<String> courseNames, String courseName, int index) {
+        if (courseNames.size() < NAME_SAMPLE_SIZE) {
+            courseNames.add(courseName);
+        } else {
+            int replaced = random.nextInt(index + 1);
+            if (replaced < NAME_SAMPLE_SIZE) {
+                courseNames.set(replaced, courseName);
+            }
+        }
+    }
+
+    // EFFECTS: returns the name of the assignment at the given position in a course, such as "quiz 3"
+    private String assignmentName(int index) {
+        String kind = ASSIGNMENT_KINDS[index % ASSIGNMENT_KINDS.length];
+        return kind + " " + (index / ASSIGNMENT_KINDS.length + 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a grade between 0 and 100, converted from a fraction at the fraction grade ratio
+    private double nextGrade() {
+        if (random.nextDouble() < fractionGradeRatio) {
+            int denominator = 1 + random.nextInt(MAX_DENOMINATOR);
+            int numerator = (int) Math.round(denominator * nextGradeShare());
+            return NumberUtilities.convertFractionStringToPercentage(numerator + "/" + denominator);
+        }
+        return NumberUtilities.roundValueTwoDecimalPlaces(100 * nextGradeShare());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a share of full marks between 0 and 1, most often between 0.6 and 0.95
+    private double nextGradeShare() {
+        double share = 0.78 + 0.12 * (random.nextDouble() + random.nextDouble() + random.nextDouble() - 1.5);
+        return Math.max(0, Math.min(1, share));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the weight of each assignment of a course, rounded down to two decimal places so that
+    //          together they never exceed 100
+    private double[] nextWeights() {
+        double totalWeight = MIN_TOTAL_WEIGHT + random.nextDouble() * (MAX_TOTAL_WEIGHT - MIN_TOTAL_WEIGHT);
+        double[] shares = new double[assignmentsPerCourse];
+        double shareTotal = 0;
+
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = nextWeightShare(i);
+            shareTotal += shares[i];
+        }
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = Math.floor(shares[i] / shareTotal * totalWeight * 100) / 100;
+        }
+        return shares;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the unnormalized weight of the assignment at the given position of a course
+    private double nextWeightShare(int index) {
+        switch (weightDistribution) {
+            case EQUAL:
+                return 1;
+            case SKEWED:
+                return ASSIGNMENT_KINDS[index % ASSIGNMENT_KINDS.length].equals("midterm")
+                        ? 10 + random.nextDouble() * 10 : 0.5 + random.nextDouble();
+            default:
+                return 0.05 + random.nextDouble();
+        }
+    }
+
+    // Generates gradebooks from the command line:
+    //   --output FILE [--students N] [--courses N] [--assignments N] [--fractions RATIO]
+    //   [--weights equal|uniform|skewed] [--collisions RATE] [--seed N]
+    // With more than one student, FILE is a directory that one gradebook per student is written into.
+    public static void main(String[] args) throws IOException {
+        GradebookGenerator generator = new GradebookGenerator(Long.parseLong(option(args, "--seed", "210")));
+        generator.setCoursesPerStudent(Integer.parseInt(option(args, "--courses", "5")));
+        generator.setAssignmentsPerCourse(Integer.parseInt(option(args, "--assignments", "10")));
+        generator.setFractionGradeRatio(Double.parseDouble(option(args, "--fractions", "0.5")));
+        generator.setWeightDistribution(WeightDistribution.valueOf(option(args, "--weights", "uniform")
+                .toUpperCase()));
+        generator.setNameCollisionRate(Double.parseDouble(option(args, "--collisions", "0")));
+
+        int students = Integer.parseInt(option(args, "--students", "1"));
+        Path output = Paths.get(option(args, "--output", "./data/generatedCourses.json"));
+
+        for (int i = 1; i <= students; i++) {
+            Path file = students == 1 ? output : output.resolve(String.format("student-%06d.json", i));
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                generator.generate(writer);
+            }
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package tools;
 
 import exceptions.InvalidInputException;
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.Metrics;
 
 import java.util.regex.*;
 
 // Class contains utility methods used in other classes when manipulating numbers
 public class NumberUtilities {
+    private static final Histogram PARSE_TIME = Metrics.timer("NumberUtilities.parseStringInput");
+    private static final Counter PARSE_FAILURES = Metrics.counter("NumberUtilities.parseStringInput.failures");
 
     // EFFECTS: handles string input, checks whether the input is valid and throws
     // InvalidInputException if the input is not a valid fraction or decimal value
     public static double parseStringInput(String input) throws InvalidInputException {
+        long start = Metrics.startTime();
         double percentage;
 
         if (validateStringInput(input)) {
@@ -19,9 +25,12 @@ public class NumberUtilities {
                 percentage = Double.parseDouble(input);
             }
         } else {
+            PARSE_FAILURES.increment();
+            PARSE_TIME.recordSince(start);
             throw new InvalidInputException();
         }
 
+        PARSE_TIME.recordSince(start);
         return percentage;
     }
 
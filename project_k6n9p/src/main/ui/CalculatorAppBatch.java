@@ -0,0 +1,510 @@
+package ui;
+
+import exceptions.InputOutOfRangeException;
+import exceptions.InvalidCommandException;
+import exceptions.InvalidInputException;
+import metrics.Metrics;
+import model.Assignment;
+import model.AssignmentStore;
+import model.Course;
+import model.CourseList;
+import model.EditHistory;
+import model.GradeNeededSolver;
+import model.GradePlan;
+import model.RemainingAssignment;
+import persistence.JsonReadCache;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+import report.CsvReportSink;
+import report.HtmlReportSink;
+import report.ReportGenerator;
+import report.ReportSink;
+import report.TextReportSink;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static tools.NumberUtilities.parseStringInput;
+import static tools.NumberUtilities.roundValueTwoDecimalPlaces;
+
+// Calculator application, running a script of commands without prompting, one command per line:
+//   add-course NAME [| IDEAL GRADE | PREDICTED GRADE]     remove-course NAME
+//   add-assignment COURSE | NAME | GRADE | WEIGHT          remove-assignment COURSE | NAME
+//   set-ideal COURSE | GRADE                               set-predicted COURSE | GRADE
+//   set-credits COURSE | CREDITS                          plan COURSE [| NAME | WEIGHT]...
+//   load [FILE]      save [FILE]      reset      undo      redo      metrics [on|off|reset]
+//   report text|csv|html [| OUTPUT FILE [| INPUT FILE]]                save-store FILE
+// Reports are written to standard output unless an output file is given; if an input file is given, its courses
+// are streamed straight into the report without being loaded. save-store saves the course list as an assignment
+// store, which a report given it as the input file maps off the heap instead of parsing.
+// Grades and weights may be decimals or fractions; blank lines and lines starting with # are skipped.
+// Failed commands are reported with their line number and do not stop the script; getFailureCount tells whether
+// any failed, so that the process can exit with a failing status.
+public class CalculatorAppBatch {
+    private static final String JSON_STORE = "./data/courses.json";
+    private static final int REPORT_BUFFER_SIZE = 1 << 16;
+
+    private BufferedReader script;
+    private PrintWriter output;
+    private CourseList userCourses;
+    private EditHistory editHistory;
+    private int lineNumber;
+    private int operationCount;
+    private int failureCount;
+
+    // EFFECTS: runs the script at scriptPath, or the script piped to standard input if scriptPath is null;
+    //          throws FileNotFoundException if the script does not exist
+    public CalculatorAppBatch(String scriptPath) throws FileNotFoundException {
+        Reader reader = scriptPath == null ? new InputStreamReader(System.in) : new FileReader(scriptPath);
+
+        script = new BufferedReader(reader);
+        output = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        runCalculator();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs every command in the script, then reports how many operations ran and how fast
+    public void runCalculator() {
+        replaceCourses(new CourseList());
+        long start = System.nanoTime();
+
+        try {
+            for (String line = script.readLine(); line != null; line = script.readLine()) {
+                lineNumber++;
+                processLine(line.trim());
+            }
+            script.close();
+        } catch (IOException e) {
+            failureCount++;
+            output.println("Unable to read script after line " + lineNumber);
+        }
+
+        reportThroughput(System.nanoTime() - start);
+        output.flush();
+    }
+
+    // EFFECTS: returns the number of commands in the script that failed, counting a script that could not be read
+    //          to the end as one more
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs the command on a line of the script, unless the line is blank or a comment
+    private void processLine(String line) {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return;
+        }
+        int split = line.indexOf(' ');
+        String command = split < 0 ? line : line.substring(0, split);
+        String[] fields = split < 0 ? new String[0] : line.substring(split + 1).split("\\|");
+
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fields[i].trim();
+        }
+
+        operationCount++;
+        try {
+            processCommand(command.toLowerCase(), fields);
+        } catch (InvalidCommandException e) {
+            failureCount++;
+            output.println("Line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs a command with its fields; throws InvalidCommandException if the command fails
+    private void processCommand(String command, String[] fields) throws InvalidCommandException {
+        switch (command) {
+            case "add-course":
+                addCourse(fields);
+                break;
+            case "remove-course":
+                removeCourse(fields);
+                break;
+            case "plan":
+                plan(fields);
+                break;
+            default:
+                processCourseEditCommand(command, fields);
+                break;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs a command that edits the assignments, grades, or credits of a single course;
+    //          throws InvalidCommandException if the command fails
+    private void processCourseEditCommand(String command, String[] fields) throws InvalidCommandException {
+        switch (command) {
+            case "add-assignment":
+                addAssignment(fields);
+                break;
+            case "remove-assignment":
+                removeAssignment(fields);
+                break;
+            case "set-ideal":
+            case "set-predicted":
+                setGrade(command, fields);
+                break;
+            case "set-credits":
+                setCredits(fields);
+                break;
+            default:
+                processFileCommand(command, fields);
+                break;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs a command that loads, saves, or resets the course list; throws InvalidCommandException if the
+    //          command is not valid or fails
+    private void processFileCommand(String command, String[] fields) throws InvalidCommandException {
+        String file = fields.length > 0 && !fields[0].isEmpty() ? fields[0] : JSON_STORE;
+
+        switch (command) {
+            case "load":
+                loadCourses(file);
+                break;
+            case "save":
+                saveCourses(file);
+                break;
+            case "save-store":
+                requireFields(fields, 1);
+                saveStore(fields[0]);
+                break;
+            case "reset":
+                replaceCourses(new CourseList());
+                break;
+            default:
+                processOtherCommand(command, fields);
+                break;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs a command that undoes or redoes a change to the course list, writes a report, or shows the
+    //          metrics; throws InvalidCommandException if the command is not valid or fails
+    private void processOtherCommand(String command, String[] fields) throws InvalidCommandException {
+        switch (command) {
+            case "undo":
+            case "redo":
+                undoOrRedo(command);
+                break;
+            case "report":
+                report(fields);
+                break;
+            case "metrics":
+                metrics(fields);
+                break;
+            default:
+                throw new InvalidCommandException("Not a valid command: " + command);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a course, with an ideal and predicted grade if they are given
+    private void addCourse(String[] fields) throws InvalidCommandException {
+        requireFields(fields, 1);
+
+        if (userCourses.containsByName(fields[0]) != null) {
+            throw new InvalidCommandException("Course already exists: " + fields[0]);
+        }
+        Course newCourse = new Course(fields[0]);
+
+        try {
+            if (fields.length > 1) {
+                newCourse.setIdealGrade(parseGrade(fields[1]));
+            }
+            if (fields.length > 2) {
+                newCourse.setPredictedGrade(parseGrade(fields[2]));
+            }
+        } catch (InputOutOfRangeException e) {
+            throw new InvalidCommandException("Grades must be between 0 and 100");
+        }
+        userCourses.getCourses().add(newCourse);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes a course
+    private void removeCourse(String[] fields) throws InvalidCommandException {
+        requireFields(fields, 1);
+
+        if (!userCourses.removeCourseByName(fields[0])) {
+            throw new InvalidCommandException("Course does not exist: " + fields[0]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds an assignment to a course
+    private void addAssignment(String[] fields) throws InvalidCommandException {
+        requireFields(fields, 4);
+        Course course = findCourse(fields[0]);
+
+        try {
+            Assignment newAssignment = new Assignment(fields[1], parseGrade(fields[2]), parseGrade(fields[3]));
+
+            if (!course.addAssignment(newAssignment)) {
+                throw new InvalidCommandException("Assignment already exists: " + fields[1]);
+            }
+        } catch (InputOutOfRangeException e) {
+            throw new InvalidCommandException("Grade and weight values must be between 0 and 100");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes an assignment from a course
+    private void removeAssignment(String[] fields) throws InvalidCommandException {
+        requireFields(fields, 2);
+
+        if (!findCourse(fields[0]).removeAssignment(fields[1])) {
+            throw new InvalidCommandException("Assignment does not exist: " + fields[1]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the ideal grade (for set-ideal) or predicted grade (for set-predicted) of a course
+    private void setGrade(String command, String[] fields) throws InvalidCommandException {
+        requireFields(fields, 2);
+        Course course = findCourse(fields[0]);
+
+        try {
+            if (command.equals("set-ideal")) {
+                course.setIdealGrade(parseGrade(fields[1]));
+            } else {
+                course.setPredictedGrade(parseGrade(fields[1]));
+            }
+        } catch (InputOutOfRangeException e) {
+            throw new InvalidCommandException("Grades must be between 0 and 100");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the credits of a course
+    private void setCredits(String[] fields) throws InvalidCommandException {
+        requireFields(fields, 2);
+        Course course = findCourse(fields[0]);
+
+        try {
+            course.setCredits(Double.parseDouble(fields[1]));
+        } catch (NumberFormatException | InputOutOfRangeException e) {
+            throw new InvalidCommandException("Credits must be a finite number of at least 0: " + fields[1]);
+        }
+    }
+
+    // EFFECTS: prints the grades needed on the remaining assignments of a course, given by name and weight, to
+    //          reach its ideal grade, planning the highest of them as low as possible; with no remaining
+    //          assignments given, plans for the rest of the course as one assignment
+    private void plan(String[] fields) throws InvalidCommandException {
+        requireFields(fields, 1);
+        Course course = findCourse(fields[0]);
+        List<RemainingAssignment> remaining = new ArrayList<>();
+
+        try {
+            for (int i = 1; i + 1 < fields.length; i += 2) {
+                remaining.add(new RemainingAssignment(fields[i], parseGrade(fields[i + 1])));
+            }
+        } catch (InputOutOfRangeException e) {
+            throw new InvalidCommandException("Weights must be between 0 and 100");
+        }
+        printPlan(course, remaining.isEmpty() ? GradeNeededSolver.solve(course)
+                : GradeNeededSolver.solve(course, remaining));
+    }
+
+    // EFFECTS: prints whether plan reaches the ideal grade of course, and the grade planned for each assignment
+    private void printPlan(Course course, GradePlan plan) {
+        output.println((plan.isFeasible() ? "Plan to reach " : "Can not reach ") + course.getIdealGrade() + "% in "
+                + course.getName() + ", final grade " + roundValueTwoDecimalPlaces(plan.getFinalGrade()) + "%");
+        for (int i = 0; i < plan.getRemaining().size(); i++) {
+            output.println("\t" + plan.getRemaining().get(i).getName() + ": "
+                    + roundValueTwoDecimalPlaces(plan.getGrade(i)) + "%");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the course list with the one stored in file
+    private void loadCourses(String file) throws InvalidCommandException {
+        try {
+            replaceCourses(new JsonReader(file, JsonReadCache.shared()).read());
+        } catch (IOException e) {
+            throw new InvalidCommandException("Unable to read from file: " + file);
+        } catch (InputOutOfRangeException e) {
+            throw new InvalidCommandException("Entries in file invalid, load failed: " + file);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: undoes the last change to the course list, or redoes the last change undone;
+    //          throws InvalidCommandException if there is none
+    private void undoOrRedo(String command) throws InvalidCommandException {
+        boolean isDone = command.equals("undo") ? editHistory.undo() : editHistory.redo();
+
+        if (!isDone) {
+            throw new InvalidCommandException("Nothing to " + command);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the course list with courseList, starting a new edit history for it
+    private void replaceCourses(CourseList courseList) {
+        if (editHistory != null) {
+            editHistory.close();
+        }
+        userCourses = courseList;
+        editHistory = new EditHistory(courseList);
+    }
+
+    // EFFECTS: saves the course list to file
+    private void saveCourses(String file) throws InvalidCommandException {
+        JsonWriter jsonWriter = new JsonWriter(file);
+
+        try {
+            jsonWriter.open();
+            jsonWriter.write(userCourses);
+            jsonWriter.close();
+        } catch (IOException e) {
+            throw new InvalidCommandException("Unable to write to file: " + file);
+        }
+    }
+
+    // EFFECTS: saves the course list to file as an assignment store; throws InvalidCommandException if the file can
+    //          not be written
+    private void saveStore(String file) throws InvalidCommandException {
+        try {
+            AssignmentStore.of(userCourses).save(Paths.get(file));
+        } catch (IOException e) {
+            throw new InvalidCommandException("Unable to write to file: " + file);
+        }
+    }
+
+    // EFFECTS: writes a report in the given format on the course list, or on the courses in an input file
+    private void report(String[] fields) throws InvalidCommandException {
+        requireFields(fields, 1);
+        Function<Writer, ReportSink> sink = reportSink(fields[0]);
+
+        try {
+            if (fields.length > 1 && !fields[1].isEmpty()) {
+                writeReportFile(sink, fields);
+            } else {
+                writeReport(sink.apply(output), fields);
+                output.flush();
+            }
+        } catch (IOException e) {
+            throw new InvalidCommandException("Unable to write report: " + e.getMessage());
+        } catch (InputOutOfRangeException e) {
+            throw new InvalidCommandException("Entries in file invalid, report failed: " + fields[2]);
+        }
+    }
+
+    // EFFECTS: turns metrics on or off, or clears them, as given; otherwise prints them
+    private void metrics(String[] fields) throws InvalidCommandException {
+        String action = fields.length > 0 ? fields[0].toLowerCase() : "";
+
+        switch (action) {
+            case "on":
+            case "off":
+                Metrics.setEnabled(action.equals("on"));
+                break;
+            case "reset":
+                Metrics.reset();
+                break;
+            case "":
+                output.print(Metrics.report());
+                break;
+            default:
+                throw new InvalidCommandException("Not a valid metrics action: " + action);
+        }
+    }
+
+    // EFFECTS: writes the report through sink to the output file named in fields, deleting the file if the report
+    //          can not be finished rather than leaving part of one
+    private void writeReportFile(Function<Writer, ReportSink> sink, String[] fields)
+            throws IOException, InputOutOfRangeException {
+        File file = new File(fields[1]);
+        Writer writer = new BufferedWriter(new FileWriter(file), REPORT_BUFFER_SIZE);
+
+        try (writer) {
+            writeReport(sink.apply(writer), fields);
+        } catch (IOException | InputOutOfRangeException | RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+    }
+
+    // EFFECTS: generates the report into sink, on the courses in the input file named in fields if there is one,
+    //          mapping it if it is an assignment store and streaming it otherwise, and on the course list if not
+    private void writeReport(ReportSink sink, String[] fields) throws IOException, InputOutOfRangeException {
+        ReportGenerator generator = new ReportGenerator(sink);
+
+        if (fields.length > 2 && AssignmentStore.isStore(Paths.get(fields[2]))) {
+            generator.generate(AssignmentStore.map(Paths.get(fields[2])));
+        } else if (fields.length > 2) {
+            generator.generate(new JsonReader(fields[2]));
+        } else {
+            generator.generate(userCourses.getCourses());
+        }
+    }
+
+    // EFFECTS: returns the constructor of a sink writing the given report format to a writer;
+    //          throws InvalidCommandException if the format is not text, csv, or html
+    private Function<Writer, ReportSink> reportSink(String format) throws InvalidCommandException {
+        switch (format.toLowerCase()) {
+            case "text":
+                return TextReportSink::new;
+            case "csv":
+                return CsvReportSink::new;
+            case "html":
+                return HtmlReportSink::new;
+            default:
+                throw new InvalidCommandException("Not a valid report format: " + format);
+        }
+    }
+
+    // EFFECTS: returns the course with the given name; throws InvalidCommandException if there is none
+    private Course findCourse(String courseName) throws InvalidCommandException {
+        Course course = userCourses.containsByName(courseName);
+
+        if (course == null) {
+            throw new InvalidCommandException("Course does not exist: " + courseName);
+        }
+        return course;
+    }
+
+    // EFFECTS: throws InvalidCommandException if there are fewer than count fields
+    private void requireFields(String[] fields, int count) throws InvalidCommandException {
+        if (fields.length < count) {
+            throw new InvalidCommandException("Expected " + count + " field(s) separated by |");
+        }
+    }
+
+    // EFFECTS: returns the grade or weight written as a decimal or fraction;
+    //          throws InvalidCommandException if it is not a valid decimal or fraction
+    private double parseGrade(String input) throws InvalidCommandException {
+        try {
+            return parseStringInput(input);
+        } catch (InvalidInputException e) {
+            throw new InvalidCommandException("Invalid value: " + input);
+        }
+    }
+
+    // EFFECTS: prints the number of operations run and failed, and the operations run per second
+    private void reportThroughput(long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+
+        output.printf("%d operations (%d failed) in %.3f s: %.0f operations per second%n",
+                operationCount, failureCount, seconds, operationCount / seconds);
+    }
+}
@@ -5,6 +5,13 @@ import exceptions.InvalidInputException;
 import model.Assignment;
 import model.Course;
 import model.CourseList;
+import model.CourseListMerger;
+import model.CourseStats;
+import model.EditHistory;
+import model.SimulationResult;
+import persistence.CourseListPreloader;
+import persistence.CourseListWatcher;
+import persistence.JsonReadCache;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 
@@ -13,8 +20,12 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 
@@ -31,10 +42,8 @@ public class CalculatorAppGUI implements ActionListener {
     private static final int mainFrameWidth = 800;
     private static final int mainFrameHeight = 500;
 
-    private static final ImageIcon icon = new ImageIcon("./data/images/calculatorIcon.png");
-    private static final ImageIcon angryEmoji = new ImageIcon("./data/images/angryEmoji.png");
-    private static final ImageIcon neutralEmoji = new ImageIcon("./data/images/neutralEmoji.png");
-    private static final ImageIcon starEyesEmoji = new ImageIcon("./data/images/starEyesEmoji.png");
+    private static final String ICON_PATH = "./data/images/calculatorIcon.png";
+    private static final long RELOAD_DEBOUNCE_MILLIS = 250;
 
     private JFrame frame;
     private JPanel menuPanel;
@@ -46,8 +55,10 @@ public class CalculatorAppGUI implements ActionListener {
     private JButton loadButton;
     private JButton resetButton;
 
-    private JList list;
-    private DefaultListModel listModel;
+    private JList<Course> list;
+    private CourseListModel listModel;
+    private StatComputationService statService;
+    private EditHistory editHistory;
 
     private CourseList userCourses;
     private double assignmentGrade;
@@ -55,12 +66,22 @@ public class CalculatorAppGUI implements ActionListener {
 
     private JsonWriter jsonWriter;
     private JsonReader jsonReader;
+    private CourseListPreloader preloader;
+    private CourseListWatcher watcher;             // reloads the file when another program changes it
+    private final CourseListMerger merger = new CourseListMerger();
 
     // EFFECTS: runs the calculator application and throws FileNotFoundException
     // if the user tries to load data from a file that does not exist
     public CalculatorAppGUI() throws FileNotFoundException {
+        this(null);
+    }
+
+    // EFFECTS: runs the calculator application, taking the first course list loaded from preloader if it is
+    // not null, and throws FileNotFoundException if the user tries to load data from a file that does not exist
+    public CalculatorAppGUI(CourseListPreloader preloader) throws FileNotFoundException {
         jsonWriter = new JsonWriter(JSON_STORE);
-        jsonReader = new JsonReader(JSON_STORE);
+        jsonReader = new JsonReader(JSON_STORE, JsonReadCache.shared());
+        this.preloader = preloader;
         runCalculator();
     }
 
@@ -77,6 +98,7 @@ public class CalculatorAppGUI implements ActionListener {
         initializeMainFrame();
         initializeMenuPanel();
         initializeViewPanel();
+        initializeUndoKeys();
 
         // add panels to frame
         frame.setLayout(new BorderLayout());
@@ -95,14 +117,63 @@ public class CalculatorAppGUI implements ActionListener {
         // set up frame
         frame = new JFrame("Grade Calculator Application");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                stopWatching();
+            }
+        });
         frame.setPreferredSize(new Dimension(mainFrameWidth, mainFrameHeight));
         frame.setResizable(false);
 
-        frame.setIconImage(icon.getImage());
+        // the icon is decoded in the background rather than before the frame can be shown
+        frame.setIconImage(Toolkit.getDefaultToolkit().getImage(ICON_PATH));
 
         frame.getContentPane().setBackground(new Color(200, 200, 200));
     }
 
+    // MODIFIES: this
+    // EFFECTS: binds Ctrl+Z to undo and Ctrl+Y (or Ctrl+Shift+Z) to redo anywhere in the main frame, using the
+    //          platform's menu shortcut key in place of Ctrl, such as Command on macOS
+    public void initializeUndoKeys() {
+        int shortcut = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        JRootPane rootPane = frame.getRootPane();
+        InputMap inputMap = rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcut), "undo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, shortcut), "redo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcut | InputEvent.SHIFT_DOWN_MASK), "redo");
+        rootPane.getActionMap().put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                undo();
+            }
+        });
+        rootPane.getActionMap().put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                redo();
+            }
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: undoes the last change to the course list, or beeps if there is nothing to undo; the list and
+    //          stats follow the course list on their own
+    public void undo() {
+        if (!editHistory.undo()) {
+            Toolkit.getDefaultToolkit().beep();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: redoes the last change undone, or beeps if there is nothing to redo
+    public void redo() {
+        if (!editHistory.redo()) {
+            Toolkit.getDefaultToolkit().beep();
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: initializes the menu panel by adding initial components
     public void initializeMenuPanel() {
@@ -177,6 +248,8 @@ public class CalculatorAppGUI implements ActionListener {
         viewPanel.createHorizontalScrollBar();
         viewPanel.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         viewPanel.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+
+        statService.attach(list, listModel, viewPanel.getViewport());
     }
 
     // MODIFIES: this
@@ -184,54 +257,58 @@ public class CalculatorAppGUI implements ActionListener {
     // SOURCE: for the mouse click event, handling code heavily based on
     // http://www.java2s.com/Tutorials/Java/Swing_How_to/JList/Handle_double_click_on_JList.htm
     public void initializeJList() {
-        listModel = new DefaultListModel();
-        list = new JList(listModel);
-        list.setCellRenderer(new MyListCellRenderer());
+        statService = new StatComputationService();
+        MyListCellRenderer renderer = new MyListCellRenderer(statService::getStats);
+
+        listModel = new CourseListModel();
+        listModel.addListDataListener(renderer);
+        list = new JList<>(listModel);
+        list.setCellRenderer(renderer);
 
         list.addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent evt) {
-                JList list = (JList)evt.getSource();
                 if (evt.getClickCount() == 2) {
                     int index = list.locationToIndex(evt.getPoint());
-                    Course course = (Course) list.getModel().getElementAt(index);
-                    courseProgressPopup(course);
+                    Course course = list.getModel().getElementAt(index);
+                    statService.computeThen(course, stats -> statService.simulateThen(course,
+                            simulation -> courseProgressPopup(course, stats, simulation)));
                 }
             }
         });
     }
 
-    // EFFECTS: produces a dialog box that informs the user on their progress in the course
-    public void courseProgressPopup(Course course) {
-        double currentCourseGrade = course.calculateCurrentGrade();
+    // EFFECTS: produces a dialog box that informs the user on their progress in the course, and on their chance
+    //          of reaching their ideal grade
+    public void courseProgressPopup(Course course, CourseStats stats, SimulationResult simulation) {
+        double currentCourseGrade = stats.getCurrentGrade();
 
         double currentIdealDifferenceUnrounded = course.getIdealGrade() - currentCourseGrade;
         double currentIdealDifferenceRounded = roundValueTwoDecimalPlaces(currentIdealDifferenceUnrounded);
+        String message;
+        ImageIcon icon;
 
         if (currentIdealDifferenceRounded <= 0) {
-            JOptionPane.showMessageDialog(frame,
-                    "Wow, you're currently doing " + -currentIdealDifferenceRounded + "%"
-                    + " better than your ideal mark in the class. Keep it up!", "Information Message",
-                    JOptionPane.INFORMATION_MESSAGE,
-                    starEyesEmoji);
+            message = "Wow, you're currently doing " + -currentIdealDifferenceRounded + "%"
+                    + " better than your ideal mark in the class. Keep it up!";
+            icon = EmojiIcons.starEyesEmoji;
         } else if (currentIdealDifferenceRounded <= 5) {
-            JOptionPane.showMessageDialog(frame,
-                    "You're currently doing " + currentIdealDifferenceRounded + "%"
-                            + " lower than your ideal mark in the class. Clutch the final?", "Information Message",
-                    JOptionPane.INFORMATION_MESSAGE,
-                    neutralEmoji);
+            message = "You're currently doing " + currentIdealDifferenceRounded + "%"
+                    + " lower than your ideal mark in the class. Clutch the final?";
+            icon = EmojiIcons.neutralEmoji;
         } else {
-            JOptionPane.showMessageDialog(frame,
-                    "You're currently doing " + currentIdealDifferenceRounded + "%"
-                            + " lower than your ideal mark in the class. Yikes...", "Information Message",
-                    JOptionPane.INFORMATION_MESSAGE,
-                    angryEmoji);
+            message = "You're currently doing " + currentIdealDifferenceRounded + "%"
+                    + " lower than your ideal mark in the class. Yikes...";
+            icon = EmojiIcons.angryEmoji;
         }
+        JOptionPane.showMessageDialog(frame, message + System.lineSeparator() + "Simulated: " + simulation,
+                "Information Message", JOptionPane.INFORMATION_MESSAGE, icon);
     }
 
     // MODIFIES: this
     // EFFECTS: initializes CourseList (array of courses)
     public void initializeCourses() {
         userCourses = new CourseList();
+        replaceListContents();
     }
 
     @Override
@@ -286,10 +363,6 @@ public class CalculatorAppGUI implements ActionListener {
         if (addOrRemove == JOptionPane.YES_OPTION) {
             // add option
             addAssignment(course);
-
-            int index = listModel.indexOf(course);
-            listModel.removeElement(course);
-            listModel.add(index, course);
         } else if (addOrRemove == JOptionPane.NO_OPTION) {
             // remove option
             String assignmentToRemoveName = JOptionPane.showInputDialog(
@@ -299,11 +372,7 @@ public class CalculatorAppGUI implements ActionListener {
 
             boolean isAssignmentRemoved = removeAssignment(course, assignmentToRemoveName);
 
-            if (isAssignmentRemoved) {
-                int index = listModel.indexOf(course);
-                listModel.removeElement(course);
-                listModel.add(index, course);
-            } else {
+            if (!isAssignmentRemoved) {
                 JOptionPane.showMessageDialog(frame,
                         "Assignment does not exist. Assignment removal failed.",
                         "Error",
@@ -381,7 +450,6 @@ public class CalculatorAppGUI implements ActionListener {
                 }
             }
         }
-        listModel.addElement(newCourse);
     }
 
     // REQUIRES: assignmentName is string, grade and weight are doubles in range 0.0 to 100.0
@@ -525,14 +593,7 @@ public class CalculatorAppGUI implements ActionListener {
         }
 
 
-        if (isCourseRemoved) {
-            listModel.removeAllElements();
-
-            for (Course course: userCourses.getCourses()) {
-                listModel.addElement(course);
-            }
-
-        } else {
+        if (!isCourseRemoved) {
             errorDialogBox("Course does not exist, course removal failed.");
         }
     }
@@ -551,11 +612,12 @@ public class CalculatorAppGUI implements ActionListener {
             jsonWriter.open();
             jsonWriter.write(userCourses);
             jsonWriter.close();
+            merger.setBase(userCourses);
             JOptionPane.showMessageDialog(frame,
                     "Saved courses to " + JSON_STORE,
                     "Success",
                     JOptionPane.PLAIN_MESSAGE);
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             errorDialogBox("Unable to write to file: " + JSON_STORE);
         }
     }
@@ -564,14 +626,12 @@ public class CalculatorAppGUI implements ActionListener {
     // EFFECTS: loads course list to file
     public void loadData() {
         try {
-            userCourses = jsonReader.read();
-
-            listModel.removeAllElements();
-
-            for (Course course: userCourses.getCourses()) {
-                listModel.addElement(course);
-            }
+            CourseList preloaded = preloader == null ? null : preloader.take();
 
+            userCourses = preloaded != null ? preloaded : jsonReader.read();
+            merger.setBase(userCourses);
+            replaceListContents();
+            watchForChanges();
         } catch (IOException e) {
             errorDialogBox("Unable to read from file: " + JSON_STORE);
         } catch (InputOutOfRangeException e) {
@@ -580,10 +640,65 @@ public class CalculatorAppGUI implements ActionListener {
     }
 
     // MODIFIES: this
-    // EFFECTS: clears (j)list and course list
+    // EFFECTS: starts watching the file for changes made by other programs, if not watching it already; each
+    //          change is merged into the course list on the event dispatch thread, so only the courses it changed
+    //          are redrawn and have their stats recomputed. Without a watcher, changes are still loaded by hand
+    private void watchForChanges() {
+        if (watcher != null) {
+            return;
+        }
+        try {
+            watcher = new CourseListWatcher(JSON_STORE, RELOAD_DEBOUNCE_MILLIS,
+                    loaded -> SwingUtilities.invokeLater(() -> mergeChanges(loaded)));
+            watcher.start();
+        } catch (IOException e) {
+            watcher = null;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: merges the changes made to the file, now holding loaded, into the course list, unless the file
+    //          stopped being watched after they were made
+    private void mergeChanges(CourseList loaded) {
+        if (watcher != null) {
+            merger.merge(userCourses, loaded);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops watching the file for changes, if watching it; the file is watched again when it is next loaded
+    private void stopWatching() {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            // the watcher only holds a watch service, so there is nothing left to release
+        }
+        watcher = null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the current course list in the (j)list, discarding the stats and the edit history of the
+    //          previous one; from then on, the list and the stats follow changes to the course list on their own,
+    //          and changes to it can be undone
+    private void replaceListContents() {
+        listModel.replaceAll(userCourses);
+        statService.listenTo(userCourses);
+        if (editHistory != null) {
+            editHistory.close();
+        }
+        editHistory = new EditHistory(userCourses);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: clears (j)list and course list, and stops merging in changes to the file, which no longer holds
+    //          the courses shown
     public void reset() {
+        stopWatching();
         userCourses = new CourseList();
-        listModel.removeAllElements();
+        replaceListContents();
     }
 
     // EFFECTS: constructs a error box with a specified text message
@@ -598,4 +713,12 @@ public class CalculatorAppGUI implements ActionListener {
     public String inputDialogBoxString(String text) {
         return JOptionPane.showInputDialog(frame, text);
     }
+
+    // Holds the icons shown in the course progress dialog, which are only loaded the first time a
+    // dialog needs one instead of while the application is starting
+    private static class EmojiIcons {
+        private static final ImageIcon angryEmoji = new ImageIcon("./data/images/angryEmoji.png");
+        private static final ImageIcon neutralEmoji = new ImageIcon("./data/images/neutralEmoji.png");
+        private static final ImageIcon starEyesEmoji = new ImageIcon("./data/images/starEyesEmoji.png");
+    }
 }
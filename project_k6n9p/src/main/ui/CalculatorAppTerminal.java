@@ -2,14 +2,23 @@ package ui;
 
 import exceptions.InputOutOfRangeException;
 import exceptions.InvalidInputException;
+import metrics.Metrics;
 import model.Assignment;
 import model.Course;
 import model.CourseList;
+import model.EditHistory;
+import model.FinalGradeSimulator;
+import persistence.JsonReadCache;
 import persistence.JsonReader;
 import persistence.JsonWriter;
+import report.ReportGenerator;
+import report.TextReportSink;
 
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Scanner;
 
 import static tools.NumberUtilities.parseStringInput;
@@ -19,17 +28,19 @@ import static tools.NumberUtilities.parseStringInput;
 // https://github.students.cs.ubc.ca/CPSC210/TellerApp
 public class CalculatorAppTerminal {
     private static final String JSON_STORE = "./data/courses.json";
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
 
     private Scanner input;
     private int greetingCount;
     private CourseList userCourses;
+    private EditHistory editHistory;
     private JsonWriter jsonWriter;
     private JsonReader jsonReader;
 
     // EFFECTS: runs the calculator application
     public CalculatorAppTerminal() throws FileNotFoundException {
         jsonWriter = new JsonWriter(JSON_STORE);
-        jsonReader = new JsonReader(JSON_STORE);
+        jsonReader = new JsonReader(JSON_STORE, JsonReadCache.shared());
         runCalculator();
     }
 
@@ -84,11 +95,15 @@ public class CalculatorAppTerminal {
     public void displayMenu() {
         System.out.println("\nPlease select one of the following options:");
         System.out.println("\tView course(s)      -> press v");
+        System.out.println("\tSimulate a course   -> press c");
         System.out.println("\tEdit a course       -> press e");
         System.out.println("\tAdd a course        -> press a");
         System.out.println("\tRemove a course     -> press r");
         System.out.println("\tSave data           -> press s");
         System.out.println("\tLoad previous data  -> press l");
+        System.out.println("\tView metrics        -> press m");
+        System.out.println("\tUndo last change    -> press u");
+        System.out.println("\tRedo last undo      -> press y");
         System.out.println("\tQuit                -> press q");
     }
 
@@ -96,6 +111,16 @@ public class CalculatorAppTerminal {
     // EFFECTS: initializes CourseList (array of courses)
     public void initializeCourses() {
         userCourses = new CourseList();
+        trackEdits();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a new edit history for the course list, so that changes to it from now on can be undone
+    private void trackEdits() {
+        if (editHistory != null) {
+            editHistory.close();
+        }
+        editHistory = new EditHistory(userCourses);
     }
 
     // MODIFIES: this
@@ -105,6 +130,9 @@ public class CalculatorAppTerminal {
             case "v":
                 viewCourse();
                 break;
+            case "c":
+                simulateCourse();
+                break;
             case "e":
                 editCourseValidation();
                 break;
@@ -114,12 +142,33 @@ public class CalculatorAppTerminal {
             case "r":
                 removeCourse();
                 break;
+            default:
+                processOtherCommand(menuCommand);
+                break;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: process a user command from the menu that does not view or edit a single course
+    private void processOtherCommand(String menuCommand) {
+        switch (menuCommand) {
             case "s":
                 saveCourses();
                 break;
             case "l":
                 loadCourses();
                 break;
+            case "m":
+                viewMetrics();
+                break;
+            case "u":
+            case "undo":
+                System.out.println(editHistory.undo() ? "Undid the last change" : "Nothing to undo");
+                break;
+            case "y":
+            case "redo":
+                System.out.println(editHistory.redo() ? "Redid the last change undone" : "Nothing to redo");
+                break;
             default:
                 System.out.println("Not a valid entry, please try again");
                 break;
@@ -129,39 +178,58 @@ public class CalculatorAppTerminal {
     // EFFECTS: displays the statistics for each course, including the current course grade and weight,
     //          grade needed on remaining assignments to get the ideal final grade, and final grade received
     //          if the predicted grade is achieved for the remaining assignments
+    // The statistics are streamed through one buffered writer rather than printed a line at a time, followed by
+    // the average across all courses
     public void viewCourse() {
-        if (userCourses.getCourses().isEmpty()) {
-            System.out.println("You have not added any courses yet");
-        } else {
-            for (Course course : userCourses.getCourses()) {
-                double currentCourseGrade = course.calculateCurrentGrade();
-                double currentCourseWeight = course.calculateCurrentWeight();
-                double courseIdealGrade = course.calculateIdealFinalGrade();
-                double coursePredictedGrade = course.calculatePredictedFinalGrade();
-
-                String title = "========== Statistics for " + course.getName() + " ==========";
-
-                System.out.println(title.toUpperCase());
-                System.out.println("\n\tAssignments submitted: ");
-                System.out.println(eachAssignmentNewLine(course));
-                System.out.println("\tCurrent course grade: " + currentCourseGrade);
-                System.out.println("\tCurrent course weight: " + currentCourseWeight);
-                System.out.println("\tGrade needed on remaining assignments to achieve " + course.getIdealGrade()
-                        + ": " + courseIdealGrade);
-                System.out.println("\tFinal grade if you get " + course.getPredictedGrade()
-                        + " on the remaining assignments: " + coursePredictedGrade);
-                System.out.println("\n");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE);
+
+        try {
+            new ReportGenerator(new TextReportSink(writer)).generate(userCourses.getCourses());
+            if (userCourses.numGradedCourses() > 0) {
+                writer.write(System.lineSeparator() + "Average across all courses: " + userCourses.getAverageGrade()
+                        + "%, weighted by credits: " + userCourses.getCreditWeightedAverageGrade() + "%"
+                        + System.lineSeparator());
             }
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Unable to display courses");
+        }
+    }
+
+    // EFFECTS: displays the chance of reaching the ideal grade of a course chosen by the user, simulated from its
+    //          grades so far; one course at a time, with few enough trials to answer at once
+    public void simulateCourse() {
+        System.out.println("Which course would you like to simulate?");
+        Course course = userCourses.containsByName(input.next());
+
+        if (course != null) {
+            System.out.println(course.getName() + ": "
+                    + new FinalGradeSimulator().simulate(course, FinalGradeSimulator.INTERACTIVE_TRIALS));
+        } else {
+            System.out.println("Course does not exist");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: displays how often and how long loading, saving, stat calculations, and parsing have run,
+    //          then lets the user turn recording on or off
+    public void viewMetrics() {
+        System.out.print(Metrics.report());
+        System.out.println("\nWould you like to turn metrics " + (Metrics.isEnabled() ? "off" : "on") + "? (y/n)");
+
+        if (input.next().toLowerCase().equals("y")) {
+            Metrics.setEnabled(!Metrics.isEnabled());
         }
     }
 
     // EFFECTS: returns an indented assignment per line for all the assignments in a course
-    // NOTE: returns "" to satisfy IntelliJ during its call in viewCourse()
     public String eachAssignmentNewLine(Course course) {
+        StringBuilder individualAssignments = new StringBuilder();
+
         for (Assignment assignment : course.getAssignments()) {
-            System.out.println("\t\t" + assignment);
+            individualAssignments.append("\t\t").append(assignment).append(System.lineSeparator());
         }
-        return "";
+        return individualAssignments.toString();
     }
 
     // MODIFIES: this
@@ -374,7 +442,7 @@ public class CalculatorAppTerminal {
             jsonWriter.write(userCourses);
             jsonWriter.close();
             System.out.println("Saved courses to " + JSON_STORE);
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             System.out.println("Unable to write to file: " + JSON_STORE);
         }
     }
@@ -383,6 +451,7 @@ public class CalculatorAppTerminal {
     public void loadCourses() {
         try {
             userCourses = jsonReader.read();
+            trackEdits();
             System.out.println("Loaded courses from " + JSON_STORE);
         } catch (IOException e) {
             System.out.println("Unable to read from file: " + JSON_STORE);
@@ -0,0 +1,121 @@
+package ui;
+
+import model.Course;
+import model.CourseList;
+import model.CourseListListener;
+
+import javax.swing.*;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// List model for the JList of courses, backed directly by a course list rather than a copy of its courses
+// so that a whole course list can be swapped in with a single change event instead of one event per course.
+// The model listens to the course list, so every course added, removed, or changed is shown without being
+// announced by hand. A changed course is found through a map of the positions of the courses, which adding or
+// removing the last course keeps up to date; any other change to the rows has it rebuilt on the next look-up.
+public class CourseListModel extends AbstractListModel<Course> implements CourseListListener {
+    private static final long serialVersionUID = 1L;
+
+    private CourseList courseList;              // course list being displayed
+    private int shownSize;                      // number of rows the list was last told about
+    private Map<Course, Integer> indices;       // position of each course, or null if it must be rebuilt
+
+    // EFFECTS: constructs a list model backed by an empty course list
+    public CourseListModel() {
+        courseList = new CourseList();
+        courseList.addListener(this);
+    }
+
+    public CourseList getCourseList() {
+        return courseList;
+    }
+
+    // EFFECTS: returns the number of courses in the backing course list
+    @Override
+    public int getSize() {
+        return courseList.getCourses().size();
+    }
+
+    // EFFECTS: returns the course at the given index of the backing course list
+    @Override
+    public Course getElementAt(int index) {
+        return courseList.getCourses().get(index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the index of the course in the backing course list, or -1 if it is not there, first
+    //          rebuilding the positions of the courses if the rows changed other than at the end since they were
+    //          last built
+    public int indexOf(Course course) {
+        if (indices == null) {
+            List<Course> courses = courseList.getCourses();
+            indices = new IdentityHashMap<>(courses.size() * 2);
+            for (int i = 0; i < courses.size(); i++) {
+                indices.put(courses.get(i), i);
+            }
+        }
+        return indices.getOrDefault(course, -1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the backing course list, firing one change event that covers every old and new row
+    public void replaceAll(CourseList newCourseList) {
+        courseList.removeListener(this);
+        courseList = newCourseList;
+        courseList.addListener(this);
+        courseListChanged(courseList);
+    }
+
+    // EFFECTS: notifies listeners that course has been added at index of the backing course list
+    @Override
+    public void courseAdded(CourseList courseList, int index, Course course) {
+        if (indices != null && index == getSize() - 1) {
+            indices.put(course, index);
+        } else {
+            indices = null;
+        }
+        shownSize = getSize();
+        fireIntervalAdded(this, index, index);
+    }
+
+    // EFFECTS: notifies listeners that the course previously at index has been removed from the backing course list
+    @Override
+    public void courseRemoved(CourseList courseList, int index, Course course) {
+        if (indices != null && index == getSize()) {
+            indices.remove(course);
+        } else {
+            indices = null;
+        }
+        shownSize = getSize();
+        fireIntervalRemoved(this, index, index);
+    }
+
+    // EFFECTS: notifies listeners that the assignments or grades of a course in the backing course list changed
+    @Override
+    public void courseChanged(Course course) {
+        int index = indexOf(course);
+
+        if (index >= 0) {
+            fireContentsChanged(this, index, index);
+        }
+    }
+
+    // EFFECTS: notifies listeners that any row of the backing course list may have changed, with one change
+    //          event that covers every row shown before and after
+    @Override
+    public void courseListChanged(CourseList courseList) {
+        indices = null;
+        int lastIndex = Math.max(shownSize, getSize()) - 1;
+        shownSize = getSize();
+
+        if (lastIndex >= 0) {
+            fireContentsChanged(this, 0, lastIndex);
+        }
+    }
+
+    // EFFECTS: notifies listeners that what is shown for the courses from first to last (inclusive) changed
+    public void rowsChanged(int first, int last) {
+        fireContentsChanged(this, first, last);
+    }
+}
@@ -1,15 +1,152 @@
 package ui;
 
+import exceptions.InputOutOfRangeException;
+import metrics.Metrics;
+import model.CourseList;
+import persistence.CourseListCache;
+import persistence.CourseListPreloader;
+import persistence.JsonReader;
+import server.GradeServer;
+
+import javax.swing.*;
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 
 // Runs application, creating a new calculator app instance
+//   no arguments              -> graphical application
+//   --terminal                -> interactive terminal application
+//   --batch [script file]     -> runs a script of commands, read from standard input if no file is given,
+//                                exiting with status 1 if any of them failed
+//   --server [port] [file]    -> serves the course list saved in file (or the default store) over HTTP on port
+//                                (8210 by default) until the process is stopped; see server.GradeServer
+//                                if file is a directory, serves the course list of each student saved in it
+//                                through a cache bounded to -Dgradecalculator.cacheBytes (a quarter of the heap
+//                                by default), writing edited course lists back when the process is stopped
+//   --startup-benchmark       -> starts the graphical application, prints how long it took to show its first
+//                                frame and to have the saved course list ready, then exits
+// In every mode the metrics are registered over JMX; start with -Dgradecalculator.metrics=true to record them
+// from the start, or turn them on later through JMX or the metrics command.
 public class Main {
+    private static final String JSON_STORE = "./data/courses.json";
+    private static final int DEFAULT_SERVER_PORT = 8210;
+    private static final int MAX_PORT = 65535;
+
     public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "";
+        Metrics.registerMBean();
+
+        try {
+            if (mode.equals("--batch")) {
+                runBatch(args);
+            } else if (mode.equals("--server")) {
+                runServer(args);
+            } else if (mode.equals("--terminal")) {
+                new CalculatorAppTerminal();
+            } else {
+                runGraphicalApplication(mode.equals("--startup-benchmark"));
+            }
+        } catch (FileNotFoundException e) {
+            System.out.println("Unable to run application: file not found");
+        }
+    }
+
+    // EFFECTS: runs the script named in args, or piped to standard input, and exits with status 1 if it does not
+    //          exist or any of its commands failed, so that scheduled scripts can tell they did not succeed
+    private static void runBatch(String[] args) {
         try {
-            new CalculatorAppGUI(); // switch this to CalculatorAppTerminal() to run terminal application
-            //new CalculatorAppTerminal();
+            if (new CalculatorAppBatch(args.length > 1 ? args[1] : null).getFailureCount() == 0) {
+                return;
+            }
         } catch (FileNotFoundException e) {
             System.out.println("Unable to run application: file not found");
         }
+        System.exit(1);
+    }
+
+    // EFFECTS: serves the course list, or directory of course lists, named in args on the port named in args;
+    //          prints how to run the server instead if the port is not a number from 0 to 65535
+    private static void runServer(String[] args) {
+        int port = args.length > 1 ? parsePort(args[1]) : DEFAULT_SERVER_PORT;
+        String store = args.length > 2 ? args[2] : JSON_STORE;
+
+        if (port < 0) {
+            System.out.println("Not a valid port: " + args[1]);
+            System.out.println("Usage: --server [port from 0 to " + MAX_PORT + "] [file or directory]");
+            return;
+        }
+        GradeServer.enableNoDelay();
+        try {
+            GradeServer server = new File(store).isDirectory() ? newCachingServer(port, store)
+                    : new GradeServer(port, loadOrCreate(store), store);
+
+            server.start();
+            System.out.println("Serving " + store + " on http://localhost:" + server.getPort());
+        } catch (IOException e) {
+            System.out.println("Unable to start server: " + e.getMessage());
+        } catch (InputOutOfRangeException e) {
+            System.out.println("Entries in file invalid, unable to start server: " + store);
+        }
+    }
+
+    // EFFECTS: returns the port written in text, or -1 if it is not a number from 0 to MAX_PORT
+    private static int parsePort(String text) {
+        try {
+            int port = Integer.parseInt(text);
+            return port <= MAX_PORT ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // EFFECTS: returns the course list saved in store, or an empty one if store does not exist yet
+    private static CourseList loadOrCreate(String store) throws IOException, InputOutOfRangeException {
+        return new File(store).exists() ? new JsonReader(store).read() : new CourseList();
+    }
+
+    // EFFECTS: returns a server for the course lists saved in directory, held in a cache whose edited course
+    //          lists are written back when the process is stopped
+    private static GradeServer newCachingServer(int port, String directory) throws IOException {
+        long maxBytes = Long.getLong("gradecalculator.cacheBytes", Runtime.getRuntime().maxMemory() / 4);
+        CourseListCache cache = new CourseListCache(directory, maxBytes);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                cache.flush();
+            } catch (IOException e) {
+                System.out.println("Unable to write back course lists: " + e.getMessage());
+            }
+        }));
+        return new GradeServer(port, cache);
+    }
+
+    // EFFECTS: starts reading the saved course list in the background, then builds and shows the main frame;
+    //          if isBenchmark, prints the time to the first frame and to the data and exits
+    private static void runGraphicalApplication(boolean isBenchmark) throws FileNotFoundException {
+        CourseListPreloader preloader = new CourseListPreloader(JSON_STORE);
+        preloader.start();
+
+        new CalculatorAppGUI(preloader);
+
+        if (isBenchmark) {
+            awaitPendingEvents();
+            System.out.println("time to first frame: " + StartupTimer.millisSinceJvmStart() + " ms");
+            preloader.awaitDone();
+            System.out.println("time to data: " + StartupTimer.millisSinceJvmStart() + " ms");
+            System.exit(0);
+        }
+    }
+
+    // EFFECTS: waits until the events queued on the event dispatch thread so far, such as painting the
+    //          newly shown frame, have been processed
+    private static void awaitPendingEvents() {
+        try {
+            SwingUtilities.invokeAndWait(() -> { });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            // the empty task can not throw, so the events before it have been processed
+        }
     }
 }
@@ -1,56 +1,254 @@
 package ui;
 
+import metrics.RenderEvent;
 import model.Assignment;
 import model.Course;
+import model.CourseStats;
 
 import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
 
 
-// Renderer for each cell of JList, with overwritten methods to allow for multiple lines per item
-// SOURCE: heavily based on the code from Paul Samsotha
+// Renderer for each cell of JList, painting the course name, assignments, and statistics of a course as
+// multiple lines of text directly with Graphics2D instead of going through Swing's html rendering
+// Row heights follow from the number of assignments, so the list can lay out every row without building any
+// text; rows are only measured across when they are painted, and the list is as wide as the widest of them
+// Stats are looked up rather than computed, and shown as placeholders until they are available
+// SOURCE: layout originally based on the html renderer from Paul Samsotha
 // https://stackoverflow.com/questions/21501770/multiple-lines-in-jlist-java
-public class MyListCellRenderer extends DefaultListCellRenderer {
+public class MyListCellRenderer extends JComponent implements ListCellRenderer<Course>, ListDataListener {
+    private static final long serialVersionUID = 1L;
+    private static final Border noFocusBorder = new EmptyBorder(1, 1, 1, 1);
+    private static final int BLANK_LINES_AFTER_COURSE = 1;
+    private static final int LINES_BESIDES_ASSIGNMENTS = 6;   // course name, assignments heading and four stats
+    private static final String PENDING_STAT = "...";
+
+    private final Map<Course, Integer> rowWidths = new WeakHashMap<>();          // width of each row last painted
+    private final List<String> lines = new ArrayList<>();                          // text of each line in the row
+    private final List<Integer> indents = new ArrayList<>();                       // indent level of each line
+
+    private final Function<Course, CourseStats> statsLookup;                       // stats of a course, or null
+
+    private Font cachedFont;                     // font the cached metrics were taken from
+    private FontMetrics fontMetrics;             // cached metrics of the list font
+    private int indentWidth;                     // width of one level of indentation, in pixels
+
+    private int widestRow;                       // width of the widest row painted among the listed courses
+    private JList<? extends Course> list;        // list being rendered, sized to the widest row
+
+    private Course course;                       // course being rendered
+    private boolean areLinesStale;               // lines not yet built for course
+
+    // EFFECTS: constructs a renderer that paints its own background and gets the stats of each course from
+    //          statsLookup, which returns null for stats that are not available yet
+    public MyListCellRenderer(Function<Course, CourseStats> statsLookup) {
+        this.statsLookup = statsLookup;
+        setOpaque(true);
+    }
 
     @Override
     // MODIFIES: this
     // EFFECTS: renders each item in a JList for a course, to display the course name, assignments,
-    // ideal grade, and predicted grade
-    public Component getListCellRendererComponent(JList list, Object value, int index,
+    // ideal grade, and predicted grade; the lines themselves are only built once they are needed
+    public Component getListCellRendererComponent(JList<? extends Course> list, Course value, int index,
                                                   boolean isSelected, boolean cellHasFocus) {
-        super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-
-        Course course = (Course) value;
-        String name = course.getName().toUpperCase();
-        double idealGrade = course.getIdealGrade();
-        double predictedGrade = course.getPredictedGrade();
-
-        double currentCourseGrade = course.calculateCurrentGrade();
-        double currentCourseWeight = course.calculateCurrentWeight();
-        double courseIdealGrade = course.calculateIdealFinalGrade();
-        double coursePredictedGrade = course.calculatePredictedFinalGrade();
-
-        String labelText = "<html>&nbsp;COURSE STATISTICS FOR " + name
-                         + "<br/>&ensp;&emsp;Submitted assignments: " + eachAssignmentNewLine(course)
-                         + "<br/>&ensp;&emsp;Current course grade: " + currentCourseGrade + "%"
-                         + "<br/>&ensp;&emsp;Current course weight: " + currentCourseWeight + "%"
-                         + "<br/>&ensp;&emsp;Grade needed on remaining assignments to achieve " + idealGrade + "%"
-                                                                                        + ": " + courseIdealGrade + "%"
-                         + "<br/>&ensp;&emsp;Final grade if you get " + predictedGrade  + "%"
-                                                        + " on the remaining assignments: " + coursePredictedGrade + "%"
-                         + "<br><br>";
-        setText(labelText);
+        setBackground(isSelected ? list.getSelectionBackground() : list.getBackground());
+        setForeground(isSelected ? list.getSelectionForeground() : list.getForeground());
+        setBorder(cellHasFocus ? UIManager.getBorder("List.focusCellHighlightBorder") : noFocusBorder);
+        updateFontMetrics(list.getFont());
+
+        this.list = list;
+        course = value;
+        areLinesStale = true;
 
         return this;
     }
 
-    // EFFECTS: constructs a string where each assignment would be on a new line if parsed as html
-    public String eachAssignmentNewLine(Course course) {
-        String individualAssignments = "";
+    @Override
+    // MODIFIES: this
+    // EFFECTS: returns the size of the row for the current course: its height is counted from the number of
+    //          assignments without building the lines, and its width is that of the widest row painted so far
+    public Dimension getPreferredSize() {
+        Insets insets = getInsets();
+        int lineCount = LINES_BESIDES_ASSIGNMENTS + BLANK_LINES_AFTER_COURSE
+                + (course == null ? 0 : course.numAssignments());
+
+        return new Dimension(widestRow, lineCount * fontMetrics.getHeight() + insets.top + insets.bottom);
+    }
+
+    @Override
+    // MODIFIES: this
+    // EFFECTS: paints the background and each line of the current course, and measures its width
+    protected void paintComponent(Graphics g) {
+        RenderEvent event = new RenderEvent(RenderEvent.PAINT);
+        updateLines();
+        updateWidth();
+        Insets insets = getInsets();
+
+        if (isOpaque()) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setFont(cachedFont);
+        g2.setColor(getForeground());
+
+        int baseline = insets.top + fontMetrics.getAscent();
+        for (int i = 0; i < lines.size(); i++) {
+            g2.drawString(lines.get(i), insets.left + lineOffset(i), baseline);
+            baseline += fontMetrics.getHeight();
+        }
+        finishEvent(event);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the width needed to paint every line of the current course; if it is the widest row yet,
+    //          the list is widened to it once painting is done
+    private void updateWidth() {
+        if (course == null) {
+            return;
+        }
+        RenderEvent event = new RenderEvent(RenderEvent.MEASURE);
+        Insets insets = getInsets();
+        int width = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            width = Math.max(width, lineOffset(i) + fontMetrics.stringWidth(lines.get(i)));
+        }
+        width += insets.left + insets.right;
+        rowWidths.put(course, width);
+
+        if (width > widestRow) {
+            widestRow = width;
+            JList<? extends Course> paintedList = list;
+            SwingUtilities.invokeLater(() -> paintedList.setFixedCellWidth(widestRow));
+        }
+        finishEvent(event);
+    }
+
+    // EFFECTS: ends the render event for the current course and commits it, if it is being recorded
+    private void finishEvent(RenderEvent event) {
+        if (course != null) {
+            event.finish(course.getName(), course.numAssignments(), lines.size());
+        }
+    }
+
+    // EFFECTS: returns the horizontal offset of the line at the given index, in pixels
+    private int lineOffset(int index) {
+        return fontMetrics.charWidth(' ') + indents.get(index) * indentWidth;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: caches the metrics of the given font if they are not cached already
+    private void updateFontMetrics(Font font) {
+        if (font.equals(cachedFont)) {
+            return;
+        }
+        cachedFont = font;
+        fontMetrics = getFontMetrics(font);
+        indentWidth = fontMetrics.charWidth('M') * 3 / 2;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: builds the lines for the current course, if they have not been built already
+    private void updateLines() {
+        if (!areLinesStale || course == null) {
+            return;
+        }
+        areLinesStale = false;
+        lines.clear();
+        indents.clear();
 
+        CourseStats stats = statsLookup.apply(course);
+
+        addLine(0, "COURSE STATISTICS FOR " + course.getName().toUpperCase());
+        addLine(1, "Submitted assignments: ");
         for (Assignment assignment : course.getAssignments()) {
-            individualAssignments += ("<br/>&ensp;&emsp;&ensp;&emsp;" + assignment);
+            addLine(2, assignment.toString());
+        }
+        if (stats == null) {
+            addPendingStatLines();
+            return;
+        }
+        addLine(1, "Current course grade: " + stats.getCurrentGrade() + "%");
+        addLine(1, "Current course weight: " + stats.getCurrentWeight() + "%");
+        addLine(1, "Grade needed on remaining assignments to achieve " + course.getIdealGrade() + "%"
+                + ": " + stats.getIdealFinalGrade() + "%");
+        addLine(1, "Final grade if you get " + course.getPredictedGrade() + "%"
+                + " on the remaining assignments: " + stats.getPredictedFinalGrade() + "%");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the stat lines with placeholders in place of the stats that are still being computed
+    private void addPendingStatLines() {
+        addLine(1, "Current course grade: " + PENDING_STAT);
+        addLine(1, "Current course weight: " + PENDING_STAT);
+        addLine(1, "Grade needed on remaining assignments to achieve " + course.getIdealGrade() + "%"
+                + ": " + PENDING_STAT);
+        addLine(1, "Final grade if you get " + course.getPredictedGrade() + "%"
+                + " on the remaining assignments: " + PENDING_STAT);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends a line of text with the given indent level
+    private void addLine(int indent, String text) {
+        indents.add(indent);
+        lines.add(text);
+    }
+
+    // EFFECTS: nothing to invalidate, new courses are measured the first time they are rendered
+    @Override
+    public void intervalAdded(ListDataEvent e) {
+    }
+
+    // EFFECTS: nothing to invalidate, cached sizes of removed courses are dropped once they are garbage collected
+    @Override
+    public void intervalRemoved(ListDataEvent e) {
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the whole list changed, sizes the list to the widest row painted among the courses still in it;
+    //          changed rows are measured again the next time they are painted
+    @Override
+    public void contentsChanged(ListDataEvent e) {
+        ListModel<?> model = (ListModel<?>) e.getSource();
+
+        if (e.getIndex0() > 0 || e.getIndex1() < model.getSize() - 1) {
+            return;
+        }
+        widestRow = 0;
+        for (int i = 0; i < model.getSize(); i++) {
+            Integer width = rowWidths.get(model.getElementAt(i));
+            widestRow = Math.max(widestRow, width == null ? 0 : width);
+        }
+        if (list != null) {
+            list.setFixedCellWidth(widestRow);
         }
-        return individualAssignments;
+    }
+
+    // EFFECTS: does nothing, renderers are stamped onto the list and never need to be laid out
+    @Override
+    public void validate() {
+    }
+
+    // EFFECTS: does nothing, renderers are stamped onto the list and never need to be laid out
+    @Override
+    public void revalidate() {
+    }
+
+    // EFFECTS: does nothing, the list repaints the rows it needs
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
     }
 }
@@ -0,0 +1,15 @@
+package ui;
+
+import java.time.Instant;
+
+// Measures how long after the Java virtual machine was started the application reached a point in its startup
+public class StartupTimer {
+    private static final long jvmStartMillis = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+
+    // EFFECTS: returns the number of milliseconds since the virtual machine was started
+    public static long millisSinceJvmStart() {
+        return System.currentTimeMillis() - jvmStartMillis;
+    }
+}
@@ -0,0 +1,302 @@
+package ui;
+
+import model.Course;
+import model.CourseList;
+import model.CourseListListener;
+import model.CourseListSnapshot;
+import model.CourseStats;
+import model.FinalGradeSimulator;
+import model.SimulationResult;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Computes course statistics off the event dispatch thread for a JList of courses, starting with the rows that
+// are visible and then prefetching the rows around them. Results are handed back to the event dispatch thread,
+// where every result that has landed since the last hand-off is stored and announced with a single repaint.
+// All methods other than the worker's must be called on the event dispatch thread. The service listens to the
+// course list it is attached to, so the stats of each course are forgotten as soon as the course changes.
+// Each request takes a snapshot of the course list, in O(1) time, and the worker reads the courses it computes
+// from that snapshot, so the event dispatch thread never copies a course or sums its assignments.
+public class StatComputationService implements CourseListListener {
+    private static final int MIN_PREFETCH_ROWS = 20;
+    private static final int PUBLISH_BATCH_SIZE = 64;
+
+    private final ExecutorService worker;                                 // thread that runs the grade math
+    private final ExecutorService simulator;                              // thread that runs grade simulations
+    private final AtomicLong latestRequest = new AtomicLong();            // id of the most recent request
+    private final Queue<Result> landedResults = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isPublishScheduled = new AtomicBoolean();
+
+    private final Map<Course, CourseStats> stats = new HashMap<>();       // computed stats of each course
+    private final Map<Course, Integer> versions = new WeakHashMap<>();    // times each course was invalidated
+    private int epoch;                                                    // times every course was invalidated
+    private boolean isRequestScheduled;                                   // visible rows due to be recomputed
+
+    private JList<Course> list;
+    private CourseListModel listModel;
+    private CourseList courseList;                                        // course list listened to
+
+    // EFFECTS: constructs a service with one background worker thread for stats, and another for simulations so
+    //          that the stats of the visible rows never wait behind a simulation
+    public StatComputationService() {
+        worker = newDaemonExecutor("course-stats");
+        simulator = newDaemonExecutor("course-simulation");
+    }
+
+    // EFFECTS: returns an executor running tasks one at a time on a daemon thread with the given name
+    private static ExecutorService newDaemonExecutor(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts computing stats for the rows of list shown in viewport whenever the viewport changes
+    public void attach(JList<Course> list, CourseListModel listModel, JViewport viewport) {
+        this.list = list;
+        this.listModel = listModel;
+        viewport.addChangeListener(e -> requestVisibleRows());
+    }
+
+    // EFFECTS: returns the computed stats of the course, or null if they have not been computed yet
+    public CourseStats getStats(Course course) {
+        return stats.get(course);
+    }
+
+    // MODIFIES: this, courseList
+    // EFFECTS: starts forgetting the stats of the courses of courseList as they change, instead of those of the
+    //          course list it was listening to before, if any, then forgets the stats of every course
+    public void listenTo(CourseList courseList) {
+        if (this.courseList != null) {
+            this.courseList.removeListener(this);
+        }
+        this.courseList = courseList;
+        courseList.addListener(this);
+        invalidateAll();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: computes the stats of a newly added course, if it is visible
+    @Override
+    public void courseAdded(CourseList courseList, int index, Course course) {
+        requestVisibleRows();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the stats of a removed course, and recomputes the visible rows; its version is kept for as
+    //          long as the course is reachable, such as from the edit history, so that a job queued before it was
+    //          removed is never taken as current should it be put back
+    @Override
+    public void courseRemoved(CourseList courseList, int index, Course course) {
+        invalidate(course);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the stats of a course that has changed, and recomputes the visible rows
+    @Override
+    public void courseChanged(Course course) {
+        invalidate(course);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the stats of every course of a course list that has changed as a whole
+    @Override
+    public void courseListChanged(CourseList courseList) {
+        invalidateAll();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the stats of a course that has changed, and recomputes the visible rows
+    public void invalidate(Course course) {
+        stats.remove(course);
+        versions.merge(course, 1, Integer::sum);
+        scheduleVisibleRows();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the stats of every course, and recomputes the visible rows
+    public void invalidateAll() {
+        stats.clear();
+        versions.clear();
+        epoch++;
+        scheduleVisibleRows();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recomputes the visible rows once the event dispatch thread is free, scheduling at most one such
+    //          request at a time, so that a bulk change to many courses queues one request rather than one each
+    private void scheduleVisibleRows() {
+        if (!isRequestScheduled) {
+            isRequestScheduled = true;
+            SwingUtilities.invokeLater(() -> {
+                isRequestScheduled = false;
+                requestVisibleRows();
+            });
+        }
+    }
+
+    // REQUIRES: the service is listening to a course list
+    // EFFECTS: computes the stats of a single course of the course list in the background, then passes them to
+    //          callback on the event dispatch thread; does nothing if the course is not in the course list
+    public void computeThen(Course course, Consumer<CourseStats> callback) {
+        CourseListSnapshot snapshot = courseList.snapshot();
+        worker.execute(() -> {
+            Course version = snapshot.versionOf(course, -1);
+            if (version != null) {
+                CourseStats courseStats = new CourseStats(version);
+                SwingUtilities.invokeLater(() -> callback.accept(courseStats));
+            }
+        });
+    }
+
+    // REQUIRES: the service is listening to a course list
+    // EFFECTS: simulates the final grade of a single course of the course list in the background, apart from the
+    //          stats worker, then passes the result to callback on the event dispatch thread; the trials
+    //          themselves run in parallel on the common fork/join pool. Does nothing if the course is not in the
+    //          course list
+    public void simulateThen(Course course, Consumer<SimulationResult> callback) {
+        CourseListSnapshot snapshot = courseList.snapshot();
+        simulator.execute(() -> {
+            Course version = snapshot.versionOf(course, -1);
+            if (version != null) {
+                SimulationResult result = new FinalGradeSimulator().simulate(version,
+                        FinalGradeSimulator.DEFAULT_TRIALS);
+                SwingUtilities.invokeLater(() -> callback.accept(result));
+            }
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues the visible rows without stats, followed by the rows just below and just above them,
+    //          superseding any rows still queued from an earlier request
+    public void requestVisibleRows() {
+        int first = list == null || courseList == null ? -1 : list.getFirstVisibleIndex();
+        if (first < 0) {
+            return;
+        }
+        int last = list.getLastVisibleIndex();
+        int prefetchRows = Math.max(MIN_PREFETCH_ROWS, 2 * (last - first + 1));
+
+        List<Job> jobs = new ArrayList<>();
+        addJobs(jobs, first, last, 1);
+        addJobs(jobs, last + 1, Math.min(listModel.getSize() - 1, last + prefetchRows), 1);
+        addJobs(jobs, first - 1, Math.max(0, first - prefetchRows), -1);
+
+        if (!jobs.isEmpty()) {
+            long request = latestRequest.incrementAndGet();
+            CourseListSnapshot snapshot = courseList.snapshot();
+            worker.execute(() -> compute(request, snapshot, jobs, last - first + 1));
+        }
+    }
+
+    // MODIFIES: jobs
+    // EFFECTS: adds a job for each row from start to end (inclusive, stepping by step) without stats
+    private void addJobs(List<Job> jobs, int start, int end, int step) {
+        for (int i = start; step > 0 ? i <= end : i >= end; i += step) {
+            Course course = listModel.getElementAt(i);
+            if (!stats.containsKey(course)) {
+                jobs.add(new Job(i, course, epoch, versions.getOrDefault(course, 0)));
+            }
+        }
+    }
+
+    // EFFECTS: computes the stats of each job in order on the worker thread, from the version of its course in
+    //          snapshot, publishing the visible rows as one batch and the prefetched rows in fixed-size batches;
+    //          stops once a newer request is made
+    private void compute(long request, CourseListSnapshot snapshot, List<Job> jobs, int visibleRows) {
+        List<Result> batch = new ArrayList<>();
+
+        for (int i = 0; i < jobs.size() && latestRequest.get() == request; i++) {
+            Course version = snapshot.versionOf(jobs.get(i).course, jobs.get(i).index);
+            if (version != null) {
+                batch.add(new Result(jobs.get(i), new CourseStats(version)));
+            }
+
+            if (i + 1 == visibleRows || batch.size() == PUBLISH_BATCH_SIZE) {
+                publish(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        publish(batch);
+    }
+
+    // EFFECTS: hands a batch of results to the event dispatch thread, scheduling at most one hand-off at a time
+    private void publish(List<Result> batch) {
+        landedResults.addAll(batch);
+
+        if (!batch.isEmpty() && isPublishScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::storeLandedResults);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stores every result that has landed and is still current, then announces the changed rows
+    //          to the list with one change event and one repaint
+    private void storeLandedResults() {
+        isPublishScheduled.set(false);
+        int firstChanged = Integer.MAX_VALUE;
+        int lastChanged = -1;
+
+        for (Result result = landedResults.poll(); result != null; result = landedResults.poll()) {
+            Job job = result.job;
+            if (isCurrent(job)) {
+                stats.put(job.course, result.stats);
+                firstChanged = Math.min(firstChanged, job.index);
+                lastChanged = Math.max(lastChanged, job.index);
+            }
+        }
+
+        if (lastChanged >= 0) {
+            listModel.rowsChanged(firstChanged, lastChanged);
+            list.repaint();
+        }
+    }
+
+    // EFFECTS: returns true if the course of the job has not changed or moved since the job was queued
+    private boolean isCurrent(Job job) {
+        return job.epoch == epoch
+                && job.version == versions.getOrDefault(job.course, 0)
+                && job.index < listModel.getSize()
+                && listModel.getElementAt(job.index) == job.course;
+    }
+
+    // Represents a row of the list whose stats are to be computed
+    private static class Job {
+        private final int index;              // row of the course in the list when the job was queued
+        private final Course course;          // course shown in the row
+        private final int epoch;              // epoch of the service when the job was queued
+        private final int version;            // version of the course when the job was queued
+
+        private Job(int index, Course course, int epoch, int version) {
+            this.index = index;
+            this.course = course;
+            this.epoch = epoch;
+            this.version = version;
+        }
+    }
+
+    // Represents the stats computed for a job
+    private static class Result {
+        private final Job job;
+        private final CourseStats stats;
+
+        private Result(Job job, CourseStats stats) {
+            this.job = job;
+            this.stats = stats;
+        }
+    }
+}
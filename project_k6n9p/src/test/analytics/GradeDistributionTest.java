@@ -0,0 +1,82 @@
+package analytics;
+
+import exceptions.InputOutOfRangeException;
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+import org.junit.jupiter.api.Test;
+import persistence.JsonReader;
+import tools.GradebookGenerator;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradeDistributionTest {
+
+    @Test
+    void testAddCourse() throws InputOutOfRangeException {
+        GradeDistribution distribution = new GradeDistribution();
+        Course course = new Course("cpsc 210");
+        course.addAssignment(new Assignment("quiz 1", 80, 10));
+        course.addAssignment(new Assignment("quiz 2", 60, 10));
+        CourseList courseList = new CourseList();
+        courseList.getCourses().add(course);
+        courseList.getCourses().add(new Course("math 200"));
+
+        distribution.add(courseList);
+
+        assertEquals(1, distribution.getCourseGrades().getCount());
+        assertEquals(70, distribution.getCourseGrades().getQuantile(0.5));
+        assertEquals(2, distribution.getAssignmentGrades().getCount());
+        assertEquals(60, distribution.getAssignmentGrades().getMin());
+        assertEquals(1, distribution.getCourseGradeHistogram().getCount(14));
+        assertEquals(2, distribution.getAssignmentGradeHistogram().getCount());
+    }
+
+    @Test
+    void testCollectInParallel() throws IOException, InputOutOfRangeException {
+        GradeDistribution sequential = new GradeDistribution();
+        List<CourseList> gradebooks = generateGradebooks(200, sequential);
+        GradeDistribution parallel = GradeDistribution.collect(gradebooks.stream());
+
+        assertEquals(2000, parallel.getCourseGrades().getCount());
+        assertEquals(20000, parallel.getAssignmentGrades().getCount());
+        assertEquals(sequential.getAssignmentGrades().getMax(), parallel.getAssignmentGrades().getMax());
+        for (int bucket = 0; bucket < GradeDistribution.DEFAULT_BUCKETS; bucket++) {
+            assertEquals(sequential.getCourseGradeHistogram().getCount(bucket),
+                    parallel.getCourseGradeHistogram().getCount(bucket));
+        }
+        double bound = 2 * parallel.getCourseGrades().getRankErrorBound();
+        double median = sequential.getCourseGrades().getQuantile(0.5);
+        assertEquals(0.5, parallel.getCourseGrades().getRank(median), bound);
+    }
+
+    // MODIFIES: distribution
+    // EFFECTS: returns count generated gradebooks of 10 courses, written and read back like saved ones, adding
+    //          each of them to distribution
+    private List<CourseList> generateGradebooks(int count, GradeDistribution distribution) throws IOException,
+            InputOutOfRangeException {
+        GradebookGenerator generator = new GradebookGenerator(39);
+        generator.setCoursesPerStudent(10);
+        List<CourseList> gradebooks = new ArrayList<>();
+        File file = File.createTempFile("testDistribution", ".json");
+        file.deleteOnExit();
+
+        for (int i = 0; i < count; i++) {
+            try (Writer writer = new FileWriter(file)) {
+                generator.generate(writer);
+            }
+            CourseList courseList = new JsonReader(file.getPath()).read();
+            gradebooks.add(courseList);
+            distribution.add(courseList);
+        }
+        file.delete();
+        return gradebooks;
+    }
+}
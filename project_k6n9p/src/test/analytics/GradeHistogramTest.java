@@ -0,0 +1,65 @@
+package analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradeHistogramTest {
+
+    @Test
+    void testBuckets() {
+        GradeHistogram histogram = new GradeHistogram(10);
+        histogram.add(0);
+        histogram.add(9.99);
+        histogram.add(10);
+        histogram.add(100);
+        histogram.add(-1);
+        histogram.add(120);
+        histogram.add(Double.NaN);
+
+        assertEquals(10, histogram.getBuckets());
+        assertEquals(6, histogram.getCount());
+        assertEquals(2, histogram.getCount(0));
+        assertEquals(1, histogram.getCount(1));
+        assertEquals(1, histogram.getCount(9));
+        assertEquals(1, histogram.getBelowRange());
+        assertEquals(1, histogram.getAboveRange());
+        assertEquals(90, histogram.getBucketLow(9));
+        assertEquals(100, histogram.getBucketHigh(9));
+        assertThrows(IllegalArgumentException.class, () -> new GradeHistogram(0));
+    }
+
+    @Test
+    void testQuantile() {
+        GradeHistogram histogram = new GradeHistogram(100);
+        assertTrue(Double.isNaN(histogram.getQuantile(0.5)));
+
+        for (int i = 0; i < 1000; i++) {
+            histogram.add(i / 10.0);
+        }
+
+        assertEquals(50, histogram.getQuantile(0.5), 1);
+        assertEquals(90, histogram.getQuantile(0.9), 1);
+        assertEquals(0, histogram.getQuantile(0));
+        assertEquals(100, histogram.getQuantile(1), 1);
+    }
+
+    @Test
+    void testMerge() {
+        GradeHistogram histogram = new GradeHistogram(4);
+        GradeHistogram other = new GradeHistogram(4);
+        histogram.add(10);
+        other.add(10);
+        other.add(80);
+        other.add(101);
+
+        histogram.merge(other);
+
+        assertEquals(4, histogram.getCount());
+        assertEquals(2, histogram.getCount(0));
+        assertEquals(1, histogram.getCount(3));
+        assertEquals(1, histogram.getAboveRange());
+        assertEquals(3, other.getCount());
+        assertThrows(IllegalArgumentException.class, () -> histogram.merge(new GradeHistogram(5)));
+    }
+}
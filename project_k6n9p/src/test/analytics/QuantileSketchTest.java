@@ -0,0 +1,108 @@
+package analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTest {
+
+    @Test
+    void testEmpty() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertTrue(sketch.isEmpty());
+        assertEquals(QuantileSketch.DEFAULT_K, sketch.getK());
+        assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+        assertTrue(Double.isNaN(sketch.getRank(50)));
+        assertTrue(Double.isNaN(sketch.getMin()));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(4));
+    }
+
+    @Test
+    void testExactWhileSmall() {
+        QuantileSketch sketch = new QuantileSketch(100, 1);
+        for (int i = 100; i >= 1; i--) {
+            sketch.add(i);
+        }
+        sketch.add(Double.NaN);
+
+        assertEquals(100, sketch.getCount());
+        assertEquals(1, sketch.getMin());
+        assertEquals(100, sketch.getMax());
+        assertEquals(50, sketch.getQuantile(0.5));
+        assertEquals(90, sketch.getQuantile(0.9));
+        assertEquals(0.25, sketch.getRank(25));
+        assertEquals(0, sketch.getRank(0));
+        assertEquals(1, sketch.getRank(1000));
+    }
+
+    @Test
+    void testErrorWithinBound() {
+        double[] values = randomGrades(1_000_000, 2);
+        QuantileSketch sketch = new QuantileSketch(200, 3);
+        for (double value : values) {
+            sketch.add(value);
+        }
+
+        assertWithinBound(sketch, values);
+        assertTrue(sketch.getRetained() <= 3 * sketch.getK() + 64);
+    }
+
+    @Test
+    void testMergedShardsWithinBound() {
+        double[] values = randomGrades(400_000, 4);
+        QuantileSketch merged = new QuantileSketch(200, 5);
+
+        for (int shard = 0; shard < 8; shard++) {
+            QuantileSketch sketch = new QuantileSketch(200, 10 + shard);
+            for (int i = shard; i < values.length; i += 8) {
+                sketch.add(values[i]);
+            }
+            merged.merge(sketch);
+        }
+        merged.merge(new QuantileSketch());
+
+        assertEquals(values.length, merged.getCount());
+        assertWithinBound(merged, values);
+    }
+
+    // EFFECTS: fails unless the ranks and quantiles of sketch at every percentile are within its error bound
+    private static void assertWithinBound(QuantileSketch sketch, double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+
+        assertEquals(sorted[0], sketch.getMin());
+        assertEquals(sorted[n - 1], sketch.getMax());
+        for (int percentile = 1; percentile < 100; percentile++) {
+            double fraction = percentile / 100.0;
+            double value = sorted[(int) (fraction * n)];
+            double exactRank = (double) upperBound(sorted, value) / n;
+            assertEquals(exactRank, sketch.getRank(value), sketch.getRankErrorBound());
+
+            double quantile = sketch.getQuantile(fraction);
+            assertEquals(fraction, (double) upperBound(sorted, quantile) / n, sketch.getRankErrorBound());
+        }
+    }
+
+    // EFFECTS: returns the number of sorted values less than or equal to value
+    private static int upperBound(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, Math.nextUp(value));
+        return index >= 0 ? index : -index - 1;
+    }
+
+    // EFFECTS: returns n grades rounded to two decimal places, clustered around 78
+    private static double[] randomGrades(int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] grades = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            double grade = 78 + 12 * (random.nextDouble() + random.nextDouble() + random.nextDouble() - 1.5);
+            grades[i] = Math.round(Math.max(0, Math.min(100, grade)) * 100) / 100.0;
+        }
+        return grades;
+    }
+}
@@ -0,0 +1,146 @@
+package benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+
+// Minimal benchmark harness in the style of JMH: each benchmark is warmed up, then timed over several
+// iterations of a fixed minimum duration, and the average time per operation is recorded together with the
+// spread across iterations; results are collected as JSON so that runs can be compared against each other
+public class BenchmarkRunner {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+    private static final long MIN_ITERATION_NANOS = 200_000_000L;
+    private static final double REGRESSION_THRESHOLD = 0.10;
+
+    private final JSONArray results = new JSONArray();
+    private final JSONObject baseline;                     // results of an earlier run, keyed by name and scale
+    private volatile Object sink;                          // consumes results so they are not optimized away
+
+    // EFFECTS: constructs a runner that compares its results against those in baselineFile, if it is not null;
+    //          throws IOException if the baseline file can not be read
+    public BenchmarkRunner(String baselineFile) throws IOException {
+        baseline = new JSONObject();
+
+        if (baselineFile != null) {
+            String json = new String(Files.readAllBytes(Paths.get(baselineFile)), StandardCharsets.UTF_8);
+            for (Object result : new JSONObject(json).getJSONArray("results")) {
+                JSONObject jsonResult = (JSONObject) result;
+                baseline.put(key(jsonResult.getString("benchmark"), jsonResult.getLong("scale")), jsonResult);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: warms up and times operation at the given scale, prints and records the result; a benchmark
+    //          that runs out of memory is recorded as skipped
+    public void run(String name, long scale, Operation operation) {
+        try {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                timeIteration(operation);
+            }
+            double[] nanosPerOperation = new double[MEASURED_ITERATIONS];
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                nanosPerOperation[i] = timeIteration(operation);
+            }
+            record(name, scale, nanosPerOperation);
+        } catch (OutOfMemoryError e) {
+            System.out.printf("%-40s %,12d  skipped: out of memory%n", name, scale);
+            results.put(new JSONObject().put("benchmark", name).put("scale", scale).put("skipped", "out of memory"));
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark " + name + " failed at scale " + scale, e);
+        }
+    }
+
+    // EFFECTS: runs operation repeatedly for at least the minimum iteration time, returning the average
+    //          nanoseconds taken by each run
+    private double timeIteration(Operation operation) throws Exception {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+
+        do {
+            sink = operation.run();
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MIN_ITERATION_NANOS);
+
+        return (double) elapsed / operations;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: prints the mean and spread of the measured iterations, with the change from the baseline,
+    //          and records them as a result
+    private void record(String name, long scale, double[] nanosPerOperation) {
+        double mean = Arrays.stream(nanosPerOperation).average().orElse(0);
+        double variance = Arrays.stream(nanosPerOperation).map(x -> (x - mean) * (x - mean)).sum()
+                / Math.max(1, nanosPerOperation.length - 1);
+        double error = Math.sqrt(variance);
+
+        JSONObject result = new JSONObject()
+                .put("benchmark", name)
+                .put("scale", scale)
+                .put("meanNanosPerOperation", mean)
+                .put("errorNanosPerOperation", error)
+                .put("iterations", nanosPerOperation.length);
+        results.put(result);
+
+        System.out.printf("%-40s %,12d  %,16.1f ns/op  +- %,12.1f%s%n", name, scale, mean, error,
+                compareToBaseline(name, scale, mean, error));
+    }
+
+    // EFFECTS: returns a note on how mean compares to the baseline result with the same name and scale,
+    //          flagging it as a regression if it is slower by more than the threshold and by more than
+    //          the errors of both results combined
+    private String compareToBaseline(String name, long scale, double mean, double error) {
+        JSONObject previous = baseline.optJSONObject(key(name, scale));
+
+        if (previous == null || !previous.has("meanNanosPerOperation")) {
+            return "";
+        }
+        double previousMean = previous.getDouble("meanNanosPerOperation");
+        double change = mean / previousMean - 1;
+        boolean isRegression = change > REGRESSION_THRESHOLD
+                && mean - previousMean > error + previous.getDouble("errorNanosPerOperation");
+        String note = String.format("  %+.1f%% vs baseline", change * 100);
+
+        return isRegression ? note + "  REGRESSION" : note;
+    }
+
+    // EFFECTS: writes every result recorded so far, with details of the environment, to file as JSON;
+    //          throws IOException if the file can not be written
+    public void writeResults(String file) throws IOException {
+        JSONObject json = new JSONObject()
+                .put("timestamp", Instant.now().toString())
+                .put("javaVersion", System.getProperty("java.version"))
+                .put("availableProcessors", Runtime.getRuntime().availableProcessors())
+                .put("maxHeapBytes", Runtime.getRuntime().maxMemory())
+                .put("results", results);
+
+        Path path = Paths.get(file);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            json.write(writer, 2, 0);
+        }
+    }
+
+    // EFFECTS: returns the key of a result in the baseline
+    private static String key(String name, long scale) {
+        return name + "@" + scale;
+    }
+
+    // Represents the code being benchmarked; it returns a value so that its work can not be optimized away
+    public interface Operation {
+        Object run() throws Exception;
+    }
+}
@@ -0,0 +1,205 @@
+package benchmark;
+
+import exceptions.InputOutOfRangeException;
+import model.Assignment;
+import model.AssignmentStore;
+import model.Course;
+import model.CourseList;
+import persistence.Compression;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+import tools.NumberUtilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static tools.CommandLineOptions.option;
+
+// Benchmarks of the model, persistence, and parsing hot paths at increasing scales, where the scale is the
+// total number of assignments involved: course stats run over one course holding every assignment, course
+// lookups and persistence run over a course list of courses with ASSIGNMENTS_PER_COURSE assignments each, and
+// parsing runs over one input string per assignment
+//   arguments: [--scales 10,1000,...] [--output results.json] [--baseline earlier-results.json] [--only prefix]
+// Results are written as JSON (bench/results.json by default); pass an earlier results file as the baseline to
+// have regressions flagged. The largest scales need a large heap (-Xmx8g or more); benchmarks that run out of
+// memory are recorded as skipped.
+public class HotPathBenchmarks {
+    private static final String DEFAULT_SCALES = "10,1000,100000,10000000";
+    private static final String DEFAULT_OUTPUT = "./bench/results.json";
+    private static final int ASSIGNMENTS_PER_COURSE = 10;
+    private static final int DISTINCT_NAMES = 1000;
+
+    private final BenchmarkRunner runner;
+    private final String only;
+
+    // EFFECTS: constructs the benchmarks, running only those whose names start with only
+    private HotPathBenchmarks(BenchmarkRunner runner, String only) {
+        this.runner = runner;
+        this.only = only;
+    }
+
+    public static void main(String[] args) throws IOException, InputOutOfRangeException {
+        String scales = option(args, "--scales", DEFAULT_SCALES);
+        String output = option(args, "--output", DEFAULT_OUTPUT);
+        BenchmarkRunner runner = new BenchmarkRunner(option(args, "--baseline", null));
+        HotPathBenchmarks benchmarks = new HotPathBenchmarks(runner, option(args, "--only", ""));
+
+        for (String scale : scales.split(",")) {
+            benchmarks.runAll(Integer.parseInt(scale.trim()));
+        }
+
+        runner.writeResults(output);
+        System.out.println("Results written to " + output);
+    }
+
+    // EFFECTS: runs every benchmark at the given scale
+    private void runAll(int assignmentCount) throws IOException, InputOutOfRangeException {
+        runCourseBenchmarks(assignmentCount);
+        runCourseListBenchmarks(assignmentCount);
+        runCompressionBenchmarks(assignmentCount);
+        runParsingBenchmarks(assignmentCount);
+    }
+
+    // EFFECTS: benchmarks the stat calculations of a course with the given number of assignments
+    private void runCourseBenchmarks(int assignmentCount) throws InputOutOfRangeException {
+        if (!isSelected("Course.")) {
+            return;
+        }
+        Course course = makeCourse("course", assignmentCount);
+
+        run("Course.calculateCurrentGrade", assignmentCount, course::calculateCurrentGrade);
+        run("Course.calculateIdealFinalGrade", assignmentCount, course::calculateIdealFinalGrade);
+        run("Course.calculatePredictedFinalGrade", assignmentCount, course::calculatePredictedFinalGrade);
+
+        CourseList courseList = new CourseList();
+        courseList.getCourses().add(course);
+        AssignmentStore store = AssignmentStore.of(courseList);
+        run("Course.calculateCurrentGrade.offHeap", assignmentCount, () -> store.calculateCurrentGrade(0));
+    }
+
+    // EFFECTS: benchmarks writing and reading courseList, of the given number of assignments, as JSON, and mapping
+    //          it back as an assignment store
+    private void runPersistenceBenchmarks(CourseList courseList, int assignmentCount) throws IOException {
+        File file = File.createTempFile("benchmark", ".json");
+        file.deleteOnExit();
+        run("JsonWriter.write", assignmentCount, () -> write(courseList, file.getPath()));
+        run("JsonReader.read", assignmentCount, () -> new JsonReader(file.getPath()).read());
+        file.delete();
+
+        AssignmentStore.of(courseList).save(file.toPath());
+        run("AssignmentStore.map", assignmentCount, () -> AssignmentStore.map(file.toPath()).calculateAverageGrade());
+        file.delete();
+    }
+
+    // EFFECTS: benchmarks looking up, writing, and reading a course list with the given number of assignments, then
+    //          editing it last, as each edit grows the history of the course it changes and would slow the others
+    private void runCourseListBenchmarks(int assignmentCount) throws IOException, InputOutOfRangeException {
+        if (!isSelected("CourseList.") && !isSelected("Json") && !isSelected("AssignmentStore.")) {
+            return;
+        }
+        CourseList courseList = makeCourseList(assignmentCount);
+        List<Course> courses = courseList.getCourses();
+        String lastName = courses.get(courses.size() - 1).getName();
+
+        run("CourseList.containsByName", assignmentCount, () -> courseList.containsByName(lastName));
+        run("CourseList.containsByName.missing", assignmentCount, () -> courseList.containsByName("missing"));
+        run("CourseList.getAverageGrade", assignmentCount, courseList::getAverageGrade);
+        runPersistenceBenchmarks(courseList, assignmentCount);
+
+        Course lastCourse = courses.get(courses.size() - 1);
+        Assignment extra = new Assignment("extra", 50, 1);
+        run("CourseList.getAverageGrade.afterEdit", assignmentCount, () -> {
+            lastCourse.getAssignments().add(extra);
+            lastCourse.getAssignments().remove(lastCourse.numAssignments() - 1);
+            return courseList.getAverageGrade();
+        });
+    }
+
+    // EFFECTS: benchmarks writing and reading a course list with the given number of assignments in each kind of
+    //          compression, printing the size of the file each writes
+    private void runCompressionBenchmarks(int assignmentCount) throws IOException, InputOutOfRangeException {
+        if (!isSelected("JsonWriter.write.") && !isSelected("JsonReader.read.")) {
+            return;
+        }
+        CourseList courseList = makeCourseList(assignmentCount);
+        File file = File.createTempFile("benchmark", ".json");
+        file.deleteOnExit();
+
+        for (Compression compression : Compression.values()) {
+            String suffix = "." + compression.name().toLowerCase();
+            run("JsonWriter.write" + suffix, assignmentCount, () -> write(courseList, file.getPath(), compression));
+            run("JsonReader.read" + suffix, assignmentCount, () -> new JsonReader(file.getPath()).read());
+            System.out.printf("%-40s %,12d  %,d bytes%n", "file size" + suffix, assignmentCount, file.length());
+        }
+        file.delete();
+    }
+
+    // EFFECTS: benchmarks parsing one grade per assignment, alternating between fractions and decimals
+    private void runParsingBenchmarks(int assignmentCount) {
+        if (!isSelected("NumberUtilities.")) {
+            return;
+        }
+        String[] inputs = new String[assignmentCount];
+        for (int i = 0; i < assignmentCount; i++) {
+            inputs[i] = i % 2 == 0 ? (i % 50) + "/50" : (i % 100) + "." + (i % 10);
+        }
+
+        run("NumberUtilities.parseStringInput", assignmentCount, () -> {
+            double total = 0;
+            for (String input : inputs) {
+                total += NumberUtilities.parseStringInput(input);
+            }
+            return total;
+        });
+    }
+
+    // EFFECTS: runs the benchmark if it is selected
+    private void run(String name, int scale, BenchmarkRunner.Operation operation) {
+        if (isSelected(name)) {
+            runner.run(name, scale, operation);
+        }
+    }
+
+    // EFFECTS: returns true if benchmarks with the given name or name prefix are to be run
+    private boolean isSelected(String name) {
+        return name.startsWith(only) || only.startsWith(name);
+    }
+
+    // EFFECTS: writes the course list to file, returning the length of the file
+    private static long write(CourseList courseList, String file) throws IOException {
+        return write(courseList, file, Compression.NONE);
+    }
+
+    // EFFECTS: writes the course list to file with the given compression, returning the length of the file
+    private static long write(CourseList courseList, String file, Compression compression) throws IOException {
+        JsonWriter writer = new JsonWriter(file, compression);
+        writer.open();
+        writer.write(courseList);
+        writer.close();
+        return new File(file).length();
+    }
+
+    // EFFECTS: returns a course list with assignmentCount assignments spread over courses
+    private static CourseList makeCourseList(int assignmentCount) throws InputOutOfRangeException {
+        CourseList courseList = new CourseList();
+
+        for (int start = 0; start < assignmentCount; start += ASSIGNMENTS_PER_COURSE) {
+            int count = Math.min(ASSIGNMENTS_PER_COURSE, assignmentCount - start);
+            courseList.getCourses().add(makeCourse("course " + start / ASSIGNMENTS_PER_COURSE, count));
+        }
+        return courseList;
+    }
+
+    // EFFECTS: returns a course with the given number of assignments, with weights adding up to at most 100
+    private static Course makeCourse(String name, int assignmentCount) throws InputOutOfRangeException {
+        List<Assignment> assignments = new ArrayList<>(assignmentCount);
+        double weight = 100.0 / assignmentCount;
+
+        for (int i = 0; i < assignmentCount; i++) {
+            assignments.add(new Assignment("quiz " + i % DISTINCT_NAMES, 50 + i % 51, weight));
+        }
+        return new Course(name, assignments, 83, 75);
+    }
+}
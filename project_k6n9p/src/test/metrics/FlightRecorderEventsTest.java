@@ -0,0 +1,142 @@
+package metrics;
+
+import exceptions.InputOutOfRangeException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+import model.CourseStats;
+import org.junit.jupiter.api.Test;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+import ui.MyListCellRenderer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEventsTest {
+    private static final String GENERAL_COURSE_LIST = "./data/testReaderGeneralCourseList.json";
+
+    @Test
+    void testReadEvents() throws IOException, InputOutOfRangeException {
+        List<RecordedEvent> events = record("gradecalculator.JsonRead",
+                () -> new JsonReader(GENERAL_COURSE_LIST).read());
+
+        RecordedEvent modelBuild = find(events, "gradecalculator.JsonRead", JsonReadEvent.MODEL_BUILD);
+        assertEquals(new File(GENERAL_COURSE_LIST).length(), modelBuild.getLong("bytes"));
+        assertEquals(2, modelBuild.getInt("courses"));
+        assertEquals(3, modelBuild.getLong("assignments"));
+        RecordedEvent fileIo = find(events, "gradecalculator.JsonRead", JsonReadEvent.FILE_IO);
+        RecordedEvent domBuild = find(events, "gradecalculator.JsonRead", JsonReadEvent.DOM_BUILD);
+        assertEquals(-1, fileIo.getInt("courses"));
+        assertTrue(fileIo.getLong("readTime") > 0);
+        assertTrue(fileIo.getLong("readTime") <= fileIo.getDuration().toNanos());
+        assertFalse(fileIo.getEndTime().isBefore(domBuild.getEndTime()));
+        assertEquals(2, domBuild.getInt("courses"));
+        assertEquals(-1, domBuild.getLong("readTime"));
+    }
+
+    @Test
+    void testWriteEvents() throws IOException, InputOutOfRangeException {
+        CourseList courseList = new JsonReader(GENERAL_COURSE_LIST).read();
+        File written = File.createTempFile("testEvents", ".json");
+
+        try {
+            List<RecordedEvent> events = record("gradecalculator.JsonWrite", () -> {
+                JsonWriter writer = new JsonWriter(written.getPath());
+                writer.open();
+                writer.write(courseList);
+                writer.close();
+            });
+
+            RecordedEvent serialize = find(events, "gradecalculator.JsonWrite", JsonWriteEvent.SERIALIZE);
+            assertTrue(serialize.getLong("characters") > 0);
+            assertNotNull(find(events, "gradecalculator.JsonWrite", JsonWriteEvent.FILE_IO));
+        } finally {
+            written.delete();
+        }
+    }
+
+    @Test
+    void testRenderEvents() throws IOException, InputOutOfRangeException {
+        MyListCellRenderer renderer = new MyListCellRenderer(CourseStats::new);
+        JList<Course> list = new JList<>();
+        Course course = new Course("cpsc 210");
+        course.addAssignment(new Assignment("quiz 1", 80, 10));
+        Graphics2D g = new BufferedImage(400, 200, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+        List<RecordedEvent> events = record("gradecalculator.Render", () -> {
+            Component c = renderer.getListCellRendererComponent(list, course, 0, false, false);
+            c.setSize(400, c.getPreferredSize().height);
+            c.paint(g);
+        });
+        g.dispose();
+
+        RecordedEvent paint = find(events, "gradecalculator.Render", RenderEvent.PAINT);
+        assertEquals("cpsc 210", paint.getString("course"));
+        assertEquals(1, paint.getInt("assignments"));
+        assertEquals(7, paint.getInt("lines"));
+        assertNotNull(find(events, "gradecalculator.Render", RenderEvent.MEASURE));
+    }
+
+    @Test
+    void testRecomputeEvents() throws IOException, InputOutOfRangeException {
+        CourseList courseList = new JsonReader(GENERAL_COURSE_LIST).read();
+
+        List<RecordedEvent> events = record("gradecalculator.StatRecompute",
+                () -> courseList.getCourses().get(0).calculateCurrentGrade());
+
+        assertNotNull(find(events, "gradecalculator.StatRecompute", "current grade"));
+    }
+
+    // EFFECTS: runs action while events of the given type are being recorded, and returns the events recorded
+    private List<RecordedEvent> record(String type, Action action) throws IOException, InputOutOfRangeException {
+        try (Recording recording = new Recording()) {
+            recording.enable(type);
+            recording.start();
+            action.run();
+            recording.stop();
+            return dump(recording);
+        }
+    }
+
+    // EFFECTS: writes the recording to a temporary file and returns the events in it
+    private List<RecordedEvent> dump(Recording recording) throws IOException {
+        Path file = Files.createTempFile("testEvents", ".jfr");
+
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // EFFECTS: returns the first event of the given type whose phase, statistic or operation is the given one
+    private RecordedEvent find(List<RecordedEvent> events, String type, String phase) {
+        for (RecordedEvent event : events) {
+            String field = event.hasField("phase") ? "phase" : event.hasField("statistic") ? "statistic" : "operation";
+
+            if (event.getEventType().getName().equals(type) && phase.equals(event.getString(field))) {
+                return event;
+            }
+        }
+        fail("No " + type + " event for " + phase);
+        return null;
+    }
+
+    // Represents code to run while recording
+    private interface Action {
+        void run() throws IOException, InputOutOfRangeException;
+    }
+}
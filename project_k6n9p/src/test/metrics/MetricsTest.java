@@ -0,0 +1,103 @@
+package metrics;
+
+import exceptions.InvalidInputException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.NumberUtilities;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+    Counter counter;
+    Histogram histogram;
+
+    @BeforeEach
+    void runBefore() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+        counter = Metrics.counter("test.counter");
+        histogram = Metrics.histogram("test.histogram", "bytes");
+    }
+
+    @AfterEach
+    void runAfter() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    void testDisabledMetricsRecordNothing() {
+        counter.increment();
+        histogram.record(100);
+        histogram.recordSince(Metrics.startTime());
+
+        assertEquals(Metrics.NOT_TIMED, Metrics.startTime());
+        assertEquals(0, counter.getCount());
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    void testCounter() {
+        Metrics.setEnabled(true);
+        counter.increment();
+        counter.increment();
+
+        assertEquals(2, counter.getCount());
+        assertSame(counter, Metrics.counter("test.counter"));
+        assertEquals(2, Metrics.counterValues().get("test.counter"));
+    }
+
+    @Test
+    void testHistogram() {
+        Metrics.setEnabled(true);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMean());
+        assertEquals(100, histogram.getMax());
+        assertEquals(63, histogram.getPercentile(50));
+        assertEquals(100, histogram.getPercentile(99));
+        assertEquals(0, Metrics.histogram("test.empty", "ns").getPercentile(50));
+
+        Map<String, Long> values = Metrics.histogramValues();
+        assertEquals(100, values.get("test.histogram.count"));
+        assertEquals(100, values.get("test.histogram.max"));
+    }
+
+    @Test
+    void testTimer() {
+        Metrics.setEnabled(true);
+        Histogram timer = Metrics.timer("test.timer");
+        timer.recordSince(Metrics.startTime());
+
+        assertEquals(1, timer.getCount());
+        assertEquals("ns", timer.getUnit());
+        assertTrue(Metrics.report().contains("test.timer"));
+    }
+
+    @Test
+    void testParsingIsInstrumented() {
+        Metrics.setEnabled(true);
+        try {
+            NumberUtilities.parseStringInput("45/50");
+            NumberUtilities.parseStringInput("not a grade");
+            fail("InvalidInputException not thrown when it should have.");
+        } catch (InvalidInputException e) {
+            // expect this
+        }
+
+        assertEquals(2, Metrics.timer("NumberUtilities.parseStringInput").getCount());
+        assertEquals(1, Metrics.counter("NumberUtilities.parseStringInput.failures").getCount());
+    }
+
+    @Test
+    void testRegisterMBean() {
+        assertTrue(Metrics.registerMBean());
+        assertTrue(Metrics.registerMBean());
+    }
+}
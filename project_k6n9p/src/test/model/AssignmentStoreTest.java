@@ -0,0 +1,174 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssignmentStoreTest {
+    private CourseList courseList;
+
+    @BeforeEach
+    public void runBefore() throws InputOutOfRangeException {
+        courseList = new CourseList();
+        Course cpsc = new Course("cpsc 210");
+        cpsc.addAssignment(new Assignment("quiz 1", 80, 10));
+        cpsc.addAssignment(new Assignment("midterm 1", 67.5, 30));
+        cpsc.addAssignment(new Assignment("lab", 100, 12.5));
+        cpsc.setIdealGrade(90);
+        Course math = new Course("math 200");
+        math.addAssignment(new Assignment("quiz 1", 55, 20));
+        math.setCredits(4);
+        courseList.getCourses().add(cpsc);
+        courseList.getCourses().add(new Course("écriture 101"));
+        courseList.getCourses().add(math);
+    }
+
+    @Test
+    public void testOf() {
+        AssignmentStore store = AssignmentStore.of(courseList);
+
+        assertEquals(3, store.numCourses());
+        assertEquals(4, store.numAssignments());
+        assertEquals(3, store.numAssignments(0));
+        assertEquals(0, store.numAssignments(1));
+        assertEquals("écriture 101", store.getCourseName(1));
+        assertEquals("midterm 1", store.getAssignmentName(0, 1));
+        assertEquals(67.5, store.getGrade(0, 1));
+        assertEquals(12.5, store.getWeight(0, 2));
+        assertEquals(90, store.getIdealGrade(0));
+        assertEquals(75, store.getPredictedGrade(2));
+        assertEquals(4, store.getCredits(2));
+        assertSame(store.getAssignmentName(0, 0), store.getAssignmentName(2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getGrade(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.numAssignments(3));
+    }
+
+    @Test
+    public void testStatsMatchCourse() {
+        AssignmentStore store = AssignmentStore.of(courseList);
+
+        for (int i = 0; i < store.numCourses(); i++) {
+            Course course = courseList.getCourses().get(i);
+            assertEquals(course.calculateCurrentGrade(), store.calculateCurrentGrade(i));
+            assertEquals(course.calculateIdealFinalGrade(), store.calculateIdealFinalGrade(i));
+            assertEquals(course.calculatePredictedFinalGrade(), store.calculatePredictedFinalGrade(i));
+            assertEquals(course.calculateCurrentWeight(), store.calculateCurrentWeight(i));
+        }
+        assertEquals(courseList.getAverageGrade(), store.calculateAverageGrade());
+        assertEquals(0, AssignmentStore.of(new CourseList()).calculateAverageGrade());
+    }
+
+    @Test
+    public void testToStats() {
+        AssignmentStore store = AssignmentStore.of(courseList);
+
+        for (int i = 0; i < store.numCourses(); i++) {
+            CourseStats expected = new CourseStats(courseList.getCourses().get(i));
+            CourseStats stats = store.toStats(i);
+            assertEquals(expected.getCurrentGrade(), stats.getCurrentGrade());
+            assertEquals(expected.getCurrentWeight(), stats.getCurrentWeight());
+            assertEquals(expected.getIdealFinalGrade(), stats.getIdealFinalGrade());
+            assertEquals(expected.getPredictedFinalGrade(), stats.getPredictedFinalGrade());
+        }
+    }
+
+    @Test
+    public void testIsStore() throws IOException {
+        Path file = File.createTempFile("assignments", ".store").toPath();
+        try {
+            AssignmentStore.of(courseList).save(file);
+            assertTrue(AssignmentStore.isStore(file));
+
+            Files.writeString(file, "{\"courses\": []}");
+            assertFalse(AssignmentStore.isStore(file));
+            Files.write(file, new byte[2]);
+            assertFalse(AssignmentStore.isStore(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSaveAndMap() throws IOException, InputOutOfRangeException {
+        Path file = File.createTempFile("assignments", ".store").toPath();
+        try {
+            AssignmentStore.of(courseList).save(file);
+            AssignmentStore store = AssignmentStore.map(file);
+
+            assertEquals(3, store.numCourses());
+            assertEquals(store.calculateCurrentGrade(0), courseList.getCourses().get(0).calculateCurrentGrade());
+            Course course = store.toCourse(0);
+            assertEquals("cpsc 210", course.getName());
+            assertEquals(3, course.numAssignments());
+            assertEquals("lab", course.getAssignments().get(2).getName());
+            assertEquals(90, course.getIdealGrade());
+            assertThrows(UnsupportedOperationException.class, () -> course.setCredits(1));
+            assertEquals(4, store.toCourse(2).getCredits());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMapRejectsOtherFiles() throws IOException {
+        Path file = File.createTempFile("assignments", ".store").toPath();
+        try {
+            Files.writeString(file, "{\"courses\": []} and some more text to fill a header");
+            assertThrows(IOException.class, () -> AssignmentStore.map(file));
+
+            AssignmentStore.of(courseList).save(file);
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+            assertThrows(IOException.class, () -> AssignmentStore.map(file));
+
+            Files.write(file, new byte[4]);
+            assertThrows(IOException.class, () -> AssignmentStore.map(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMapRejectsCorruptReferences() throws IOException {
+        Path file = File.createTempFile("assignments", ".store").toPath();
+        int courseStarts = 32 + Double.BYTES * (3 * 3 + 2 * 4);
+        int courseNames = courseStarts + Integer.BYTES * 4;
+        int assignmentNames = courseNames + Integer.BYTES * 3;
+        int nameOffsets = assignmentNames + Integer.BYTES * 4;
+        try {
+            AssignmentStore.of(courseList).save(file);
+            byte[] bytes = Files.readAllBytes(file);
+            assertCorrupt(file, bytes, courseStarts + Integer.BYTES, 5);
+            assertCorrupt(file, bytes, courseStarts + Integer.BYTES * 2, 2);
+            assertCorrupt(file, bytes, courseStarts + Integer.BYTES * 3, 3);
+            assertCorrupt(file, bytes, courseNames, 6);
+            assertCorrupt(file, bytes, assignmentNames, -1);
+            assertCorrupt(file, bytes, nameOffsets + Integer.BYTES, 1000);
+            assertCorrupt(file, bytes, nameOffsets + Integer.BYTES * 2, 1);
+
+            Files.write(file, bytes);
+            assertEquals(4, AssignmentStore.map(file).numAssignments());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // MODIFIES: file
+    // EFFECTS: writes bytes to file with the int at offset replaced by value, and asserts that mapping it fails
+    private static void assertCorrupt(Path file, byte[] bytes, int offset, int value) throws IOException {
+        byte[] corrupt = bytes.clone();
+        ByteBuffer.wrap(corrupt).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+        Files.write(file, corrupt);
+        assertThrows(IOException.class, () -> AssignmentStore.map(file));
+    }
+}
@@ -0,0 +1,203 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseListMergerTest {
+    private CourseListMerger merger;
+    private CourseList live;
+    private List<String> events;
+
+    @BeforeEach
+    void runBefore() throws InputOutOfRangeException {
+        merger = new CourseListMerger();
+        live = courseList(course("cpsc 210", 80), course("cpsc 110", 70), course("cpsc 121", 90));
+        merger.setBase(live);
+        events = new ArrayList<>();
+        live.addListener(new RecordingListener(events));
+    }
+
+    @Test
+    void testUnchangedFileChangesNothing() throws InputOutOfRangeException {
+        merger.merge(live, courseList(course("cpsc 210", 80), course("cpsc 110", 70), course("cpsc 121", 90)));
+
+        assertEquals(List.of(), events);
+        assertEquals(0, merger.getAddedCount() + merger.getRemovedCount() + merger.getChangedCount());
+    }
+
+    @Test
+    void testChangedCourseUpdatedInPlace() throws InputOutOfRangeException {
+        Course liveCourse = live.getCourses().get(1);
+        Assignment midterm = liveCourse.getAssignments().get(0);
+        Course changed = course("cpsc 110", 70);
+        changed.addAssignment(new Assignment("final", 60, 50));
+        changed.setCredits(3);
+
+        merger.merge(live, courseList(course("cpsc 210", 80), changed, course("cpsc 121", 90)));
+
+        assertEquals(List.of("changed cpsc 110"), events);
+        assertEquals(1, merger.getChangedCount());
+        assertSame(liveCourse, live.getCourses().get(1));
+        assertSame(midterm, liveCourse.getAssignments().get(0));
+        assertEquals(2, liveCourse.numAssignments());
+        assertEquals(3, liveCourse.getCredits());
+        assertEquals(CourseListMerger.hash(changed), CourseListMerger.hash(liveCourse));
+    }
+
+    @Test
+    void testUnsavedEditsKeptWhenFileLeftCourseAlone() throws InputOutOfRangeException {
+        live.getCourses().get(0).addAssignment(new Assignment("quiz", 100, 5));
+        events.clear();
+
+        merger.merge(live, courseList(course("cpsc 210", 80), course("cpsc 110", 75), course("cpsc 121", 90)));
+
+        assertEquals(List.of("changed cpsc 110"), events);
+        assertEquals(2, live.getCourses().get(0).numAssignments());
+        assertEquals(75, live.getCourses().get(1).calculateCurrentGrade());
+    }
+
+    @Test
+    void testAddedCourseInsertedAfterPrevious() throws InputOutOfRangeException {
+        Course added = course("math 200", 65);
+
+        merger.merge(live, courseList(course("cpsc 210", 80), course("cpsc 110", 70), added,
+                course("cpsc 121", 90)));
+
+        assertEquals(List.of("added 2 math 200"), events);
+        assertEquals(1, merger.getAddedCount());
+        assertNotSame(added, live.getCourses().get(2));
+        assertEquals(CourseListMerger.hash(added), CourseListMerger.hash(live.getCourses().get(2)));
+
+        merger.merge(live, courseList(course("phys 101", 50), course("cpsc 210", 80), course("cpsc 110", 70),
+                added, course("cpsc 121", 90)));
+        assertEquals("phys 101", live.getCourses().get(0).getName());
+        assertEquals(5, live.getCourses().size());
+    }
+
+    @Test
+    void testDeletedCourseRemoved() throws InputOutOfRangeException {
+        merger.merge(live, courseList(course("cpsc 210", 80), course("cpsc 121", 90)));
+
+        assertEquals(List.of("removed 1 cpsc 110"), events);
+        assertEquals(1, merger.getRemovedCount());
+        assertEquals(2, live.getCourses().size());
+
+        merger.merge(live, courseList(course("cpsc 210", 80), course("cpsc 121", 90)));
+        assertEquals(0, merger.getRemovedCount());
+        assertEquals(2, live.getCourses().size());
+    }
+
+    @Test
+    void testManyAddedAndRemovedCoursesKeepOrder() throws InputOutOfRangeException {
+        List<Course> loaded = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (Course course : List.of(course("cpsc 210", 80), course("cpsc 121", 90))) {
+            for (int i = 0; i < 50; i++) {
+                loaded.add(course(course.getName() + " lab " + i, i));
+            }
+            loaded.add(course);
+        }
+        loaded.forEach(course -> expected.add(course.getName()));
+
+        merger.merge(live, courseList(loaded.toArray(new Course[0])));
+
+        assertEquals(100, merger.getAddedCount());
+        assertEquals(1, merger.getRemovedCount());
+        assertEquals(expected, namesOf(live));
+
+        merger.merge(live, courseList(loaded.subList(51, 102).toArray(new Course[0])));
+        assertEquals(51, merger.getRemovedCount());
+        assertEquals(expected.subList(51, 102), namesOf(live));
+    }
+
+    @Test
+    void testCourseMovedInLiveListKeepsAddsAfterIt() throws InputOutOfRangeException {
+        live.getCourses().add(live.getCourses().remove(0));
+
+        merger.merge(live, courseList(course("cpsc 110", 70), course("math 200", 65), course("cpsc 121", 90),
+                course("cpsc 210", 80), course("phys 101", 50)));
+
+        assertEquals(List.of("cpsc 110", "math 200", "cpsc 121", "cpsc 210", "phys 101"), namesOf(live));
+    }
+
+    @Test
+    void testCoursesWithSameNameMatchedInOrder() throws InputOutOfRangeException {
+        live = courseList(course("cpsc 210", 80), course("cpsc 210", 60));
+        merger.setBase(live);
+        Course first = live.getCourses().get(0);
+
+        merger.merge(live, courseList(course("cpsc 210", 80), course("cpsc 210", 65)));
+
+        assertEquals(1, merger.getChangedCount());
+        assertSame(first, live.getCourses().get(0));
+        assertEquals(80, live.getCourses().get(0).calculateCurrentGrade());
+        assertEquals(65, live.getCourses().get(1).calculateCurrentGrade());
+    }
+
+    @Test
+    void testHash() throws InputOutOfRangeException {
+        Course course = course("cpsc 210", 80);
+
+        assertEquals(CourseListMerger.hash(course), CourseListMerger.hash(course("cpsc 210", 80)));
+        assertNotEquals(CourseListMerger.hash(course), CourseListMerger.hash(course("cpsc 211", 80)));
+        assertNotEquals(CourseListMerger.hash(course), CourseListMerger.hash(course("cpsc 210", 81)));
+        course.setIdealGrade(90);
+        assertNotEquals(CourseListMerger.hash(course), CourseListMerger.hash(course("cpsc 210", 80)));
+    }
+
+    // EFFECTS: returns a course with the given name and one assignment with grade
+    private static Course course(String name, double grade) throws InputOutOfRangeException {
+        Course course = new Course(name);
+        course.addAssignment(new Assignment("midterm", grade, 30));
+        return course;
+    }
+
+    // EFFECTS: returns the names of the courses in courseList, in order
+    private static List<String> namesOf(CourseList courseList) {
+        List<String> names = new ArrayList<>();
+        courseList.getCourses().forEach(course -> names.add(course.getName()));
+        return names;
+    }
+
+    // EFFECTS: returns a course list of the given courses
+    private static CourseList courseList(Course... courses) {
+        CourseList courseList = new CourseList();
+        courseList.getCourses().addAll(List.of(courses));
+        return courseList;
+    }
+
+    // Records each event it is told about as a line of text
+    private static class RecordingListener implements CourseListListener {
+        private final List<String> events;
+
+        private RecordingListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void courseAdded(CourseList courseList, int index, Course course) {
+            events.add("added " + index + " " + course.getName());
+        }
+
+        @Override
+        public void courseRemoved(CourseList courseList, int index, Course course) {
+            events.add("removed " + index + " " + course.getName());
+        }
+
+        @Override
+        public void courseChanged(Course course) {
+            events.add("changed " + course.getName());
+        }
+
+        @Override
+        public void courseListChanged(CourseList courseList) {
+            events.add("list changed");
+        }
+    }
+}
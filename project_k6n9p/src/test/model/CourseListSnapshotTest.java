@@ -0,0 +1,168 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseListSnapshotTest {
+    private CourseList courseList;
+    private Course cpsc;
+
+    @BeforeEach
+    public void runBefore() throws InputOutOfRangeException {
+        courseList = new CourseList();
+        cpsc = new Course("cpsc 210");
+        cpsc.addAssignment(new Assignment("midterm", 80, 30));
+        courseList.getCourses().add(cpsc);
+        courseList.getCourses().add(new Course("math 200"));
+    }
+
+    @Test
+    public void testSnapshotUnchangedByEdits() throws InputOutOfRangeException {
+        CourseListSnapshot snapshot = courseList.snapshot();
+
+        cpsc.addAssignment(new Assignment("lab", 90, 20));
+        cpsc.setIdealGrade(95);
+        courseList.getCourses().add(new Course("phys 100"));
+        courseList.getCourses().remove(1);
+
+        assertEquals(2, snapshot.size());
+        Course course = snapshot.getCourses().get(0);
+        assertEquals("cpsc 210", course.getName());
+        assertEquals(1, course.numAssignments());
+        assertEquals(83, course.getIdealGrade());
+        assertEquals(80, course.calculateCurrentGrade());
+        assertEquals("math 200", snapshot.getCourses().get(1).getName());
+
+        CourseListSnapshot later = courseList.snapshot();
+        assertEquals(2, later.size());
+        assertEquals(2, later.containsByName("cpsc 210").numAssignments());
+        assertEquals(95, later.containsByName("cpsc 210").getIdealGrade());
+        assertNotNull(later.containsByName("phys 100"));
+        assertNull(later.containsByName("math 200"));
+    }
+
+    @Test
+    public void testEditsFoundAfterCoursesMoved() throws InputOutOfRangeException {
+        courseList.snapshot();
+        Course math = courseList.getCourses().get(1);
+        courseList.getCourses().add(0, new Course("phys 100"));
+        math.setIdealGrade(70);
+        courseList.getCourses().add(new Course("chem 121"));
+        courseList.getCourses().remove(0);
+        cpsc.setIdealGrade(95);
+        courseList.getCourses().remove(2);
+        math.setIdealGrade(75);
+
+        CourseListSnapshot snapshot = courseList.snapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals(95, snapshot.getCourses().get(0).getIdealGrade());
+        assertEquals(75, snapshot.getCourses().get(1).getIdealGrade());
+    }
+
+    @Test
+    public void testVersionOf() throws InputOutOfRangeException {
+        Course math = courseList.getCourses().get(1);
+        CourseListSnapshot snapshot = courseList.snapshot();
+        cpsc.addAssignment(new Assignment("lab", 90, 20));
+
+        assertEquals(1, snapshot.versionOf(cpsc, 0).numAssignments());
+        assertSame(snapshot.getCourses().get(0), snapshot.versionOf(cpsc, 1));
+        assertSame(snapshot.getCourses().get(1), snapshot.versionOf(math, -1));
+        assertNull(snapshot.versionOf(new Course("phys 100"), 0));
+        assertEquals(2, courseList.snapshot().versionOf(cpsc, 0).numAssignments());
+    }
+
+    @Test
+    public void testUnchangedCoursesShared() {
+        CourseListSnapshot first = courseList.snapshot();
+        courseList.getCourses().add(new Course("phys 100"));
+        CourseListSnapshot second = courseList.snapshot();
+
+        assertSame(first.getCourses().get(0), second.getCourses().get(0));
+        assertSame(first.getCourses().get(0), first.containsByName("cpsc 210"));
+        assertEquals(3, second.size());
+    }
+
+    @Test
+    public void testSnapshotReadOnly() throws InputOutOfRangeException {
+        Course course = courseList.snapshot().getCourses().get(0);
+
+        assertThrows(UnsupportedOperationException.class, () -> course.setIdealGrade(90));
+        assertThrows(UnsupportedOperationException.class, () -> course.setPredictedGrade(90));
+        assertThrows(UnsupportedOperationException.class, () -> course.setCredits(4));
+        assertThrows(UnsupportedOperationException.class, () -> course.removeAssignment("midterm"));
+        Assignment lab = new Assignment("lab", 90, 20);
+        assertThrows(UnsupportedOperationException.class, () -> course.addAssignment(lab));
+        assertThrows(UnsupportedOperationException.class,
+                () -> courseList.snapshot().getCourses().add(new Course("phys 100")));
+        assertEquals(1, cpsc.numAssignments());
+    }
+
+    @Test
+    public void testBatchPublishedWhenEnded() throws InputOutOfRangeException {
+        courseList.snapshot();
+        courseList.beginBatch();
+        cpsc.addAssignment(new Assignment("lab", 90, 20));
+        courseList.getCourses().add(new Course("phys 100"));
+
+        assertEquals(2, courseList.snapshot().size());
+        assertEquals(1, courseList.snapshot().getCourses().get(0).numAssignments());
+        courseList.endBatch();
+        assertEquals(3, courseList.snapshot().size());
+        assertEquals(2, courseList.snapshot().getCourses().get(0).numAssignments());
+    }
+
+    @Test
+    public void testIterator() {
+        List<String> names = new ArrayList<>();
+
+        for (Course course : courseList.snapshot()) {
+            names.add(course.getName());
+        }
+        assertEquals(List.of("cpsc 210", "math 200"), names);
+    }
+
+    @Test
+    public void testReaderDuringEdits() throws InterruptedException {
+        courseList.snapshot();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> readSnapshots(failure));
+
+        reader.start();
+        for (int i = 0; i < 2000; i++) {
+            courseList.getCourses().add(new Course("course " + i));
+            if (i % 3 == 0) {
+                courseList.getCourses().remove(0);
+            }
+        }
+        reader.join();
+        assertNull(failure.get());
+    }
+
+    // MODIFIES: failure
+    // EFFECTS: repeatedly walks a snapshot of courseList, checking it sees as many courses as its size, and stores
+    //          anything thrown in failure
+    private void readSnapshots(AtomicReference<Throwable> failure) {
+        try {
+            for (int i = 0; i < 200; i++) {
+                CourseListSnapshot snapshot = courseList.snapshot();
+                int size = snapshot.size();
+                int count = 0;
+                for (Course course : snapshot) {
+                    new CourseStats(course);
+                    count++;
+                }
+                assertEquals(size, count);
+            }
+        } catch (Throwable e) {
+            failure.set(e);
+        }
+    }
+}
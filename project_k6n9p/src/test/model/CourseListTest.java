@@ -6,6 +6,9 @@ import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class CourseListTest {
@@ -62,6 +65,24 @@ public class CourseListTest {
         assertEquals(10, courseOne.getPredictedGrade());
     }
 
+    @Test
+    public void testNumAssignments() {
+        assertEquals(0, userCourse.numAssignments());
+
+        try {
+            courseOne.addAssignment(new Assignment("quiz 1", 80, 10));
+            courseOne.addAssignment(new Assignment("quiz 2", 70, 10));
+            courseTwo.addAssignment(new Assignment("midterm", 75, 30));
+        } catch (InputOutOfRangeException e) {
+            fail("InputOutOfRangeException thrown when it should not have.");
+        }
+        userCourse.getCourses().add(courseOne);
+        userCourse.getCourses().add(courseTwo);
+        userCourse.getCourses().add(courseThree);
+
+        assertEquals(3, userCourse.numAssignments());
+    }
+
     @Test
     public void testRemoveCourseByName() {
         userCourse.getCourses().add(courseOne);
@@ -114,4 +135,129 @@ public class CourseListTest {
         assertEquals("cpsc 110", jsonArrayNotEmpty.getJSONObject(1).get("name"));
 
     }
+
+    @Test
+    public void testListenerTold() throws InputOutOfRangeException {
+        List<String> events = new ArrayList<>();
+        userCourse.getCourses().add(courseOne);
+        userCourse.addListener(new RecordingListener(events));
+
+        userCourse.getCourses().add(courseTwo);
+        userCourse.getCourses().add(0, courseThree);
+        courseOne.addAssignment(new Assignment("quiz 1", 80, 10));
+        courseTwo.setIdealGrade(90);
+        assertTrue(userCourse.removeCourseByName("cpsc 210"));
+        courseOne.setIdealGrade(90);
+        userCourse.getCourses().clear();
+
+        assertEquals(List.of("added 1 cpsc 110", "added 0 cpsc 121", "changed cpsc 210", "changed cpsc 110",
+                "removed 1 cpsc 210", "removed 1 cpsc 110", "removed 0 cpsc 121"), events);
+    }
+
+    @Test
+    public void testListenerRemoved() throws InputOutOfRangeException {
+        List<String> events = new ArrayList<>();
+        RecordingListener listener = new RecordingListener(events);
+        userCourse.getCourses().add(courseOne);
+
+        userCourse.addListener(listener);
+        userCourse.removeListener(listener);
+        userCourse.getCourses().add(courseTwo);
+        courseOne.setIdealGrade(90);
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testBatch() throws InputOutOfRangeException {
+        List<String> events = new ArrayList<>();
+        userCourse.getCourses().add(courseOne);
+        userCourse.addListener(new RecordingListener(events));
+
+        userCourse.beginBatch();
+        userCourse.getCourses().add(courseTwo);
+        courseOne.setPredictedGrade(50);
+        courseTwo.beginBatch();
+        courseTwo.addAssignment(new Assignment("quiz 1", 80, 10));
+        courseTwo.endBatch();
+        assertTrue(events.isEmpty());
+        userCourse.endBatch();
+
+        assertEquals(List.of("list changed"), events);
+    }
+
+    @Test
+    public void testAverageGrade() throws InputOutOfRangeException {
+        assertEquals(0, userCourse.getAverageGrade());
+        assertEquals(0, userCourse.getCreditWeightedAverageGrade());
+
+        addGradedCourses();
+        assertEquals(2, userCourse.numGradedCourses());
+        assertEquals(65, userCourse.getAverageGrade());
+        assertEquals(72.5, userCourse.getCreditWeightedAverageGrade());
+
+        courseOne.setCredits(1);
+        assertEquals(65, userCourse.getCreditWeightedAverageGrade());
+    }
+
+    @Test
+    public void testAverageGradeAfterRemovals() throws InputOutOfRangeException {
+        addGradedCourses();
+
+        userCourse.beginBatch();
+        courseTwo.removeAssignment("midterm");
+        userCourse.getCourses().add(courseThree);
+        assertEquals(70, userCourse.getAverageGrade());
+        userCourse.endBatch();
+
+        userCourse.removeCourseByName("cpsc 210");
+        assertEquals(1, userCourse.numGradedCourses());
+        assertEquals(60, userCourse.getAverageGrade());
+        courseOne.addAssignment(new Assignment("quiz 2", 0, 10));
+        assertEquals(60, userCourse.getAverageGrade());
+
+        userCourse.getCourses().clear();
+        assertEquals(0, userCourse.numGradedCourses());
+        assertEquals(0, userCourse.getAverageGrade());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds courseOne, graded 80, and courseTwo, worth 1 credit and graded 60 and 40
+    private void addGradedCourses() throws InputOutOfRangeException {
+        courseOne.addAssignment(new Assignment("quiz 1", 80, 10));
+        userCourse.getCourses().add(courseOne);
+        userCourse.getCourses().add(courseTwo);
+        courseTwo.setCredits(1);
+        courseTwo.addAssignment(new Assignment("quiz 1", 60, 10));
+        courseTwo.addAssignment(new Assignment("midterm", 40, 10));
+    }
+
+    // Records each event it is told about as a line of text
+    private static class RecordingListener implements CourseListListener {
+        private final List<String> events;
+
+        private RecordingListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void courseAdded(CourseList courseList, int index, Course course) {
+            events.add("added " + index + " " + course.getName());
+        }
+
+        @Override
+        public void courseRemoved(CourseList courseList, int index, Course course) {
+            events.add("removed " + index + " " + course.getName());
+        }
+
+        @Override
+        public void courseChanged(Course course) {
+            events.add("changed " + course.getName());
+        }
+
+        @Override
+        public void courseListChanged(CourseList courseList) {
+            events.add("list changed");
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseStatsTest {
+
+    private Course courseOne;
+    private Course courseTwo;
+
+    @BeforeEach
+    public void runBefore() {
+        courseOne = new Course("math");
+        courseTwo = new Course("biology");
+
+        try {
+            courseTwo.addAssignment(new Assignment("quiz 1", 80, 10));
+            courseTwo.addAssignment(new Assignment("midterm", 90, 30));
+            courseTwo.setIdealGrade(85);
+            courseTwo.setPredictedGrade(70);
+        } catch (InputOutOfRangeException e) {
+            fail("Did not expect InputOutOfRangeException to be thrown.");
+        }
+    }
+
+    @Test
+    public void testCourseStatsNoAssignments() {
+        CourseStats stats = new CourseStats(courseOne);
+
+        assertEquals(0, stats.getCurrentGrade());
+        assertEquals(0, stats.getCurrentWeight());
+        assertEquals(courseOne.calculateIdealFinalGrade(), stats.getIdealFinalGrade());
+        assertEquals(courseOne.calculatePredictedFinalGrade(), stats.getPredictedFinalGrade());
+    }
+
+    @Test
+    public void testCourseStatsMatchesCourse() {
+        CourseStats stats = new CourseStats(courseTwo);
+
+        assertEquals(87.5, stats.getCurrentGrade());
+        assertEquals(40, stats.getCurrentWeight());
+        assertEquals(courseTwo.calculateIdealFinalGrade(), stats.getIdealFinalGrade());
+        assertEquals(courseTwo.calculatePredictedFinalGrade(), stats.getPredictedFinalGrade());
+    }
+
+    @Test
+    public void testCourseStatsIsSnapshot() {
+        CourseStats stats = new CourseStats(courseTwo);
+        courseTwo.removeAssignment("midterm");
+
+        assertEquals(87.5, stats.getCurrentGrade());
+        assertEquals(40, stats.getCurrentWeight());
+        assertEquals(80, new CourseStats(courseTwo).getCurrentGrade());
+    }
+}
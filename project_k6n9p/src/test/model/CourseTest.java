@@ -114,6 +114,20 @@ public class CourseTest {
 
     }
 
+    @Test
+    public void testCopy() {
+        Course copy = courseTwo.copy();
+
+        assertEquals("biology", copy.getName());
+        assertEquals(courseTwo.getAssignments(), copy.getAssignments());
+        assertEquals(courseTwo.getIdealGrade(), copy.getIdealGrade());
+        assertEquals(courseTwo.getPredictedGrade(), copy.getPredictedGrade());
+
+        copy.removeAssignment("midterm");
+        assertEquals(2, copy.numAssignments());
+        assertEquals(3, courseTwo.numAssignments());
+    }
+
     @Test
     public void testNumAssignments() {
         assertEquals(0, courseOne.numAssignments());
@@ -240,6 +254,59 @@ public class CourseTest {
         assertEquals(79.76, courseTwo.calculatePredictedFinalGrade());
     }
 
+    @Test
+    public void testGetCurrentGrade() {
+        assertTrue(Double.isNaN(courseOne.getCurrentGrade()));
+        assertEquals(courseTwo.calculateCurrentGrade(), courseTwo.getCurrentGrade(), 0.005);
+
+        courseTwo.removeAssignment("midterm");
+        assertEquals(courseTwo.calculateCurrentGrade(), courseTwo.getCurrentGrade(), 0.005);
+        courseTwo.getAssignments().clear();
+        assertTrue(Double.isNaN(courseTwo.getCurrentGrade()));
+
+        List<Assignment> assignmentList = new ArrayList<>();
+        assignmentList.add(assignmentOne);
+        assignmentList.add(assignmentThree);
+        courseThree = new Course("cpsc 121", assignmentList, 55, 80.2);
+        assertEquals(courseThree.calculateCurrentGrade(), courseThree.getCurrentGrade(), 0.005);
+    }
+
+    @Test
+    public void testSetCredits() throws InputOutOfRangeException {
+        assertEquals(Course.DEFAULT_CREDITS, courseOne.getCredits());
+        List<Double> oldCredits = new ArrayList<>();
+        courseOne.addListener(new CourseListener() {
+            @Override
+            public void creditsChanged(Course course, double credits) {
+                oldCredits.add(credits);
+            }
+        });
+
+        courseOne.setCredits(4);
+        courseOne.setCredits(4);
+        assertEquals(4, courseOne.getCredits());
+        assertEquals(4, courseOne.copy().getCredits());
+        assertEquals(List.of(Course.DEFAULT_CREDITS), oldCredits);
+    }
+
+    @Test
+    public void testSetCreditsOutOfRange() throws InputOutOfRangeException {
+        courseOne.setCredits(4);
+        try {
+            courseOne.setCredits(-1);
+            fail("Expected InputOutOfRangeException to be thrown.");
+        } catch (InputOutOfRangeException e) {
+            // expected
+        }
+        try {
+            courseOne.setCredits(Double.POSITIVE_INFINITY);
+            fail("Expected InputOutOfRangeException to be thrown.");
+        } catch (InputOutOfRangeException e) {
+            // expected
+        }
+        assertEquals(4, courseOne.getCredits());
+    }
+
     @Test
     public void testToString() {
         // test method with no assignments added
@@ -264,6 +331,7 @@ public class CourseTest {
         assertEquals(json.get("name"), courseOne.getName());
         assertEquals(json.get("ideal grade"), courseOne.getIdealGrade());
         assertEquals(json.get("predicted grade"), courseOne.getPredictedGrade());
+        assertEquals(json.get("credits"), courseOne.getCredits());
     }
 
     @Test
@@ -278,4 +346,87 @@ public class CourseTest {
         assertEquals("homework check", jsonArrayCourseTwo.getJSONObject(1).get("name"));
         assertEquals("midterm", jsonArrayCourseTwo.getJSONObject(2).get("name"));
     }
+
+    @Test
+    public void testListenerTold() throws InputOutOfRangeException {
+        List<String> events = new ArrayList<>();
+        courseTwo.addListener(recordingListener(events));
+
+        courseTwo.removeAssignment("midterm");
+        courseTwo.getAssignments().add(assignmentThree);
+        assertFalse(courseTwo.addAssignment(assignmentOne));
+        courseTwo.setIdealGrade(90);
+        courseTwo.setIdealGrade(90);
+        courseTwo.setPredictedGrade(60);
+
+        assertEquals(List.of("removed midterm", "added midterm", "ideal 83.0 to 90.0", "changed"), events);
+    }
+
+    // EFFECTS: returns a listener that records each event it is told of in events
+    private CourseListener recordingListener(List<String> events) {
+        return new CourseListener() {
+            @Override
+            public void assignmentAdded(Course course, Assignment assignment) {
+                events.add("added " + assignment.getName());
+            }
+
+            @Override
+            public void assignmentRemoved(Course course, Assignment assignment) {
+                events.add("removed " + assignment.getName());
+            }
+
+            @Override
+            public void idealGradeChanged(Course course, double oldIdealGrade) {
+                events.add("ideal " + oldIdealGrade + " to " + course.getIdealGrade());
+            }
+
+            @Override
+            public void courseChanged(Course course) {
+                events.add("changed");
+            }
+        };
+    }
+
+    @Test
+    public void testListenerRemoved() throws InputOutOfRangeException {
+        List<Course> changed = new ArrayList<>();
+        CourseListener listener = new CourseListener() {
+            @Override
+            public void courseChanged(Course course) {
+                changed.add(course);
+            }
+        };
+
+        courseOne.addListener(listener);
+        courseOne.addAssignment(assignmentOne);
+        courseOne.removeListener(listener);
+        courseOne.setIdealGrade(50);
+        courseOne.copy().addAssignment(assignmentTwo);
+
+        assertEquals(List.of(courseOne), changed);
+    }
+
+    @Test
+    public void testBatch() throws InputOutOfRangeException {
+        List<Course> changed = new ArrayList<>();
+        courseOne.addListener(new CourseListener() {
+            @Override
+            public void courseChanged(Course course) {
+                changed.add(course);
+            }
+        });
+
+        courseOne.beginBatch();
+        courseOne.beginBatch();
+        courseOne.addAssignment(assignmentOne);
+        courseOne.endBatch();
+        courseOne.setPredictedGrade(90);
+        assertTrue(changed.isEmpty());
+        courseOne.endBatch();
+        assertEquals(List.of(courseOne), changed);
+
+        courseOne.beginBatch();
+        courseOne.endBatch();
+        assertEquals(1, changed.size());
+    }
 }
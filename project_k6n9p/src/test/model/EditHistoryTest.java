@@ -0,0 +1,211 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EditHistoryTest {
+    private CourseList courseList;
+    private Course cpsc;
+    private Course math;
+    private EditHistory history;
+
+    @BeforeEach
+    public void runBefore() throws InputOutOfRangeException {
+        courseList = new CourseList();
+        cpsc = new Course("cpsc 210");
+        cpsc.addAssignment(new Assignment("midterm", 80, 30));
+        math = new Course("math 200");
+        courseList.getCourses().add(cpsc);
+        courseList.getCourses().add(math);
+        history = new EditHistory(courseList);
+    }
+
+    @Test
+    public void testNothingToUndo() {
+        assertFalse(history.canUndo());
+        assertFalse(history.canRedo());
+        assertFalse(history.undo());
+        assertFalse(history.redo());
+        assertEquals(2, courseList.getCourses().size());
+    }
+
+    @Test
+    public void testUndoRedoAssignments() throws InputOutOfRangeException {
+        Assignment lab = new Assignment("lab", 90, 20);
+        cpsc.addAssignment(lab);
+        cpsc.removeAssignment("midterm");
+
+        assertTrue(history.undo());
+        assertEquals(2, cpsc.numAssignments());
+        assertEquals("midterm", cpsc.getAssignments().get(0).getName());
+        assertTrue(history.undo());
+        assertEquals(1, cpsc.numAssignments());
+        assertEquals(80, cpsc.getCurrentGrade());
+        assertFalse(history.canUndo());
+
+        assertTrue(history.redo());
+        assertSame(lab, cpsc.getAssignments().get(1));
+        assertEquals(84, cpsc.getCurrentGrade(), 1e-9);
+        assertTrue(history.redo());
+        assertEquals(List.of(lab), new ArrayList<>(cpsc.getAssignments()));
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    public void testUndoRedoGrades() throws InputOutOfRangeException {
+        math.setIdealGrade(90);
+        math.setPredictedGrade(70);
+        math.setCredits(4);
+
+        history.undo();
+        assertEquals(3, math.getCredits());
+        assertEquals(70, math.getPredictedGrade());
+        history.undo();
+        history.undo();
+        assertEquals(83, math.getIdealGrade());
+        assertEquals(75, math.getPredictedGrade());
+        history.redo();
+        assertEquals(90, math.getIdealGrade());
+        assertEquals(75, math.getPredictedGrade());
+    }
+
+    @Test
+    public void testUndoRedoCourses() {
+        Course phys = new Course("phys 100");
+        courseList.getCourses().add(1, phys);
+        courseList.getCourses().remove(cpsc);
+
+        history.undo();
+        assertEquals(List.of(cpsc, phys, math), new ArrayList<>(courseList.getCourses()));
+        assertEquals(1, cpsc.numAssignments());
+        history.undo();
+        assertEquals(List.of(cpsc, math), new ArrayList<>(courseList.getCourses()));
+        history.redo();
+        history.redo();
+        assertEquals(List.of(phys, math), new ArrayList<>(courseList.getCourses()));
+    }
+
+    @Test
+    public void testNewEditForgetsRedo() {
+        courseList.getCourses().add(new Course("phys 100"));
+        history.undo();
+        assertTrue(history.canRedo());
+
+        courseList.getCourses().remove(math);
+        assertFalse(history.canRedo());
+        history.undo();
+        assertEquals(List.of(cpsc, math), new ArrayList<>(courseList.getCourses()));
+    }
+
+    @Test
+    public void testBatchUndoneAsOne() throws InputOutOfRangeException {
+        courseList.beginBatch();
+        cpsc.addAssignment(new Assignment("lab", 90, 20));
+        courseList.getCourses().add(new Course("phys 100"));
+        math.setIdealGrade(95);
+        courseList.endBatch();
+
+        cpsc.beginBatch();
+        cpsc.addAssignment(new Assignment("quiz", 70, 10));
+        cpsc.addAssignment(new Assignment("essay", 60, 10));
+        cpsc.endBatch();
+
+        history.undo();
+        assertEquals(2, cpsc.numAssignments());
+        history.undo();
+        assertEquals(1, cpsc.numAssignments());
+        assertEquals(2, courseList.getCourses().size());
+        assertEquals(83, math.getIdealGrade());
+        assertFalse(history.canUndo());
+    }
+
+    @Test
+    public void testUndoNotifiesListeners() {
+        List<String> events = new ArrayList<>();
+        courseList.addListener(new CourseListListener() {
+            @Override
+            public void courseListChanged(CourseList courseList) {
+                events.add("changed");
+            }
+        });
+        courseList.getCourses().add(new Course("phys 100"));
+        events.clear();
+
+        history.undo();
+        assertEquals(List.of("changed"), events);
+        assertTrue(history.canRedo());
+        assertEquals(2, courseList.getCourses().size());
+    }
+
+    @Test
+    public void testUndoOnlyTouchesEditedCourse() throws InputOutOfRangeException {
+        List<String> events = recordEvents();
+        math.setIdealGrade(95);
+        courseList.getCourses().remove(cpsc);
+        events.clear();
+
+        history.undo();
+        history.undo();
+        history.redo();
+        assertEquals(List.of("added 0 cpsc 210", "changed math 200", "changed math 200"), events);
+        assertEquals(95, math.getIdealGrade());
+        assertTrue(history.redo());
+        assertEquals(List.of(math), courseList.getCourses());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a list that every change to the course list is recorded in from now on
+    private List<String> recordEvents() {
+        List<String> events = new ArrayList<>();
+        courseList.addListener(new CourseListListener() {
+            @Override
+            public void courseAdded(CourseList courseList, int index, Course course) {
+                events.add("added " + index + " " + course.getName());
+            }
+
+            @Override
+            public void courseRemoved(CourseList courseList, int index, Course course) {
+                events.add("removed " + index + " " + course.getName());
+            }
+
+            @Override
+            public void courseChanged(Course course) {
+                events.add("changed " + course.getName());
+            }
+
+            @Override
+            public void courseListChanged(CourseList courseList) {
+                events.add("list changed");
+            }
+        });
+        return events;
+    }
+
+    @Test
+    public void testLimit() {
+        EditHistory limited = new EditHistory(courseList, 2);
+        for (int i = 0; i < 5; i++) {
+            courseList.getCourses().add(new Course("course " + i));
+        }
+
+        assertTrue(limited.undo());
+        assertTrue(limited.undo());
+        assertFalse(limited.undo());
+        assertEquals(5, courseList.getCourses().size());
+        limited.close();
+    }
+
+    @Test
+    public void testClose() {
+        history.close();
+        courseList.getCourses().add(new Course("phys 100"));
+
+        assertFalse(history.canUndo());
+    }
+}
@@ -0,0 +1,100 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FinalGradeSimulatorTest {
+    private static final int TRIALS = 200_000;
+    private static final long SEED = 210;
+
+    private Course course;
+
+    @BeforeEach
+    public void runBefore() throws InputOutOfRangeException {
+        course = new Course("cpsc 210");
+        course.addAssignment(new Assignment("midterm", 70, 25));
+        course.addAssignment(new Assignment("lab", 90, 25));
+    }
+
+    @Test
+    public void testMeanFollowsCurrentGrade() {
+        SimulationResult result = new FinalGradeSimulator(SEED).simulate(course, TRIALS);
+
+        assertEquals(TRIALS, result.getTrials());
+        assertEquals(course.getIdealGrade(), result.getIdealGrade());
+        assertEquals(80, result.getMeanFinalGrade(), 0.2);
+        assertTrue(result.getFinalGradeDeviation() > 0);
+        assertTrue(result.getFinalGradeDeviation() < 10);
+        assertEquals(80, result.getFinalGradeQuantile(0.5), 0.3);
+    }
+
+    @Test
+    public void testProbabilityOfIdealGrade() throws InputOutOfRangeException {
+        SimulationResult result = new FinalGradeSimulator(SEED).simulate(course, TRIALS);
+        double probability = result.getProbabilityOfIdealGrade();
+
+        assertTrue(probability > 0.1 && probability < 0.5);
+
+        course.setIdealGrade(50);
+        assertEquals(1, new FinalGradeSimulator(SEED).simulate(course, TRIALS).getProbabilityOfIdealGrade(), 1e-3);
+        course.setIdealGrade(99);
+        assertEquals(0, new FinalGradeSimulator(SEED).simulate(course, TRIALS).getProbabilityOfIdealGrade(), 1e-3);
+    }
+
+    @Test
+    public void testSameSeedSameResult() {
+        SimulationResult first = new FinalGradeSimulator(SEED).simulate(course, TRIALS);
+        SimulationResult second = new FinalGradeSimulator(SEED).simulate(course, TRIALS);
+
+        assertEquals(first.getProbabilityOfIdealGrade(), second.getProbabilityOfIdealGrade());
+        assertEquals(first.getMeanFinalGrade(), second.getMeanFinalGrade());
+        assertEquals(first.getFinalGradeQuantile(0.05), second.getFinalGradeQuantile(0.05));
+    }
+
+    @Test
+    public void testGradesKeptWithinBounds() throws InputOutOfRangeException {
+        List<RemainingAssignment> remaining = List.of(new RemainingAssignment("final", 50, 60, 60));
+        SimulationResult result = new FinalGradeSimulator(SEED).simulate(course, remaining, 1000);
+
+        assertEquals(70, result.getFinalGradeQuantile(0), 1e-9);
+        assertEquals(70, result.getFinalGradeQuantile(1), 1e-9);
+        assertEquals(70, result.getMeanFinalGrade(), 1e-9);
+        assertEquals(0, result.getProbabilityOfIdealGrade());
+    }
+
+    @Test
+    public void testNoGradesUsesPredictedGrade() throws InputOutOfRangeException {
+        Course empty = new Course("math 200");
+        empty.setPredictedGrade(75);
+        SimulationResult result = new FinalGradeSimulator(SEED).simulate(empty, TRIALS);
+
+        assertEquals(75, result.getMeanFinalGrade(), 0.3);
+        for (double fraction = 0; fraction <= 1; fraction += 0.25) {
+            double quantile = result.getFinalGradeQuantile(fraction);
+            assertTrue(quantile >= 0 && quantile <= 100);
+        }
+    }
+
+    @Test
+    public void testNoTrials() {
+        SimulationResult result = new FinalGradeSimulator(SEED).simulate(course, 0);
+
+        assertEquals(0, result.getTrials());
+        assertTrue(Double.isNaN(result.getProbabilityOfIdealGrade()));
+        assertTrue(Double.isNaN(result.getMeanFinalGrade()));
+        assertTrue(Double.isNaN(result.getFinalGradeQuantile(0.5)));
+    }
+
+    @Test
+    public void testToString() {
+        String description = new FinalGradeSimulator(SEED).simulate(course, 1000).toString();
+
+        assertTrue(description.contains("chance of reaching"));
+        assertTrue(description.contains("1,000 simulations"));
+    }
+}
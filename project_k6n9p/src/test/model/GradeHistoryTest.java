@@ -0,0 +1,193 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradeHistoryTest {
+    private static final double DELTA = 1e-9;
+
+    private long now;
+    private Course course;
+
+    @BeforeEach
+    public void runBefore() {
+        now = 1_000_000;
+        course = new Course("cpsc 210");
+        course.setHistory(new GradeHistory(() -> now));
+    }
+
+    @Test
+    public void testEmpty() {
+        GradeHistory history = course.getHistory();
+
+        assertTrue(history.isEmpty());
+        assertEquals(0, history.size());
+        assertNull(history.at(Long.MAX_VALUE));
+        assertTrue(history.range(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+        assertTrue(history.downsample(0, 100, 10).isEmpty());
+        assertTrue(GradeHistory.decode(history.encode()).isEmpty());
+    }
+
+    @Test
+    public void testEveryChangeRecorded() throws InputOutOfRangeException {
+        course.addAssignment(new Assignment("midterm", 70, 25));
+        now += 10;
+        course.addAssignment(new Assignment("lab", 90, 25));
+        now += 10;
+        course.setIdealGrade(90);
+        now += 10;
+        course.setPredictedGrade(80);
+        course.setCredits(4);
+        course.setCredits(4);
+        now += 10;
+        course.removeAssignment("lab");
+
+        List<GradePoint> points = course.getHistory().range(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(6, points.size());
+        checkPoint(points.get(0), 1_000_000, 70, 25, 1);
+        checkPoint(points.get(1), 1_000_010, 80, 50, 2);
+        assertEquals(90, points.get(2).getIdealGrade(), DELTA);
+        assertEquals(80, points.get(3).getPredictedGrade(), DELTA);
+        assertEquals(4, points.get(4).getCredits(), DELTA);
+        checkPoint(points.get(5), 1_000_040, 70, 25, 1);
+    }
+
+    @Test
+    public void testNoGradeYet() throws InputOutOfRangeException {
+        course.setIdealGrade(90);
+
+        GradePoint point = course.getHistory().at(now);
+        assertTrue(Double.isNaN(point.getCurrentGrade()));
+        assertEquals(0, point.getNumAssignments());
+    }
+
+    @Test
+    public void testBatchRecordedOnce() throws InputOutOfRangeException {
+        course.beginBatch();
+        for (int i = 0; i < 10; i++) {
+            course.addAssignment(new Assignment("lab " + i, 50 + i, 5));
+        }
+        course.endBatch();
+
+        assertEquals(1, course.getHistory().size());
+        checkPoint(course.getHistory().at(now), now, 54.5, 50, 10);
+    }
+
+    @Test
+    public void testClockGoingBack() throws InputOutOfRangeException {
+        course.addAssignment(new Assignment("midterm", 70, 25));
+        now -= 500;
+        course.addAssignment(new Assignment("lab", 90, 25));
+
+        assertEquals(1_000_000, course.getHistory().at(Long.MAX_VALUE).getTime());
+    }
+
+    @Test
+    public void testRangeAndAtAcrossCheckpoints() throws InputOutOfRangeException {
+        recordLabs(1000);
+        GradeHistory history = course.getHistory();
+
+        List<GradePoint> points = history.range(1_000_000 + 500 * 60, 1_000_000 + 510 * 60);
+        assertEquals(11, points.size());
+        checkPoint(points.get(0), 1_000_000 + 500 * 60, 80, 501 * 0.05, 501);
+        checkPoint(points.get(10), 1_000_000 + 510 * 60, 80, 511 * 0.05, 511);
+
+        checkPoint(history.at(1_000_000 + 700 * 60 + 59), 1_000_000 + 700 * 60, 80, 701 * 0.05, 701);
+        assertNull(history.at(999_999));
+        assertEquals(1000, history.range(Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+
+    @Test
+    public void testDownsample() throws InputOutOfRangeException {
+        recordLabs(1000);
+        GradeHistory history = course.getHistory();
+        long last = 1_000_000 + 999 * 60;
+
+        List<GradePoint> points = history.downsample(1_000_000, last, 10);
+        assertEquals(10, points.size());
+        assertEquals(last, points.get(9).getTime());
+        for (int i = 1; i < points.size(); i++) {
+            assertTrue(points.get(i).getTime() > points.get(i - 1).getTime());
+        }
+
+        assertEquals(1000, history.downsample(1_000_000, last, 5000).size());
+        assertEquals(1, history.downsample(1_000_000, last, 1).size());
+    }
+
+    @Test
+    public void testEncodeDecode() throws InputOutOfRangeException {
+        recordLabs(300);
+        GradeHistory history = course.getHistory();
+        GradeHistory decoded = GradeHistory.decode(history.encode());
+
+        assertEquals(history.size(), decoded.size());
+        assertEquals(history.getEncodedSize(), decoded.getEncodedSize());
+        List<GradePoint> original = history.range(Long.MIN_VALUE, Long.MAX_VALUE);
+        List<GradePoint> copy = decoded.range(Long.MIN_VALUE, Long.MAX_VALUE);
+        for (int i = 0; i < original.size(); i++) {
+            checkPoint(copy.get(i), original.get(i).getTime(), original.get(i).getCurrentGrade(),
+                    original.get(i).getWeight(), original.get(i).getNumAssignments());
+        }
+        assertEquals(original.get(299).getIdealGrade(), copy.get(299).getIdealGrade(), DELTA);
+    }
+
+    @Test
+    public void testCompact() throws InputOutOfRangeException {
+        recordLabs(1000);
+
+        assertTrue(course.getHistory().getEncodedSize() < 8 * 1000);
+    }
+
+    @Test
+    public void testOldestPointsThinnedOut() throws InputOutOfRangeException {
+        course.setHistory(new GradeHistory(() -> now, 100));
+        recordLabs(1000);
+        GradeHistory history = course.getHistory();
+        long last = 1_000_000 + 999 * 60;
+
+        assertTrue(history.size() <= 100);
+        assertTrue(history.size() >= 75);
+        checkPoint(history.at(Long.MAX_VALUE), last, 80, 1000 * 0.05, 1000);
+        assertEquals(25, history.range(last - 24 * 60, last).size());
+        assertEquals(history.size(), history.range(Long.MIN_VALUE, Long.MAX_VALUE).size());
+        assertTrue(history.range(Long.MIN_VALUE, 1_000_000 + 500 * 60).size() < 50);
+
+        GradeHistory decoded = GradeHistory.decode(history.encode());
+        assertEquals(history.size(), decoded.size());
+        checkPoint(decoded.at(last), last, 80, 1000 * 0.05, 1000);
+    }
+
+    @Test
+    public void testDefaultLimit() throws InputOutOfRangeException {
+        recordLabs(GradeHistory.MAX_POINTS + 1);
+
+        assertTrue(course.getHistory().size() <= GradeHistory.MAX_POINTS);
+    }
+
+    @Test
+    public void testDecodeInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> GradeHistory.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> GradeHistory.decode("gA=="));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds count assignments of 80 a minute apart, each weighing 0.05
+    private void recordLabs(int count) throws InputOutOfRangeException {
+        for (int i = 0; i < count; i++) {
+            course.addAssignment(new Assignment("lab " + i, 80, 0.05));
+            now += 60;
+        }
+    }
+
+    private void checkPoint(GradePoint point, long time, double currentGrade, double weight, int numAssignments) {
+        assertEquals(time, point.getTime());
+        assertEquals(currentGrade, point.getCurrentGrade(), 0.005);
+        assertEquals(weight, point.getWeight(), 0.005);
+        assertEquals(numAssignments, point.getNumAssignments());
+    }
+}
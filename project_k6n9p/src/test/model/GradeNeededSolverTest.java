@@ -0,0 +1,140 @@
+package model;
+
+import exceptions.InputOutOfRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradeNeededSolverTest {
+    private static final double DELTA = 1e-9;
+
+    private Course course;
+
+    @BeforeEach
+    public void runBefore() throws InputOutOfRangeException {
+        course = new Course("cpsc 210");
+        course.addAssignment(new Assignment("midterm", 80, 50));
+    }
+
+    @Test
+    public void testRestOfCourse() {
+        GradePlan plan = GradeNeededSolver.solve(course);
+
+        assertTrue(plan.isFeasible());
+        assertEquals(1, plan.getRemaining().size());
+        assertEquals(50, plan.getRemaining().get(0).getWeight());
+        assertEquals(course.calculateIdealFinalGrade(), plan.getGrade(0), 0.005);
+        assertEquals(83, plan.getFinalGrade(), DELTA);
+    }
+
+    @Test
+    public void testHighestGradeCapped() throws InputOutOfRangeException {
+        List<RemainingAssignment> remaining = List.of(new RemainingAssignment("lab", 20, 0, 70),
+                new RemainingAssignment("final", 30));
+        GradePlan plan = GradeNeededSolver.solve(course, remaining);
+
+        assertTrue(plan.isFeasible());
+        assertEquals(70, plan.getGrade(0), DELTA);
+        assertEquals(290 / 3.0, plan.getGrade(1), DELTA);
+        assertEquals(290 / 3.0, plan.getHighestGrade(), DELTA);
+        assertEquals(83, plan.getFinalGrade(), DELTA);
+    }
+
+    @Test
+    public void testLowestGradeRaised() throws InputOutOfRangeException {
+        List<RemainingAssignment> remaining = List.of(new RemainingAssignment("lab", 20, 90, 100),
+                new RemainingAssignment("final", 30));
+        GradePlan plan = GradeNeededSolver.solve(course, remaining);
+
+        assertEquals(90, plan.getGrade(0), DELTA);
+        assertEquals(250 / 3.0, plan.getGrade(1), DELTA);
+        assertEquals(83, plan.getFinalGrade(), DELTA);
+    }
+
+    @Test
+    public void testNotReachable() throws InputOutOfRangeException {
+        course.setIdealGrade(95);
+        List<RemainingAssignment> remaining = List.of(new RemainingAssignment("lab", 20, 0, 70),
+                new RemainingAssignment("final", 30));
+        GradePlan plan = GradeNeededSolver.solve(course, remaining);
+
+        assertFalse(plan.isFeasible());
+        assertEquals(70, plan.getGrade(0));
+        assertEquals(100, plan.getGrade(1));
+        assertEquals(84, plan.getFinalGrade(), DELTA);
+    }
+
+    @Test
+    public void testAlreadyReached() throws InputOutOfRangeException {
+        course.setIdealGrade(30);
+        List<RemainingAssignment> remaining = List.of(new RemainingAssignment("lab", 20, 10, 70),
+                new RemainingAssignment("final", 30));
+        GradePlan plan = GradeNeededSolver.solve(course, remaining);
+
+        assertTrue(plan.isFeasible());
+        assertEquals(10, plan.getGrade(0));
+        assertEquals(0, plan.getGrade(1));
+        assertEquals(42, plan.getFinalGrade(), DELTA);
+
+        GradePlan empty = GradeNeededSolver.solve(40, new ArrayList<>(), 50);
+        assertFalse(empty.isFeasible());
+        assertEquals(0, empty.getHighestGrade());
+    }
+
+    @Test
+    public void testPlansAreLevelled() throws InputOutOfRangeException {
+        SplittableRandom random = new SplittableRandom(41);
+
+        for (int trial = 0; trial < 1000; trial++) {
+            List<RemainingAssignment> remaining = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(12); i++) {
+                double low = random.nextInt(60);
+                double high = low + random.nextInt(101 - (int) low);
+                remaining.add(new RemainingAssignment("item " + i, random.nextInt(8), low, high));
+            }
+            GradePlan plan = GradeNeededSolver.solve(random.nextInt(30), remaining, 20 + random.nextInt(80));
+            assertLevelled(plan);
+        }
+    }
+
+    @Test
+    public void testSolveAll() throws InputOutOfRangeException {
+        CourseList courseList = new CourseList();
+        courseList.getCourses().add(course);
+        courseList.getCourses().add(new Course("math 200"));
+
+        List<GradePlan> plans = GradeNeededSolver.solveAll(courseList);
+
+        assertEquals(2, plans.size());
+        assertEquals(86, plans.get(0).getGrade(0), DELTA);
+        assertEquals(83, plans.get(1).getGrade(0), DELTA);
+    }
+
+    @Test
+    public void testRemainingAssignmentOutOfRange() {
+        assertThrows(InputOutOfRangeException.class, () -> new RemainingAssignment("lab", 101));
+        assertThrows(InputOutOfRangeException.class, () -> new RemainingAssignment("lab", 10, 80, 70));
+        assertThrows(InputOutOfRangeException.class, () -> new RemainingAssignment("lab", 10, -1, 70));
+    }
+
+    // EFFECTS: fails unless no grade of plan could be lowered by raising a lower one: every assignment planned
+    //          below its highest grade is planned at least as high as every assignment above its lowest grade
+    private static void assertLevelled(GradePlan plan) {
+        List<RemainingAssignment> remaining = plan.getRemaining();
+
+        for (int i = 0; i < remaining.size(); i++) {
+            for (int j = 0; j < remaining.size(); j++) {
+                boolean isBelowHighest = plan.getGrade(i) < remaining.get(i).getMaxGrade() - DELTA;
+                boolean isAboveLowest = plan.getGrade(j) > remaining.get(j).getMinGrade() + DELTA;
+                if (isBelowHighest && isAboveLowest && remaining.get(i).getWeight() > 0) {
+                    assertTrue(plan.getGrade(i) >= plan.getGrade(j) - DELTA);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package model;
+
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameDictionaryTest {
+
+    @Test
+    public void testAddReusesReferences() {
+        NameDictionary names = new NameDictionary();
+
+        assertEquals(0, names.add("quiz 1"));
+        assertEquals(1, names.add("cpsc 210"));
+        assertEquals(0, names.add(new String("quiz 1")));
+        assertEquals(2, names.size());
+        assertEquals("cpsc 210", names.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> names.get(2));
+    }
+
+    @Test
+    public void testJsonRoundTrip() {
+        NameDictionary names = new NameDictionary();
+        names.add("midterm 1");
+        names.add("final");
+
+        JSONArray json = names.toJson();
+        assertEquals(List.of("midterm 1", "final"), json.toList());
+
+        NameDictionary read = NameDictionary.fromJson(json);
+        assertEquals(2, read.size());
+        assertEquals("final", read.get(1));
+        assertEquals(1, read.add("final"));
+    }
+
+    @Test
+    public void testIntern() {
+        String first = NameDictionary.intern(new String("lab 7"));
+        String second = NameDictionary.intern(new String("lab 7"));
+
+        assertEquals("lab 7", first);
+        assertSame(first, second);
+        assertSame(first, NameDictionary.fromJson(new JSONArray(List.of("lab 7"))).get(0));
+        assertNull(NameDictionary.intern(null));
+    }
+}
@@ -0,0 +1,105 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentListTest {
+
+    @Test
+    public void testEmpty() {
+        PersistentList<String> list = PersistentList.empty();
+
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+        assertFalse(list.iterator().hasNext());
+        assertThrows(NoSuchElementException.class, () -> list.iterator().next());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertEquals(-1, list.indexOf("a"));
+    }
+
+    @Test
+    public void testOf() {
+        PersistentList<Integer> list = PersistentList.of(List.of(1, 2, 3, 4, 5));
+
+        assertEquals(5, list.size());
+        assertEquals(List.of(1, 2, 3, 4, 5), list.toList());
+        assertEquals(3, list.get(2));
+        assertEquals(4, list.indexOf(5));
+        assertEquals("[1, 2, 3, 4, 5]", list.toString());
+    }
+
+    @Test
+    public void testVersionsUnchanged() {
+        PersistentList<String> first = PersistentList.<String>empty().add("a").add("b").add("c");
+        PersistentList<String> second = first.set(1, "x");
+        PersistentList<String> third = second.add(0, "y");
+        PersistentList<String> fourth = third.remove(3);
+
+        assertEquals(List.of("a", "b", "c"), first.toList());
+        assertEquals(List.of("a", "x", "c"), second.toList());
+        assertEquals(List.of("y", "a", "x", "c"), third.toList());
+        assertEquals(List.of("y", "a", "x"), fourth.toList());
+        assertThrows(IndexOutOfBoundsException.class, () -> first.add(4, "z"));
+        assertThrows(IndexOutOfBoundsException.class, () -> first.remove(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> first.set(-1, "z"));
+    }
+
+    @Test
+    public void testMatchesArrayList() {
+        Random random = new Random(210);
+        List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> list = PersistentList.empty();
+
+        for (int i = 0; i < 5000; i++) {
+            list = randomEdit(random, expected, list, i);
+        }
+
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected, list.toList());
+        for (int i = 0; i < expected.size(); i += 17) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    // MODIFIES: expected
+    // EFFECTS: makes the same random insertion of i, removal, or replacement by -i in expected and in list,
+    //          returning the new version of list
+    private PersistentList<Integer> randomEdit(Random random, List<Integer> expected, PersistentList<Integer> list,
+                                               int i) {
+        int operation = random.nextInt(4);
+
+        if (operation <= 1 || expected.isEmpty()) {
+            int index = random.nextInt(expected.size() + 1);
+            expected.add(index, i);
+            return list.add(index, i);
+        } else if (operation == 2) {
+            int index = random.nextInt(expected.size());
+            expected.remove(index);
+            return list.remove(index);
+        }
+        int index = random.nextInt(expected.size());
+        expected.set(index, -i);
+        return list.set(index, -i);
+    }
+
+    @Test
+    public void testIteratorInOrder() {
+        PersistentList<Integer> list = PersistentList.empty();
+        for (int i = 0; i < 100; i++) {
+            list = list.add(0, i);
+        }
+
+        Iterator<Integer> iterator = list.iterator();
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+    }
+}
@@ -0,0 +1,77 @@
+package persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressionTest {
+    private static final byte[] JSON = ("{\"courses\": [" + "{\"name\": \"cpsc 210\", \"assignments\": []},".repeat(200)
+            + "{}]}").getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testForFile() {
+        assertEquals(Compression.GZIP, Compression.forFile("./data/courses.json.gz"));
+        assertEquals(Compression.DEFLATE, Compression.forFile("courses.zz"));
+        assertEquals(Compression.DEFLATE, Compression.forFile("courses.deflate"));
+        assertEquals(Compression.NONE, Compression.forFile("./data/courses.json"));
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        for (Compression compression : Compression.values()) {
+            byte[] compressed = compress(compression, JSON);
+
+            assertArrayEquals(JSON, decompress(compressed), compression.name());
+            if (compression != Compression.NONE) {
+                assertTrue(compressed.length < JSON.length / 10, compression.name());
+            }
+        }
+    }
+
+    @Test
+    void testDetect() throws IOException {
+        assertEquals(Compression.NONE, detect(JSON));
+        assertEquals(Compression.NONE, detect(" \n{}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(Compression.NONE, detect(new byte[] {'{'}));
+        assertEquals(Compression.NONE, detect(new byte[0]));
+        assertEquals(Compression.GZIP, detect(compress(Compression.GZIP, JSON)));
+        assertEquals(Compression.GZIP, detect(compress(Compression.GZIP_FAST, JSON)));
+        assertEquals(Compression.DEFLATE, detect(compress(Compression.DEFLATE, JSON)));
+
+        BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream(JSON));
+        Compression.detect(in);
+        assertEquals('{', in.read());
+    }
+
+    // EFFECTS: returns data compressed as given
+    private byte[] compress(Compression compression, byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (OutputStream out = compression.compress(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    // EFFECTS: returns data decompressed as detected
+    private byte[] decompress(byte[] data) throws IOException {
+        try (InputStream in = Compression.decompress(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    // EFFECTS: returns the compression detected for data
+    private Compression detect(byte[] data) throws IOException {
+        return Compression.detect(new BufferedInputStream(new ByteArrayInputStream(data)));
+    }
+}
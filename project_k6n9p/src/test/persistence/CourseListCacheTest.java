@@ -0,0 +1,253 @@
+package persistence;
+
+import exceptions.InputOutOfRangeException;
+import model.Course;
+import model.CourseList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.GradebookGenerator;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseListCacheTest {
+    File directory;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("testCache").toFile();
+        writeGradebook("alice", 20);
+        writeGradebook("bob", 20);
+    }
+
+    @AfterEach
+    void runAfter() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    void testHitsAndMisses() throws IOException {
+        CourseListCache cache = new CourseListCache(directory.getPath(), Long.MAX_VALUE);
+
+        assertEquals(20, (int) cache.read("alice", courseList -> courseList.getCourses().size()));
+        assertEquals(20, (int) cache.read("alice", courseList -> courseList.getCourses().size()));
+        assertEquals(0, (int) cache.read("carol", courseList -> courseList.getCourses().size()));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getLoads());
+        assertEquals(2, stats.getEntryCount());
+        assertEquals(0, stats.getEvictions());
+        assertTrue(stats.getEstimatedBytes() > 0);
+        assertEquals(1.0 / 3, stats.getHitRate());
+    }
+
+    @Test
+    void testEditAndFlush() throws IOException, InputOutOfRangeException {
+        CourseListCache cache = new CourseListCache(directory.getPath(), Long.MAX_VALUE);
+        long bytesBefore = cache.read("carol", CourseListCache::estimateBytes);
+
+        cache.edit("carol", courseList -> courseList.getCourses().add(new Course("cpsc 210")));
+        assertTrue(cache.getStats().getEstimatedBytes() > bytesBefore);
+        assertFalse(new File(directory, "carol.json").exists());
+
+        cache.flush();
+        assertEquals(1, cache.getStats().getWriteBacks());
+        CourseList saved = new JsonReader(new File(directory, "carol.json").getPath()).read();
+        assertEquals("cpsc 210", saved.getCourses().get(0).getName());
+
+        cache.flush();
+        assertEquals(1, cache.getStats().getWriteBacks());
+    }
+
+    @Test
+    void testHistoryCountedInEstimate() throws InputOutOfRangeException {
+        CourseList courseList = new CourseList();
+        Course course = new Course("cpsc 210");
+        courseList.getCourses().add(course);
+        long bytesBefore = CourseListCache.estimateBytes(courseList);
+
+        for (int i = 0; i < 100; i++) {
+            course.setIdealGrade(50 + i % 2);
+        }
+        assertEquals(bytesBefore + course.getHistory().getEncodedSize(), CourseListCache.estimateBytes(courseList));
+        assertTrue(course.getHistory().getEncodedSize() > 0);
+    }
+
+    @Test
+    void testEditWithoutChangesNotWrittenBack() throws IOException {
+        CourseListCache cache = new CourseListCache(directory.getPath(), Long.MAX_VALUE);
+        long bytesBefore = cache.read("alice", CourseListCache::estimateBytes);
+
+        cache.edit("alice", courseList -> courseList.removeCourseByName("no such course"));
+        cache.flush();
+        assertEquals(0, cache.getStats().getWriteBacks());
+
+        cache.edit("alice", courseList -> courseList.getCourses().get(0).getAssignments().remove(0));
+        assertTrue(cache.getStats().getEstimatedBytes() < bytesBefore);
+        assertEquals(cache.read("alice", CourseListCache::estimateBytes), cache.getStats().getEstimatedBytes());
+        cache.flush();
+        assertEquals(1, cache.getStats().getWriteBacks());
+    }
+
+    @Test
+    void testEvictionWritesBack() throws IOException {
+        CourseListCache cache = new CourseListCache(directory.getPath(), 1);
+
+        cache.edit("alice", courseList -> courseList.removeCourseByName(courseList.getCourses().get(0).getName()));
+        cache.read("bob", CourseList::numAssignments);
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getEntryCount());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(1, stats.getWriteBacks());
+
+        assertEquals(19, (int) cache.read("alice", courseList -> courseList.getCourses().size()));
+        assertEquals(3, cache.getStats().getLoads());
+        assertEquals(2, cache.getStats().getEvictions());
+        assertEquals(1, cache.getStats().getWriteBacks());
+    }
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        writeGradebook("carol", 20000);
+        CourseListCache cache = new CourseListCache(directory.getPath(), Long.MAX_VALUE);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            results.add(threads.submit(() -> {
+                startGate.await();
+                return cache.read("carol", courseList -> courseList.getCourses().size());
+            }));
+        }
+        startGate.countDown();
+        for (Future<Integer> result : results) {
+            assertEquals(20000, result.get());
+        }
+        threads.shutdown();
+
+        assertEquals(1, cache.getStats().getLoads());
+        assertEquals(8, cache.getStats().getHits() + cache.getStats().getMisses());
+    }
+
+    @Test
+    void testLoadFailure() throws IOException {
+        try (Writer writer = new FileWriter(new File(directory, "dave.json"))) {
+            writer.write("{\"courses\": [");
+        }
+        CourseListCache cache = new CourseListCache(directory.getPath(), Long.MAX_VALUE);
+
+        try {
+            cache.read("dave", CourseList::numAssignments);
+            fail("IOException not thrown when it should have.");
+        } catch (IOException e) {
+            // expect this
+        }
+        assertEquals(1, cache.getStats().getLoadFailures());
+        assertEquals(0, cache.getStats().getEntryCount());
+    }
+
+    @Test
+    void testFailedWriteBackKeepsEdits() throws IOException, InputOutOfRangeException {
+        CourseListCache cache = new CourseListCache(directory.getPath(), 1);
+        File carol = new File(directory, "carol.json");
+        File blocker = new File(carol, "blocker");
+
+        cache.edit("carol", courseList -> courseList.getCourses().add(new Course("cpsc 210")));
+        assertTrue(blocker.mkdirs());
+        cache.read("bob", CourseList::numAssignments);
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getWriteBackFailures());
+        assertEquals(0, stats.getEvictions());
+        assertEquals(2, stats.getEntryCount());
+        assertEquals(1, (int) cache.read("carol", courseList -> courseList.getCourses().size()));
+        assertEquals(2, cache.getStats().getLoads());
+
+        assertThrows(IOException.class, cache::flush);
+        assertTrue(blocker.delete() && carol.delete());
+        cache.flush();
+        assertEquals("cpsc 210", new JsonReader(carol.getPath()).read().getCourses().get(0).getName());
+        assertEquals(3, directory.listFiles().length);
+    }
+
+    @Test
+    void testLoadDuringFailedWriteBackKeepsEdits() throws Exception {
+        CourseListCache cache = new CourseListCache(directory.getPath(), 1);
+        File carol = new File(directory, "carol.json");
+        File blocker = new File(carol, "blocker");
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        cache.edit("carol", courseList -> courseList.getCourses().add(new Course("cpsc 210")));
+        assertTrue(blocker.mkdirs());
+        FutureTask<Integer> reader = start(() -> cache.read("carol", courseList -> {
+            reading.countDown();
+            release.await();
+            return courseList.getCourses().size();
+        }));
+        reading.await();
+        FutureTask<Long> evicter = start(() -> cache.read("bob", CourseList::numAssignments));
+        FutureTask<Integer> loader = start(() -> cache.read("carol", courseList -> courseList.getCourses().size()));
+        release.countDown();
+
+        assertEquals(1, reader.get());
+        evicter.get();
+        assertEquals(1, loader.get());
+        assertEquals(1, cache.getStats().getWriteBackFailures());
+        assertEquals(2, cache.getStats().getEntryCount());
+        assertEquals(cache.read("carol", CourseListCache::estimateBytes)
+                + cache.read("bob", CourseListCache::estimateBytes), cache.getStats().getEstimatedBytes());
+    }
+
+    @Test
+    void testIsValidTenant() {
+        assertTrue(CourseListCache.isValidTenant("student_01-a"));
+        assertFalse(CourseListCache.isValidTenant(""));
+        assertFalse(CourseListCache.isValidTenant("../courses"));
+        assertFalse(CourseListCache.isValidTenant("a b"));
+    }
+
+    // EFFECTS: runs task on a new thread, and returns it once the thread is waiting, such as for a lock held by
+    //          another thread
+    private <T> FutureTask<T> start(Callable<T> task) throws InterruptedException {
+        FutureTask<T> future = new FutureTask<>(task);
+        Thread thread = new Thread(future);
+
+        thread.start();
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        return future;
+    }
+
+    // EFFECTS: writes a generated gradebook with the given number of courses for tenant
+    private void writeGradebook(String tenant, int courseCount) throws IOException {
+        GradebookGenerator generator = new GradebookGenerator(tenant.hashCode());
+        generator.setCoursesPerStudent(courseCount);
+
+        try (Writer writer = new FileWriter(new File(directory, tenant + ".json"))) {
+            generator.generate(writer);
+        }
+    }
+}
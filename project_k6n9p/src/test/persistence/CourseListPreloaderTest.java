@@ -0,0 +1,56 @@
+package persistence;
+
+import model.CourseList;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseListPreloaderTest {
+
+    @Test
+    void testTakeUnchangedFile() {
+        CourseListPreloader preloader = new CourseListPreloader("./data/testReaderGeneralCourseList.json");
+        preloader.start();
+
+        assertTrue(preloader.awaitDone());
+        CourseList courseList = preloader.take();
+        assertEquals(2, courseList.getCourses().size());
+        assertEquals("math", courseList.getCourses().get(0).getName());
+
+        // the preloaded course list is only handed out once
+        assertNull(preloader.take());
+    }
+
+    @Test
+    void testTakeNonExistentFile() {
+        CourseListPreloader preloader = new CourseListPreloader("./data/noSuchFile.json");
+        preloader.start();
+
+        assertFalse(preloader.awaitDone());
+        assertNull(preloader.take());
+    }
+
+    @Test
+    void testTakeChangedFile() throws IOException {
+        Path file = Files.createTempFile("preloader", ".json");
+        try {
+            Files.copy(Paths.get("./data/testReaderGeneralCourseList.json"), file,
+                    StandardCopyOption.REPLACE_EXISTING);
+            CourseListPreloader preloader = new CourseListPreloader(file.toString());
+            preloader.start();
+            assertTrue(preloader.awaitDone());
+
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60000));
+            assertNull(preloader.take());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
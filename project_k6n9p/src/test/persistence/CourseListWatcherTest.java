@@ -0,0 +1,95 @@
+package persistence;
+
+import exceptions.InputOutOfRangeException;
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseListWatcherTest {
+    private static final long DEBOUNCE_MILLIS = 100;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private Path directory;
+    private File file;
+    private BlockingQueue<CourseList> reloads;
+    private CourseListWatcher watcher;
+
+    @BeforeEach
+    void runBefore() throws IOException, InputOutOfRangeException {
+        directory = Files.createTempDirectory("testCourseListWatcher");
+        file = directory.resolve("courses.json").toFile();
+        write("math", 80);
+        reloads = new LinkedBlockingQueue<>();
+        watcher = new CourseListWatcher(file.getPath(), DEBOUNCE_MILLIS, reloads::add);
+        watcher.start();
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        watcher.close();
+        file.delete();
+        Files.delete(directory);
+    }
+
+    @Test
+    void testRewriteReloaded() throws IOException, InputOutOfRangeException, InterruptedException {
+        write("phys", 70);
+
+        CourseList reloaded = reloads.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(reloaded);
+        assertEquals("phys", reloaded.getCourses().get(0).getName());
+        assertEquals(70, reloaded.getCourses().get(0).calculateCurrentGrade());
+    }
+
+    @Test
+    void testBurstOfWritesReloadsLatest() throws IOException, InputOutOfRangeException, InterruptedException {
+        for (int grade = 50; grade <= 60; grade++) {
+            write("math", grade);
+        }
+
+        CourseList reloaded = reloads.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(reloaded);
+        while (reloaded.getCourses().get(0).calculateCurrentGrade() != 60) {
+            reloaded = reloads.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(reloaded);
+        }
+        assertTrue(reloads.size() <= 1);
+    }
+
+    @Test
+    void testOtherFilesIgnored() throws IOException, InterruptedException {
+        Path other = directory.resolve("other.json");
+        try {
+            Files.writeString(other, "{}");
+            assertNull(reloads.poll(DEBOUNCE_MILLIS * 5, TimeUnit.MILLISECONDS));
+        } finally {
+            Files.delete(other);
+        }
+    }
+
+    // EFFECTS: writes a course list of one course with the given name and one assignment with grade to file
+    private void write(String name, double grade) throws IOException, InputOutOfRangeException {
+        CourseList courseList = new CourseList();
+        Course course = new Course(name);
+        course.addAssignment(new Assignment("midterm", grade, 30));
+        courseList.getCourses().add(course);
+
+        JsonWriter writer = new JsonWriter(file.getPath());
+        writer.open();
+        writer.write(courseList);
+        writer.close();
+    }
+}
@@ -0,0 +1,139 @@
+package persistence;
+
+import exceptions.InputOutOfRangeException;
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonReadCacheTest {
+    private File file;
+    private JsonReadCache cache;
+
+    @BeforeEach
+    void runBefore() throws IOException, InputOutOfRangeException {
+        file = File.createTempFile("testReadCache", ".json");
+        cache = new JsonReadCache(100);
+        write(file, "math", 80);
+    }
+
+    @AfterEach
+    void runAfter() {
+        file.delete();
+    }
+
+    @Test
+    void testHitReturnsIndependentCopies() throws IOException, InputOutOfRangeException {
+        CourseList first = new JsonReader(file.getPath(), cache).read();
+        CourseList second = new JsonReader(file.getPath(), cache).read();
+
+        assertEquals(1, cache.size());
+        assertNotSame(first.getCourses().get(0), second.getCourses().get(0));
+        assertEquals("math", second.getCourses().get(0).getName());
+        assertEquals(80, second.getCourses().get(0).calculateCurrentGrade());
+
+        second.getCourses().get(0).addAssignment(new Assignment("final", 40, 50));
+        second.getCourses().get(0).setCredits(4);
+        CourseList third = new JsonReader(file.getPath(), cache).read();
+        assertEquals(1, third.getCourses().get(0).numAssignments());
+        assertEquals(Course.DEFAULT_CREDITS, third.getCourses().get(0).getCredits());
+        assertEquals(first.getCourses().get(0).getHistory().size(), third.getCourses().get(0).getHistory().size());
+    }
+
+    @Test
+    void testStreamedChecksumCoversWholeFile() throws IOException, InputOutOfRangeException {
+        File compressed = File.createTempFile("testReadCache", ".json.gz");
+        try {
+            write(compressed, "phys", 60);
+            for (File read : new File[] {file, compressed}) {
+                new JsonReader(read.getPath(), cache).read();
+                Path path = read.toPath().toAbsolutePath().normalize();
+                long modified = Files.getLastModifiedTime(path).toMillis();
+                CRC32C checksum = new CRC32C();
+                checksum.update(Files.readAllBytes(path));
+
+                assertTrue(cache.isCandidate(path, read.length(), modified));
+                assertNotNull(cache.get(path, read.length(), modified, checksum.getValue()));
+            }
+        } finally {
+            compressed.delete();
+        }
+    }
+
+    @Test
+    void testChangedFileParsedAgain() throws IOException, InputOutOfRangeException {
+        new JsonReader(file.getPath(), cache).read();
+        write(file, "math", 70);
+
+        assertEquals(70, new JsonReader(file.getPath(), cache).read().getCourses().get(0).calculateCurrentGrade());
+    }
+
+    @Test
+    void testSameSizeAndTimeDetectedByChecksum() throws IOException, InputOutOfRangeException {
+        new JsonReader(file.getPath(), cache).read();
+        FileTime modified = Files.getLastModifiedTime(file.toPath());
+        long size = file.length();
+
+        write(file, "phys", 80);
+        Files.setLastModifiedTime(file.toPath(), modified);
+        assertEquals(size, file.length());
+        assertEquals("phys", new JsonReader(file.getPath(), cache).read().getCourses().get(0).getName());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() throws IOException, InputOutOfRangeException {
+        File other = File.createTempFile("testReadCache", ".json");
+        try {
+            cache = new JsonReadCache(1);
+            write(other, "phys", 60);
+            new JsonReader(file.getPath(), cache).read();
+            new JsonReader(other.getPath(), cache).read();
+
+            assertEquals(1, cache.size());
+            assertEquals("phys", new JsonReader(other.getPath(), cache).read().getCourses().get(0).getName());
+        } finally {
+            other.delete();
+        }
+    }
+
+    @Test
+    void testInvalidate() throws IOException, InputOutOfRangeException {
+        new JsonReader(file.getPath(), cache).read();
+        cache.invalidate(file.toPath().toAbsolutePath().normalize());
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(file.toPath().toAbsolutePath(), file.length(), 0, 0));
+    }
+
+    @Test
+    void testMissingFile() {
+        JsonReader reader = new JsonReader("./data/noSuchFile.json", cache);
+
+        assertThrows(IOException.class, reader::read);
+        assertEquals(0, cache.size());
+    }
+
+    // EFFECTS: writes a course list of one course with the given name and one assignment with grade to file
+    private void write(File file, String name, double grade) throws IOException, InputOutOfRangeException {
+        CourseList courseList = new CourseList();
+        Course course = new Course(name);
+        course.addAssignment(new Assignment("midterm", grade, 30));
+        courseList.getCourses().add(course);
+
+        JsonWriter writer = new JsonWriter(file.getPath());
+        writer.open();
+        writer.write(courseList);
+        writer.close();
+    }
+}
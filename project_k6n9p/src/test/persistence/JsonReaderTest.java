@@ -6,7 +6,10 @@ import model.Course;
 import model.CourseList;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,6 +30,34 @@ public class JsonReaderTest extends JsonTest {
         }
     }
 
+    @Test
+    void testReaderCorruptHistory() throws IOException {
+        File file = File.createTempFile("testReaderCorruptHistory", ".json");
+        try {
+            Files.writeString(file.toPath(), "{\"courses\": [{\"name\": \"cpsc 210\", \"ideal grade\": 83,"
+                    + " \"predicted grade\": 77, \"assignments\": [], \"history\": \"gA==\"}]}");
+            JsonReader reader = new JsonReader(file.getPath());
+            try {
+                reader.read();
+                fail("IOException expected");
+            } catch (IOException e) {
+                // pass
+            } catch (InputOutOfRangeException e) {
+                fail("Exception should not have been thrown");
+            }
+            try {
+                reader.readEach(course -> fail("No course should have been read"));
+                fail("IOException expected");
+            } catch (IOException e) {
+                // pass
+            } catch (InputOutOfRangeException e) {
+                fail("Exception should not have been thrown");
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
     @Test
     void testReaderEmptyCourseList() {
         JsonReader reader = new JsonReader("./data/testReaderEmptyCourseList.json");
@@ -173,4 +204,48 @@ public class JsonReaderTest extends JsonTest {
             fail("IOException should not have been thrown");
         }
     }
+
+    @Test
+    void testReadEachGeneralCourseList() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralCourseList.json");
+        List<Course> courses = new ArrayList<>();
+        try {
+            int courseCount = reader.readEach(courses::add);
+
+            assertEquals(2, courseCount);
+            checkCourse(courses.get(0), "math", 83, 75);
+            checkAssignment(courses.get(0).getAssignments().get(1), "quiz 2", 70, 12);
+            checkCourse(courses.get(1), "science", 83, 75);
+            assertEquals(1, courses.get(1).numAssignments());
+        } catch (IOException e) {
+            fail("IOException should not have been thrown");
+        } catch (InputOutOfRangeException e) {
+            fail("InputOutOfRangeException should not have been thrown.");
+        }
+    }
+
+    @Test
+    void testReadEachEmptyCourseList() {
+        JsonReader reader = new JsonReader("./data/testReaderEmptyCourseList.json");
+        try {
+            assertEquals(0, reader.readEach(course -> fail("No course should have been read")));
+        } catch (IOException e) {
+            fail("IOException should not have been thrown");
+        } catch (InputOutOfRangeException e) {
+            fail("InputOutOfRangeException should not have been thrown.");
+        }
+    }
+
+    @Test
+    void testReadEachInvalidValues() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralCourseListInvalidValues.json");
+        try {
+            reader.readEach(course -> fail("No course should have been read"));
+            fail("InputOutOfRangeException expected");
+        } catch (IOException e) {
+            fail("IOException should not have been thrown");
+        } catch (InputOutOfRangeException e) {
+            // expect this to be thrown
+        }
+    }
 }
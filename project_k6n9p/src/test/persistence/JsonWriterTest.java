@@ -5,13 +5,21 @@ import exceptions.InputOutOfRangeException;
 import model.Assignment;
 import model.Course;
 import model.CourseList;
+import model.GradeHistory;
+import model.GradePoint;
 import org.junit.jupiter.api.Test;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class JsonWriterTest extends JsonTest {
@@ -28,6 +36,26 @@ public class JsonWriterTest extends JsonTest {
         }
     }
 
+    @Test
+    void testWriterFailedWriteThrowsOnClose() {
+        try {
+            CourseList courseList = new CourseList();
+            courseList.getCourses().add(new Course("cpsc 210"));
+            JsonWriter writer = new JsonWriter("./data/testWriterFailedWrite.json");
+            writer.open(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("No space left on device");
+                }
+            });
+            writer.write(courseList);
+            writer.close();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
     @Test
     void testWriterEmptyCourseList() {
         try {
@@ -59,10 +87,13 @@ public class JsonWriterTest extends JsonTest {
             Course courseTwo = new Course("science");
             Assignment assignmentOne = new Assignment("quiz 1", 80, 20);
             Assignment assignmentTwo = new Assignment("quiz 2", 70, 12);
+            courseOne.setHistory(new GradeHistory(() -> 1000));
+            courseTwo.setHistory(new GradeHistory(() -> 2000));
 
             courseOne.addAssignment(assignmentOne);
             courseOne.addAssignment(assignmentTwo);
             courseTwo.addAssignment(assignmentOne);
+            courseTwo.setCredits(4);
 
             courseList.getCourses().add(courseOne);
             courseList.getCourses().add(courseTwo);
@@ -79,6 +110,8 @@ public class JsonWriterTest extends JsonTest {
 
             // make sure two courses are in courseList
             assertEquals(2, courses.size());
+            checkCreditsAndAverage(courseList);
+            checkHistory(courses);
 
             // iterate through courseList to access all fields except list of assignments
             for (int i = 0; i < courses.size(); i++) {
@@ -119,5 +152,131 @@ public class JsonWriterTest extends JsonTest {
             fail("Exception should not have been thrown");
         }
     }
-}
 
+    private void checkCreditsAndAverage(CourseList courseList) {
+        List<Course> courses = courseList.getCourses();
+        assertEquals(Course.DEFAULT_CREDITS, courses.get(0).getCredits());
+        assertEquals(4, courses.get(1).getCredits());
+        assertEquals(courseList.getAverageGrade(), (76.25 + 80) / 2, 0.01);
+    }
+
+    private void checkHistory(List<Course> courses) {
+        assertEquals(2, courses.get(0).getHistory().size());
+        assertEquals(2, courses.get(1).getHistory().size());
+        GradePoint last = courses.get(1).getHistory().at(2000);
+        assertEquals(80, last.getCurrentGrade());
+        assertEquals(4, last.getCredits());
+    }
+
+    @Test
+    void testWriterNameTable() {
+        try {
+            writeNameTableCourseList();
+
+            String json = Files.readString(Paths.get("./data/testWriterNameTableCourseList.json"));
+            assertEquals(json.indexOf("quiz 1"), json.lastIndexOf("quiz 1"));
+            assertEquals(json.indexOf("math"), json.lastIndexOf("math"));
+            assertTrue(json.indexOf("\"names\"") < json.indexOf("\"courses\""));
+
+            JsonReader reader = new JsonReader("./data/testWriterNameTableCourseList.json");
+            List<Course> courses = reader.read().getCourses();
+            checkCourse(courses.get(2), "math", 83, 75);
+            checkAssignment(courses.get(1).getAssignments().get(1), "midterm 1", 70, 30);
+            assertSame(courses.get(0).getName(), courses.get(2).getName());
+            assertSame(courses.get(0).getAssignments().get(0).getName(),
+                    courses.get(1).getAssignments().get(0).getName());
+        } catch (IOException | InputOutOfRangeException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReadEachNameTable() {
+        try {
+            writeNameTableCourseList();
+
+            JsonReader reader = new JsonReader("./data/testWriterNameTableCourseList.json");
+            List<Course> courses = reader.read().getCourses();
+            List<Course> streamed = new ArrayList<>();
+            assertEquals(3, reader.readEach(streamed::add));
+            assertSame(courses.get(1).getName(), streamed.get(1).getName());
+            assertSame(courses.get(0).getAssignments().get(1).getName(),
+                    streamed.get(2).getAssignments().get(1).getName());
+        } catch (IOException | InputOutOfRangeException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    private void writeNameTableCourseList() throws IOException, InputOutOfRangeException {
+        CourseList courseList = new CourseList();
+        for (String name : List.of("math", "science", "math")) {
+            Course course = new Course(name);
+            course.setHistory(new GradeHistory(() -> 1000));
+            course.addAssignment(new Assignment(new String("quiz 1"), 80, 20));
+            course.addAssignment(new Assignment(new String("midterm 1"), 70, 30));
+            courseList.getCourses().add(course);
+        }
+
+        JsonWriter writer = new JsonWriter("./data/testWriterNameTableCourseList.json");
+        writer.open();
+        writer.write(courseList);
+        writer.close();
+    }
+
+    @Test
+    void testWriterCompressed() {
+        try {
+            CourseList courseList = new CourseList();
+            Course course = new Course("math");
+            course.addAssignment(new Assignment("quiz 1", 80, 20));
+            courseList.getCourses().add(course);
+            courseList.getCourses().add(new Course("science"));
+
+            for (Compression compression : Compression.values()) {
+                checkCompressedRoundTrip(courseList, compression);
+            }
+        } catch (IOException | InputOutOfRangeException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    private void checkCompressedRoundTrip(CourseList courseList, Compression compression)
+            throws IOException, InputOutOfRangeException {
+        File file = File.createTempFile("testWriterCompressed", ".json");
+        file.deleteOnExit();
+        JsonWriter writer = new JsonWriter(file.getPath(), compression);
+        writer.open();
+        writer.write(courseList);
+        writer.close();
+
+        List<Course> courses = new JsonReader(file.getPath()).read().getCourses();
+        assertEquals(2, courses.size());
+        checkAssignment(courses.get(0).getAssignments().get(0), "quiz 1", 80, 20);
+        List<Course> streamed = new ArrayList<>();
+        assertEquals(2, new JsonReader(file.getPath()).readEach(streamed::add));
+        checkCourse(streamed.get(1), "science", 83, 75);
+        file.delete();
+    }
+
+    @Test
+    void testWriterCompressesByExtension() {
+        try {
+            File file = File.createTempFile("testWriterCompressed", ".json.gz");
+            file.deleteOnExit();
+            CourseList courseList = new CourseList();
+            courseList.getCourses().add(new Course("math"));
+            JsonWriter writer = new JsonWriter(file.getPath());
+            writer.open();
+            writer.write(courseList);
+            writer.close();
+
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            assertEquals(0x1f, bytes[0]);
+            assertEquals((byte) 0x8b, bytes[1]);
+            assertEquals("math", new JsonReader(file.getPath()).read().getCourses().get(0).getName());
+            file.delete();
+        } catch (IOException | InputOutOfRangeException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
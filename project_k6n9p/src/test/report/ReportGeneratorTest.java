@@ -0,0 +1,113 @@
+package report;
+
+import exceptions.InputOutOfRangeException;
+import model.Assignment;
+import model.AssignmentStore;
+import model.Course;
+import model.CourseList;
+import persistence.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportGeneratorTest {
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private List<Course> courses;
+    private StringWriter writer;
+
+    @BeforeEach
+    public void runBefore() {
+        courses = new ArrayList<>();
+        writer = new StringWriter();
+
+        Course course = new Course("cpsc 210");
+        try {
+            course.addAssignment(new Assignment("quiz 1", 80, 10));
+        } catch (InputOutOfRangeException e) {
+            fail("Did not expect InputOutOfRangeException to be thrown.");
+        }
+        courses.add(course);
+    }
+
+    @Test
+    public void testTextReport() throws IOException {
+        assertEquals(1, new ReportGenerator(new TextReportSink(writer)).generate(courses));
+
+        String expected = "========== STATISTICS FOR CPSC 210 ==========" + NEW_LINE
+                + NEW_LINE + "\tAssignments submitted: " + NEW_LINE
+                + "\t\t[ Name: quiz 1, Grade: 80.0, Weight: 10.0 ]" + NEW_LINE
+                + NEW_LINE
+                + "\tCurrent course grade: 80.0" + NEW_LINE
+                + "\tCurrent course weight: 10.0" + NEW_LINE
+                + "\tGrade needed on remaining assignments to achieve 83.0: 83.33" + NEW_LINE
+                + "\tFinal grade if you get 75.0 on the remaining assignments: 75.5" + NEW_LINE
+                + NEW_LINE + NEW_LINE;
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    public void testTextReportNoCourses() throws IOException {
+        assertEquals(0, new ReportGenerator(new TextReportSink(writer)).generate(new ArrayList<>()));
+
+        assertEquals("You have not added any courses yet" + NEW_LINE, writer.toString());
+    }
+
+    @Test
+    public void testCsvReport() throws IOException {
+        courses.add(new Course("math, \"honours\""));
+        new ReportGenerator(new CsvReportSink(writer)).generate(courses);
+
+        String[] rows = writer.toString().split("\r\n");
+        assertEquals(3, rows.length);
+        assertTrue(rows[0].startsWith("course,assignments,current grade"));
+        assertEquals("cpsc 210,1,80.0,10.0,83.0,83.33,75.0,75.5", rows[1]);
+        assertTrue(rows[2].startsWith("\"math, \"\"honours\"\"\",0,"));
+    }
+
+    @Test
+    public void testHtmlReport() throws IOException {
+        courses.add(new Course("<script>"));
+        new ReportGenerator(new HtmlReportSink(writer)).generate(courses);
+
+        String html = writer.toString();
+        assertTrue(html.startsWith("<!DOCTYPE html>"));
+        assertTrue(html.contains("<h2>cpsc 210</h2>"));
+        assertTrue(html.contains("<li>quiz 1: grade 80.0, weight 10.0</li>"));
+        assertTrue(html.contains("<h2>&lt;script&gt;</h2>"));
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.endsWith("<p>2 course(s)</p>\n</body>\n</html>\n"));
+    }
+
+    @Test
+    public void testReportFromStore() throws IOException, InputOutOfRangeException {
+        CourseList courseList = new CourseList();
+        courseList.getCourses().addAll(courses);
+        StringWriter expected = new StringWriter();
+        new ReportGenerator(new CsvReportSink(expected)).generate(courses);
+
+        assertEquals(1, new ReportGenerator(new CsvReportSink(writer)).generate(AssignmentStore.of(courseList)));
+        assertEquals(expected.toString(), writer.toString());
+    }
+
+    @Test
+    public void testReportStreamedFromFile() {
+        try {
+            JsonReader reader = new JsonReader("./data/testReaderGeneralCourseList.json");
+
+            assertEquals(2, new ReportGenerator(new CsvReportSink(writer)).generate(reader));
+            assertEquals(3, writer.toString().split("\r\n").length);
+            assertTrue(writer.toString().contains("\r\nscience,1,80.0,20.0,"));
+        } catch (IOException e) {
+            fail("IOException should not have been thrown");
+        } catch (InputOutOfRangeException e) {
+            fail("InputOutOfRangeException should not have been thrown.");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+import model.Course;
+import model.CourseList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseRequestHandlerTest {
+    private CourseRequestHandler handler;
+
+    @BeforeEach
+    void runBefore() {
+        CourseList courseList = new CourseList();
+        courseList.getCourses().add(new Course("cpsc 210"));
+        handler = new CourseRequestHandler(new SharedGradebook(courseList, "./data/noSuchStore.json"));
+    }
+
+    @Test
+    void testErrorResponse() throws IOException {
+        FakeExchange exchange = new FakeExchange("GET", "/courses/math%20200", Integer.MAX_VALUE);
+
+        handler.handle(exchange);
+        assertEquals(404, exchange.getResponseCode());
+        assertTrue(exchange.body.toString().contains("error"));
+        assertTrue(exchange.isClosed);
+    }
+
+    @Test
+    void testFailureAfterResponseStarted() throws IOException {
+        FakeExchange exchange = new FakeExchange("GET", "/courses", 0);
+
+        handler.handle(exchange);
+        assertEquals(200, exchange.getResponseCode());
+        assertTrue(exchange.isClosed);
+    }
+
+    // Exchange for a request without a body, whose response body fails once bodyLimit bytes have been written,
+    // as it does when the client goes away; like the JDK's, it refuses to send the response headers twice
+    private static class FakeExchange extends HttpExchange {
+        private final String method;
+        private final URI uri;
+        private final Headers responseHeaders = new Headers();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final OutputStream responseBody;
+        private int responseCode = -1;
+        private boolean isClosed;
+
+        private FakeExchange(String method, String path, int bodyLimit) {
+            this.method = method;
+            this.uri = URI.create(path);
+            this.responseBody = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    if (body.size() >= bodyLimit) {
+                        throw new IOException("Connection reset");
+                    }
+                    body.write(b);
+                }
+            };
+        }
+
+        @Override
+        public void sendResponseHeaders(int code, long length) throws IOException {
+            if (responseCode != -1) {
+                throw new IOException("headers already sent");
+            }
+            responseCode = code;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return responseCode;
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+        }
+
+        @Override
+        public OutputStream getResponseBody() {
+            return responseBody;
+        }
+
+        @Override
+        public InputStream getRequestBody() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public Headers getRequestHeaders() {
+            return new Headers();
+        }
+
+        @Override
+        public Headers getResponseHeaders() {
+            return responseHeaders;
+        }
+
+        @Override
+        public URI getRequestURI() {
+            return uri;
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return method;
+        }
+
+        @Override
+        public HttpContext getHttpContext() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public String getProtocol() {
+            return "HTTP/1.1";
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+        }
+
+        @Override
+        public void setStreams(InputStream in, OutputStream out) {
+        }
+
+        @Override
+        public HttpPrincipal getPrincipal() {
+            return null;
+        }
+    }
+}
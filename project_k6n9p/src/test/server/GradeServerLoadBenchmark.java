@@ -0,0 +1,190 @@
+package server;
+
+import exceptions.InputOutOfRangeException;
+import model.Course;
+import model.CourseList;
+import persistence.JsonReader;
+import tools.GradebookGenerator;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static tools.CommandLineOptions.option;
+
+// Local load generator for the grade server: client threads send a mix of reads (a course, its stats, or now
+// and then the stats of every course) and edits (adding an assignment, then removing it again) as fast as they
+// can, then the requests per second and the latency percentiles across all requests are reported; run it
+// in a virtual machine of its own, as TCP_NODELAY only applies if it is on before the process starts its first server
+//   arguments: [--threads N] [--requests N per thread] [--courses N]
+public class GradeServerLoadBenchmark {
+    private static final double EDIT_SHARE = 0.2;
+    private static final double LIST_SHARE = 0.01;
+
+    public static void main(String[] args) throws Exception {
+        runLoad(Integer.parseInt(option(args, "--threads", "32")),
+                Integer.parseInt(option(args, "--requests", "2000")),
+                Integer.parseInt(option(args, "--courses", "1000")));
+    }
+
+    // EFFECTS: starts a server with a generated course list and TCP_NODELAY on, as Main does, sends it
+    //          requestsPerThread requests from each of threadCount client threads, and prints the throughput and
+    //          latency percentiles; returns the sorted latency of each request in nanoseconds; throws
+    //          IllegalStateException if a request fails
+    private static long[] runLoad(int threadCount, int requestsPerThread, int courseCount) throws Exception {
+        GradeServer.enableNoDelay();
+        CourseList courseList = generateCourses(courseCount);
+        GradeServer server = new GradeServer(0, courseList, "./data/loadTestCourses.json");
+        ExecutorService clientThreads = Executors.newFixedThreadPool(threadCount);
+        server.start();
+
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            List<Callable<long[]>> clients = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                clients.add(new Client(client, server.getPort(), courseList, requestsPerThread, i));
+            }
+
+            long start = System.nanoTime();
+            List<Future<long[]>> results = clientThreads.invokeAll(clients);
+            long elapsed = System.nanoTime() - start;
+
+            long[] latencies = collect(results);
+            report(threadCount, latencies, elapsed);
+            return latencies;
+        } finally {
+            clientThreads.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    // EFFECTS: returns a course list of courseCount generated courses, written and read back like a saved one
+    private static CourseList generateCourses(int courseCount) throws IOException, InputOutOfRangeException {
+        GradebookGenerator generator = new GradebookGenerator(210);
+        generator.setCoursesPerStudent(courseCount);
+        File file = File.createTempFile("loadTest", ".json");
+        file.deleteOnExit();
+
+        try (Writer writer = new FileWriter(file)) {
+            generator.generate(writer);
+        }
+        CourseList courseList = new JsonReader(file.getPath()).read();
+        file.delete();
+        return courseList;
+    }
+
+    // EFFECTS: returns the latencies measured by every client, sorted
+    private static long[] collect(List<Future<long[]>> results) throws Exception {
+        long[] latencies = new long[0];
+
+        for (Future<long[]> result : results) {
+            long[] clientLatencies = result.get();
+            int offset = latencies.length;
+
+            latencies = Arrays.copyOf(latencies, offset + clientLatencies.length);
+            System.arraycopy(clientLatencies, 0, latencies, offset, clientLatencies.length);
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    // EFFECTS: prints the requests per second and the latency percentiles of the sorted latencies
+    private static void report(int threadCount, long[] latencies, long elapsedNanos) {
+        System.out.printf("%,d requests from %d clients in %.3f s: %,.0f requests per second%n",
+                latencies.length, threadCount, elapsedNanos / 1e9, latencies.length / (elapsedNanos / 1e9));
+        System.out.printf("latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(latencies, 50) / 1e6, percentile(latencies, 90) / 1e6,
+                percentile(latencies, 99) / 1e6, latencies[latencies.length - 1] / 1e6);
+    }
+
+    // REQUIRES: sorted is sorted and not empty
+    // EFFECTS: returns the given percentile of sorted, by the nearest-rank method
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(sorted.length * percentile / 100);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    // Represents one client thread, sending requests one after another and timing each of them
+    private static class Client implements Callable<long[]> {
+        private final HttpClient client;
+        private final String baseUri;
+        private final List<String> coursePaths = new ArrayList<>();
+        private final int requestCount;
+        private final int clientNumber;
+        private final SplittableRandom random;
+        private String addedAssignmentPath;         // path of the assignment this client added, until removed
+
+        private Client(HttpClient client, int port, CourseList courseList, int requestCount, int clientNumber) {
+            this.client = client;
+            this.baseUri = "http://localhost:" + port;
+            this.requestCount = requestCount;
+            this.clientNumber = clientNumber;
+            this.random = new SplittableRandom(clientNumber);
+
+            for (Course course : courseList.getCourses()) {
+                coursePaths.add("/courses/" + URLEncoder.encode(course.getName(), StandardCharsets.UTF_8)
+                        .replace("+", "%20"));
+            }
+        }
+
+        // EFFECTS: sends every request, returning the latency of each in nanoseconds
+        @Override
+        public long[] call() throws Exception {
+            long[] latencies = new long[requestCount];
+
+            for (int i = 0; i < requestCount; i++) {
+                HttpRequest request = nextRequest(i);
+                long start = System.nanoTime();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                latencies[i] = System.nanoTime() - start;
+
+                if (response.statusCode() / 100 != 2) {
+                    throw new IllegalStateException(request + " failed with status " + response.statusCode());
+                }
+            }
+            return latencies;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the next request: an edit at the edit share, removing the assignment this client
+        //          added last if there is one; otherwise a read, of the stats of every course at the list share
+        private HttpRequest nextRequest(int index) {
+            String coursePath = coursePaths.get(random.nextInt(coursePaths.size()));
+            double choice = random.nextDouble();
+
+            if (addedAssignmentPath != null && choice < EDIT_SHARE) {
+                String path = addedAssignmentPath;
+                addedAssignmentPath = null;
+                return request(path).DELETE().build();
+            } else if (choice < EDIT_SHARE) {
+                String name = "load test " + clientNumber + " " + index;
+                addedAssignmentPath = coursePath + "/assignments/" + name.replace(" ", "%20");
+                return request(coursePath + "/assignments").POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"name\": \"" + name + "\", \"grade\": 80, \"weight\": 0}")).build();
+            } else if (choice < EDIT_SHARE + LIST_SHARE) {
+                return request("/stats").GET().build();
+            }
+            return request(choice < 0.6 ? coursePath : coursePath + "/stats").GET().build();
+        }
+
+        // EFFECTS: returns a request builder for the given path on the server
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUri + path));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package server;
+
+import model.CourseList;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import persistence.CourseListCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradeServerTest {
+    GradeServer server;
+    HttpClient client;
+    File store;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        store = File.createTempFile("testServer", ".json");
+        store.deleteOnExit();
+        server = new GradeServer(0, new CourseList(), store.getPath());
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void runAfter() {
+        server.stop(0);
+        store.delete();
+    }
+
+    @Test
+    void testAddAndGetCourses() throws Exception {
+        assertEquals(201, send("POST", "/courses", "{\"name\": \"cpsc 210\", \"ideal grade\": 90}").statusCode());
+        assertEquals(201, send("POST", "/courses", "{\"name\": \"math 200\"}").statusCode());
+        assertEquals(409, send("POST", "/courses", "{\"name\": \"math 200\"}").statusCode());
+
+        JSONArray courses = new JSONArray(send("GET", "/courses", null).body());
+        assertEquals(2, courses.length());
+        assertEquals("cpsc 210", courses.getJSONObject(0).getString("name"));
+
+        JSONObject course = new JSONObject(send("GET", "/courses/cpsc%20210", null).body());
+        assertEquals(90, course.getDouble("ideal grade"));
+        assertEquals(75, course.getDouble("predicted grade"));
+        assertEquals(404, send("GET", "/courses/cpsc%20110", null).statusCode());
+    }
+
+    @Test
+    void testEditCourse() throws Exception {
+        send("POST", "/courses", "{\"name\": \"cpsc 210\"}");
+
+        HttpResponse<String> response = send("PUT", "/courses/cpsc%20210", "{\"predicted grade\": 80}");
+        assertEquals(200, response.statusCode());
+        assertEquals(80, new JSONObject(response.body()).getDouble("predicted grade"));
+        assertEquals(400, send("PUT", "/courses/cpsc%20210", "{\"ideal grade\": 101}").statusCode());
+        assertEquals(400, send("PUT", "/courses/cpsc%20210", "{\"credits\": \"Infinity\"}").statusCode());
+        assertEquals(204, send("POST", "/save", "").statusCode());
+
+        assertEquals(201, send("POST", "/courses/cpsc%20210/assignments",
+                "{\"name\": \"quiz 1\", \"grade\": 80, \"weight\": 20}").statusCode());
+        assertEquals(409, send("POST", "/courses/cpsc%20210/assignments",
+                "{\"name\": \"quiz 1\", \"grade\": 80, \"weight\": 20}").statusCode());
+        assertEquals(400, send("POST", "/courses/cpsc%20210/assignments", "{\"name\": ").statusCode());
+
+        JSONObject stats = new JSONObject(send("GET", "/courses/cpsc%20210/stats", null).body());
+        assertEquals(80, stats.getDouble("current grade"));
+        assertEquals(20, stats.getDouble("current weight"));
+        assertEquals(80, stats.getDouble("predicted final grade"));
+
+        assertEquals(204, send("DELETE", "/courses/cpsc%20210/assignments/quiz%201", null).statusCode());
+        assertEquals(404, send("DELETE", "/courses/cpsc%20210/assignments/quiz%201", null).statusCode());
+        assertEquals(204, send("DELETE", "/courses/cpsc%20210", null).statusCode());
+        assertEquals(0, new JSONArray(send("GET", "/stats", null).body()).length());
+    }
+
+    @Test
+    void testUnsupportedRequests() throws Exception {
+        assertEquals(404, send("GET", "/students", null).statusCode());
+        assertEquals(405, send("PUT", "/courses", "{}").statusCode());
+        assertEquals(405, send("GET", "/save", null).statusCode());
+    }
+
+    @Test
+    void testSave() throws Exception {
+        send("POST", "/courses", "{\"name\": \"cpsc 210\"}");
+        assertEquals(204, send("POST", "/save", "").statusCode());
+        assertTrue(store.length() > 0);
+    }
+
+    @Test
+    void testStudentGradebooks() throws Exception {
+        server.stop(0);
+        File directory = Files.createTempDirectory("testServerCache").toFile();
+        server = new GradeServer(0, new CourseListCache(directory.getPath(), Long.MAX_VALUE));
+        server.start();
+
+        assertEquals(201, send("POST", "/students/alice/courses", "{\"name\": \"cpsc 210\"}").statusCode());
+        assertEquals(1, new JSONArray(send("GET", "/students/alice/courses", null).body()).length());
+        assertEquals(0, new JSONArray(send("GET", "/students/bob/courses", null).body()).length());
+        assertEquals(404, send("GET", "/courses", null).statusCode());
+        assertEquals(404, send("GET", "/students/..%2F/courses", null).statusCode());
+
+        JSONObject stats = new JSONObject(send("GET", "/cache", null).body());
+        assertEquals(2, stats.getInt("entries"));
+        assertEquals(1, stats.getInt("hits"));
+
+        assertEquals(204, send("POST", "/students/alice/save", "").statusCode());
+        File saved = new File(directory, "alice.json");
+        assertTrue(saved.exists());
+        saved.delete();
+        directory.delete();
+    }
+
+    // EFFECTS: sends a request with the given method, path, and body (or none, if body is null) to the server
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, publisher)
+                .build();
+
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
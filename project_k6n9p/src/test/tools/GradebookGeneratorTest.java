@@ -0,0 +1,129 @@
+package tools;
+
+import exceptions.InputOutOfRangeException;
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+import org.junit.jupiter.api.Test;
+import persistence.JsonReader;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradebookGeneratorTest {
+
+    @Test
+    void testGeneratedGradebookIsReadable() {
+        GradebookGenerator generator = new GradebookGenerator(1);
+        generator.setCoursesPerStudent(20);
+        generator.setAssignmentsPerCourse(12);
+        generator.setWeightDistribution(GradebookGenerator.WeightDistribution.SKEWED);
+
+        CourseList courseList = generateAndRead(generator);
+        assertEquals(20, courseList.getCourses().size());
+
+        for (Course course : courseList.getCourses()) {
+            assertEquals(12, course.getAssignments().size());
+            double totalWeight = 0;
+
+            for (Assignment assignment : course.getAssignments()) {
+                assertTrue(assignment.getGrade() >= 0 && assignment.getGrade() <= 100);
+                totalWeight += assignment.getWeight();
+            }
+            assertTrue(totalWeight <= 100);
+        }
+    }
+
+    @Test
+    void testSameSeedGivesSameGradebook() {
+        assertEquals(generate(new GradebookGenerator(42)), generate(new GradebookGenerator(42)));
+        assertNotEquals(generate(new GradebookGenerator(42)), generate(new GradebookGenerator(43)));
+    }
+
+    @Test
+    void testEqualWeights() {
+        GradebookGenerator generator = new GradebookGenerator(7);
+        generator.setAssignmentsPerCourse(4);
+        generator.setWeightDistribution(GradebookGenerator.WeightDistribution.EQUAL);
+
+        for (Course course : generateAndRead(generator).getCourses()) {
+            double firstWeight = course.getAssignments().get(0).getWeight();
+
+            for (Assignment assignment : course.getAssignments()) {
+                assertEquals(firstWeight, assignment.getWeight());
+            }
+        }
+    }
+
+    @Test
+    void testNameCollisions() {
+        GradebookGenerator generator = new GradebookGenerator(3);
+        generator.setCoursesPerStudent(50);
+        assertEquals(50, countDistinctNames(generateAndRead(generator)));
+
+        generator.setNameCollisionRate(1);
+        assertEquals(1, countDistinctNames(generateAndRead(generator)));
+    }
+
+    @Test
+    void testFractionGrades() {
+        GradebookGenerator generator = new GradebookGenerator(5);
+        generator.setFractionGradeRatio(0);
+        String decimalGradebook = generate(generator);
+
+        generator.setFractionGradeRatio(1);
+        String fractionGradebook = generate(generator);
+
+        assertFalse(decimalGradebook.matches("(?s).*\"grade\": \\d+\\.\\d{3,}.*"));
+        assertTrue(fractionGradebook.matches("(?s).*\"grade\": \\d+\\.\\d{3,}.*"));
+    }
+
+    // EFFECTS: returns the next gradebook of generator as a string
+    private String generate(GradebookGenerator generator) {
+        StringWriter writer = new StringWriter();
+
+        try {
+            generator.generate(writer);
+        } catch (IOException e) {
+            fail("IOException thrown when it should not have.");
+        }
+        return writer.toString();
+    }
+
+    // EFFECTS: writes the next gradebook of generator to a file and reads it back with JsonReader
+    private CourseList generateAndRead(GradebookGenerator generator) {
+        try {
+            File file = File.createTempFile("testGenerator", ".json");
+            file.deleteOnExit();
+
+            try (Writer writer = new FileWriter(file)) {
+                generator.generate(writer);
+            }
+            CourseList courseList = new JsonReader(file.getPath()).read();
+            file.delete();
+            return courseList;
+        } catch (IOException e) {
+            fail("IOException thrown when it should not have.");
+        } catch (InputOutOfRangeException e) {
+            fail("InputOutOfRangeException thrown when it should not have.");
+        }
+        return null;
+    }
+
+    // EFFECTS: returns the number of distinct course names in courseList
+    private int countDistinctNames(CourseList courseList) {
+        Set<String> names = new HashSet<>();
+
+        for (Course course : courseList.getCourses()) {
+            names.add(course.getName());
+        }
+        return names.size();
+    }
+}
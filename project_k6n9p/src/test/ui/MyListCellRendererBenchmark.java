@@ -0,0 +1,128 @@
+package ui;
+
+import exceptions.InputOutOfRangeException;
+import model.Assignment;
+import model.Course;
+import model.CourseList;
+import model.CourseStats;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Measures how long it takes to measure and paint every row of a large course list, comparing the
+// painted renderer against the html label it replaced, and how long the list takes to lay out every row after
+// a whole course list is swapped in; run with -Djava.awt.headless=true if there is no display
+public class MyListCellRendererBenchmark {
+    private static final int[] COURSE_COUNTS = {1000, 10000, 50000};
+    private static final int ASSIGNMENTS_PER_COURSE = 8;
+    private static final int ROUNDS = 3;
+    private static final int LIST_WIDTH = 800;
+
+    public static void main(String[] args) throws InputOutOfRangeException {
+        for (int courseCount : COURSE_COUNTS) {
+            CourseListModel model = new CourseListModel();
+            model.replaceAll(makeCourseList(courseCount));
+            JList<Course> list = new JList<>(model);
+
+            long paintedNanos = Long.MAX_VALUE;
+            long htmlNanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                paintedNanos = Math.min(paintedNanos, timePaintedRenderer(list, model));
+                htmlNanos = Math.min(htmlNanos, timeHtmlRenderer(list, model));
+            }
+
+            System.out.printf("%,d courses: painted %.1f ms (%.2f us/row), html %.1f ms (%.2f us/row), "
+                    + "replace and lay out %.1f ms%n", courseCount, paintedNanos / 1e6,
+                    paintedNanos / 1e3 / courseCount, htmlNanos / 1e6, htmlNanos / 1e3 / courseCount,
+                    timeReplaceAll(courseCount) / 1e6);
+        }
+    }
+
+    // EFFECTS: returns the nanoseconds taken to measure and paint every row with the painted renderer
+    private static long timePaintedRenderer(JList<Course> list, CourseListModel model) {
+        MyListCellRenderer renderer = new MyListCellRenderer(CourseStats::new);
+        Graphics2D g = newGraphics();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < model.getSize(); i++) {
+            Component c = renderer.getListCellRendererComponent(list, model.getElementAt(i), i, false, false);
+            c.setSize(LIST_WIDTH, c.getPreferredSize().height);
+            c.paint(g);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        g.dispose();
+        return elapsed;
+    }
+
+    // EFFECTS: returns the nanoseconds taken to swap a course list of courseCount courses into a list showing
+    //          the painted renderer and lay out all of its rows, as the list does on the event dispatch thread
+    private static long timeReplaceAll(int courseCount) throws InputOutOfRangeException {
+        MyListCellRenderer renderer = new MyListCellRenderer(CourseStats::new);
+        CourseListModel model = new CourseListModel();
+        model.addListDataListener(renderer);
+        JList<Course> list = new JList<>(model);
+        list.setCellRenderer(renderer);
+        CourseList courseList = makeCourseList(courseCount);
+        long start = System.nanoTime();
+
+        model.replaceAll(courseList);
+        list.getPreferredSize();
+        return System.nanoTime() - start;
+    }
+
+    // EFFECTS: returns the nanoseconds taken to measure and paint every row as an equivalent html label
+    private static long timeHtmlRenderer(JList<Course> list, CourseListModel model) {
+        DefaultListCellRenderer renderer = new DefaultListCellRenderer();
+        Graphics2D g = newGraphics();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < model.getSize(); i++) {
+            Component c = renderer.getListCellRendererComponent(list, toHtml(model.getElementAt(i)), i, false, false);
+            Dimension size = c.getPreferredSize();
+            c.setSize(size);
+            c.paint(g);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        g.dispose();
+        return elapsed;
+    }
+
+    // EFFECTS: returns the html text the list used to render for a course
+    private static String toHtml(Course course) {
+        StringBuilder html = new StringBuilder("<html>&nbsp;COURSE STATISTICS FOR ");
+        html.append(course.getName().toUpperCase()).append("<br/>&ensp;&emsp;Submitted assignments: ");
+        for (Assignment assignment : course.getAssignments()) {
+            html.append("<br/>&ensp;&emsp;&ensp;&emsp;").append(assignment);
+        }
+        html.append("<br/>&ensp;&emsp;Current course grade: ").append(course.calculateCurrentGrade()).append("%")
+                .append("<br/>&ensp;&emsp;Current course weight: ").append(course.calculateCurrentWeight())
+                .append("%<br/>&ensp;&emsp;Grade needed on remaining assignments to achieve ")
+                .append(course.getIdealGrade()).append("%: ").append(course.calculateIdealFinalGrade())
+                .append("%<br/>&ensp;&emsp;Final grade if you get ").append(course.getPredictedGrade())
+                .append("% on the remaining assignments: ").append(course.calculatePredictedFinalGrade())
+                .append("%<br><br>");
+        return html.toString();
+    }
+
+    // EFFECTS: returns a graphics context to paint rows onto, off screen
+    private static Graphics2D newGraphics() {
+        return new BufferedImage(LIST_WIDTH, 400, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    }
+
+    // EFFECTS: returns a course list with the given number of courses, each with a few assignments
+    private static CourseList makeCourseList(int courseCount) throws InputOutOfRangeException {
+        CourseList courseList = new CourseList();
+
+        for (int i = 0; i < courseCount; i++) {
+            Course course = new Course("course " + i);
+            for (int j = 0; j < ASSIGNMENTS_PER_COURSE; j++) {
+                course.addAssignment(new Assignment("quiz " + j, (i + j * 7) % 101, 5));
+            }
+            courseList.getCourses().add(course);
+        }
+        return courseList;
+    }
+}
@@ -0,0 +1,82 @@
+package ui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Measures cold start of the graphical application by launching it repeatedly in fresh virtual machines in
+// --startup-benchmark mode, with and without a class data sharing archive, and reporting the median time to
+// the first frame and to the data; needs a display
+//   arguments: [runs] [archive file, as generated by bin/gradecalculator.sh]
+public class StartupBenchmark {
+    private static final int DEFAULT_RUNS = 10;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+
+        report("default", runs, new ArrayList<>());
+        if (args.length > 1) {
+            List<String> options = new ArrayList<>();
+            options.add("-XX:SharedArchiveFile=" + args[1]);
+            report("class data sharing archive", runs, options);
+        }
+    }
+
+    // EFFECTS: launches the application runs times with the given virtual machine options and prints the
+    //          median times it reported
+    private static void report(String label, int runs, List<String> options) throws IOException,
+            InterruptedException {
+        List<Long> firstFrameTimes = new ArrayList<>();
+        List<Long> dataTimes = new ArrayList<>();
+
+        for (int i = 0; i < runs; i++) {
+            List<String> command = new ArrayList<>();
+            command.add(System.getProperty("java.home") + "/bin/java");
+            command.addAll(options);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add("ui.Main");
+            command.add("--startup-benchmark");
+            launch(command, firstFrameTimes, dataTimes);
+        }
+
+        System.out.printf("%s: median time to first frame %d ms, median time to data %d ms (%d runs)%n",
+                label, median(firstFrameTimes), median(dataTimes), runs);
+    }
+
+    // MODIFIES: firstFrameTimes, dataTimes
+    // EFFECTS: runs the command and records the times it printed
+    private static void launch(List<String> command, List<Long> firstFrameTimes, List<Long> dataTimes)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            for (String line = output.readLine(); line != null; line = output.readLine()) {
+                if (line.startsWith("time to first frame: ")) {
+                    firstFrameTimes.add(parseMillis(line));
+                } else if (line.startsWith("time to data: ")) {
+                    dataTimes.add(parseMillis(line));
+                }
+            }
+        }
+        process.waitFor();
+    }
+
+    // EFFECTS: returns the number of milliseconds in a line ending with "<number> ms"
+    private static long parseMillis(String line) {
+        String[] words = line.split(" ");
+        return Long.parseLong(words[words.length - 2]);
+    }
+
+    // EFFECTS: returns the median of the times, or -1 if there are none
+    private static long median(List<Long> times) {
+        if (times.isEmpty()) {
+            return -1;
+        }
+        Collections.sort(times);
+        return times.get(times.size() / 2);
+    }
+}